@@ -1,16 +1,42 @@
 package org.ioc.annotations.cache;
 
 import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Flags an interface that is capable of caching.
  * Note: only interfaces can be cached!
+ * <p>
+ * Results of every method are stored in own cache region. Attributes declared on
+ * interface apply to all methods, annotated method overrides them for its region.
  *
  * @author GenCloud
  * @date 09/2018
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.TYPE)
+@Target({ElementType.TYPE, ElementType.METHOD})
 @Documented
 public @interface Cacheables {
+	/**
+	 * Maximum count of cached results in region, 0 - default size of cache factory.
+	 */
+	int size() default 0;
+
+	/**
+	 * Time to live of cached result, 0 - default expiration of cache factory.
+	 */
+	long expireAfterWrite() default 0;
+
+	/**
+	 * Age of cached result after which it is reloaded in background on next call, while
+	 * old result is still returned, 0 - results are not refreshed.
+	 */
+	long refreshAfterWrite() default 0;
+
+	TimeUnit unit() default TimeUnit.SECONDS;
+
+	/**
+	 * Cache null results too, so absent values are not loaded again until they expire.
+	 */
+	boolean cacheNulls() default false;
 }
@@ -18,9 +18,15 @@
  */
 package org.ioc.annotations.listeners;
 
+import org.ioc.context.listeners.AbstractFact;
+
 import java.lang.annotation.*;
 
 /**
+ * Marks listener of facts. Facts are delivered to listeners through lanes, each lane dispatches
+ * its facts sequentially in order of publishing, so slow listener delays only listeners of its lane.
+ * Listener receives only facts of declared types and their subtypes.
+ *
  * @author GenCloud
  * @date 09/2018
  */
@@ -28,4 +34,18 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface Fact {
+	/**
+	 * Types of facts accepted by listener, empty - all facts.
+	 */
+	Class<? extends AbstractFact>[] value() default {};
+
+	/**
+	 * Index of shared partitioned lane of listener, -1 - lane is selected by identity of listener.
+	 */
+	int lane() default -1;
+
+	/**
+	 * Dispatch facts to listener in own lane, isolated from all other listeners.
+	 */
+	boolean isolated() default false;
 }
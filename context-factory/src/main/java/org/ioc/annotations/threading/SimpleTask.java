@@ -19,4 +19,15 @@ public @interface SimpleTask {
 	long fixedInterval() default -1;
 
 	TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+	/**
+	 * Name of isolated thread pool executing this task, empty - shared pool.
+	 * Tasks declaring same name share one pool.
+	 */
+	String pool() default "";
+
+	/**
+	 * Count of threads in isolated pool, 0 - value of ioc.threads.taskPoolThreads.
+	 */
+	int poolThreads() default 0;
 }
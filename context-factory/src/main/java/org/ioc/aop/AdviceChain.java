@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.aop;
+
+import org.ioc.aop.advice.AfterAdvice;
+import org.ioc.aop.advice.AroundAdivice;
+import org.ioc.aop.advice.BeforeAdvice;
+import org.ioc.aop.advice.ThrowingAdvice;
+import org.ioc.aop.interceptor.Interceptor;
+
+import java.util.List;
+
+/**
+ * Immutable advice chain of one method, partitioned by advice kind when the proxy is created.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class AdviceChain {
+	private static final Interceptor[] NONE = new Interceptor[0];
+
+	/**
+	 * Shared chain of methods without advice.
+	 */
+	public static final AdviceChain EMPTY = new AdviceChain(NONE, NONE, NONE, NONE);
+
+	private final Interceptor[] before;
+	private final Interceptor[] around;
+	private final Interceptor[] after;
+	private final Interceptor[] throwing;
+
+	private AdviceChain(Interceptor[] before, Interceptor[] around, Interceptor[] after, Interceptor[] throwing) {
+		this.before = before;
+		this.around = around;
+		this.after = after;
+		this.throwing = throwing;
+	}
+
+	/**
+	 * Function of partitioning interceptors of method.
+	 *
+	 * @param interceptors found interceptors
+	 * @return advice chain
+	 */
+	public static AdviceChain of(List<Interceptor> interceptors) {
+		if (interceptors == null || interceptors.isEmpty()) {
+			return EMPTY;
+		}
+
+		return new AdviceChain(filter(interceptors, BeforeAdvice.class),
+				filter(interceptors, AroundAdivice.class),
+				filter(interceptors, AfterAdvice.class),
+				filter(interceptors, ThrowingAdvice.class));
+	}
+
+	private static Interceptor[] filter(List<Interceptor> interceptors, Class<?> kind) {
+		final Interceptor[] result = interceptors
+				.stream()
+				.filter(kind::isInstance)
+				.toArray(Interceptor[]::new);
+		return result.length == 0 ? NONE : result;
+	}
+
+	public boolean isEmpty() {
+		return this == EMPTY;
+	}
+
+	/**
+	 * Function of invoking method with advices.
+	 *
+	 * @param point junction point of invocation
+	 * @return value returned by method
+	 */
+	public Object invoke(JunctionDot point) {
+		for (Interceptor interceptor : before) {
+			interceptor.intercept(point);
+		}
+
+		for (Interceptor interceptor : around) {
+			interceptor.intercept(point);
+		}
+
+		point.process();
+
+		if (point.getException() != null) {
+			for (Interceptor interceptor : throwing) {
+				interceptor.intercept(point);
+			}
+		} else {
+			for (Interceptor interceptor : after) {
+				interceptor.intercept(point);
+			}
+		}
+		return point.getReturnValue();
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.aop;
+
+import net.sf.cglib.proxy.CallbackFilter;
+import org.ioc.context.type.IoCContext;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+import static org.ioc.utils.ReflectionUtils.installAspect;
+
+/**
+ * Advice chains of all proxied methods of a type, compiled once per type. Method without advice is routed to
+ * direct dispatch on target (callback 0), advised method {@code i} is routed to callback {@code i + 1}.
+ * The filter instance is shared by all proxies of the type created by one context, so cglib reuses the generated
+ * proxy class. Filters are cached by the context, as they hold its advice chains.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class AdviceFilter implements CallbackFilter {
+	static final int DISPATCH = 0;
+
+	private final IoCContext context;
+	private final List<Class<?>> aspects;
+	private final Map<List<Object>, Integer> indexes = new HashMap<>();
+	private final List<AdviceChain> chains = new ArrayList<>();
+
+	private AdviceFilter(IoCContext context, Class<?> type, List<Class<?>> aspects) {
+		this.context = context;
+		this.aspects = aspects;
+
+		for (Method method : collectMethods(type)) {
+			final List<Object> key = signature(method);
+			if (!indexes.containsKey(key)) {
+				final AdviceChain chain = AdviceChain.of(installAspect(context, method, aspects));
+				if (!chain.isEmpty()) {
+					indexes.put(key, chains.size() + 1);
+					chains.add(chain);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return compiled filter of type, created on first request.
+	 *
+	 * @param filters filters compiled by context, keyed by proxied type
+	 * @param context context of aspects
+	 * @param type    proxied type
+	 * @param aspects registered aspect agents
+	 * @return filter
+	 */
+	public static AdviceFilter of(Map<Class<?>, AdviceFilter> filters, IoCContext context, Class<?> type, List<Class<?>> aspects) {
+		return filters.compute(type, (k, filter) -> filter != null && filter.context == context && filter.aspects.equals(aspects)
+				? filter
+				: new AdviceFilter(context, k, aspects));
+	}
+
+	private static List<Method> collectMethods(Class<?> type) {
+		final List<Method> result = new ArrayList<>(Arrays.asList(type.getMethods()));
+		Class<?> current = type;
+		while (current != null && current != Object.class) {
+			result.addAll(Arrays.asList(current.getDeclaredMethods()));
+			current = current.getSuperclass();
+		}
+
+		result.removeIf(m -> Modifier.isStatic(m.getModifiers())
+				|| Modifier.isPrivate(m.getModifiers())
+				|| Modifier.isFinal(m.getModifiers()));
+		return result;
+	}
+
+	private static List<Object> signature(Method method) {
+		final List<Object> key = new ArrayList<>(method.getParameterCount() + 2);
+		key.add(method.getName());
+		key.add(method.getReturnType());
+		key.addAll(Arrays.asList(method.getParameterTypes()));
+		return key;
+	}
+
+	/**
+	 * @return advice chains of advised methods in callback order
+	 */
+	public List<AdviceChain> getChains() {
+		return Collections.unmodifiableList(chains);
+	}
+
+	@Override
+	public int accept(Method method) {
+		return indexes.getOrDefault(signature(method), DISPATCH);
+	}
+}
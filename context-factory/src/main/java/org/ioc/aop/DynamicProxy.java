@@ -18,21 +18,17 @@
  */
 package org.ioc.aop;
 
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
-import org.ioc.aop.advice.AfterAdvice;
-import org.ioc.aop.advice.AroundAdivice;
-import org.ioc.aop.advice.BeforeAdvice;
-import org.ioc.aop.advice.ThrowingAdvice;
-import org.ioc.aop.interceptor.Interceptor;
 import org.ioc.context.type.IoCContext;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.List;
-
-import static org.ioc.utils.ReflectionUtils.installAspect;
+import java.util.Map;
 
 /**
  * @author GenCloud
@@ -40,66 +36,58 @@ import static org.ioc.utils.ReflectionUtils.installAspect;
  */
 public class DynamicProxy implements InvocationHandler, MethodInterceptor {
 	private final Object target;
-	private final List<Class<?>> aspectList;
-	private final IoCContext context;
+	private final AdviceChain chain;
 
-	private DynamicProxy(IoCContext context, Object instance, List<Class<?>> aspectList) {
-		this.context = context;
+	private DynamicProxy(Object instance, AdviceChain chain) {
 		this.target = instance;
-		this.aspectList = aspectList;
+		this.chain = chain;
 	}
 
-	public static Object newProxyInstance(IoCContext context, Object instance, List<Class<?>> aspectList) {
-		final DynamicProxy proxy = new DynamicProxy(context, instance, aspectList);
+	/**
+	 * Creates proxy of instance routing advised methods to their advice chains.
+	 *
+	 * @param context    context of aspects
+	 * @param instance   proxied instance
+	 * @param aspectList registered aspect agents
+	 * @param filters    filters already compiled by context, keyed by proxied type
+	 * @return proxy
+	 */
+	public static Object newProxyInstance(IoCContext context, Object instance, List<Class<?>> aspectList,
+										  Map<Class<?>, AdviceFilter> filters) {
+		final AdviceFilter filter = AdviceFilter.of(filters, context, instance.getClass(), aspectList);
+		final List<AdviceChain> chains = filter.getChains();
+
+		final Callback[] callbacks = new Callback[chains.size() + 1];
+		callbacks[AdviceFilter.DISPATCH] = (Dispatcher) () -> instance;
+		for (int i = 0; i < chains.size(); i++) {
+			callbacks[i + 1] = new DynamicProxy(instance, chains.get(i));
+		}
+
 		final Enhancer enhancer = new Enhancer();
 		enhancer.setSuperclass(instance.getClass());
-		enhancer.setCallback(proxy);
-		enhancer.setCallbackFilter(m -> m.isBridge() ? 1 : 0);
+		enhancer.setCallbackFilter(filter);
+		enhancer.setCallbacks(callbacks);
 		return enhancer.create();
 	}
 
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) {
-		final List<Interceptor> interceptors = installAspect(context, method, aspectList);
+		return invoke(proxy, method, args, null);
+	}
+
+	@Override
+	public Object intercept(Object o, Method method, Object[] objects, MethodProxy methodProxy) {
+		return invoke(o, method, objects, methodProxy);
+	}
 
+	private Object invoke(Object proxy, Method method, Object[] args, MethodProxy methodProxy) {
 		final JunctionDot point = new JunctionDot();
 		point.setArgs(args);
 		point.setMethod(method);
+		point.setMethodProxy(methodProxy);
 		point.setProxy(proxy);
 		point.setTarget(target);
 
-		if (interceptors == null || interceptors.size() == 0) {
-			point.process();
-		} else {
-			interceptors
-					.stream()
-					.filter(i -> BeforeAdvice.class.isAssignableFrom(i.getClass()))
-					.forEach(i -> i.intercept(point));
-
-			interceptors
-					.stream()
-					.filter(i -> AroundAdivice.class.isAssignableFrom(i.getClass()))
-					.forEach(i -> i.intercept(point));
-
-			point.process();
-
-			if (point.getException() != null) {
-				interceptors
-						.stream()
-						.filter(i -> ThrowingAdvice.class.isAssignableFrom(i.getClass()))
-						.forEach(i -> i.intercept(point));
-			} else {
-				interceptors
-						.stream()
-						.filter(i -> AfterAdvice.class.isAssignableFrom(i.getClass()))
-						.forEach(i -> i.intercept(point));
-			}
-		}
-		return point.getReturnValue();
-	}
-
-	@Override
-	public Object intercept(Object o, Method method, Object[] objects, MethodProxy methodProxy) {
-		return invoke(o, method, objects);
+		return chain.invoke(point);
 	}
 }
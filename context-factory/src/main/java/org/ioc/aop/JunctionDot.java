@@ -18,6 +18,9 @@
  */
 package org.ioc.aop;
 
+import net.sf.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 
@@ -30,6 +33,7 @@ public class JunctionDot {
 	private Object target;
 	private Object proxy;
 	private Method method;
+	private MethodProxy methodProxy;
 	private Object[] args;
 	private Exception exception;
 	private Object returnValue;
@@ -58,6 +62,14 @@ public class JunctionDot {
 		this.method = method;
 	}
 
+	public MethodProxy getMethodProxy() {
+		return methodProxy;
+	}
+
+	public void setMethodProxy(MethodProxy methodProxy) {
+		this.methodProxy = methodProxy;
+	}
+
 	public Object[] getArgs() {
 		return args;
 	}
@@ -85,9 +97,15 @@ public class JunctionDot {
 	public void process() {
 		if (!processed) {
 			try {
-				this.returnValue = method.invoke(target, args);
+				if (methodProxy != null) {
+					this.returnValue = methodProxy.invoke(target, args);
+				} else {
+					this.returnValue = method.invoke(target, args);
+				}
 			} catch (Exception e) {
-				this.exception = e;
+				this.exception = methodProxy != null ? new InvocationTargetException(e) : e;
+			} catch (Throwable t) {
+				this.exception = new InvocationTargetException(t);
 			}
 			this.processed = true;
 		}
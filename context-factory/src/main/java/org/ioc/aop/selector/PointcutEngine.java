@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.aop.selector;
+
+import org.ioc.aop.annotation.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pointcut engine of context. Expressions are compiled once, advice definitions of aspects are read once,
+ * and every expression is evaluated per declaring class to a bitmap of its methods. Bitmaps are held
+ * in a bounded, least recently used cache keyed by class and expression.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class PointcutEngine {
+	private static final int DEFAULT_CAPACITY = 4096;
+
+	private static final ClassValue<MethodTable> TABLES = new ClassValue<MethodTable>() {
+		@Override
+		protected MethodTable computeValue(Class<?> type) {
+			return new MethodTable(type.getDeclaredMethods());
+		}
+	};
+
+	private final Map<String, StandardSelector> selectors = new ConcurrentHashMap<>();
+	private final Map<Class<?>, List<AdviceDefinition>> definitions = new ConcurrentHashMap<>();
+	private final Map<MatchKey, BitSet> matches;
+
+	public PointcutEngine() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public PointcutEngine(int capacity) {
+		matches = Collections.synchronizedMap(new LinkedHashMap<MatchKey, BitSet>(64, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<MatchKey, BitSet> eldest) {
+				return size() > capacity;
+			}
+		});
+	}
+
+	/**
+	 * Function of compiling expression, every expression is parsed once.
+	 *
+	 * @param expression pointcut expression
+	 * @return compiled selector
+	 */
+	public StandardSelector compile(String expression) {
+		return selectors.computeIfAbsent(expression, StandardSelector::new);
+	}
+
+	/**
+	 * Function of checking method by expression.
+	 *
+	 * @param expression pointcut expression
+	 * @param method     method for check
+	 * @return true if method matches expression
+	 */
+	public boolean matches(String expression, Method method) {
+		if (method == null || expression == null || expression.isEmpty()) {
+			return false;
+		}
+
+		final Class<?> type = method.getDeclaringClass();
+		final MethodTable table = TABLES.get(type);
+		final Integer index = table.indexes.get(method);
+		if (index == null) {
+			return compile(expression).isValidForAdvisor(method);
+		}
+
+		final MatchKey key = new MatchKey(type, expression);
+		BitSet bitmap = matches.get(key);
+		if (bitmap == null) {
+			bitmap = evaluate(compile(expression), table.methods);
+			matches.put(key, bitmap);
+		}
+		return bitmap.get(index);
+	}
+
+	/**
+	 * Return advice definitions of aspect, read on first request.
+	 *
+	 * @param aspect aspect type
+	 * @return advice methods of aspect
+	 */
+	public List<AdviceDefinition> getDefinitions(Class<?> aspect) {
+		return definitions.computeIfAbsent(aspect, PointcutEngine::readDefinitions);
+	}
+
+	/**
+	 * Function of checking method for advices of aspects.
+	 *
+	 * @param method  method for check
+	 * @param aspects registered aspect agents
+	 * @return true if any advice matches method
+	 */
+	public boolean isAdvised(Method method, List<Class<?>> aspects) {
+		for (Class<?> aspect : aspects) {
+			for (AdviceDefinition definition : getDefinitions(aspect)) {
+				if (definition.matches(this, method)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static BitSet evaluate(StandardSelector selector, Method[] methods) {
+		final BitSet bitmap = new BitSet(methods.length);
+		for (int i = 0; i < methods.length; i++) {
+			if (selector.isValidForAdvisor(methods[i])) {
+				bitmap.set(i);
+			}
+		}
+		return bitmap;
+	}
+
+	private static List<AdviceDefinition> readDefinitions(Class<?> aspect) {
+		final Method[] methods = aspect.getDeclaredMethods();
+		final Method pointCutMethod = Arrays.stream(methods)
+				.filter(mh -> mh.isAnnotationPresent(PointCut.class))
+				.findFirst()
+				.orElse(null);
+
+		final List<AdviceDefinition> result = new ArrayList<>();
+		for (Method mh : methods) {
+			if (mh.isAnnotationPresent(PointCut.class)) {
+				continue;
+			}
+
+			final String expression;
+			final Class<? extends Annotation> adviceType;
+			if (mh.isAnnotationPresent(BeforeInvocation.class)) {
+				expression = mh.getAnnotation(BeforeInvocation.class).value();
+				adviceType = BeforeInvocation.class;
+			} else if (mh.isAnnotationPresent(AfterInvocation.class)) {
+				expression = mh.getAnnotation(AfterInvocation.class).value();
+				adviceType = AfterInvocation.class;
+			} else if (mh.isAnnotationPresent(AroundExecution.class)) {
+				expression = mh.getAnnotation(AroundExecution.class).value();
+				adviceType = AroundExecution.class;
+			} else if (mh.isAnnotationPresent(Throwing.class)) {
+				expression = mh.getAnnotation(Throwing.class).value();
+				adviceType = Throwing.class;
+			} else {
+				continue;
+			}
+
+			String pointcut = null;
+			if (pointCutMethod != null && expression.startsWith(pointCutMethod.getName())) {
+				pointcut = pointCutMethod.getAnnotation(PointCut.class).value();
+			}
+			result.add(new AdviceDefinition(aspect, mh, adviceType, expression, pointcut));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Advice method of aspect with its expressions.
+	 */
+	public static class AdviceDefinition {
+		private final Class<?> aspect;
+		private final Method method;
+		private final Class<? extends Annotation> adviceType;
+		private final String expression;
+		private final String pointcut;
+
+		AdviceDefinition(Class<?> aspect, Method method, Class<? extends Annotation> adviceType, String expression, String pointcut) {
+			this.aspect = aspect;
+			this.method = method;
+			this.adviceType = adviceType;
+			this.expression = expression;
+			this.pointcut = pointcut;
+		}
+
+		public Class<?> getAspect() {
+			return aspect;
+		}
+
+		public Method getMethod() {
+			return method;
+		}
+
+		public Class<? extends Annotation> getAdviceType() {
+			return adviceType;
+		}
+
+		/**
+		 * Function of checking method by referenced {@link PointCut} or by own expression of advice.
+		 *
+		 * @param engine engine of context
+		 * @param target method for check
+		 * @return true if advice must be applied to method
+		 */
+		public boolean matches(PointcutEngine engine, Method target) {
+			return pointcut != null && engine.matches(pointcut, target) || engine.matches(expression, target);
+		}
+	}
+
+	private static class MethodTable {
+		private final Method[] methods;
+		private final Map<Method, Integer> indexes;
+
+		MethodTable(Method[] methods) {
+			this.methods = methods;
+			indexes = new HashMap<>(methods.length * 2);
+			for (int i = 0; i < methods.length; i++) {
+				indexes.put(methods[i], i);
+			}
+		}
+	}
+
+	private static class MatchKey {
+		private final Class<?> type;
+		private final String expression;
+		private final int hash;
+
+		MatchKey(Class<?> type, String expression) {
+			this.type = type;
+			this.expression = expression;
+			hash = 31 * type.hashCode() + expression.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof MatchKey)) {
+				return false;
+			}
+			final MatchKey other = (MatchKey) o;
+			return type == other.type && expression.equals(other.expression);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
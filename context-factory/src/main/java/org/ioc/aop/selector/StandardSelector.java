@@ -22,38 +22,31 @@ import org.ioc.aop.selector.expression.AbstractMatcher;
 import org.ioc.aop.selector.expression.impl.PointcutTokenizer;
 
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Compiled pointcut expression, the matcher tree is parsed once and is immutable.
+ *
  * @author GenCloud
  * @date 09/2018
  */
 public class StandardSelector {
-	private static final String EXEC = "exec(* *.*(*))";
-	private static final Map<Integer, Boolean> matchMap = new ConcurrentHashMap<>();
 	private final String value;
+	private final AbstractMatcher matcher;
 
 	public StandardSelector(String value) {
 		this.value = value;
+		this.matcher = value == null || value.isEmpty() ? null : new PointcutTokenizer(value).parseValues();
+	}
+
+	public String getValue() {
+		return value;
 	}
 
 	public boolean isValidForAdvisor(Method method) {
-		if (method == null || value == null || value.isEmpty()) {
+		if (method == null || matcher == null) {
 			return false;
 		}
 
-		final int hash = calcHash(method, value);
-		Boolean result = matchMap.get(hash);
-		if (result == null) {
-			final AbstractMatcher exp = new PointcutTokenizer(value).parseValues();
-			result = exp.match(method);
-			matchMap.put(hash, result);
-		}
-		return result;
-	}
-
-	private int calcHash(Method method, String exp) {
-		return exp.hashCode() ^ method.hashCode();
+		return matcher.match(method);
 	}
 }
@@ -26,6 +26,7 @@ import org.ioc.aop.selector.expression.util.AnalyzeType;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -88,6 +89,7 @@ public abstract class AbstractMatcher {
 		total = value.length();
 
 		parseValues();
+		matchers = Collections.unmodifiableList(matchers);
 	}
 
 	private void parseValues() {
@@ -29,18 +29,24 @@ import java.lang.reflect.Method;
  */
 public class AnnotationMatcher extends AbstractMatcher {
 	private final boolean annotated;
+	private final Class<? extends Annotation> annotationType;
 
 	AnnotationMatcher(boolean annotated, String value) {
 		super(value);
 		this.annotated = annotated;
+		this.annotationType = resolveAnnotationType();
 	}
 
 	public boolean isAnnotated() {
 		return annotated;
 	}
 
-	@SuppressWarnings("unchecked")
 	Class<? extends Annotation> annotationType() {
+		return annotationType;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Class<? extends Annotation> resolveAnnotationType() {
 		if (getValue() == null || getValue().isEmpty()) {
 			return null;
 		}
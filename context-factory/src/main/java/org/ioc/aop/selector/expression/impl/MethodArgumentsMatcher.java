@@ -29,8 +29,11 @@ import java.lang.reflect.Type;
  * @date 09/2018
  */
 public class MethodArgumentsMatcher extends AbstractMatcher {
+	private final String[] arguments;
+
 	public MethodArgumentsMatcher(String exp) {
 		super(exp);
+		arguments = exp == null ? new String[0] : exp.split(",");
 	}
 
 	@Override
@@ -40,7 +43,7 @@ public class MethodArgumentsMatcher extends AbstractMatcher {
 			return true;
 		}
 
-		final String[] array = getValue().split(",");
+		final String[] array = arguments;
 		if (array.length != parameters.length) {
 			return false;
 		}
@@ -29,11 +29,16 @@ import java.lang.reflect.Method;
 public class ExecutionPointcut extends AbstractMatcher {
 	public ExecutionPointcut(String value) {
 		super(value);
+		readValue();
 	}
 
 	@Override
 	protected boolean isMatch(Method method) {
-		readValue();
-		return getMatchers().stream().allMatch(exp -> exp.match(method));
+		for (AbstractMatcher matcher : getMatchers()) {
+			if (!matcher.match(method)) {
+				return false;
+			}
+		}
+		return true;
 	}
 }
@@ -21,15 +21,18 @@ package org.ioc.context;
 import org.ioc.annotations.context.IoCComponent;
 import org.ioc.annotations.web.IoCController;
 import org.ioc.aop.annotation.IoCAspect;
+import org.ioc.aop.selector.PointcutEngine;
+import org.ioc.context.index.ClassCatalog;
 import org.ioc.context.model.ControllerMetadata;
 import org.ioc.context.model.TypeMetadata;
 import org.ioc.context.type.IoCContext;
 import org.ioc.context.type.IoCScanner;
+import org.ioc.utils.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.ioc.utils.ReflectionUtils.*;
@@ -41,6 +44,13 @@ import static org.ioc.utils.ReflectionUtils.*;
 public abstract class AbstractIoCContext implements IoCContext, IoCScanner {
 	final Logger log = LoggerFactory.getLogger(IoCContext.class);
 
+	private final PointcutEngine pointcutEngine = new PointcutEngine();
+
+	@Override
+	public PointcutEngine getPointcutEngine() {
+		return pointcutEngine;
+	}
+
 	@Override
 	public List<TypeMetadata> findMetadataInClassPathByAnnotations(List<Class<? extends Annotation>> annotations, String... packages) {
 		return resolveMetadata(findClassesByAnnotation(annotations, packages));
@@ -53,17 +63,24 @@ public abstract class AbstractIoCContext implements IoCContext, IoCScanner {
 
 	@Override
 	public List<TypeMetadata> findMetadataInClassPath(String... packages) {
-		final List<Class<? extends Annotation>> annotations = new LinkedList<>();
+		final List<Class<? extends Annotation>> annotations = new ArrayList<>(2);
 		annotations.add(IoCComponent.class);
 		annotations.add(IoCController.class);
 
 		return resolveMetadata(findClassesByAnnotation(annotations, packages));
 	}
 
+	/**
+	 * @return class catalog of scanned packages
+	 */
+	public ClassCatalog getCatalog() {
+		return ReflectionUtils.getCatalog(getPackages());
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <O> List<O> findInstancesInClassPathByInstance(Class<O> instance, String... packages) {
-		final List<O> types = new LinkedList<>();
+		final List<O> types = new ArrayList<>();
 
 		findClassesByInstance(instance, packages)
 				.forEach(typeClass -> {
@@ -80,7 +97,7 @@ public abstract class AbstractIoCContext implements IoCContext, IoCScanner {
 	}
 
 	private List<TypeMetadata> resolveMetadata(List<Class<?>> classesByAnnotation) {
-		final List<TypeMetadata> types = new LinkedList<>();
+		final List<TypeMetadata> types = new ArrayList<>(classesByAnnotation.size());
 		classesByAnnotation
 				.forEach(typeClass -> {
 					if (checkType(typeClass)) {
@@ -23,9 +23,11 @@ import org.ioc.annotations.configuration.PropertyFunction;
 import org.ioc.annotations.context.*;
 import org.ioc.annotations.modules.DatabaseModule;
 import org.ioc.annotations.modules.WebModule;
+import org.ioc.aop.AdviceFilter;
 import org.ioc.aop.DynamicProxy;
 import org.ioc.context.factories.Factory;
 import org.ioc.context.factories.ICacheFactory;
+import org.ioc.context.factories.core.DependencyGraph;
 import org.ioc.context.factories.core.InstanceFactory;
 import org.ioc.context.factories.core.PrototypeFactory;
 import org.ioc.context.factories.core.SingletonFactory;
@@ -60,7 +62,15 @@ import java.lang.reflect.Type;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.ioc.utils.ReflectionUtils.*;
@@ -82,8 +92,15 @@ public class DefaultIoCContext extends AbstractIoCContext {
 
 	private List<Class<?>> aspects;
 
+	/**
+	 * Compiled advice filters of types proxied by this context.
+	 */
+	private final Map<Class<?>, AdviceFilter> adviceFilters = new ConcurrentHashMap<>();
+
 	private FactDispatcherFactory dispatcherFactory;
 
+	private volatile ForkJoinPool initPool;
+
 	private String[] packages;
 
 	private List<TypeMetadata> types;
@@ -102,12 +119,14 @@ public class DefaultIoCContext extends AbstractIoCContext {
 	public void init(Class<?> mainSource, String... packages) {
 		this.packages = packages;
 
-		types = findMetadataInClassPath(packages)
+		final List<TypeMetadata> found = findMetadataInClassPath(packages);
+
+		types = found
 				.stream()
 				.filter(t -> !t.getType().isAnnotationPresent(Lazy.class))
 				.collect(Collectors.toList());
 
-		final List<TypeMetadata> lazyTypes = findMetadataInClassPath(packages)
+		final List<TypeMetadata> lazyTypes = found
 				.stream()
 				.filter(t -> t.getType().isAnnotationPresent(Lazy.class) && t.getMode() == Mode.SINGLETON)
 				.collect(Collectors.toList());
@@ -156,9 +175,19 @@ public class DefaultIoCContext extends AbstractIoCContext {
 		registerListeners(packages);
 
 		types.sort((o1, o2) -> getOrder(o2.getType()) - getOrder(o1.getType()));
-		registerTypes(types);
 
-		initPostConstruction(getSingletonFactory().getTypes().values());
+		initPool = createInitPool();
+		try {
+			final DependencyGraph graph = initPool != null ? DependencyGraph.build(types, instanceFactory) : null;
+			registerTypes(types, graph);
+
+			initPostConstruction(getSingletonFactory().getTypes().values(), graph);
+		} finally {
+			if (initPool != null) {
+				initPool.shutdown();
+				initPool = null;
+			}
+		}
 	}
 
 	@Override
@@ -229,7 +258,37 @@ public class DefaultIoCContext extends AbstractIoCContext {
 
 	@Override
 	public List<TypeMetadata> registerTypes(List<TypeMetadata> types) {
-		types.forEach(type -> {
+		registerTypes(types, initPool != null && types.size() > 1 ? DependencyGraph.build(types, instanceFactory) : null);
+		return types;
+	}
+
+	/**
+	 * Function of registering types in order. Without graph types are registered one by one and their dependencies
+	 * on demand, with graph concurrently, every type once its dependencies are registered.
+	 *
+	 * @param types types in order of registration
+	 * @param graph dependency graph of types, null - sequential registration
+	 */
+	private void registerTypes(List<TypeMetadata> types, DependencyGraph graph) {
+		if (graph == null) {
+			types.forEach(this::registerType);
+			return;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Registering [{}] types, longest chain of dependencies [{}]", graph.size(), graph.getDepth());
+		}
+
+		invokeGraph(types, graph, this::registerType);
+	}
+
+	/**
+	 * Function of instantiating, processing and registering type in its factory.
+	 *
+	 * @param type bag for register
+	 */
+	private void registerType(TypeMetadata type) {
+		synchronized (type) {
 			if (type.getInstance() != null) {
 				instantiateSensibles(type.getInstance());
 			} else {
@@ -249,17 +308,90 @@ public class DefaultIoCContext extends AbstractIoCContext {
 
 				getDispatcherFactory().fireEvent(new OnTypeInitFact(type.getName(), instance));
 			}
+		}
 
-			if (type.getMode() == Mode.PROTOTYPE) {
-				getPrototypeFactory().addType(type);
-			} else if (type.getMode() == Mode.REQUEST) {
-				getRequestFactory().addType(type);
-			} else {
-				getSingletonFactory().addType(type);
+		if (type.getMode() == Mode.PROTOTYPE) {
+			getPrototypeFactory().addType(type);
+		} else if (type.getMode() == Mode.REQUEST) {
+			getRequestFactory().addType(type);
+		} else {
+			getSingletonFactory().addType(type);
+		}
+	}
+
+	/**
+	 * Function of applying action to types on initialization pool. Action of type is submitted as soon as actions of its
+	 * dependencies are completed, independent types are submitted in given order, so types of higher {@link Order}
+	 * wait only for their own dependencies.
+	 *
+	 * @param types  types in order of submission
+	 * @param graph  dependency graph of types
+	 * @param action action to apply
+	 */
+	private void invokeGraph(List<TypeMetadata> types, DependencyGraph graph, Consumer<TypeMetadata> action) {
+		final Map<TypeMetadata, CompletableFuture<Void>> tasks = new IdentityHashMap<>();
+		types.forEach(type -> tasks.put(type, null));
+		types.forEach(type -> submit(type, graph, action, tasks));
+
+		try {
+			CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0])).join();
+		} catch (CompletionException e) {
+			final Throwable cause = e.getCause() != null ? e.getCause() : e;
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
 			}
-		});
 
-		return types;
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IoCException("IoCError - Failed to initialize types", cause);
+		}
+	}
+
+	private CompletableFuture<Void> submit(TypeMetadata type, DependencyGraph graph, Consumer<TypeMetadata> action,
+										   Map<TypeMetadata, CompletableFuture<Void>> tasks) {
+		CompletableFuture<Void> task = tasks.get(type);
+		if (task != null) {
+			return task;
+		}
+
+		final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+		for (TypeMetadata dependency : graph.getDependencies(type)) {
+			if (tasks.containsKey(dependency)) {
+				dependencies.add(submit(dependency, graph, action, tasks));
+			}
+		}
+
+		task = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+				.thenRunAsync(() -> action.accept(type), initPool);
+		tasks.put(type, task);
+		return task;
+	}
+
+	/**
+	 * Function of creating pool for parallel initialization of types.
+	 *
+	 * @return pool or null if initialization must be sequential
+	 */
+	private ForkJoinPool createInitPool() {
+		final ThreadingAutoConfiguration configuration = getType(ThreadingAutoConfiguration.class);
+		int parallelism = configuration != null ? configuration.getInitParallelism() : 1;
+		if (parallelism <= 0) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+
+		return parallelism == 1 ? null : newInitPool(parallelism);
+	}
+
+	private ForkJoinPool newInitPool(int parallelism) {
+		final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		final AtomicInteger counter = new AtomicInteger();
+		return new ForkJoinPool(parallelism, pool -> {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("ioc-init-" + counter.incrementAndGet());
+			thread.setContextClassLoader(loader);
+			return thread;
+		}, null, false);
 	}
 
 	@Override
@@ -292,6 +424,9 @@ public class DefaultIoCContext extends AbstractIoCContext {
 		getDispatcherFactory().fireEvent(new OnContextDestroyFact(this));
 
 		getSingletonFactory().getTypes().values().forEach(this::destroy);
+
+		adviceFilters.clear();
+		clearCatalogs();
 	}
 
 	/**
@@ -348,9 +483,22 @@ public class DefaultIoCContext extends AbstractIoCContext {
 		metadatas.forEach(this::installFactory);
 	}
 
-	@SuppressWarnings("unchecked")
-	private void installFactory(TypeMetadata metadata) {
-		((Factory) metadata.getInstance()).initialize();
+	/**
+	 * Function of initializing factory once. Types initialized concurrently wait for the factory
+	 * installed by other thread.
+	 *
+	 * @param metadata factory type
+	 * @return initialized factory
+	 */
+	private Factory installFactory(TypeMetadata metadata) {
+		final Factory factory = (Factory) metadata.getInstance();
+		synchronized (metadata) {
+			if (!metadata.isInitialized()) {
+				metadata.setInitialized(true);
+				factory.initialize();
+			}
+		}
+		return factory;
 	}
 
 	private int getOrder(Class<?> type) {
@@ -364,63 +512,110 @@ public class DefaultIoCContext extends AbstractIoCContext {
 
 	/**
 	 * Function of reading default property path, init configuration and bag-functions in context.
+	 * Configurations are loaded concurrently, their bag-functions are invoked and types registered in order.
 	 *
 	 * @param list collection of configurations
 	 */
-	@SuppressWarnings("deprecation")
 	private void registerEnvironments(List<Class<?>> list) {
-		final List<TypeMetadata> types = new LinkedList<>();
-		list.forEach(propertyClass -> {
-			final Property property = propertyClass.getAnnotation(Property.class);
-			if (property.ignore()) {
-				return;
+		final List<Class<?>> configurations = list.stream()
+				.filter(propertyClass -> !propertyClass.getAnnotation(Property.class).ignore())
+				.collect(Collectors.toList());
+
+		final Object[] instances = new Object[configurations.size()];
+		final int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), configurations.size());
+		if (parallelism < 2) {
+			for (int i = 0; i < instances.length; i++) {
+				instances[i] = loadEnvironment(configurations.get(i));
 			}
-			final Path path = Paths.get(property.path());
+		} else {
+			final ForkJoinPool pool = newInitPool(parallelism);
 			try {
-				final Object instance = propertyClass.newInstance();
-				EnvironmentLoader.parse(instance, path.toFile());
-				final TypeMetadata typeMetadata = new TypeMetadata(resolveTypeName(instance.getClass()), instance, Mode.SINGLETON);
-				types.add(typeMetadata);
+				final List<ForkJoinTask<?>> tasks = new ArrayList<>(instances.length);
+				for (int i = 0; i < instances.length; i++) {
+					final int index = i;
+					tasks.add(pool.submit(() -> {
+						instances[index] = loadEnvironment(configurations.get(index));
+					}));
+				}
 
-				for (Method method : propertyClass.getDeclaredMethods()) {
-					if (method.isAnnotationPresent(PropertyFunction.class)) {
+				for (ForkJoinTask<?> task : tasks) {
+					task.join();
+				}
+			} finally {
+				pool.shutdown();
+			}
+		}
+
+		EnvironmentLoader.writeSnapshot();
+
+		final List<TypeMetadata> types = new LinkedList<>();
+		for (Object instance : instances) {
+			types.add(new TypeMetadata(resolveTypeName(instance.getClass()), instance, Mode.SINGLETON));
+			for (Method method : instance.getClass().getDeclaredMethods()) {
+				if (method.isAnnotationPresent(PropertyFunction.class)) {
+					try {
 						final Object returned = method.invoke(instance);
 						if (returned != null) {
 							types.add(new TypeMetadata(resolveTypeName(returned.getClass()), returned, resolveLoadingMode(method)));
 						}
+					} catch (Exception e) {
+						throw new IoCException("IoCError - Failed to invoke " + method + " of configuration", e);
 					}
 				}
-
-			} catch (Exception e) {
-				throw new IoCException("IoCError - Failed to Load " + path + " Config File", e);
 			}
-		});
+		}
 
 		registerTypes(types);
 	}
 
 	/**
-	 * Function of invoke class method annotated {@link PostConstruct}.
+	 * Function of instantiating configuration and binding it to its property file.
+	 *
+	 * @param propertyClass configuration class
+	 * @return bound configuration
+	 */
+	@SuppressWarnings("deprecation")
+	private Object loadEnvironment(Class<?> propertyClass) {
+		final Path path = Paths.get(propertyClass.getAnnotation(Property.class).path());
+		try {
+			final Object instance = propertyClass.newInstance();
+			EnvironmentLoader.bind(instance, EnvironmentLoader.source(path.toFile()));
+			return instance;
+		} catch (Exception e) {
+			throw new IoCException("IoCError - Failed to Load " + path + " Config File", e);
+		}
+	}
+
+	/**
+	 * Function of invoke class method annotated {@link PostConstruct}, in order of types. With graph methods are invoked
+	 * concurrently, method of type after methods of its dependencies.
 	 *
 	 * @param values types for invoke postConstructions
+	 * @param graph  dependency graph of registered types, null - sequential invocation
 	 */
-	private void initPostConstruction(Collection<TypeMetadata> values) {
-		List<TypeMetadata> toSort = new ArrayList<>(values);
+	private void initPostConstruction(Collection<TypeMetadata> values, DependencyGraph graph) {
+		final List<TypeMetadata> toSort = new ArrayList<>(values);
 		toSort.sort((o1, o2) -> getOrder(o2.getType()) - getOrder(o1.getType()));
 
-		for (TypeMetadata type : toSort) {
-			final Class<?> toCheck = type.getType();
-			final Method[] methods = toCheck.getDeclaredMethods();
-			for (Method method : methods) {
-				if (method.isAnnotationPresent(PostConstruct.class)) {
-					try {
-						method.invoke(type.getInstance());
-					} catch (IllegalAccessException | InvocationTargetException e) {
-						throw new IoCInstantiateException(e);
-					}
+		if (graph == null) {
+			toSort.forEach(this::invokePostConstruct);
+		} else {
+			invokeGraph(toSort, graph, this::invokePostConstruct);
+		}
+	}
 
-					break;
+	private void invokePostConstruct(TypeMetadata type) {
+		final Class<?> toCheck = type.getType();
+		final Method[] methods = toCheck.getDeclaredMethods();
+		for (Method method : methods) {
+			if (method.isAnnotationPresent(PostConstruct.class)) {
+				try {
+					method.invoke(type.getInstance());
+				} catch (IllegalAccessException | InvocationTargetException e) {
+					throw new IoCInstantiateException(e);
 				}
+
+				break;
 			}
 		}
 	}
@@ -459,51 +654,24 @@ public class DefaultIoCContext extends AbstractIoCContext {
 		}
 
 		if (ThreadFactorySensible.class.isAssignableFrom(cls)) {
-			getSingletonFactory().getTypes().values()
+			getSingletonFactory().getCandidates(Factory.defaultThreadFactory())
 					.stream()
-					.filter(t -> Factory.defaultThreadFactory().isAssignableFrom(t.getType()))
 					.findFirst()
-					.ifPresent(t -> {
-						if (!t.isInitialized()) {
-							t.setInitialized(true);
-							installFactory(t);
-							((ThreadFactorySensible) instance).factoryInform((Factory) t.getInstance());
-						} else {
-							((ThreadFactorySensible) instance).factoryInform((Factory) t.getInstance());
-						}
-					});
+					.ifPresent(t -> ((ThreadFactorySensible) instance).factoryInform(installFactory(t)));
 		}
 
 		if (CacheFactorySensible.class.isAssignableFrom(cls)) {
-			getSingletonFactory().getTypes().values()
+			getSingletonFactory().getCandidates(ICacheFactory.class)
 					.stream()
-					.filter(t -> ICacheFactory.class.isAssignableFrom(t.getType()))
 					.findFirst()
-					.ifPresent(t -> {
-						if (!t.isInitialized()) {
-							t.setInitialized(true);
-							installFactory(t);
-							((CacheFactorySensible) instance).factoryInform((Factory) t.getInstance());
-						} else {
-							((CacheFactorySensible) instance).factoryInform((Factory) t.getInstance());
-						}
-					});
+					.ifPresent(t -> ((CacheFactorySensible) instance).factoryInform(installFactory(t)));
 		}
 
 		if (DatabaseFactorySensible.class.isAssignableFrom(cls)) {
-			getSingletonFactory().getTypes().values()
+			getSingletonFactory().getCandidates(Factory.defaultDatabaseFactory())
 					.stream()
-					.filter(t -> Factory.defaultDatabaseFactory().isAssignableFrom(t.getType()))
 					.findFirst()
-					.ifPresent(t -> {
-						if (!t.isInitialized()) {
-							t.setInitialized(true);
-							installFactory(t);
-							((DatabaseFactorySensible) instance).factoryInform((Factory) t.getInstance());
-						} else {
-							((DatabaseFactorySensible) instance).factoryInform((Factory) t.getInstance());
-						}
-					});
+					.ifPresent(t -> ((DatabaseFactorySensible) instance).factoryInform(installFactory(t)));
 		}
 
 		if (EnvironmentSensible.class.isAssignableFrom(cls)) {
@@ -539,8 +707,8 @@ public class DefaultIoCContext extends AbstractIoCContext {
 	private Object viewAspect(Object instance, List<Class<?>> models) {
 		final Class<?> type = instance.getClass();
 		for (Method m : type.getDeclaredMethods()) {
-			if (checkTypeForIntercept(m, models) && !type.isAnnotationPresent(Lazy.class)) {
-				return DynamicProxy.newProxyInstance(this, instance, models);
+			if (checkTypeForIntercept(this, m, models) && !type.isAnnotationPresent(Lazy.class)) {
+				return DynamicProxy.newProxyInstance(this, instance, models, adviceFilters);
 			}
 		}
 
@@ -20,11 +20,9 @@ package org.ioc.context.factories;
 
 import org.ioc.context.factories.core.InstanceFactory;
 import org.ioc.context.model.TypeMetadata;
-import org.ioc.exceptions.IoCInstantiateException;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Internal storage structure of the generic AbstractFactory.
@@ -36,23 +34,30 @@ import java.util.stream.Collectors;
 public abstract class AbstractFactory {
 	protected InstanceFactory instanceFactory;
 
+	protected final TypeIndex index = new TypeIndex();
+
 	public AbstractFactory(InstanceFactory instanceFactory) {
 		this.instanceFactory = instanceFactory;
 	}
 
+	/**
+	 * Return metadata of single registered type assignable to {@code type}.
+	 *
+	 * @param type bag for find
+	 * @return metadata or null
+	 */
 	protected TypeMetadata getMetadata(Class<?> type) {
-		final List<TypeMetadata> collect = getTypes().values()
-				.stream()
-				.filter(t -> type.isAssignableFrom(t.getType()))
-				.collect(Collectors.toList());
-
-		if (collect.size() == 1) {
-			return collect.get(0);
-		} else if (collect.size() > 1) {
-			throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + type + "]. Found 2 or more instances in context! Use qualified name of type in @IoCDependency");
-		}
+		return index.resolve(type);
+	}
 
-		return null;
+	/**
+	 * Return metadata's of all registered types assignable to {@code type}.
+	 *
+	 * @param type bag for find
+	 * @return metadata's in registration order
+	 */
+	public List<TypeMetadata> getCandidates(Class<?> type) {
+		return index.candidates(type);
 	}
 
 	/**
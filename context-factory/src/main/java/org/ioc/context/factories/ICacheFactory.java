@@ -1,21 +1,33 @@
 package org.ioc.context.factories;
 
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
-import net.sf.cglib.proxy.InvocationHandler;
 import org.ioc.annotations.cache.CacheIgnore;
 import org.ioc.annotations.cache.Cacheables;
+import org.ioc.context.factories.threading.DefaultThreadPoolFactory;
 import org.ioc.context.model.cache.ICache;
+import org.ioc.context.model.cache.invocation.CacheRegion;
+import org.ioc.context.model.cache.invocation.CacheRegionFilter;
+import org.ioc.context.model.cache.invocation.CacheRegionNames;
 import org.ioc.context.processors.DestroyProcessor;
-import org.ioc.utils.MethodInvocation;
+import org.ioc.context.type.IoCContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 /**
  * This is an transparent Cache system. It proxies an interface implementing
  * {@link Cacheables}. Once first call is done through proxy, result
  * is cached in underlying cache engine. When second and sucedind calls
  * are made cache is looked up, if a match (method and arguments pair) is
- * found, this result is returned.
+ * found, this result is returned. Every method stores its results in own
+ * cache region configured by {@link Cacheables} attributes.
  * <p>
  * If you do not desire to cache an method, annotate it with {@link CacheIgnore}
  *
@@ -31,9 +43,39 @@ public interface ICacheFactory extends Factory, DestroyProcessor {
 	 * @param <T>           instance collection
 	 * @param interfaceType interface collection. Remember, this must be an interface!
 	 * @param instance      instance implementing interface
-	 * @return cache-invoked object
+	 * @return cache-invoked object, null if interface is not annotated with {@link Cacheables}
 	 */
-	<T> T invoke(Class<T> interfaceType, T instance);
+	@SuppressWarnings("unchecked")
+	default <T> T invoke(Class<T> interfaceType, T instance) {
+		if (!interfaceType.isAnnotationPresent(Cacheables.class)) {
+			return null;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Decorating {} with cache", interfaceType);
+		}
+
+		final CacheRegionFilter filter = CacheRegionFilter.of(interfaceType);
+		final List<Method> methods = filter.getMethods();
+		final Callback[] callbacks = new Callback[methods.size() + 1];
+		callbacks[CacheRegionFilter.DISPATCH] = (Dispatcher) () -> instance;
+		for (int i = 0; i < methods.size(); i++) {
+			final Method method = methods.get(i);
+			final Cacheables settings = filter.getSettings(method);
+			final String name = getRegionNames().next(filter.getRegionName(method));
+			final int size = settings.size() > 0 ? settings.size() : getDefaultSize();
+			final ICache<Object, Object> cache = settings.expireAfterWrite() > 0 || settings.refreshAfterWrite() > 0
+					? install(name, size, settings.expireAfterWrite(), settings.refreshAfterWrite(), settings.unit())
+					: install(name, size);
+			callbacks[i + 1] = new CacheRegion(instance, cache, settings.cacheNulls());
+		}
+
+		final Enhancer enhancer = new Enhancer();
+		enhancer.setInterfaces(new Class[]{interfaceType});
+		enhancer.setCallbackFilter(filter);
+		enhancer.setCallbacks(callbacks);
+		return (T) enhancer.create();
+	}
 
 	/**
 	 * Creates a new cache with default configurations. Eviction mode is LRU
@@ -48,6 +90,40 @@ public interface ICacheFactory extends Factory, DestroyProcessor {
 	 */
 	<K, V> ICache<K, V> install(String name, int size);
 
+	/**
+	 * Creates a new cache whose entries expire after given time since they were written.
+	 * Factories not supporting expiration create cache with their default configurations.
+	 *
+	 * @param <K>              cache key collection
+	 * @param <V>              cache value collection
+	 * @param name             cache name
+	 * @param size             maximum cache size
+	 * @param expireAfterWrite time to live of entries
+	 * @param unit             time unit of expireAfterWrite
+	 * @return created cache
+	 */
+	default <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, TimeUnit unit) {
+		return install(name, size);
+	}
+
+	/**
+	 * Creates a new cache whose entries are reloaded in background once they are older than refresh interval,
+	 * old value is returned until reloaded one replaces it. Factories not supporting refresh create cache
+	 * expiring after write.
+	 *
+	 * @param <K>               cache key collection
+	 * @param <V>               cache value collection
+	 * @param name              cache name
+	 * @param size              maximum cache size
+	 * @param expireAfterWrite  time to live of entries, 0 - default expiration of factory
+	 * @param refreshAfterWrite age of entries reloaded on next load of their key, 0 - entries are not refreshed
+	 * @param unit              time unit of expireAfterWrite and refreshAfterWrite
+	 * @return created cache
+	 */
+	default <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit) {
+		return expireAfterWrite > 0 ? install(name, size, expireAfterWrite, unit) : install(name, size);
+	}
+
 	/**
 	 * Creates a new eternal cache with default configurations. An eternal cache
 	 * is guaranteed to never automatically expire items. The size is only a
@@ -61,10 +137,22 @@ public interface ICacheFactory extends Factory, DestroyProcessor {
 	 */
 	<K, V> ICache<K, V> installEternal(String name, int size);
 
+	/**
+	 * @return size of caches installed without explicit size
+	 */
+	default int getDefaultSize() {
+		return 1000;
+	}
+
+	/**
+	 * @return names of regions created by {@link #invoke(Class, Object)} with this factory
+	 */
+	CacheRegionNames getRegionNames();
+
 	/**
 	 * Install a new cache with default configurations. The default cache size
-	 * is 1000. The size is only a guarantee that you can store at least
-	 * 1000 items.
+	 * is {@link #getDefaultSize()}. The size is only a guarantee that you can store at least
+	 * that many items.
 	 *
 	 * @param <K>  cache key collection
 	 * @param <V>  cache value collection
@@ -83,35 +171,18 @@ public interface ICacheFactory extends Factory, DestroyProcessor {
 	<K, V> void invalidate(ICache<K, V> cache);
 
 	/**
-	 * @param interfaceCache installed collection cache
-	 * @param interfaceType   interface collection. Remember, this must be an interface!
-	 * @param instance        instance implementing interface
-	 * @param <T>             instance collection
-	 * @return cache-invoked object
-	 * @see ICacheFactory#invoke(Class, Object)
+	 * Resolves executor of asynchronous loads and refreshes of installed caches.
+	 *
+	 * @param context running context, may be null
+	 * @return executor of default shared thread pool, common fork-join pool if it is not available
 	 */
-	@SuppressWarnings("unchecked")
-	default <T> T invoke(ICache<MethodInvocation, Object> interfaceCache, Class<T> interfaceType, T instance) {
-		if (log.isDebugEnabled()) {
-			log.debug("Decorating {} with cache", interfaceType);
-		}
-
-		if (interfaceType.isAnnotationPresent(Cacheables.class)) {
-			return (T) Enhancer.create(interfaceType, (InvocationHandler) (o, method, args) -> {
-				if (method.isAnnotationPresent(CacheIgnore.class)) {
-					return method.invoke(instance, args);
-				}
-
-				final MethodInvocation invocation = new MethodInvocation(method, args);
-				Object result = interfaceCache.get(invocation);
-				if (result == null) {
-					result = method.invoke(instance, args);
-					interfaceCache.put(invocation, result);
-				}
-				return result;
-			});
+	static Executor loadExecutor(IoCContext context) {
+		if (context != null) {
+			final Factory factory = context.getType(Factory.defaultThreadFactory());
+			if (factory instanceof DefaultThreadPoolFactory) {
+				return ((DefaultThreadPoolFactory) factory).getExecutor();
+			}
 		}
-
-		return null;
+		return ForkJoinPool.commonPool();
 	}
 }
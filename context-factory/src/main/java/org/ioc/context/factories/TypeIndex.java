@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories;
+
+import org.ioc.context.model.TypeMetadata;
+import org.ioc.exceptions.IoCInstantiateException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Assignability index of a factory: maps every class, super class and interface of the registered
+ * types to their candidates, so lookups by class cost one map access. Ambiguity is resolved once,
+ * when a second candidate is registered for a class.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class TypeIndex {
+	private static final ClassValue<List<Class<?>>> HIERARCHY = new ClassValue<List<Class<?>>>() {
+		@Override
+		protected List<Class<?>> computeValue(Class<?> type) {
+			final Set<Class<?>> result = new LinkedHashSet<>();
+			Class<?> current = type;
+			while (current != null && current != Object.class) {
+				result.add(current);
+				collectInterfaces(current, result);
+				current = current.getSuperclass();
+			}
+			return Collections.unmodifiableList(new ArrayList<>(result));
+		}
+	};
+
+	private final Map<Class<?>, Resolution> resolutions = new ConcurrentHashMap<>();
+
+	private static void collectInterfaces(Class<?> type, Set<Class<?>> result) {
+		for (Class<?> i : type.getInterfaces()) {
+			if (result.add(i)) {
+				collectInterfaces(i, result);
+			}
+		}
+	}
+
+	/**
+	 * Function of registering type under its class and all of its super classes and interfaces.
+	 *
+	 * @param metadata registered type
+	 */
+	public void add(TypeMetadata metadata) {
+		HIERARCHY.get(metadata.getType()).forEach(key -> resolutions.compute(key, (k, current) ->
+				current == null ? new Resolution(k, Collections.singletonList(metadata)) : current.with(metadata)));
+	}
+
+	/**
+	 * Function of removing type from index.
+	 *
+	 * @param metadata removed type
+	 */
+	public void remove(TypeMetadata metadata) {
+		HIERARCHY.get(metadata.getType()).forEach(key -> resolutions.computeIfPresent(key, (k, current) ->
+				current.without(metadata)));
+	}
+
+	/**
+	 * Function of resolving single type assignable to {@code type}.
+	 *
+	 * @param type class for find
+	 * @return found type or null
+	 * @throws IoCInstantiateException if two or more types are assignable
+	 */
+	public TypeMetadata resolve(Class<?> type) {
+		final Resolution resolution = resolutions.get(type);
+		if (resolution == null) {
+			return null;
+		}
+
+		if (resolution.ambiguity != null) {
+			throw new IoCInstantiateException(resolution.ambiguity);
+		}
+		return resolution.candidates.get(0);
+	}
+
+	/**
+	 * @param type class for find
+	 * @return all types assignable to {@code type} in registration order
+	 */
+	public List<TypeMetadata> candidates(Class<?> type) {
+		final Resolution resolution = resolutions.get(type);
+		return resolution == null ? Collections.emptyList() : resolution.candidates;
+	}
+
+	private static class Resolution {
+		private final Class<?> type;
+		private final List<TypeMetadata> candidates;
+		private final String ambiguity;
+
+		Resolution(Class<?> type, List<TypeMetadata> candidates) {
+			this.type = type;
+			this.candidates = candidates;
+
+			if (candidates.size() > 1) {
+				ambiguity = "IoCError - Unavailable create instance of type [" + type + "]. Found 2 or more instances in context "
+						+ candidates.stream().map(TypeMetadata::getName).collect(Collectors.toList())
+						+ "! Use qualified name of type in @IoCDependency";
+			} else {
+				ambiguity = null;
+			}
+		}
+
+		Resolution with(TypeMetadata metadata) {
+			if (candidates.contains(metadata)) {
+				return this;
+			}
+
+			final List<TypeMetadata> list = new ArrayList<>(candidates.size() + 1);
+			list.addAll(candidates);
+			list.add(metadata);
+			return new Resolution(type, Collections.unmodifiableList(list));
+		}
+
+		Resolution without(TypeMetadata metadata) {
+			final List<TypeMetadata> list = new ArrayList<>(candidates);
+			list.remove(metadata);
+			return list.isEmpty() ? null : new Resolution(type, Collections.unmodifiableList(list));
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories.cache;
+
+import org.ioc.context.factories.Factory;
+import org.ioc.context.factories.facts.PeriodicFactPublisher;
+import org.ioc.context.listeners.facts.OnCacheStatsFact;
+import org.ioc.context.model.cache.stats.CacheStats;
+import org.ioc.context.model.cache.stats.CacheStatsRegistry;
+import org.ioc.context.processors.DestroyProcessor;
+import org.ioc.context.sensible.ContextSensible;
+import org.ioc.context.sensible.EnvironmentSensible;
+import org.ioc.context.type.IoCContext;
+import org.ioc.enviroment.configurations.CacheAutoConfiguration;
+import org.ioc.exceptions.IoCException;
+
+import java.util.Map;
+
+/**
+ * Periodically publishes statistics of caches registered in {@link CacheStatsRegistry}
+ * as {@link OnCacheStatsFact}.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class CacheStatsFactory implements Factory, DestroyProcessor, ContextSensible, EnvironmentSensible<CacheAutoConfiguration> {
+	private IoCContext context;
+
+	private CacheStatsRegistry registry;
+
+	private long publishInterval;
+
+	private PeriodicFactPublisher<Map<String, CacheStats>> publisher;
+
+	@Override
+	public void initialize() throws IoCException {
+		publisher = new PeriodicFactPublisher<>("cache", registry::snapshot, stats -> new OnCacheStatsFact(stats, registry));
+		publisher.start(context, publishInterval);
+	}
+
+	@Override
+	public void contextInform(IoCContext context) throws IoCException {
+		this.context = context;
+	}
+
+	@Override
+	public void environmentInform(CacheAutoConfiguration environment) throws IoCException {
+		registry = environment.getStatsRegistry();
+		publishInterval = environment.getStatsPublishInterval();
+	}
+
+	@Override
+	public void destroy() {
+		if (publisher != null) {
+			publisher.stop();
+		}
+	}
+}
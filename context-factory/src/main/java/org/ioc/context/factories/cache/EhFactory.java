@@ -29,9 +29,15 @@ import org.ioc.annotations.context.Order;
 import org.ioc.context.factories.ICacheFactory;
 import org.ioc.context.model.cache.EhFacade;
 import org.ioc.context.model.cache.ICache;
+import org.ioc.context.model.cache.invocation.CacheRegionNames;
+import org.ioc.context.model.cache.stats.StatsCounter;
+import org.ioc.context.sensible.ContextSensible;
+import org.ioc.context.sensible.EnvironmentSensible;
+import org.ioc.context.type.IoCContext;
+import org.ioc.enviroment.configurations.CacheAutoConfiguration;
 import org.ioc.exceptions.IoCException;
-import org.ioc.utils.MethodInvocation;
 
+import java.util.concurrent.TimeUnit;
 
 /**
  * Cache that stores invocation results in a EhCache {@link net.sf.ehcache.Cache}.
@@ -40,10 +46,14 @@ import org.ioc.utils.MethodInvocation;
  * @date 09/2018
  */
 @Order(999)
-public class EhFactory implements ICacheFactory {
+public class EhFactory implements ICacheFactory, ContextSensible, EnvironmentSensible<CacheAutoConfiguration> {
 	private CacheManager manager;
 
-	private ICache<MethodInvocation, Object> invocationObjectICache;
+	private CacheAutoConfiguration configuration;
+
+	private IoCContext context;
+
+	private final CacheRegionNames regionNames = new CacheRegionNames();
 
 	@Override
 	public void initialize() throws IoCException {
@@ -51,13 +61,6 @@ public class EhFactory implements ICacheFactory {
 		configuration.updateCheck(false);
 		configuration.diskStore(new DiskStoreConfiguration().path("./cache"));
 		manager = new CacheManager(configuration);
-		invocationObjectICache = install("eh-interface-cache");
-	}
-
-	@Override
-	@SuppressWarnings("unchecked")
-	public <T> T invoke(Class<T> interfaceType, T instance) {
-		return invoke(invocationObjectICache, interfaceType, instance);
 	}
 
 	@Override
@@ -75,7 +78,39 @@ public class EhFactory implements ICacheFactory {
 
 		final Cache cache = new net.sf.ehcache.Cache(configuration);
 		manager.addCache(cache);
-		return new EhFacade<>(cache);
+		return register(name, cache);
+	}
+
+	@Override
+	public <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit) {
+		final EhFacade<K, V> facade = (EhFacade<K, V>) (expireAfterWrite > 0
+				? install(name, size, expireAfterWrite, unit)
+				: install(name, size));
+		if (refreshAfterWrite > 0) {
+			if (log.isDebugEnabled()) {
+				log.debug("Refreshing cache {} after {} {}", name, refreshAfterWrite, unit);
+			}
+			facade.setRefreshAfterWrite(refreshAfterWrite, unit);
+		}
+		return facade;
+	}
+
+	@Override
+	public <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, TimeUnit unit) {
+		if (log.isDebugEnabled()) {
+			log.debug("Creating cache {} with minimum size of {} expiring after {} {}", name, size, expireAfterWrite, unit);
+		}
+
+		final CacheConfiguration configuration = new CacheConfiguration(name, size);
+		configuration.memoryStoreEvictionPolicy(MemoryStoreEvictionPolicy.LRU);
+		configuration.eternal(false);
+		configuration.timeToLiveSeconds(Math.max(1, unit.toSeconds(expireAfterWrite)));
+		configuration.timeToIdleSeconds(0);
+		configuration.diskExpiryThreadIntervalSeconds(0);
+
+		final Cache cache = new net.sf.ehcache.Cache(configuration);
+		manager.addCache(cache);
+		return register(name, cache);
 	}
 
 	@Override
@@ -93,12 +128,27 @@ public class EhFactory implements ICacheFactory {
 
 		Cache cache = new net.sf.ehcache.Cache(configuration);
 		manager.addCache(cache);
-		return new EhFacade<>(cache);
+		return register(name, cache);
+	}
+
+	private <K, V> ICache<K, V> register(String name, Cache cache) {
+		final StatsCounter statsCounter = configuration != null ? configuration.newStatsCounter() : StatsCounter.disabled();
+		final EhFacade<K, V> facade = new EhFacade<>(cache, statsCounter);
+		facade.setExecutor(ICacheFactory.loadExecutor(context));
+		if (statsCounter.isEnabled()) {
+			configuration.getStatsRegistry().register(name, facade);
+		}
+		return facade;
 	}
 
 	@Override
 	public <K, V> ICache<K, V> install(String name) {
-		return install(name, 1000);
+		return install(name, getDefaultSize());
+	}
+
+	@Override
+	public CacheRegionNames getRegionNames() {
+		return regionNames;
 	}
 
 	@Override
@@ -112,16 +162,30 @@ public class EhFactory implements ICacheFactory {
 				log.debug("Disposing cache {}", cache);
 			}
 
-			manager.removeCache(((EhFacade<K, V>) cache).getCache().getName());
+			final String name = ((EhFacade<K, V>) cache).getCache().getName();
+			manager.removeCache(name);
+			if (configuration != null) {
+				configuration.getStatsRegistry().unregister(name);
+			}
 		} else {
 			log.warn("Trying to invalidate {} cache when it is not EhCacheFacade collection");
 		}
 	}
 
+	@Override
+	public void contextInform(IoCContext context) throws IoCException {
+		this.context = context;
+	}
+
+	@Override
+	public void environmentInform(CacheAutoConfiguration environment) throws IoCException {
+		configuration = environment;
+	}
+
 	@Override
 	public void destroy() {
 		manager.removalAll();
 		manager.shutdown();
-		invocationObjectICache = null;
+		regionNames.clear();
 	}
 }
@@ -19,18 +19,47 @@
 package org.ioc.context.factories.cache;
 
 import org.ioc.annotations.context.Order;
+import org.ioc.context.factories.Factory;
 import org.ioc.context.factories.ICacheFactory;
+import org.ioc.context.factories.threading.DefaultThreadPoolFactory;
 import org.ioc.context.model.cache.ExpiringFacade;
 import org.ioc.context.model.cache.ICache;
+import org.ioc.context.model.cache.invocation.CacheRegionNames;
 import org.ioc.context.model.cache.expiring.ExpiringBuilder;
+import org.ioc.context.model.cache.expiring.policy.PolicyType;
+import org.ioc.context.model.cache.stats.StatsCounter;
+import org.ioc.context.model.tasks.interfaces.ScheduledTaskFuture;
+import org.ioc.context.sensible.ContextSensible;
+import org.ioc.context.sensible.EnvironmentSensible;
+import org.ioc.context.type.IoCContext;
+import org.ioc.enviroment.configurations.CacheAutoConfiguration;
 import org.ioc.exceptions.IoCException;
 
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author GenCloud
  * @date 10/2018
  */
 @Order(999)
-public class ExpiringCacheFactory implements ICacheFactory {
+public class ExpiringCacheFactory implements ICacheFactory, ContextSensible, EnvironmentSensible<CacheAutoConfiguration> {
+	private static final long EXPIRE_AFTER_WRITE_NANOS = TimeUnit.SECONDS.toNanos(60);
+	private static final long EXPIRE_AFTER_ACCESS_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+	/**
+	 * Installed caches mapped to names they are registered in statistics with.
+	 */
+	private final Map<ExpiringFacade<?, ?>, String> caches = new ConcurrentHashMap<>();
+	private final CacheRegionNames regionNames = new CacheRegionNames();
+	private PolicyType policyType = PolicyType.LRU;
+	private long cleanupInterval = 1000;
+	private CacheAutoConfiguration configuration;
+	private IoCContext context;
+	private ScheduledTaskFuture cleaner;
+
 	/**
 	 * Default function for initialize installed object factories.
 	 *
@@ -38,12 +67,39 @@ public class ExpiringCacheFactory implements ICacheFactory {
 	 */
 	@Override
 	public void initialize() throws IoCException {
+		scheduleCleaner();
+	}
+
+	/**
+	 * Schedules background removal of expired entries on default thread pool, if it is already available.
+	 * Factory may be initialized before thread pool, so scheduling is retried on installing of caches.
+	 */
+	private synchronized void scheduleCleaner() {
+		if (cleaner != null || context == null || cleanupInterval <= 0) {
+			return;
+		}
 
+		final Factory factory = context.getType(Factory.defaultThreadFactory());
+		if (factory instanceof DefaultThreadPoolFactory) {
+			if (log.isDebugEnabled()) {
+				log.debug("Scheduling cleaner of expiring caches each {}ms", cleanupInterval);
+			}
+
+			cleaner = ((DefaultThreadPoolFactory) factory).async(cleanupInterval, TimeUnit.MILLISECONDS, cleanupInterval, this::cleanUp);
+		}
 	}
 
-	@Override
-	public <T> T invoke(Class<T> interfaceType, T instance) {
-		throw new UnsupportedOperationException();
+	/**
+	 * Removes expired entries of all installed caches.
+	 */
+	private void cleanUp() {
+		for (ExpiringFacade<?, ?> cache : caches.keySet()) {
+			try {
+				cache.cleanUp();
+			} catch (Exception e) {
+				log.error("Failed to clean up cache {}", cache, e);
+			}
+		}
 	}
 
 	@Override
@@ -53,10 +109,39 @@ public class ExpiringCacheFactory implements ICacheFactory {
 		}
 
 		final ExpiringBuilder<K, V> builder = new ExpiringBuilder<>();
-		builder.setExpireAfterAccessNanos(1);
-		builder.setExpireAfterWriteNanos(1);
+		builder.setPolicyType(policyType);
+		builder.setExpireAfterAccessNanos(EXPIRE_AFTER_ACCESS_NANOS);
+		builder.setExpireAfterWriteNanos(EXPIRE_AFTER_WRITE_NANOS);
+		builder.setMaximumWeight(size);
+		return build(name, builder);
+	}
+
+	@Override
+	public <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, TimeUnit unit) {
+		return install(name, size, expireAfterWrite, 0, unit);
+	}
+
+	@Override
+	public <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit) {
+		if (log.isDebugEnabled()) {
+			log.debug("Creating cache {} with minimum size of {} expiring after {} {}, refreshing after {} {}",
+					name, size, expireAfterWrite, unit, refreshAfterWrite, unit);
+		}
+
+		final ExpiringBuilder<K, V> builder = new ExpiringBuilder<>();
+		builder.setPolicyType(policyType);
+		if (expireAfterWrite > 0) {
+			builder.setExpireAfterWriteNanos(unit.toNanos(expireAfterWrite));
+		} else {
+			builder.setExpireAfterAccessNanos(EXPIRE_AFTER_ACCESS_NANOS);
+			builder.setExpireAfterWriteNanos(EXPIRE_AFTER_WRITE_NANOS);
+		}
+
+		if (refreshAfterWrite > 0) {
+			builder.setRefreshAfterWriteNanos(unit.toNanos(refreshAfterWrite));
+		}
 		builder.setMaximumWeight(size);
-		return builder.build();
+		return build(name, builder);
 	}
 
 	@Override
@@ -66,13 +151,34 @@ public class ExpiringCacheFactory implements ICacheFactory {
 		}
 
 		final ExpiringBuilder<K, V> builder = new ExpiringBuilder<>();
+		builder.setPolicyType(policyType);
 		builder.setMaximumWeight(size);
-		return builder.build();
+		return build(name, builder);
+	}
+
+	private <K, V> ExpiringFacade<K, V> build(String name, ExpiringBuilder<K, V> builder) {
+		final StatsCounter statsCounter = configuration != null ? configuration.newStatsCounter() : StatsCounter.disabled();
+		builder.setStatsCounter(statsCounter);
+		builder.setExecutor(ICacheFactory.loadExecutor(context));
+
+		final ExpiringFacade<K, V> cache = builder.build();
+		if (statsCounter.isEnabled()) {
+			configuration.getStatsRegistry().register(name, cache);
+		}
+
+		caches.put(cache, name);
+		scheduleCleaner();
+		return cache;
 	}
 
 	@Override
 	public <K, V> ICache<K, V> install(String name) {
-		return install(name, 1000);
+		return install(name, getDefaultSize());
+	}
+
+	@Override
+	public CacheRegionNames getRegionNames() {
+		return regionNames;
 	}
 
 	@Override
@@ -83,14 +189,45 @@ public class ExpiringCacheFactory implements ICacheFactory {
 			}
 
 			final ExpiringFacade<K, V> facade = (ExpiringFacade<K, V>) cache;
-			facade.clear();
+			dispose(facade);
 		} else {
 			log.warn("Trying to invalidate {} cache when it is not ExpiringFacade collection");
 		}
 	}
 
+	private void dispose(ExpiringFacade<?, ?> cache) {
+		final String name = caches.remove(cache);
+		if (name != null && configuration != null) {
+			configuration.getStatsRegistry().unregister(name);
+		}
+
+		try {
+			cache.close();
+		} catch (UncheckedIOException e) {
+			log.warn("Can not release off-heap memory of cache [{}]", name, e);
+		}
+	}
+
 	@Override
-	public void destroy() {
+	public void contextInform(IoCContext context) throws IoCException {
+		this.context = context;
+	}
+
+	@Override
+	public void environmentInform(CacheAutoConfiguration environment) throws IoCException {
+		configuration = environment;
+		policyType = environment.getExpiringPolicy();
+		cleanupInterval = environment.getExpiringCleanupInterval();
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (cleaner != null) {
+			cleaner.cancel(false);
+			cleaner = null;
+		}
 
+		caches.keySet().forEach(this::dispose);
+		regionNames.clear();
 	}
 }
@@ -21,13 +21,24 @@ package org.ioc.context.factories.cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
 import org.ioc.annotations.context.Order;
 import org.ioc.context.factories.ICacheFactory;
 import org.ioc.context.model.cache.GuavaFacade;
 import org.ioc.context.model.cache.ICache;
+import org.ioc.context.model.cache.invocation.CacheRegionNames;
+import org.ioc.context.model.cache.expiring.model.RemovalNotify.RemovalReason;
+import org.ioc.context.model.cache.stats.StatsCounter;
+import org.ioc.context.sensible.ContextSensible;
+import org.ioc.context.sensible.EnvironmentSensible;
+import org.ioc.context.type.IoCContext;
+import org.ioc.enviroment.configurations.CacheAutoConfiguration;
 import org.ioc.exceptions.IoCException;
-import org.ioc.utils.MethodInvocation;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Cache that stores invocation results in a Google Guava {@link com.google.common.cache.Cache}.
@@ -36,37 +47,64 @@ import org.ioc.utils.MethodInvocation;
  * @date 09/2018
  */
 @Order(999)
-public class GuavaFactory implements ICacheFactory {
-	private ICache<MethodInvocation, Object> invocationObjectICache;
+public class GuavaFactory implements ICacheFactory, ContextSensible, EnvironmentSensible<CacheAutoConfiguration> {
+	/**
+	 * Installed caches mapped to names they are registered in statistics with.
+	 */
+	private final Map<GuavaFacade<?, ?>, String> caches = new ConcurrentHashMap<>();
+
+	private final CacheRegionNames regionNames = new CacheRegionNames();
+
+	private CacheAutoConfiguration configuration;
+
+	private IoCContext context;
 
 	@Override
 	public void initialize() throws IoCException {
-		invocationObjectICache = install("guava-interface-cache");
 	}
 
 	@Override
-	public <T> T invoke(Class<T> interfaceType, T instance) {
-		return invoke(invocationObjectICache, interfaceType, instance);
+	@SuppressWarnings("unchecked")
+	public <K, V> ICache<K, V> install(String name, int size) {
+		if (log.isDebugEnabled()) {
+			log.debug("Creating cache {} with minimum size of {}", name, size);
+		}
+
+		final CacheBuilder builder = CacheBuilder.newBuilder();
+		builder.maximumSize(size);
+		return build(name, builder);
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
-	public <K, V> ICache<K, V> install(String name, int size) {
+	public <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, TimeUnit unit) {
 		if (log.isDebugEnabled()) {
-			log.debug("Creating cache {} with minimum size of {}", name, size);
+			log.debug("Creating cache {} with minimum size of {} expiring after {} {}", name, size, expireAfterWrite, unit);
 		}
 
 		final CacheBuilder builder = CacheBuilder.newBuilder();
 		builder.maximumSize(size);
+		builder.expireAfterWrite(expireAfterWrite, unit);
+		return build(name, builder);
+	}
 
-		final LoadingCache<K, V> loadingCache = builder.build(new CacheLoader<K, V>() {
-			@Override
-			public V load(K key) throws Exception {
-				throw new Exception("Key is not bounded to any value");
-			}
-		});
+	@Override
+	@SuppressWarnings("unchecked")
+	public <K, V> ICache<K, V> install(String name, int size, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit) {
+		if (refreshAfterWrite <= 0) {
+			return expireAfterWrite > 0 ? install(name, size, expireAfterWrite, unit) : install(name, size);
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Creating cache {} with minimum size of {} refreshing after {} {}", name, size, refreshAfterWrite, unit);
+		}
 
-		return new GuavaFacade<>(loadingCache);
+		final CacheBuilder builder = CacheBuilder.newBuilder();
+		builder.maximumSize(size);
+		if (expireAfterWrite > 0) {
+			builder.expireAfterWrite(expireAfterWrite, unit);
+		}
+		return build(name, builder, unit.toMillis(refreshAfterWrite));
 	}
 
 	@Override
@@ -78,6 +116,33 @@ public class GuavaFactory implements ICacheFactory {
 
 		final CacheBuilder builder = CacheBuilder.newBuilder();
 		builder.maximumSize(Integer.MAX_VALUE);
+		return build(name, builder);
+	}
+
+	private <K, V> ICache<K, V> build(String name, CacheBuilder builder) {
+		return build(name, builder, 0);
+	}
+
+	/**
+	 * Builds facade of given cache; when refresh is enabled, removals are reported to facade
+	 * so it stops tracking write times of keys no longer cached.
+	 */
+	@SuppressWarnings("unchecked")
+	private <K, V> ICache<K, V> build(String name, CacheBuilder builder, long refreshAfterWriteMillis) {
+		final StatsCounter statsCounter = configuration != null ? configuration.newStatsCounter() : StatsCounter.disabled();
+		final AtomicReference<GuavaFacade<K, V>> owner = new AtomicReference<>();
+		if (statsCounter.isEnabled() || refreshAfterWriteMillis > 0) {
+			builder.removalListener(notification -> {
+				if (statsCounter.isEnabled()) {
+					statsCounter.recordRemoval(toRemovalReason(notification.getCause()), 1);
+				}
+
+				final GuavaFacade<K, V> facade = owner.get();
+				if (facade != null && notification.getCause() != RemovalCause.REPLACED) {
+					facade.removed((K) notification.getKey());
+				}
+			});
+		}
 
 		final LoadingCache<K, V> loadingCache = builder.build(new CacheLoader<K, V>() {
 			@Override
@@ -86,12 +151,40 @@ public class GuavaFactory implements ICacheFactory {
 			}
 		});
 
-		return new GuavaFacade<>(loadingCache);
+		final GuavaFacade<K, V> facade = new GuavaFacade<>(loadingCache, statsCounter);
+		facade.setExecutor(ICacheFactory.loadExecutor(context));
+		if (refreshAfterWriteMillis > 0) {
+			facade.setRefreshAfterWrite(refreshAfterWriteMillis, TimeUnit.MILLISECONDS);
+			owner.set(facade);
+		}
+		caches.put(facade, name);
+		if (statsCounter.isEnabled()) {
+			configuration.getStatsRegistry().register(name, facade);
+		}
+		return facade;
+	}
+
+	private static RemovalReason toRemovalReason(RemovalCause cause) {
+		switch (cause) {
+			case EXPLICIT:
+				return RemovalReason.INVALIDATED;
+			case REPLACED:
+				return RemovalReason.REPLACED;
+			case EXPIRED:
+				return RemovalReason.EXPIRED;
+			default:
+				return RemovalReason.EVICTED;
+		}
 	}
 
 	@Override
 	public <K, V> ICache<K, V> install(String name) {
-		return install(name, 1000);
+		return install(name, getDefaultSize());
+	}
+
+	@Override
+	public CacheRegionNames getRegionNames() {
+		return regionNames;
 	}
 
 	@Override
@@ -100,15 +193,30 @@ public class GuavaFactory implements ICacheFactory {
 			if (log.isDebugEnabled()) {
 				log.debug("Disposing cache {}", cache);
 			}
+			final String name = caches.remove(cache);
+			if (name != null && configuration != null) {
+				configuration.getStatsRegistry().unregister(name);
+			}
+
 			((GuavaFacade<K, V>) cache).getCache().invalidateAll();
 		} else {
 			log.warn("Trying to invalidate {} cache when it is not EhCacheFacade collection");
 		}
 	}
 
+	@Override
+	public void contextInform(IoCContext context) throws IoCException {
+		this.context = context;
+	}
+
+	@Override
+	public void environmentInform(CacheAutoConfiguration environment) throws IoCException {
+		configuration = environment;
+	}
+
 	@Override
 	public void destroy() {
-		invalidate(invocationObjectICache);
-		invocationObjectICache = null;
+		caches.keySet().forEach(this::invalidate);
+		regionNames.clear();
 	}
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories.core;
+
+import org.ioc.context.factories.TypeIndex;
+import org.ioc.context.factories.core.InjectionPlan.FieldInjection;
+import org.ioc.context.model.ConstructorMetadata;
+import org.ioc.context.model.TypeMetadata;
+import org.ioc.exceptions.IoCInstantiateException;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Dependency graph of a batch of types, built from constructor parameters and {@link org.ioc.annotations.context.IoCDependency}
+ * fields before anything is instantiated. Edge leads only to the type which {@link InstanceFactory} would inject, so a type
+ * may be initialized concurrently once all of its dependencies are initialized.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class DependencyGraph {
+	private final List<TypeMetadata> types;
+	private final Map<TypeMetadata, List<TypeMetadata>> dependencies;
+	private final int depth;
+
+	private DependencyGraph(List<TypeMetadata> types, Map<TypeMetadata, List<TypeMetadata>> dependencies) {
+		this.types = types;
+		this.dependencies = dependencies;
+		this.depth = computeDepth();
+	}
+
+	/**
+	 * Function of building graph of types.
+	 *
+	 * @param types           types in preferred initialization order
+	 * @param instanceFactory factory providing injection plans of types
+	 * @return dependency graph
+	 * @throws IoCInstantiateException if types have circular dependency
+	 */
+	public static DependencyGraph build(List<TypeMetadata> types, InstanceFactory instanceFactory) {
+		final TypeIndex index = new TypeIndex();
+		final Map<String, TypeMetadata> byName = new HashMap<>();
+		types.forEach(type -> {
+			index.add(type);
+			byName.putIfAbsent(type.getName(), type);
+		});
+
+		final Map<TypeMetadata, List<TypeMetadata>> dependencies = new IdentityHashMap<>();
+		for (TypeMetadata type : types) {
+			final Set<TypeMetadata> found = Collections.newSetFromMap(new IdentityHashMap<>());
+			final ConstructorMetadata constructor = type.getConstructor();
+			if (type.getInstance() == null && constructor != null) {
+				for (Class<?> paramType : constructor.getParamTypes()) {
+					addInjected(found, index.candidates(paramType));
+				}
+
+				for (FieldInjection injection : instanceFactory.getInjectionPlan(type.getType()).getInjections()) {
+					if (injection.getQualifier().isEmpty()) {
+						addInjected(found, index.candidates(injection.getType()));
+					} else {
+						final TypeMetadata qualified = byName.get(injection.getQualifier());
+						if (qualified != null) {
+							found.add(qualified);
+						}
+					}
+				}
+			}
+
+			found.remove(type);
+			dependencies.put(type, new ArrayList<>(found));
+		}
+
+		return new DependencyGraph(types, dependencies);
+	}
+
+	/**
+	 * Unqualified dependency is injected only if it has single candidate, other candidates never become
+	 * edges, so they cannot form a cycle.
+	 */
+	private static void addInjected(Set<TypeMetadata> found, List<TypeMetadata> candidates) {
+		if (candidates.size() == 1) {
+			found.add(candidates.get(0));
+		}
+	}
+
+	/**
+	 * @param type type of graph
+	 * @return types injected in {@code type}, empty if type is not a node of graph
+	 */
+	public List<TypeMetadata> getDependencies(TypeMetadata type) {
+		return dependencies.getOrDefault(type, Collections.emptyList());
+	}
+
+	/**
+	 * @return length of longest chain of dependencies
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return count of types in graph
+	 */
+	public int size() {
+		return types.size();
+	}
+
+	/**
+	 * Function of ranking types: a type without dependencies in graph is of rank 0, others are of
+	 * rank next to the highest rank of their dependencies. Cycles are reported with full path.
+	 *
+	 * @return highest rank of types
+	 */
+	private int computeDepth() {
+		final Map<TypeMetadata, Integer> ranks = new IdentityHashMap<>();
+		final Deque<TypeMetadata> path = new ArrayDeque<>();
+		int result = 0;
+		for (TypeMetadata type : types) {
+			result = Math.max(result, rank(type, ranks, path));
+		}
+		return result;
+	}
+
+	private int rank(TypeMetadata type, Map<TypeMetadata, Integer> ranks, Deque<TypeMetadata> path) {
+		final Integer known = ranks.get(type);
+		if (known != null) {
+			return known;
+		}
+
+		if (path.contains(type)) {
+			final List<TypeMetadata> cycle = new ArrayList<>(path);
+			Collections.reverse(cycle);
+			final String chain = cycle.subList(cycle.indexOf(type), cycle.size())
+					.stream()
+					.map(TypeMetadata::getName)
+					.collect(Collectors.joining(" -> "));
+			throw new IoCInstantiateException("IoCError - Circular dependency between types: " + chain + " -> " + type.getName());
+		}
+
+		path.push(type);
+		int rank = 0;
+		for (TypeMetadata dependency : dependencies.get(type)) {
+			rank = Math.max(rank, rank(dependency, ranks, path) + 1);
+		}
+		path.pop();
+
+		ranks.put(type, rank);
+		return rank;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories.core;
+
+import org.ioc.annotations.context.IoCDependency;
+import org.ioc.exceptions.IoCInstantiateException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.ioc.utils.ReflectionUtils.getOrigin;
+
+/**
+ * Compiled injection plan of a type: the {@link IoCDependency} fields of the whole class hierarchy,
+ * each with a {@link MethodHandle} setter. The hierarchy is walked once per type, instances are then
+ * wired without reflective field access.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class InjectionPlan {
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final List<FieldInjection> injections;
+
+	private InjectionPlan(List<FieldInjection> injections) {
+		this.injections = Collections.unmodifiableList(injections);
+	}
+
+	/**
+	 * Function of compiling injection plan for type.
+	 *
+	 * @param type bag for compile
+	 * @return injection plan
+	 */
+	public static InjectionPlan compile(Class<?> type) {
+		final List<FieldInjection> injections = new ArrayList<>();
+		Class<?> current = type;
+		do {
+			final Class<?> origin = getOrigin(current);
+			for (Field field : origin.getDeclaredFields()) {
+				final IoCDependency dependency = field.getAnnotation(IoCDependency.class);
+				if (dependency != null) {
+					injections.add(new FieldInjection(field, dependency.value()));
+				}
+			}
+
+			current = current.getSuperclass();
+		}
+		while (current != null && current != Object.class && !current.isInterface());
+
+		return new InjectionPlan(injections);
+	}
+
+	public List<FieldInjection> getInjections() {
+		return injections;
+	}
+
+	/**
+	 * Single dependency of the plan.
+	 */
+	public static class FieldInjection {
+		private final Field field;
+		private final String qualifier;
+		private final MethodHandle setter;
+
+		FieldInjection(Field field, String qualifier) {
+			this.field = field;
+			this.qualifier = qualifier;
+
+			field.setAccessible(true);
+			MethodHandle handle;
+			try {
+				handle = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+			} catch (IllegalAccessException e) {
+				handle = null;
+			}
+			setter = handle;
+		}
+
+		public Class<?> getType() {
+			return field.getType();
+		}
+
+		/**
+		 * @return qualified name of dependency, empty if resolved by type
+		 */
+		public String getQualifier() {
+			return qualifier;
+		}
+
+		/**
+		 * Function of injecting dependency to instance.
+		 *
+		 * @param target     instance for injection
+		 * @param dependency resolved dependency
+		 */
+		public void inject(Object target, Object dependency) {
+			try {
+				if (setter != null) {
+					setter.invokeExact(target, dependency);
+				} else {
+					field.set(target, dependency);
+				}
+			} catch (Throwable e) {
+				throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + target.getClass() + "].", e);
+			}
+		}
+	}
+}
@@ -18,17 +18,16 @@
  */
 package org.ioc.context.factories.core;
 
-import org.ioc.annotations.context.IoCDependency;
+import org.ioc.context.factories.core.InjectionPlan.FieldInjection;
 import org.ioc.context.model.ConstructorMetadata;
 import org.ioc.context.model.TypeMetadata;
 import org.ioc.context.type.IoCContext;
 import org.ioc.exceptions.IoCInstantiateException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-import static org.ioc.utils.ReflectionUtils.getOrigin;
-
 /**
  * Class-tool for instantiate bag and initializing dependencies.
  *
@@ -36,6 +35,8 @@ import static org.ioc.utils.ReflectionUtils.getOrigin;
  * @date 09/2018
  */
 public class InstanceFactory {
+	private final Map<Class<?>, InjectionPlan> plans = new ConcurrentHashMap<>();
+
 	private IoCContext context;
 
 	public InstanceFactory(IoCContext context) {
@@ -56,6 +57,16 @@ public class InstanceFactory {
 		return instantiateFields(constructor.construct(getArgsFromContext(constructor.getParamTypes())));
 	}
 
+	/**
+	 * Return injection plan of type, compiled on first request.
+	 *
+	 * @param type bag for find
+	 * @return injection plan
+	 */
+	public InjectionPlan getInjectionPlan(Class<?> type) {
+		return plans.computeIfAbsent(type, InjectionPlan::compile);
+	}
+
 	/**
 	 * Inject dependencies in a field's of bag.
 	 *
@@ -63,69 +74,78 @@ public class InstanceFactory {
 	 * @return instantiated object
 	 */
 	private Object instantiateFields(Object o) {
-		Class<?> type = o.getClass();
-		do {
-			final Class<?> origin = getOrigin(type);
-			if (origin != null) {
-				Arrays.stream(origin.getDeclaredFields())
-						.forEach(field -> {
-							final IoCDependency ioCDependency = field.getAnnotation(IoCDependency.class);
-							if (ioCDependency != null) {
-								field.setAccessible(true);
-
-								try {
-									Object instance;
-									if (!ioCDependency.value().isEmpty()) {
-										instance = context.getType(ioCDependency.value());
-										if (instance == null) {
-											final List<TypeMetadata> types = context.getTypes();
-											final Optional<TypeMetadata> finded = types.stream()
-													.filter(t -> Objects.equals(t.getName(), ioCDependency.value()))
-													.findFirst();
-											if (finded.isPresent()) {
-												instance = context.registerTypes(Collections.singletonList(finded.get())).get(0).getInstance();
-											} else {
-												throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + field.getType() + "]. Cant find type with specified qualified name [" + ioCDependency.value() + "].");
-											}
-										}
-									} else {
-										instance = context.getType(field.getType());
-										if (instance == null) {
-											final List<TypeMetadata> types = context.getTypes();
-											final List<TypeMetadata> finded = types.stream()
-													.filter(t -> field.getType().isAssignableFrom(t.getType()))
-													.collect(Collectors.toList());
-											if (finded.size() == 1) {
-												instance = context.registerTypes(Collections.singletonList(finded.get(0))).get(0).getInstance();
-											} else if (finded.size() > 1) {
-												throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + field.getType() + "]. Found 2 or more instances in context! Use qualified name of type in @IoCDependency");
-											} else {
-												throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + field.getType() + "].");
-											}
-										}
-									}
+		final InjectionPlan plan = getInjectionPlan(o.getClass());
+		for (FieldInjection injection : plan.getInjections()) {
+			injection.inject(o, resolveDependency(injection));
+		}
+		return o;
+	}
 
-									field.set(o, instance);
-								} catch (IllegalAccessException e) {
-									throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + o.getClass() + "].", e);
-								}
-							}
-						});
+	/**
+	 * Function of finding dependency in context, registers it if not yet instantiated.
+	 *
+	 * @param injection dependency to resolve
+	 * @return instance of dependency
+	 */
+	private Object resolveDependency(FieldInjection injection) {
+		final String qualifier = injection.getQualifier();
+		final Class<?> type = injection.getType();
+		Object instance;
+		if (!qualifier.isEmpty()) {
+			instance = context.getType(qualifier);
+			if (instance == null) {
+				final List<TypeMetadata> types = context.getTypes();
+				final Optional<TypeMetadata> finded = types.stream()
+						.filter(t -> Objects.equals(t.getName(), qualifier))
+						.findFirst();
+				if (finded.isPresent()) {
+					instance = context.registerTypes(Collections.singletonList(finded.get())).get(0).getInstance();
+				} else {
+					throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + type + "]. Cant find type with specified qualified name [" + qualifier + "].");
+				}
 			}
+		} else {
+			instance = resolveType(type, true);
+		}
+		return instance;
+	}
 
-			type = type.getSuperclass();
+	/**
+	 * Function of finding single type assignable to {@code type} in context, registers it if not yet instantiated.
+	 *
+	 * @param type     class of dependency
+	 * @param required throw exception if dependency cannot be resolved, otherwise return null
+	 * @return instance of dependency
+	 */
+	private Object resolveType(Class<?> type, boolean required) {
+		Object instance = context.getType(type);
+		if (instance == null) {
+			final List<TypeMetadata> types = context.getTypes();
+			final List<TypeMetadata> finded = types.stream()
+					.filter(t -> type.isAssignableFrom(t.getType()))
+					.collect(Collectors.toList());
+			if (finded.size() == 1) {
+				instance = context.registerTypes(Collections.singletonList(finded.get(0))).get(0).getInstance();
+			} else if (required && finded.size() > 1) {
+				throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + type + "]. Found 2 or more instances in context! Use qualified name of type in @IoCDependency");
+			} else if (required) {
+				throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + type + "].");
+			}
 		}
-		while (type != Object.class && !type.isInterface());
-		return o;
+		return instance;
 	}
 
 	/**
-	 * Function of getting instantiated bag's in context.
+	 * Function of getting instantiated bag's in context, not yet instantiated ones are registered on demand.
 	 *
 	 * @param paramTypes types for find
 	 * @return array of instantiated bag's
 	 */
 	private Object[] getArgsFromContext(Class<?>[] paramTypes) {
-		return Arrays.stream(paramTypes).map(context::getType).toArray();
+		final Object[] args = new Object[paramTypes.length];
+		for (int i = 0; i < paramTypes.length; i++) {
+			args[i] = resolveType(paramTypes[i], false);
+		}
+		return args;
 	}
 }
@@ -39,8 +39,8 @@ public class PrototypeFactory extends AbstractFactory {
 	}
 
 	public void addType(TypeMetadata type) {
-		if (!typeMap.containsKey(type.getName())) {
-			typeMap.put(type.getName(), type);
+		if (typeMap.putIfAbsent(type.getName(), type) == null) {
+			index.add(type);
 		}
 	}
 
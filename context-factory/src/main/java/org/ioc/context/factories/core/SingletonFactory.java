@@ -21,14 +21,12 @@ package org.ioc.context.factories.core;
 import org.ioc.annotations.context.Lazy;
 import org.ioc.aop.LazyProxy;
 import org.ioc.context.factories.AbstractFactory;
+import org.ioc.context.factories.TypeIndex;
 import org.ioc.context.model.TypeMetadata;
-import org.ioc.exceptions.IoCInstantiateException;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Factory for singleton domain.
@@ -41,6 +39,8 @@ public class SingletonFactory extends AbstractFactory {
 
 	private Map<String, TypeMetadata> lazyMap = new ConcurrentHashMap<>();
 
+	private final TypeIndex lazyIndex = new TypeIndex();
+
 	public SingletonFactory(InstanceFactory instanceFactory) {
 		super(instanceFactory);
 	}
@@ -49,7 +49,13 @@ public class SingletonFactory extends AbstractFactory {
 		final String typeName = type.getName();
 		if (!type.isInitialized() && type.getType().isAnnotationPresent(Lazy.class)) {
 			type.setInstance(LazyProxy.newProxyInstance(type, instanceFactory.getContext()));
-			lazyMap.put(typeName, type);
+			final TypeMetadata previous = lazyMap.put(typeName, type);
+			if (previous != type) {
+				if (previous != null) {
+					lazyIndex.remove(previous);
+				}
+				lazyIndex.add(type);
+			}
 			return;
 		}
 
@@ -58,31 +64,24 @@ public class SingletonFactory extends AbstractFactory {
 				type.setInstance(instanceFactory.instantiate(type.getConstructor()));
 			}
 
-			typeMap.put(typeName, type);
+			if (typeMap.putIfAbsent(typeName, type) == null) {
+				index.add(type);
+			}
+		}
+
+		if (lazyMap.remove(typeName, type)) {
+			lazyIndex.remove(type);
 		}
 	}
 
 	@Override
 	public Object getType(Class<?> type) {
-		final TypeMetadata metadata = getMetadata(type);
-		if (metadata != null) {
-			return metadata.getInstance();
-		} else {
-			final List<TypeMetadata> lazy = lazyMap.values()
-					.stream()
-					.filter(t -> type.isAssignableFrom(t.getType()))
-					.collect(Collectors.toList());
-			if (lazy.size() == 1) {
-				final TypeMetadata component = lazy.get(0);
-				lazyMap.remove(component.getName());
-				return component.getInstance();
-			} else if (lazy.size() > 1) {
-				throw new IoCInstantiateException("IoCError - Unavailable create instance of type [" + type + "]. " +
-						"Found 2 or more instances in context! Use type-name on component.");
-			}
+		TypeMetadata metadata = getMetadata(type);
+		if (metadata == null) {
+			metadata = lazyIndex.resolve(type);
 		}
 
-		return null;
+		return metadata != null ? metadata.getInstance() : null;
 	}
 
 	@Override
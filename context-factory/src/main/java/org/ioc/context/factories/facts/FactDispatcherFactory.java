@@ -19,49 +19,82 @@
 package org.ioc.context.factories.facts;
 
 import org.ioc.annotations.context.Order;
+import org.ioc.annotations.listeners.Fact;
 import org.ioc.context.factories.Factory;
-import org.ioc.context.factories.threading.DefaultThreadPoolFactory;
 import org.ioc.context.listeners.*;
 import org.ioc.context.processors.DestroyProcessor;
-import org.ioc.context.sensible.factories.ThreadFactorySensible;
 import org.ioc.exceptions.IoCException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Queue;
-import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This event dispatcher notify listeners that an certain event occurred in their objects.
+ * <p>
+ * Listeners are distributed over {@link FactLane}s: shared partitioned lanes or own isolated lane of listener,
+ * see {@link Fact}. Publishing hands event only to lanes having listeners of its type, resolved once per type
+ * of fact into routing table, and wakes them up immediately. Lanes dispatch concurrently on cached pool of
+ * daemon threads, so slow listener blocks only its lane.
  *
  * @author GenCloud
  * @date 09/2018
  */
 @Order(999)
-public class FactDispatcherFactory implements Factory, DestroyProcessor, ThreadFactorySensible {
+public class FactDispatcherFactory implements Factory, DestroyProcessor {
 	private static final Logger log = LoggerFactory.getLogger(FactDispatcherFactory.class);
 
-	private Set<IListener> globalIListeners = new HashSet<>();
+	private final ExecutorService executor;
 
-	private Queue<FactContainer> events = new ConcurrentLinkedQueue<>();
+	private final FactLane[] partitions;
 
-	private ScheduledFuture<?> future;
+	private final List<FactLane> lanes = new CopyOnWriteArrayList<>();
 
-	private DefaultThreadPoolFactory threadPoolFactory;
+	private final Map<IListener, FactLane> listenerLanes = new ConcurrentHashMap<>();
 
-	@Override
-	public void initialize() throws IoCException {
-		future = threadPoolFactory.async(0, TimeUnit.MILLISECONDS, 10, new QueueScheduling());
+	/**
+	 * Immutable snapshot of routes, replaced by new one on every change, so route computed for lanes
+	 * changed meanwhile is never published.
+	 */
+	private final AtomicReference<Map<Class<?>, FactLane[]>> routes = new AtomicReference<>(Collections.emptyMap());
+
+	public FactDispatcherFactory() {
+		this(0);
+	}
+
+	/**
+	 * @param partitions count of shared lanes, 0 - count of processors
+	 */
+	public FactDispatcherFactory(int partitions) {
+		final AtomicInteger counter = new AtomicInteger();
+		executor = Executors.newCachedThreadPool(r -> {
+			final Thread thread = new Thread(r, "ioc-facts-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		this.partitions = new FactLane[partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors()];
+		for (int i = 0; i < this.partitions.length; i++) {
+			this.partitions[i] = new FactLane("partition-" + i, false, executor, this::removeListener);
+			lanes.add(this.partitions[i]);
+		}
 	}
 
 	@Override
-	public void factoryInform(Factory factory) throws IoCException {
-		threadPoolFactory = (DefaultThreadPoolFactory) factory;
+	public void initialize() throws IoCException {
+		if (log.isDebugEnabled()) {
+			log.debug("Dispatching facts in {} partitioned lanes", partitions.length);
+		}
 	}
 
 	/**
@@ -79,26 +112,44 @@ public class FactDispatcherFactory implements Factory, DestroyProcessor, ThreadF
 		}
 
 		final FactFutureImpl<E> future = new FactFutureImpl<>();
-		events.add(new FactContainer(event, future));
+		final FactLane[] targets = route(event.getClass());
+		if (targets.length == 0) {
+			future.complete(event);
+			return future;
+		}
+
+		final FactContainer container = new FactContainer(event, future, targets.length);
+		for (FactLane lane : targets) {
+			lane.publish(container);
+		}
 		return future;
 	}
 
-	/**
-	 * Do the dispatching.
-	 *
-	 * @param abstractFact event
-	 */
-	private synchronized void dispatch(AbstractFact abstractFact) {
-		final Iterator<IListener> iter = globalIListeners.iterator();
-		while (iter.hasNext()) {
-			try {
-				final IListener listener = iter.next();
-				if (!listener.dispatch(abstractFact)) {
-					iter.remove();
+	private void invalidateRoutes() {
+		// new instance, snapshots taken before change fail to be swapped
+		routes.set(Collections.unmodifiableMap(new HashMap<>()));
+	}
+
+	private FactLane[] route(Class<?> type) {
+		for (; ; ) {
+			final Map<Class<?>, FactLane[]> current = routes.get();
+			final FactLane[] known = current.get(type);
+			if (known != null) {
+				return known;
+			}
+
+			final List<FactLane> accepting = new ArrayList<>();
+			for (FactLane lane : lanes) {
+				if (lane.accepts(type)) {
+					accepting.add(lane);
 				}
-			} catch (Throwable t) {
-				log.warn("IoCError - Exception in listener", t);
-				iter.remove();
+			}
+
+			final FactLane[] route = accepting.toArray(new FactLane[0]);
+			final Map<Class<?>, FactLane[]> next = new HashMap<>(current);
+			next.put(type, route);
+			if (routes.compareAndSet(current, Collections.unmodifiableMap(next))) {
+				return route;
 			}
 		}
 	}
@@ -108,9 +159,26 @@ public class FactDispatcherFactory implements Factory, DestroyProcessor, ThreadF
 	 *
 	 * @param listener listener
 	 */
-	public synchronized void addListener(IListener listener) {
+	public void addListener(IListener listener) {
 		log.debug("Adding new listener global {}", listener);
-		globalIListeners.add(listener);
+		final Fact fact = listener.getClass().getAnnotation(Fact.class);
+		listenerLanes.computeIfAbsent(listener, l -> {
+			final FactLane lane = selectLane(l, fact);
+			lane.addListener(l, fact != null ? fact.value() : new Class<?>[0]);
+			return lane;
+		});
+		invalidateRoutes();
+	}
+
+	private FactLane selectLane(IListener listener, Fact fact) {
+		if (fact != null && fact.isolated()) {
+			final FactLane lane = new FactLane(listener.getClass().getSimpleName(), true, executor, this::removeListener);
+			lanes.add(lane);
+			return lane;
+		}
+
+		final int index = fact != null && fact.lane() >= 0 ? fact.lane() : System.identityHashCode(listener);
+		return partitions[(index & Integer.MAX_VALUE) % partitions.length];
 	}
 
 	/**
@@ -118,46 +186,22 @@ public class FactDispatcherFactory implements Factory, DestroyProcessor, ThreadF
 	 *
 	 * @param listener listener
 	 */
-	public synchronized void removeListener(IListener listener) {
-		globalIListeners.remove(listener);
+	public void removeListener(IListener listener) {
+		final FactLane lane = listenerLanes.remove(listener);
+		if (lane != null) {
+			lane.removeListener(listener);
+			if (lane.isIsolated()) {
+				lanes.remove(lane);
+			}
+			invalidateRoutes();
+		}
 	}
 
 	@Override
 	public void destroy() {
-		future.cancel(true);
-		future = null;
-		events.clear();
-		events = null;
-		globalIListeners.clear();
-		globalIListeners = null;
-	}
-
-	private class QueueScheduling implements Runnable {
-		@Override
-		public void run() {
-			FactContainer event;
-			while ((event = events.poll()) != null) {
-				synchronized (event) {
-					try {
-						if (event.getFuture().isCancelled()) {
-							continue;
-						}
-
-						if (log.isDebugEnabled()) {
-							log.debug("Dispatching event {}", event.getAbstractFact());
-						}
-
-						event.getFuture().setRunning(true);
-						event.getFuture().setComplete(false);
-
-						dispatch(event.getAbstractFact());
-						event.getFuture().complete(event.getAbstractFact());
-					} catch (Throwable t) {
-						event.getFuture().completeExceptionally(t);
-						log.warn("IoCError - Exception in EventDispatcherFactory thread", t);
-					}
-				}
-			}
-		}
+		executor.shutdown();
+		lanes.clear();
+		listenerLanes.clear();
+		invalidateRoutes();
 	}
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories.facts;
+
+import org.ioc.context.listeners.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Lane of fact dispatching. Facts published to lane are dispatched to its listeners sequentially in order
+ * of publishing. Lane does not own a thread: publishing wakes it by submitting drain to executor if it is
+ * not already scheduled, after a bounded batch drain yields thread to other lanes.
+ * <p>
+ * Listeners are kept in copy-on-write list, listeners accepting each fact type are resolved once into
+ * routing table, so dispatching iterates only interested listeners without locks. Batch listeners receive
+ * all their facts of drained batch in single call.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class FactLane implements Runnable {
+	private static final Logger log = LoggerFactory.getLogger(FactLane.class);
+
+	private static final int DRAIN_LIMIT = 256;
+	private static final Binding[] EMPTY = new Binding[0];
+
+	private final String name;
+	private final boolean isolated;
+	private final Executor executor;
+	private final Consumer<IListener> onRemoval;
+
+	private final Queue<FactContainer> facts = new ConcurrentLinkedQueue<>();
+	private final List<Binding> bindings = new CopyOnWriteArrayList<>();
+	/**
+	 * Immutable snapshot of routes, replaced by new one on every change of listeners, so route computed
+	 * for listeners changed meanwhile is never published.
+	 */
+	private final AtomicReference<Map<Class<?>, Binding[]>> routes = new AtomicReference<>(Collections.emptyMap());
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/**
+	 * @param name      lane name
+	 * @param isolated  true if lane belongs to single listener
+	 * @param executor  executor running drains of lane
+	 * @param onRemoval callback invoked when listener is removed by lane
+	 */
+	public FactLane(String name, boolean isolated, Executor executor, Consumer<IListener> onRemoval) {
+		this.name = name;
+		this.isolated = isolated;
+		this.executor = executor;
+		this.onRemoval = onRemoval;
+	}
+
+	public boolean isIsolated() {
+		return isolated;
+	}
+
+	/**
+	 * @param type type of fact
+	 * @return true if any listener of lane accepts facts of type
+	 */
+	public boolean accepts(Class<?> type) {
+		return route(type).length > 0;
+	}
+
+	/**
+	 * @param listener listener
+	 * @param types    accepted types of facts, empty - all facts
+	 */
+	public void addListener(IListener listener, Class<?>[] types) {
+		bindings.add(new Binding(listener, types));
+		invalidateRoutes();
+	}
+
+	public void removeListener(IListener listener) {
+		bindings.removeIf(b -> b.listener == listener);
+		invalidateRoutes();
+	}
+
+	private void invalidateRoutes() {
+		// new instance, snapshots taken before change fail to be swapped
+		routes.set(Collections.unmodifiableMap(new HashMap<>()));
+	}
+
+	private Binding[] route(Class<?> type) {
+		for (; ; ) {
+			final Map<Class<?>, Binding[]> current = routes.get();
+			final Binding[] known = current.get(type);
+			if (known != null) {
+				return known;
+			}
+
+			final List<Binding> accepting = new ArrayList<>();
+			for (Binding binding : bindings) {
+				if (binding.accepts(type)) {
+					accepting.add(binding);
+				}
+			}
+
+			final Binding[] route = accepting.isEmpty() ? EMPTY : accepting.toArray(new Binding[0]);
+			final Map<Class<?>, Binding[]> next = new HashMap<>(current);
+			next.put(type, route);
+			if (routes.compareAndSet(current, Collections.unmodifiableMap(next))) {
+				return route;
+			}
+		}
+	}
+
+	/**
+	 * Adds fact to lane and wakes lane up.
+	 *
+	 * @param container fact with its future
+	 */
+	public void publish(FactContainer container) {
+		facts.add(container);
+		schedule();
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				scheduled.set(false);
+				log.warn("IoCError - Lane {} is rejected by executor, dispatcher is shut down", name);
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			final List<FactContainer> drained = new ArrayList<>();
+			boolean hasBatches = false;
+			FactContainer container;
+			while (drained.size() < DRAIN_LIMIT && (container = facts.poll()) != null) {
+				drained.add(container);
+				hasBatches |= dispatch(container);
+			}
+
+			if (hasBatches) {
+				dispatchBatches(drained);
+			}
+
+			for (FactContainer dispatched : drained) {
+				complete(dispatched);
+			}
+		} finally {
+			scheduled.set(false);
+			if (!facts.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+
+	/**
+	 * Dispatches fact to single fact listeners.
+	 *
+	 * @param container fact with its future
+	 * @return true if fact is accepted by batch listeners
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean dispatch(FactContainer container) {
+		final AbstractFact fact = container.getAbstractFact();
+		final FactFutureImpl<AbstractFact> future = (FactFutureImpl<AbstractFact>) container.getFuture();
+		if (future.isCancelled()) {
+			return false;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Dispatching event {} in lane {}", fact, name);
+		}
+
+		future.setRunning(true);
+		boolean hasBatches = false;
+		for (Binding binding : route(fact.getClass())) {
+			if (binding.batch != null) {
+				hasBatches = true;
+				continue;
+			}
+
+			try {
+				if (!binding.listener.dispatch(fact)) {
+					remove(binding.listener);
+				}
+			} catch (Throwable t) {
+				log.warn("IoCError - Exception in listener", t);
+				remove(binding.listener);
+			}
+		}
+		return hasBatches;
+	}
+
+	private void dispatchBatches(List<FactContainer> drained) {
+		for (Binding binding : bindings) {
+			if (binding.batch == null) {
+				continue;
+			}
+
+			final List<AbstractFact> batch = new ArrayList<>();
+			for (FactContainer container : drained) {
+				if (!container.getFuture().isCancelled() && binding.accepts(container.getAbstractFact().getClass())) {
+					batch.add(container.getAbstractFact());
+				}
+			}
+
+			if (!batch.isEmpty()) {
+				try {
+					if (!binding.batch.dispatchAll(batch)) {
+						remove(binding.listener);
+					}
+				} catch (Throwable t) {
+					log.warn("IoCError - Exception in listener", t);
+					remove(binding.listener);
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void complete(FactContainer container) {
+		if (container.release()) {
+			((FactFutureImpl<AbstractFact>) container.getFuture()).complete(container.getAbstractFact());
+		}
+	}
+
+	private void remove(IListener listener) {
+		removeListener(listener);
+		onRemoval.accept(listener);
+	}
+
+	@Override
+	public String toString() {
+		return "FactLane{" +
+				"name='" + name + '\'' +
+				", listeners=" + bindings.size() +
+				'}';
+	}
+
+	private static class Binding {
+		private final IListener listener;
+		private final IBatchListener batch;
+		private final Class<?>[] types;
+
+		Binding(IListener listener, Class<?>[] types) {
+			this.listener = listener;
+			this.types = types;
+			batch = listener instanceof IBatchListener ? (IBatchListener) listener : null;
+		}
+
+		boolean accepts(Class<?> type) {
+			if (types.length == 0) {
+				return true;
+			}
+
+			for (Class<?> accepted : types) {
+				if (accepted.isAssignableFrom(type)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories.facts;
+
+import org.ioc.context.factories.Factory;
+import org.ioc.context.factories.threading.DefaultThreadPoolFactory;
+import org.ioc.context.listeners.AbstractFact;
+import org.ioc.context.model.tasks.interfaces.ScheduledTaskFuture;
+import org.ioc.context.type.IoCContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Periodically takes snapshot of statistics and publishes it as fact, on thread pool
+ * and fact dispatcher of context.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class PeriodicFactPublisher<S> {
+	private static final Logger log = LoggerFactory.getLogger(PeriodicFactPublisher.class);
+
+	private final String subject;
+
+	private final Supplier<? extends S> snapshot;
+
+	private final Function<? super S, ? extends AbstractFact> factFactory;
+
+	private FactDispatcherFactory dispatcherFactory;
+
+	private ScheduledTaskFuture future;
+
+	/**
+	 * @param subject     name of statistics in log messages
+	 * @param snapshot    supplier of current statistics
+	 * @param factFactory creates fact carrying statistics
+	 */
+	public PeriodicFactPublisher(String subject, Supplier<? extends S> snapshot, Function<? super S, ? extends AbstractFact> factFactory) {
+		this.subject = subject;
+		this.snapshot = snapshot;
+		this.factFactory = factFactory;
+	}
+
+	/**
+	 * Schedules publishing, does nothing if interval is not positive.
+	 *
+	 * @param context  context providing thread pool and fact dispatcher
+	 * @param interval interval of publishing in milliseconds
+	 */
+	public void start(IoCContext context, long interval) {
+		if (interval <= 0) {
+			return;
+		}
+
+		final Factory threadFactory = context.getType(Factory.defaultThreadFactory());
+		dispatcherFactory = context.getType(FactDispatcherFactory.class);
+		if (threadFactory instanceof DefaultThreadPoolFactory && dispatcherFactory != null) {
+			future = ((DefaultThreadPoolFactory) threadFactory).async(interval, TimeUnit.MILLISECONDS, interval, this::publish);
+		} else {
+			log.warn("Thread pool or fact dispatcher not found, {} statistics will not be published", subject);
+		}
+	}
+
+	private void publish() {
+		final S stats = snapshot.get();
+		if (log.isDebugEnabled()) {
+			log.debug("Publishing {} statistics", subject);
+		}
+
+		dispatcherFactory.fireEvent(factFactory.apply(stats));
+	}
+
+	public void stop() {
+		if (future != null) {
+			future.cancel(false);
+			future = null;
+		}
+	}
+}
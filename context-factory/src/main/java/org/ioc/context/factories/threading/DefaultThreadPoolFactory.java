@@ -25,9 +25,11 @@ import org.ioc.context.model.tasks.interfaces.PoolTasks;
 import org.ioc.context.model.tasks.interfaces.ScheduledTaskFuture;
 import org.ioc.context.model.tasks.interfaces.Task;
 import org.ioc.context.model.tasks.interfaces.TaskFuture;
+import org.ioc.context.model.tasks.stats.PoolStats;
 import org.ioc.context.processors.DestroyProcessor;
 import org.ioc.context.sensible.EnvironmentSensible;
 import org.ioc.enviroment.configurations.ThreadingAutoConfiguration;
+import org.ioc.enviroment.configurations.ThreadingAutoConfiguration.ExecutorMode;
 import org.ioc.enviroment.configurations.ThreadingAutoConfiguration.ThreadPoolPriority;
 import org.ioc.exceptions.IoCException;
 import org.ioc.utils.GeneralTask;
@@ -37,9 +39,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -55,7 +66,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<ThreadingAutoConfiguration>, DestroyProcessor {
 	private static final Logger log = LoggerFactory.getLogger(DefaultThreadPoolFactory.class);
 	private final Map<String, Future<?>> futures = new HashMap<>();
-	private final List<GeneralTask> tasks = new ArrayList<>();
+	private final List<GeneralTask> tasks = new CopyOnWriteArrayList<>();
 	private ThreadingAutoConfiguration threadingAutoConfiguration;
 	/**
 	 * Public shared thread pool
@@ -64,7 +75,7 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 	/**
 	 * List of active thread pools
 	 */
-	private Map<String, PoolTasks> threadPools = new HashMap<>();
+	private Map<String, PoolTasks> threadPools = new ConcurrentHashMap<>();
 
 	@Override
 	public void environmentInform(ThreadingAutoConfiguration threadingAutoConfiguration) throws IoCException {
@@ -77,9 +88,9 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 				threadingAutoConfiguration.getAvailableProcessors(),
 				threadingAutoConfiguration.getThreadTimeout(),
 				threadingAutoConfiguration.getThreadTimeoutUnit(),
-				threadingAutoConfiguration.getThreadPoolPriority());
-
-		pool.async(50, TimeUnit.MILLISECONDS, 50, () -> threadPools.values().forEach(PoolTasks::notifyListeners));
+				threadingAutoConfiguration.getThreadPoolPriority(),
+				threadingAutoConfiguration.getExecutorMode());
+		threadPools.put(pool.getName(), pool);
 	}
 
 	/**
@@ -98,29 +109,90 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 		tasks.forEach(t -> {
 			final TaskProperties properties = t.getTaskProperties();
 			final TimeUnit timeUnit = properties.getTimeUnit();
+			final PoolTasks target = getTaskPool(properties);
+			target.monitor(t.getName(), t.getStatsCounter());
 			if (properties.getStartingDelay() < 0) {
 				properties.setStartingDelay(0);
 			}
 
 			if (properties.getStartingDelay() == 0 && properties.getFixedInterval() != -1) {
-				final Future<?> future = async(0, timeUnit, properties.getFixedInterval(), t);
+				final Future<?> future = target.async(0, timeUnit, properties.getFixedInterval(), t);
 				futures.put(t.getMethod().getName(), future);
 				return;
 			}
 
 			if (properties.getStartingDelay() > 0 && properties.getFixedInterval() > 0) {
-				final Future<?> future = async(properties.getStartingDelay(), timeUnit, properties.getFixedInterval(), t);
+				final Future<?> future = target.async(properties.getStartingDelay(), timeUnit, properties.getFixedInterval(), t);
 				futures.put(t.getMethod().getName(), future);
 				return;
 			}
 
 			if (properties.getFixedInterval() == -1) {
-				final Future<?> future = async(properties.getStartingDelay(), timeUnit, t);
+				final Future<?> future = target.async(properties.getStartingDelay(), timeUnit, t);
 				futures.put(t.getMethod().getName(), future);
 			}
 		});
 	}
 
+	/**
+	 * Resolve pool executing task, named pools are created on first use.
+	 *
+	 * @param properties properties of task
+	 * @return shared pool or isolated pool declared by task
+	 */
+	private PoolTasks getTaskPool(TaskProperties properties) {
+		final String name = properties.getPool();
+		if (name == null || name.isEmpty()) {
+			return pool;
+		}
+
+		return getThreadPool(name, properties.getPoolThreads(), threadingAutoConfiguration.getExecutorMode());
+	}
+
+	/**
+	 * Resolve isolated pool with given name, pool is created on first use.
+	 *
+	 * @param name    pool name
+	 * @param threads count of threads, 0 - value of ioc.threads.taskPoolThreads or count of available processors
+	 * @param mode    executor backing the pool
+	 * @return active thread pool with given name
+	 */
+	public PoolTasks getThreadPool(String name, int threads, ExecutorMode mode) {
+		return threadPools.computeIfAbsent(name, n -> {
+			int count = threads;
+			if (count <= 0) {
+				count = threadingAutoConfiguration.getTaskPoolThreads();
+			}
+
+			if (count <= 0) {
+				count = threadingAutoConfiguration.getAvailableProcessors();
+			}
+
+			return createThreadPool(n, count,
+					threadingAutoConfiguration.getThreadTimeout(),
+					threadingAutoConfiguration.getThreadTimeoutUnit(),
+					threadingAutoConfiguration.getThreadPoolPriority(),
+					mode);
+		});
+	}
+
+	/**
+	 * @param name pool name
+	 * @return active thread pool with given name or null
+	 */
+	public PoolTasks getThreadPool(String name) {
+		return threadPools.get(name);
+	}
+
+	/**
+	 * @return snapshots of statistics of active thread pools by their names
+	 */
+	public Map<String, PoolStats> getStats() {
+		final Map<String, PoolStats> stats = new LinkedHashMap<>();
+		threadPools.forEach((name, pool) -> stats.put(name, pool.getStats()));
+		return stats;
+	}
+
 	/**
 	 * Executes an asynchronous tasks. Tasks scheduled here will go to an default shared thread pool.
 	 *
@@ -174,6 +246,36 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 		return pool.async(delay, unit, repeat, task);
 	}
 
+	/**
+	 * Returns a future that is completed when all given futures are completed.
+	 *
+	 * @param futures futures to wait for
+	 * @return {@link TaskFuture} notified once all futures have completed
+	 */
+	public TaskFuture<Void> allOf(TaskFuture<?>... futures) {
+		return pool.allOf(futures);
+	}
+
+	/**
+	 * Adapts default shared thread pool to plain {@link Executor}, so components working with
+	 * {@link java.util.concurrent.CompletableFuture} (asynchronous cache loads) run their work there.
+	 *
+	 * @return executor submitting commands to default shared thread pool
+	 */
+	public Executor getExecutor() {
+		return command -> {
+			final PoolTasks target = pool;
+			if (target == null) {
+				throw new RejectedExecutionException("Thread pool factory is not initialized or was destroyed");
+			}
+
+			target.async(() -> {
+				command.run();
+				return null;
+			});
+		};
+	}
+
 	/**
 	 * Creates a new thread pool.
 	 *
@@ -182,21 +284,58 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 	 * @param threadTimeout     time it takes to expire an inactive thread
 	 * @param threadTimeoutUnit {@link TimeUnit} for {@param threadTimeout}
 	 * @param priority          processor scheduling priority
+	 * @param mode              executor backing the pool
 	 * @return new thread pool
 	 */
 	private PoolTasks createThreadPool(String name, int threads, long threadTimeout,
-									   TimeUnit threadTimeoutUnit, ThreadPoolPriority priority) {
+									   TimeUnit threadTimeoutUnit, ThreadPoolPriority priority, ExecutorMode mode) {
 		if (log.isDebugEnabled()) {
-			log.debug("Creating new {} priority PoolTasks {}; threads: {}, timeout:{}", priority, name, threads, threadTimeout);
+			log.debug("Creating new {} priority {} PoolTasks {}; threads: {}, timeout:{}", priority, mode, name, threads, threadTimeout);
 		}
 
-		final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads);
+		if (mode == ExecutorMode.VIRTUAL) {
+			final ExecutorService executor = newVirtualExecutor(name);
+			if (executor != null) {
+				return new PoolTasksImpl(name, executor, newScheduler(name + "-timer", 1, priority),
+						threadingAutoConfiguration.isStatsEnabled(), this);
+			}
 
+			log.warn("Virtual threads are not available on this runtime, PoolTasks {} uses {} mode", name, ExecutorMode.FORKJOIN);
+			mode = ExecutorMode.FORKJOIN;
+		}
+
+		if (mode == ExecutorMode.FORKJOIN) {
+			final AtomicInteger threadNumber = new AtomicInteger(1);
+			final ForkJoinPool executor = new ForkJoinPool(threads, p -> {
+				final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+				thread.setName(name + "-" + threadNumber.getAndIncrement());
+				thread.setPriority(priority.get());
+				return thread;
+			}, null, true);
+			return new PoolTasksImpl(name, executor, newScheduler(name + "-timer", 1, priority),
+					threadingAutoConfiguration.isStatsEnabled(), this);
+		}
+
+		final ScheduledThreadPoolExecutor executor = newScheduler(name, threads, priority);
 		if (threadTimeout >= 1) {
 			executor.setKeepAliveTime(threadTimeout, threadTimeoutUnit);
 			executor.allowCoreThreadTimeOut(true);
 		}
 
+		return new PoolTasksImpl(name, executor, threadingAutoConfiguration.isStatsEnabled(), this);
+	}
+
+	/**
+	 * Creates a new scheduled executor with named threads.
+	 *
+	 * @param name     prefix of thread names
+	 * @param threads  amount of core threads
+	 * @param priority processor scheduling priority
+	 * @return new executor
+	 */
+	private ScheduledThreadPoolExecutor newScheduler(String name, int threads, ThreadPoolPriority priority) {
+		final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads);
+		executor.setRemoveOnCancelPolicy(true);
 		executor.setThreadFactory(new ThreadFactory() {
 			private final AtomicInteger threadNumber = new AtomicInteger(1);
 
@@ -207,10 +346,30 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 				return thread;
 			}
 		});
+		return executor;
+	}
 
-		final PoolTasksImpl pool = new PoolTasksImpl(name, executor, this);
-		threadPools.put(name, pool);
-		return pool;
+	/**
+	 * Creates executor starting a new virtual thread per task. Virtual threads are
+	 * looked up reflectively, so they are used only when running on JDK 21+.
+	 *
+	 * @param name prefix of thread names
+	 * @return new executor or null if virtual threads are not supported by runtime
+	 */
+	private static ExecutorService newVirtualExecutor(String name) {
+		try {
+			final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+			final ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, factory);
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			if (log.isDebugEnabled()) {
+				log.debug("Virtual threads are not supported", e);
+			}
+			return null;
+		}
 	}
 
 	/**
@@ -224,6 +383,7 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 		}
 
 		pool.getExecutor().shutdown();
+		pool.getScheduler().shutdown();
 		threadPools.remove(pool.getName());
 	}
 
@@ -231,7 +391,7 @@ public class DefaultThreadPoolFactory implements Factory, EnvironmentSensible<Th
 	public void destroy() {
 		futures.values().forEach(f -> f.cancel(true));
 		futures.clear();
-		dispose(pool);
+		new ArrayList<>(threadPools.values()).forEach(this::dispose);
 		pool = null;
 		threadPools.clear();
 		threadPools = null;
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories.threading;
+
+import org.ioc.context.factories.Factory;
+import org.ioc.context.factories.facts.PeriodicFactPublisher;
+import org.ioc.context.listeners.facts.OnPoolStatsFact;
+import org.ioc.context.model.tasks.stats.PoolStats;
+import org.ioc.context.processors.DestroyProcessor;
+import org.ioc.context.sensible.ContextSensible;
+import org.ioc.context.sensible.EnvironmentSensible;
+import org.ioc.context.type.IoCContext;
+import org.ioc.enviroment.configurations.ThreadingAutoConfiguration;
+import org.ioc.exceptions.IoCException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Periodically publishes statistics of thread pools created by {@link DefaultThreadPoolFactory}
+ * as {@link OnPoolStatsFact}.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class PoolStatsFactory implements Factory, DestroyProcessor, ContextSensible, EnvironmentSensible<ThreadingAutoConfiguration> {
+	private static final Logger log = LoggerFactory.getLogger(PoolStatsFactory.class);
+
+	private IoCContext context;
+
+	private long publishInterval;
+
+	private PeriodicFactPublisher<Map<String, PoolStats>> publisher;
+
+	@Override
+	public void initialize() throws IoCException {
+		final Factory threadFactory = context.getType(Factory.defaultThreadFactory());
+		if (threadFactory instanceof DefaultThreadPoolFactory) {
+			final DefaultThreadPoolFactory threadPoolFactory = (DefaultThreadPoolFactory) threadFactory;
+			publisher = new PeriodicFactPublisher<>("pool", threadPoolFactory::getStats,
+					stats -> new OnPoolStatsFact(stats, threadPoolFactory));
+			publisher.start(context, publishInterval);
+		} else if (publishInterval > 0) {
+			log.warn("Thread pool not found, pool statistics will not be published");
+		}
+	}
+
+	@Override
+	public void contextInform(IoCContext context) throws IoCException {
+		this.context = context;
+	}
+
+	@Override
+	public void environmentInform(ThreadingAutoConfiguration environment) throws IoCException {
+		publishInterval = environment.getStatsPublishInterval();
+	}
+
+	@Override
+	public void destroy() {
+		if (publisher != null) {
+			publisher.stop();
+		}
+	}
+}
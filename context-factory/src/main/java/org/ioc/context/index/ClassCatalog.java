@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.index;
+
+import org.ioc.exceptions.IoCInstantiateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.net.JarURLConnection;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable catalog of the classes contained in the scanned packages.
+ * <p>
+ * Packages are walked once, in parallel on the common {@link ForkJoinPool}, and every class file is
+ * described from its bytecode ({@link ClassFileReader}), so nothing is loaded or initialized while scanning.
+ * Classes are then organized by annotation (honouring {@link Inherited}) and by every super class and
+ * interface; a class is loaded only when a lookup returns it.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class ClassCatalog {
+	public static final String TRAVERSAL = "traversal";
+	public static final String PARSING = "parsing";
+	public static final String INDEXING = "indexing";
+	public static final String LOADING = "loading";
+
+	private static final Logger log = LoggerFactory.getLogger(ClassCatalog.class);
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	private static final ClassEntry MISSING = new ClassEntry(null, null, new String[0], new String[0], 0);
+
+	private final String[] packages;
+	private final ClassLoader classLoader;
+	private final boolean useIndex;
+
+	/**
+	 * True if some package was read from component index, so only annotated and indexed supertypes are cataloged.
+	 */
+	private boolean indexed;
+	private volatile ClassCatalog complete;
+
+	private final Map<String, ClassEntry> entries;
+	private final Map<String, List<String>> byAnnotation;
+	private final Map<String, List<String>> bySupertype;
+
+	private final Map<String, Class<?>> loaded = new ConcurrentHashMap<>();
+
+	private final Map<String, Long> phases = new LinkedHashMap<>();
+	private final LongAdder loading = new LongAdder();
+
+	private ClassCatalog(String[] packages, ClassLoader classLoader, boolean useIndex) {
+		this.packages = packages;
+		this.classLoader = classLoader;
+		this.useIndex = useIndex;
+
+		long start = System.nanoTime();
+		final List<URL> sources = new ArrayList<>();
+		for (String packageName : packages) {
+			sources.addAll(traverse(packageName));
+		}
+		phases.put(TRAVERSAL, System.nanoTime() - start);
+
+		start = System.nanoTime();
+		final Map<String, ClassEntry> parsed = sources.parallelStream()
+				.map(this::parse)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toMap(ClassEntry::getName, e -> e, (first, second) -> first, TreeMap::new));
+		entries = Collections.unmodifiableMap(parsed);
+		phases.put(PARSING, System.nanoTime() - start);
+
+		start = System.nanoTime();
+		final Map<String, ClassEntry> externals = new HashMap<>();
+		final Map<String, List<String>> annotated = new HashMap<>();
+		final Map<String, List<String>> subtypes = new HashMap<>();
+		entries.values().forEach(entry -> {
+			entry.getAnnotations().forEach(annotation -> add(annotated, annotation, entry.getName()));
+
+			final Set<String> supertypes = new LinkedHashSet<>();
+			String parent = entry.getSuperName();
+			while (parent != null && !Object.class.getName().equals(parent)) {
+				final ClassEntry parentEntry = describe(parent, externals);
+				parentEntry.getAnnotations()
+						.stream()
+						.filter(annotation -> isInherited(annotation, externals))
+						.forEach(annotation -> add(annotated, annotation, entry.getName()));
+
+				supertypes.add(parent);
+				collectInterfaces(parentEntry, supertypes, externals);
+				parent = parentEntry.getSuperName();
+			}
+
+			collectInterfaces(entry, supertypes, externals);
+			supertypes.forEach(supertype -> add(subtypes, supertype, entry.getName()));
+		});
+		byAnnotation = freeze(annotated);
+		bySupertype = freeze(subtypes);
+		phases.put(INDEXING, System.nanoTime() - start);
+	}
+
+	/**
+	 * Function of scanning packages and building catalog.
+	 *
+	 * @param classLoader loader of scanned classes
+	 * @param packages    scanning packages
+	 * @return catalog of found classes
+	 */
+	public static ClassCatalog scan(ClassLoader classLoader, String... packages) {
+		final ClassCatalog catalog = new ClassCatalog(packages, classLoader, true);
+		if (log.isDebugEnabled()) {
+			log.debug("Scanned {} - {} classes", Arrays.toString(packages), catalog.size());
+		}
+		return catalog;
+	}
+
+	/**
+	 * Function of finding the classes annotated with {@code annotation}.
+	 *
+	 * @param annotation annotation for filter
+	 * @return loaded classes
+	 */
+	public List<Class<?>> findByAnnotation(Class<? extends Annotation> annotation) {
+		return byAnnotation.getOrDefault(annotation.getName(), Collections.emptyList())
+				.stream()
+				.map(this::load)
+				.filter(cls -> cls.isAnnotationPresent(annotation))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Function of finding the classes assignable to {@code type}, including the type itself.
+	 * Supertypes not covered by component index are looked up in catalog of all classes of packages.
+	 *
+	 * @param type type for filter
+	 * @return loaded classes
+	 */
+	public List<Class<?>> findBySupertype(Class<?> type) {
+		if (indexed && !ComponentIndex.covers(type.getName())) {
+			return complete().findBySupertype(type);
+		}
+
+		final List<String> names = new ArrayList<>(bySupertype.getOrDefault(type.getName(), Collections.emptyList()));
+		if (entries.containsKey(type.getName())) {
+			names.add(type.getName());
+		}
+
+		return names.stream()
+				.sorted()
+				.map(this::load)
+				.filter(type::isAssignableFrom)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * @param name binary class name
+	 * @return description of scanned class or null
+	 */
+	public ClassEntry getEntry(String name) {
+		return entries.get(name);
+	}
+
+	public String[] getPackages() {
+		return packages.clone();
+	}
+
+	/**
+	 * @return count of scanned classes
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return count of classes loaded by lookups
+	 */
+	public int getLoadedCount() {
+		return loaded.size();
+	}
+
+	/**
+	 * @return time spent in every scan phase, in nanoseconds
+	 */
+	public Map<String, Long> getPhases() {
+		final Map<String, Long> result = new LinkedHashMap<>(phases);
+		result.put(LOADING, loading.sum());
+		return Collections.unmodifiableMap(result);
+	}
+
+	/**
+	 * @return catalog of packages built from bytecode of all classes, ignoring component indexes
+	 */
+	private ClassCatalog complete() {
+		ClassCatalog result = complete;
+		if (result == null) {
+			synchronized (this) {
+				result = complete;
+				if (result == null) {
+					result = new ClassCatalog(packages, classLoader, false);
+					complete = result;
+					if (log.isDebugEnabled()) {
+						log.debug("Scanned {} without index - {} classes", Arrays.toString(packages), result.size());
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private Class<?> load(String name) {
+		final Class<?> cls = loaded.get(name);
+		if (cls != null) {
+			return cls;
+		}
+
+		final long start = System.nanoTime();
+		try {
+			return loaded.computeIfAbsent(name, n -> {
+				try {
+					return Class.forName(n, false, classLoader);
+				} catch (ClassNotFoundException | LinkageError e) {
+					throw new IoCInstantiateException("IoCError - Can't load class [" + n + "]", e);
+				}
+			});
+		} finally {
+			loading.add(System.nanoTime() - start);
+		}
+	}
+
+	private List<URL> traverse(String packageName) {
+		final String path = packageName.replace('.', '/');
+		final URL url = classLoader.getResource(path);
+		if (url == null) {
+			throw new IoCInstantiateException("IoCError - Can't find package [" + packageName + "] in classpath");
+		}
+
+		final ComponentIndex index = useIndex ? ComponentIndex.locate(url, packageName) : null;
+		if (index != null) {
+			indexed = true;
+			return index.getClassNames(packageName)
+					.stream()
+					.map(name -> classLoader.getResource(name.replace('.', '/') + CLASS_SUFFIX))
+					.filter(Objects::nonNull)
+					.collect(Collectors.toList());
+		}
+
+		try {
+			if ("jar".equals(url.getProtocol())) {
+				return traverseJar(url, path);
+			}
+			return ForkJoinPool.commonPool().invoke(new DirectoryTask(new File(url.toURI())));
+		} catch (IOException | URISyntaxException e) {
+			throw new IoCInstantiateException("IoCError - Can't scan package [" + packageName + "]", e);
+		}
+	}
+
+	private List<URL> traverseJar(URL url, String path) throws IOException {
+		final JarURLConnection connection = (JarURLConnection) url.openConnection();
+		final JarFile jarFile = connection.getJarFile();
+		final String jarUrl = "jar:" + connection.getJarFileURL() + "!/";
+		final String prefix = path + "/";
+
+		final List<URL> list = new ArrayList<>();
+		final Enumeration<JarEntry> jarEntries = jarFile.entries();
+		while (jarEntries.hasMoreElements()) {
+			final String entryName = jarEntries.nextElement().getName();
+			if (entryName.startsWith(prefix) && isClassFile(entryName)) {
+				list.add(new URL(jarUrl + entryName));
+			}
+		}
+		return list;
+	}
+
+	private static boolean isClassFile(String name) {
+		return name.endsWith(CLASS_SUFFIX) && !name.endsWith("package-info.class") && !name.endsWith("module-info.class");
+	}
+
+	private ClassEntry parse(URL source) {
+		try (InputStream stream = source.openStream()) {
+			return ClassFileReader.read(stream);
+		} catch (IOException e) {
+			if (log.isDebugEnabled()) {
+				log.debug("Skip unreadable class file [{}]", source, e);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Describes a class outside of the scanned packages (e.g. framework interfaces) from its bytecode.
+	 */
+	private ClassEntry describe(String name, Map<String, ClassEntry> externals) {
+		final ClassEntry entry = entries.get(name);
+		if (entry != null) {
+			return entry;
+		}
+
+		return externals.computeIfAbsent(name, n -> {
+			try (InputStream stream = classLoader.getResourceAsStream(n.replace('.', '/') + CLASS_SUFFIX)) {
+				return stream == null ? MISSING : ClassFileReader.read(stream);
+			} catch (IOException e) {
+				return MISSING;
+			}
+		});
+	}
+
+	private boolean isInherited(String annotation, Map<String, ClassEntry> externals) {
+		return describe(annotation, externals).getAnnotations().contains(Inherited.class.getName());
+	}
+
+	private void collectInterfaces(ClassEntry entry, Set<String> result, Map<String, ClassEntry> externals) {
+		entry.getInterfaces().forEach(name -> {
+			if (result.add(name)) {
+				collectInterfaces(describe(name, externals), result, externals);
+			}
+		});
+	}
+
+	private static void add(Map<String, List<String>> map, String key, String value) {
+		map.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+	}
+
+	private static Map<String, List<String>> freeze(Map<String, List<String>> map) {
+		final Map<String, List<String>> result = new HashMap<>(map.size());
+		map.forEach((key, value) -> result.put(key, Collections.unmodifiableList(value)));
+		return Collections.unmodifiableMap(result);
+	}
+
+	private static class DirectoryTask extends RecursiveTask<List<URL>> {
+		private final File directory;
+
+		DirectoryTask(File directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		protected List<URL> compute() {
+			final File[] files = directory.listFiles();
+			if (files == null) {
+				return Collections.emptyList();
+			}
+
+			final List<URL> list = new ArrayList<>();
+			final List<DirectoryTask> subTasks = new ArrayList<>();
+			for (File file : files) {
+				if (file.isDirectory()) {
+					final DirectoryTask task = new DirectoryTask(file);
+					task.fork();
+					subTasks.add(task);
+				} else if (isClassFile(file.getName())) {
+					try {
+						list.add(file.toURI().toURL());
+					} catch (MalformedURLException e) {
+						throw new IoCInstantiateException(e);
+					}
+				}
+			}
+
+			subTasks.forEach(task -> list.addAll(task.join()));
+			return list;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.index;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class description read from bytecode, without loading the class.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class ClassEntry {
+	private static final int ACC_INTERFACE = 0x0200;
+	private static final int ACC_ABSTRACT = 0x0400;
+	private static final int ACC_ANNOTATION = 0x2000;
+
+	private final String name;
+	private final String superName;
+	private final List<String> interfaces;
+	private final List<String> annotations;
+	private final int access;
+
+	ClassEntry(String name, String superName, String[] interfaces, String[] annotations, int access) {
+		this.name = name;
+		this.superName = superName;
+		this.interfaces = Collections.unmodifiableList(Arrays.asList(interfaces));
+		this.annotations = Collections.unmodifiableList(Arrays.asList(annotations));
+		this.access = access;
+	}
+
+	/**
+	 * @return binary name of class
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return binary name of super class, null for {@link Object} and interfaces without parent
+	 */
+	public String getSuperName() {
+		return superName;
+	}
+
+	public List<String> getInterfaces() {
+		return interfaces;
+	}
+
+	/**
+	 * @return names of runtime-visible annotations declared on class
+	 */
+	public List<String> getAnnotations() {
+		return annotations;
+	}
+
+	public boolean isInterface() {
+		return (access & ACC_INTERFACE) != 0;
+	}
+
+	public boolean isAbstract() {
+		return (access & ACC_ABSTRACT) != 0;
+	}
+
+	public boolean isAnnotation() {
+		return (access & ACC_ANNOTATION) != 0;
+	}
+
+	@Override
+	public String toString() {
+		return "ClassEntry{" +
+				"name='" + name + '\'' +
+				", superName='" + superName + '\'' +
+				", interfaces=" + interfaces +
+				", annotations=" + annotations +
+				'}';
+	}
+}
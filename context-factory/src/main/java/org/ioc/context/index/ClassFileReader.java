@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.index;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Minimal class file parser. Reads the constant pool, the class header and the
+ * {@code RuntimeVisibleAnnotations} attribute - enough to index a class without
+ * loading or initializing it.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class ClassFileReader {
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+	private static final int UTF8 = 1;
+	private static final int INTEGER = 3;
+	private static final int FLOAT = 4;
+	private static final int LONG = 5;
+	private static final int DOUBLE = 6;
+	private static final int CLASS = 7;
+	private static final int STRING = 8;
+	private static final int FIELD_REF = 9;
+	private static final int METHOD_REF = 10;
+	private static final int INTERFACE_METHOD_REF = 11;
+	private static final int NAME_AND_TYPE = 12;
+	private static final int METHOD_HANDLE = 15;
+	private static final int METHOD_TYPE = 16;
+	private static final int DYNAMIC = 17;
+	private static final int INVOKE_DYNAMIC = 18;
+	private static final int MODULE = 19;
+	private static final int PACKAGE = 20;
+
+	private ClassFileReader() {
+	}
+
+	/**
+	 * Function of reading class description from class file content.
+	 *
+	 * @param stream class file content, closed by caller
+	 * @return class description
+	 * @throws IOException if stream is not a readable class file
+	 */
+	public static ClassEntry read(InputStream stream) throws IOException {
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a class file");
+		}
+
+		in.readUnsignedShort();
+		in.readUnsignedShort();
+
+		final int poolSize = in.readUnsignedShort();
+		final String[] utf8 = new String[poolSize];
+		final int[] classes = new int[poolSize];
+		for (int i = 1; i < poolSize; i++) {
+			final int tag = in.readUnsignedByte();
+			switch (tag) {
+				case UTF8:
+					utf8[i] = in.readUTF();
+					break;
+				case CLASS:
+					classes[i] = in.readUnsignedShort();
+					break;
+				case STRING:
+				case METHOD_TYPE:
+				case MODULE:
+				case PACKAGE:
+					in.readUnsignedShort();
+					break;
+				case METHOD_HANDLE:
+					in.readUnsignedByte();
+					in.readUnsignedShort();
+					break;
+				case INTEGER:
+				case FLOAT:
+				case FIELD_REF:
+				case METHOD_REF:
+				case INTERFACE_METHOD_REF:
+				case NAME_AND_TYPE:
+				case DYNAMIC:
+				case INVOKE_DYNAMIC:
+					in.readInt();
+					break;
+				case LONG:
+				case DOUBLE:
+					in.readLong();
+					i++;
+					break;
+				default:
+					throw new IOException("Unknown constant pool tag " + tag);
+			}
+		}
+
+		final int access = in.readUnsignedShort();
+		final String name = className(utf8, classes, in.readUnsignedShort());
+		final String superName = className(utf8, classes, in.readUnsignedShort());
+
+		final String[] interfaces = new String[in.readUnsignedShort()];
+		for (int i = 0; i < interfaces.length; i++) {
+			interfaces[i] = className(utf8, classes, in.readUnsignedShort());
+		}
+
+		skipMembers(in);
+		skipMembers(in);
+
+		String[] annotations = new String[0];
+		final int attributes = in.readUnsignedShort();
+		for (int i = 0; i < attributes; i++) {
+			final String attributeName = utf8[in.readUnsignedShort()];
+			final int length = in.readInt();
+			if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+				annotations = new String[in.readUnsignedShort()];
+				for (int j = 0; j < annotations.length; j++) {
+					annotations[j] = descriptorName(utf8[in.readUnsignedShort()]);
+					skipElementValuePairs(in);
+				}
+			} else {
+				skip(in, length);
+			}
+		}
+
+		return new ClassEntry(name, superName, interfaces, annotations, access);
+	}
+
+	private static String className(String[] utf8, int[] classes, int index) {
+		if (index == 0) {
+			return null;
+		}
+		return utf8[classes[index]].replace('/', '.');
+	}
+
+	private static String descriptorName(String descriptor) {
+		return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+	}
+
+	private static void skipMembers(DataInputStream in) throws IOException {
+		final int count = in.readUnsignedShort();
+		for (int i = 0; i < count; i++) {
+			skip(in, 6);
+			final int attributes = in.readUnsignedShort();
+			for (int j = 0; j < attributes; j++) {
+				in.readUnsignedShort();
+				skip(in, in.readInt());
+			}
+		}
+	}
+
+	private static void skipElementValuePairs(DataInputStream in) throws IOException {
+		final int pairs = in.readUnsignedShort();
+		for (int i = 0; i < pairs; i++) {
+			in.readUnsignedShort();
+			skipElementValue(in);
+		}
+	}
+
+	private static void skipElementValue(DataInputStream in) throws IOException {
+		final int tag = in.readUnsignedByte();
+		switch (tag) {
+			case 'e':
+				skip(in, 4);
+				break;
+			case '@':
+				in.readUnsignedShort();
+				skipElementValuePairs(in);
+				break;
+			case '[':
+				final int values = in.readUnsignedShort();
+				for (int i = 0; i < values; i++) {
+					skipElementValue(in);
+				}
+				break;
+			default:
+				skip(in, 2);
+		}
+	}
+
+	private static void skip(DataInputStream in, int length) throws IOException {
+		int remaining = length;
+		while (remaining > 0) {
+			final int skipped = in.skipBytes(remaining);
+			if (skipped <= 0) {
+				throw new IOException("Unexpected end of class file");
+			}
+			remaining -= skipped;
+		}
+	}
+}
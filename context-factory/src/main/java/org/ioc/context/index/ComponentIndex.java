@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Build-time index of the component classes contained in one classpath root (directory or jar),
+ * generated by {@link ComponentIndexer}. When a root carries an index, the scanner reads only the
+ * indexed classes instead of walking the root.
+ * <p>
+ * The index can be switched off with the {@value #IGNORE_PROPERTY} system property.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class ComponentIndex {
+	public static final String INDEX_LOCATION = "META-INF/ioc/components.idx";
+
+	public static final String IGNORE_PROPERTY = "ioc.index.ignore";
+
+	public static final String COMPONENT = "component";
+	public static final String CONTROLLER = "controller";
+	public static final String REPOSITORY = "repository";
+	public static final String ASPECT = "aspect";
+	public static final String PROPERTY = "property";
+	public static final String LISTENER = "listener";
+	public static final String PROCESSOR = "processor";
+	public static final String ANNOTATED = "annotated";
+
+	/**
+	 * Supertypes whose implementations are indexed, mapped to their kinds. Lookups of other supertypes
+	 * can't be answered by index.
+	 */
+	static final Map<String, String> SUPERTYPE_KINDS;
+
+	static {
+		final Map<String, String> supertypes = new HashMap<>();
+		supertypes.put("org.ioc.context.listeners.IListener", LISTENER);
+		supertypes.put("org.ioc.context.processors.TypeProcessor", PROCESSOR);
+		SUPERTYPE_KINDS = Collections.unmodifiableMap(supertypes);
+	}
+
+	private static final Logger log = LoggerFactory.getLogger(ComponentIndex.class);
+
+	private static final ComponentIndex NONE = new ComponentIndex(Collections.emptyMap());
+
+	private static final Map<String, ComponentIndex> INDEXES = new ConcurrentHashMap<>();
+
+	private final Map<String, Set<String>> entries;
+
+	private ComponentIndex(Map<String, Set<String>> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * Function of finding index of classpath root containing the package.
+	 *
+	 * @param packageUrl  resolved url of package
+	 * @param packageName name of package
+	 * @return index of root or null, if root not indexed
+	 */
+	public static ComponentIndex locate(URL packageUrl, String packageName) {
+		if (Boolean.getBoolean(IGNORE_PROPERTY)) {
+			return null;
+		}
+
+		final String external = packageUrl.toExternalForm();
+		final int indexOf = external.lastIndexOf(packageName.replace('.', '/'));
+		if (indexOf == -1) {
+			return null;
+		}
+
+		final ComponentIndex index = INDEXES.computeIfAbsent(external.substring(0, indexOf), ComponentIndex::load);
+		return index == NONE ? null : index;
+	}
+
+	private static ComponentIndex load(String root) {
+		try (InputStream stream = new URL(root + INDEX_LOCATION).openStream()) {
+			final ComponentIndex index = new ComponentIndex(parse(stream));
+			if (log.isDebugEnabled()) {
+				log.debug("Using component index of [{}] - {} types", root, index.entries.size());
+			}
+			return index;
+		} catch (IOException e) {
+			return NONE;
+		}
+	}
+
+	/**
+	 * Function of reading index entries.
+	 *
+	 * @param stream index content
+	 * @return binary class names mapped to their kinds
+	 * @throws IOException if stream throwing
+	 */
+	static Map<String, Set<String>> parse(InputStream stream) throws IOException {
+		final Properties properties = new Properties();
+		properties.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+
+		final Map<String, Set<String>> result = new HashMap<>(properties.size());
+		properties.stringPropertyNames().forEach(name ->
+				result.put(name, new HashSet<>(Arrays.asList(properties.getProperty(name).split(",")))));
+		return result;
+	}
+
+	/**
+	 * Function of listing indexed classes of package and its sub-packages.
+	 *
+	 * @param packageName name of package
+	 * @return binary class names
+	 */
+	public List<String> getClassNames(String packageName) {
+		final String prefix = packageName + ".";
+		return entries.keySet()
+				.stream()
+				.filter(name -> name.startsWith(prefix))
+				.sorted()
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * @param supertype binary name of supertype
+	 * @return true if every implementation of supertype is recorded in index
+	 */
+	public static boolean covers(String supertype) {
+		return SUPERTYPE_KINDS.containsKey(supertype);
+	}
+
+	/**
+	 * @param className binary class name
+	 * @return kinds recorded for class
+	 */
+	public Set<String> getKinds(String className) {
+		return entries.getOrDefault(className, Collections.emptySet());
+	}
+}
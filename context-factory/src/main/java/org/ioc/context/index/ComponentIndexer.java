@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.index;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.ioc.context.index.ComponentIndex.*;
+
+/**
+ * Annotation processor writing {@link ComponentIndex#INDEX_LOCATION} at compile time.
+ * <p>
+ * Every type carrying a runtime-visible annotation (directly or through {@link Inherited}),
+ * and every implementation of {@code IListener} or {@code TypeProcessor}, is recorded with
+ * the kinds the context cares about, so the scanner can load only those classes instead of
+ * walking and loading the whole package.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexer extends AbstractProcessor {
+	private static final Map<String, String> ANNOTATION_KINDS = new HashMap<>();
+
+	static {
+		ANNOTATION_KINDS.put("org.ioc.annotations.context.IoCComponent", COMPONENT);
+		ANNOTATION_KINDS.put("org.ioc.annotations.web.IoCController", CONTROLLER);
+		ANNOTATION_KINDS.put("org.ioc.annotations.context.IoCRepository", REPOSITORY);
+		ANNOTATION_KINDS.put("org.ioc.aop.annotation.IoCAspect", ASPECT);
+		ANNOTATION_KINDS.put("org.ioc.annotations.configuration.Property", PROPERTY);
+	}
+
+	private final Map<String, Set<String>> entries = new TreeMap<>();
+
+	private Elements elements;
+	private Types types;
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		elements = processingEnv.getElementUtils();
+		types = processingEnv.getTypeUtils();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			if (element instanceof TypeElement) {
+				inspect((TypeElement) element);
+			}
+		}
+
+		if (roundEnv.processingOver() && !entries.isEmpty()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private void inspect(TypeElement element) {
+		if (element.getKind() != ElementKind.ANNOTATION_TYPE) {
+			final Set<String> kinds = resolveKinds(element);
+			if (!kinds.isEmpty()) {
+				entries.computeIfAbsent(elements.getBinaryName(element).toString(), k -> new TreeSet<>()).addAll(kinds);
+			}
+		}
+
+		for (Element enclosed : element.getEnclosedElements()) {
+			if (enclosed instanceof TypeElement) {
+				inspect((TypeElement) enclosed);
+			}
+		}
+	}
+
+	private Set<String> resolveKinds(TypeElement element) {
+		final Set<String> kinds = new TreeSet<>();
+		element.getAnnotationMirrors().forEach(mirror -> addAnnotationKind(mirror, false, kinds));
+
+		TypeMirror parent = element.getSuperclass();
+		while (parent.getKind() == TypeKind.DECLARED) {
+			final TypeElement parentElement = (TypeElement) ((DeclaredType) parent).asElement();
+			parentElement.getAnnotationMirrors().forEach(mirror -> addAnnotationKind(mirror, true, kinds));
+			parent = parentElement.getSuperclass();
+		}
+
+		final TypeMirror erasure = types.erasure(element.asType());
+		SUPERTYPE_KINDS.forEach((name, kind) -> {
+			final TypeElement supertype = elements.getTypeElement(name);
+			if (supertype != null && !element.equals(supertype)
+					&& types.isAssignable(erasure, types.erasure(supertype.asType()))) {
+				kinds.add(kind);
+			}
+		});
+		return kinds;
+	}
+
+	private void addAnnotationKind(AnnotationMirror mirror, boolean inheritedOnly, Set<String> kinds) {
+		final Element annotation = mirror.getAnnotationType().asElement();
+		final Retention retention = annotation.getAnnotation(Retention.class);
+		if (retention == null || retention.value() != RetentionPolicy.RUNTIME) {
+			return;
+		}
+
+		if (inheritedOnly && annotation.getAnnotation(Inherited.class) == null) {
+			return;
+		}
+
+		final String name = ((TypeElement) annotation).getQualifiedName().toString();
+		kinds.add(ANNOTATION_KINDS.getOrDefault(name, ANNOTATED));
+	}
+
+	/**
+	 * Merges the entries of this compilation with an index left by a previous (incremental) one.
+	 * Stale entries are harmless: the scanner re-checks every indexed class after loading it.
+	 */
+	private void writeIndex() {
+		try {
+			readExisting();
+
+			final FileObject resource = processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8))) {
+				writer.write("# Generated by " + ComponentIndexer.class.getName() + ", do not edit.\n");
+				for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+					writer.write(entry.getKey() + "=" + String.join(",", entry.getValue()) + "\n");
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+					"Unable to write component index " + INDEX_LOCATION + ": " + e.getMessage());
+		}
+	}
+
+	private void readExisting() {
+		try {
+			final FileObject existing = processingEnv.getFiler()
+					.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+			try (InputStream stream = existing.openInputStream()) {
+				parse(stream).forEach((name, kinds) -> entries.computeIfAbsent(name, k -> new TreeSet<>()).addAll(kinds));
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// no index from a previous compilation
+		}
+	}
+}
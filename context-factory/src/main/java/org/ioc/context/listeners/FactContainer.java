@@ -18,6 +18,8 @@
  */
 package org.ioc.context.listeners;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Simple container that contains an event and a future.
  *
@@ -33,16 +35,22 @@ public class FactContainer {
 	 * Future.
 	 */
 	private final FactFutureImpl<? extends AbstractFact> future;
+	/**
+	 * Count of lanes which did not dispatch event yet.
+	 */
+	private final AtomicInteger pending;
 
 	/**
 	 * Create new instance.
 	 *
 	 * @param abstractFact event
 	 * @param future       future
+	 * @param lanes        count of lanes dispatching event
 	 */
-	public FactContainer(AbstractFact abstractFact, FactFutureImpl<? extends AbstractFact> future) {
+	public FactContainer(AbstractFact abstractFact, FactFutureImpl<? extends AbstractFact> future, int lanes) {
 		this.abstractFact = abstractFact;
 		this.future = future;
+		pending = new AtomicInteger(lanes);
 	}
 
 	public AbstractFact getAbstractFact() {
@@ -52,4 +60,13 @@ public class FactContainer {
 	public FactFutureImpl<? extends AbstractFact> getFuture() {
 		return future;
 	}
+
+	/**
+	 * Marks event as dispatched by one of lanes.
+	 *
+	 * @return true if event is dispatched by all lanes
+	 */
+	public boolean release() {
+		return pending.decrementAndGet() == 0;
+	}
 }
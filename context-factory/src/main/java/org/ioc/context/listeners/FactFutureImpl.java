@@ -28,8 +28,8 @@ import java.util.concurrent.TimeoutException;
  * @date 09/2018
  */
 public class FactFutureImpl<E extends AbstractFact> extends CompletableFuture<E> implements FactFuture<E> {
-	private boolean running = false;
-	private boolean complete = false;
+	private volatile boolean running = false;
+	private volatile boolean complete = false;
 
 	public void setRunning(boolean running) {
 		this.running = running;
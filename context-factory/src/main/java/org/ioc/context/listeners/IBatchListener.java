@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.listeners;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Listener receiving facts in batches: all accepted facts queued in its lane since
+ * the last delivery are passed in single call, in order of publishing.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+@FunctionalInterface
+public interface IBatchListener extends IListener {
+	/**
+	 * Once the events are dispatched the listener will be removed if
+	 * false is returned. If you wish to keep this listener, you must return true.
+	 *
+	 * @param facts events queued since the last delivery
+	 * @return true to keep listener alive
+	 */
+	boolean dispatchAll(List<AbstractFact> facts);
+
+	@Override
+	default boolean dispatch(AbstractFact abstractFact) {
+		return dispatchAll(Collections.singletonList(abstractFact));
+	}
+}
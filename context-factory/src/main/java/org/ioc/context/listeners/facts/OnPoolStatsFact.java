@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.listeners.facts;
+
+import org.ioc.context.listeners.AbstractFact;
+import org.ioc.context.model.tasks.stats.PoolStats;
+
+import java.util.Map;
+
+/**
+ * Fact published periodically with statistics of active thread pools.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class OnPoolStatsFact extends AbstractFact {
+	private final Map<String, PoolStats> stats;
+
+	/**
+	 * Constructs a prototypical Event.
+	 *
+	 * @param stats  statistics of thread pools by their names
+	 * @param source The object on which the Event initially occurred.
+	 * @throws IllegalArgumentException if source is null.
+	 */
+	public OnPoolStatsFact(Map<String, PoolStats> stats, Object source) {
+		super(source);
+		this.stats = stats;
+	}
+
+	public Map<String, PoolStats> getStats() {
+		return stats;
+	}
+}
@@ -18,6 +18,8 @@
  */
 package org.ioc.context.model;
 
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastConstructor;
 import org.ioc.exceptions.IoCInstantiateException;
 
 import java.lang.reflect.Constructor;
@@ -45,7 +47,7 @@ public class ConstructorMetadata {
 	/**
 	 * Storage constructor.
 	 */
-	private Function<Object[], Object> constructor;
+	private volatile Function<Object[], Object> constructor;
 
 	public ConstructorMetadata(Constructor constructor) {
 		this.constructor = convertConstructorToNormalTypeConstructor(constructor);
@@ -60,18 +62,59 @@ public class ConstructorMetadata {
 
 	/**
 	 * Function of instantiate normal constructor bag with parameters.
+	 * The first instance is created by reflection. A type that is constructed again (prototype and request
+	 * scoped types) switches to a generated {@link FastConstructor}, which invokes the constructor directly.
 	 *
 	 * @param constructor for instantiation
 	 * @return new instance
 	 */
 	private Function<Object[], Object> convertConstructorToNormalTypeConstructor(Constructor constructor) {
-		return (args) -> {
+		final Function<Object[], Object> reflective = (args) -> {
 			try {
 				return constructor.newInstance(args);
 			} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
 				throw new IoCInstantiateException("IoCError - Unavailable create instance of bag [" + constructor.getDeclaringClass() + "].", e);
 			}
 		};
+
+		return new Function<Object[], Object>() {
+			private boolean constructed;
+
+			@Override
+			public Object apply(Object[] args) {
+				if (constructed) {
+					ConstructorMetadata.this.constructor = generateConstructor(constructor, reflective);
+				}
+
+				constructed = true;
+				return reflective.apply(args);
+			}
+		};
+	}
+
+	/**
+	 * Function of generating constructor invoker without reflection.
+	 *
+	 * @param constructor for instantiation
+	 * @param fallback    reflective constructor, used if type can't be enhanced
+	 * @return new instance
+	 */
+	@SuppressWarnings("unchecked")
+	private Function<Object[], Object> generateConstructor(Constructor constructor, Function<Object[], Object> fallback) {
+		final FastConstructor fastConstructor;
+		try {
+			fastConstructor = FastClass.create(constructor.getDeclaringClass()).getConstructor(constructor);
+		} catch (RuntimeException | LinkageError e) {
+			return fallback;
+		}
+
+		return (args) -> {
+			try {
+				return fastConstructor.newInstance(args);
+			} catch (InvocationTargetException e) {
+				throw new IoCInstantiateException("IoCError - Unavailable create instance of bag [" + constructor.getDeclaringClass() + "].", e);
+			}
+		};
 	}
 
 	/**
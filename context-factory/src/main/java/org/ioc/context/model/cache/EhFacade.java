@@ -19,9 +19,19 @@
 package org.ioc.context.model.cache;
 
 import net.sf.ehcache.Cache;
+import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+import org.ioc.context.model.cache.expiring.Loader;
+import org.ioc.context.model.cache.expiring.model.RemovalNotify.RemovalReason;
+import org.ioc.context.model.cache.stats.StatsCounter;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 /**
@@ -33,15 +43,60 @@ import java.util.stream.Collectors;
 @SuppressWarnings("unchecked")
 public class EhFacade<K, V> implements ICache<K, V> {
 	private final Cache cache;
+	private final StatsCounter statsCounter;
+	private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+	private Executor executor = ForkJoinPool.commonPool();
+	private long refreshAfterWriteMillis;
 
 	public EhFacade(Cache cache) {
+		this(cache, StatsCounter.disabled());
+	}
+
+	public EhFacade(Cache cache, StatsCounter statsCounter) {
 		this.cache = cache;
+		this.statsCounter = statsCounter;
+
+		if (statsCounter.isEnabled()) {
+			cache.getCacheEventNotificationService().registerListener(new CacheEventListenerAdapter() {
+				@Override
+				public void notifyElementRemoved(Ehcache cache, Element element) {
+					statsCounter.recordRemoval(RemovalReason.INVALIDATED, 1);
+				}
+
+				@Override
+				public void notifyElementUpdated(Ehcache cache, Element element) {
+					statsCounter.recordRemoval(RemovalReason.REPLACED, 1);
+				}
+
+				@Override
+				public void notifyElementExpired(Ehcache cache, Element element) {
+					statsCounter.recordRemoval(RemovalReason.EXPIRED, 1);
+				}
+
+				@Override
+				public void notifyElementEvicted(Ehcache cache, Element element) {
+					statsCounter.recordRemoval(RemovalReason.EVICTED, 1);
+				}
+			});
+		}
 	}
 
 	public Cache getCache() {
 		return cache;
 	}
 
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Entries older than given duration are reloaded in background on next load request of their key,
+	 * while old value is still returned. Duration is measured since creation or last update of element.
+	 */
+	public void setRefreshAfterWrite(long duration, TimeUnit unit) {
+		refreshAfterWriteMillis = unit.toMillis(duration);
+	}
+
 	@Override
 	public V put(K key, V value) {
 		cache.put(new Element(key, value));
@@ -53,11 +108,135 @@ public class EhFacade<K, V> implements ICache<K, V> {
 	public V get(K key) {
 		final Element element = cache.get(key);
 		if (element == null) {
+			statsCounter.recordMiss(key);
 			return null;
 		}
+		statsCounter.recordHit(key);
 		return (V) element.getObjectValue();
 	}
 
+	/**
+	 * Loads absent value under write lock of key, so concurrent callers wait for the first load
+	 * instead of invoking loader too.
+	 */
+	@Override
+	public V computeIfAbsent(K key, Loader<K, V> loader) throws ExecutionException {
+		final Element present = cache.get(key);
+		if (present != null) {
+			statsCounter.recordHit(key);
+			refreshIfNeeded(present, loader);
+			return (V) present.getObjectValue();
+		}
+
+		statsCounter.recordMiss(key);
+		cache.acquireWriteLockOnKey(key);
+		try {
+			final Element element = cache.getQuiet(key);
+			if (element != null && !cache.isExpired(element)) {
+				return (V) element.getObjectValue();
+			}
+
+			final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+			final V loaded;
+			try {
+				loaded = loader.load(key);
+			} catch (Exception e) {
+				recordLoad(false, loadStart);
+				throw new ExecutionException(e);
+			}
+
+			if (loaded == null) {
+				recordLoad(false, loadStart);
+				throw new ExecutionException(new NullPointerException("Loader returned a null value"));
+			}
+
+			recordLoad(true, loadStart);
+			cache.put(new Element(key, loaded));
+			return loaded;
+		} finally {
+			cache.releaseWriteLockOnKey(key);
+		}
+	}
+
+	/**
+	 * Returns present value without switching threads, absent one is loaded on executor.
+	 */
+	@Override
+	public CompletableFuture<V> computeIfAbsentAsync(K key, Loader<K, V> loader) {
+		final Element present = cache.get(key);
+		if (present != null) {
+			statsCounter.recordHit(key);
+			refreshIfNeeded(present, loader);
+			return CompletableFuture.completedFuture((V) present.getObjectValue());
+		}
+		return ICache.super.computeIfAbsentAsync(key, loader);
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> map) {
+		final List<Element> elements = map.entrySet()
+				.stream()
+				.map(e -> new Element(e.getKey(), e.getValue()))
+				.collect(Collectors.toList());
+		cache.putAll(elements);
+	}
+
+	@Override
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Starts background reload of element older than refresh interval, unless its key is already reloading.
+	 * Reloaded value replaces element only if it was not changed meanwhile.
+	 */
+	private void refreshIfNeeded(Element element, Loader<K, V> loader) {
+		if (refreshAfterWriteMillis <= 0
+				|| System.currentTimeMillis() - element.getLatestOfCreationAndUpdateTime() < refreshAfterWriteMillis) {
+			return;
+		}
+
+		final K key = (K) element.getObjectKey();
+		if (!refreshing.add(key)) {
+			return;
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+					final V loaded;
+					try {
+						loaded = loader.load(key);
+					} catch (Exception e) {
+						recordLoad(false, loadStart);
+						return;
+					}
+
+					recordLoad(loaded != null, loadStart);
+					if (loaded != null) {
+						cache.replace(element, new Element(key, loaded));
+					}
+				} finally {
+					refreshing.remove(key);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			refreshing.remove(key);
+		}
+	}
+
+	private void recordLoad(boolean success, long loadStart) {
+		if (statsCounter.isEnabled()) {
+			final long loadTime = System.nanoTime() - loadStart;
+			if (success) {
+				statsCounter.recordLoadSuccess(loadTime);
+			} else {
+				statsCounter.recordLoadFailure(loadTime);
+			}
+		}
+	}
+
 	@Override
 	public boolean contains(K key) {
 		return cache.get(key) != null;
@@ -65,11 +244,12 @@ public class EhFacade<K, V> implements ICache<K, V> {
 
 	@Override
 	public V remove(K key) {
-		final V element = get(key);
+		final Element element = cache.get(key);
 		if (element != null) {
 			cache.remove(key);
+			return (V) element.getObjectValue();
 		}
-		return element;
+		return null;
 	}
 
 	@Override
@@ -89,10 +269,40 @@ public class EhFacade<K, V> implements ICache<K, V> {
 
 	@Override
 	public Iterator<V> values() {
-		return (Iterator<V>) cache.getAll(cache.getKeys()).values()
-				.stream()
-				.map(Element::getObjectValue)
-				.collect(Collectors.toList())
-				.iterator();
+		return new Iterator<V>() {
+			private final Iterator<?> keys = cache.getKeys().iterator();
+			private V next = advance();
+
+			private V advance() {
+				while (keys.hasNext()) {
+					final Element element = cache.getQuiet(keys.next());
+					if (element != null && !cache.isExpired(element)) {
+						return (V) element.getObjectValue();
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public V next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+
+				final V value = next;
+				next = advance();
+				return value;
+			}
+		};
+	}
+
+	@Override
+	public StatsCounter getStatsCounter() {
+		return statsCounter;
 	}
 }
@@ -18,24 +18,28 @@
  */
 package org.ioc.context.model.cache;
 
-import javafx.util.Pair;
+import org.ioc.context.model.cache.expiring.BulkLoader;
+import org.ioc.context.model.cache.expiring.Expiry;
 import org.ioc.context.model.cache.expiring.Loader;
 import org.ioc.context.model.cache.expiring.RemovalFact;
+import org.ioc.context.model.cache.expiring.buffer.ReadBuffer;
 import org.ioc.context.model.cache.expiring.lock.LimitLock;
-import org.ioc.context.model.cache.expiring.model.Bucket;
 import org.ioc.context.model.cache.expiring.model.Element;
 import org.ioc.context.model.cache.expiring.model.RemovalNotify;
-
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import org.ioc.context.model.cache.expiring.offheap.OffHeapStore;
+import org.ioc.context.model.cache.expiring.policy.AccessQueue;
+import org.ioc.context.model.cache.expiring.policy.EvictionPolicy;
+import org.ioc.context.model.cache.expiring.policy.PolicyType;
+import org.ioc.context.model.cache.expiring.timer.TimerWheel;
+import org.ioc.context.model.cache.stats.CacheStats;
+import org.ioc.context.model.cache.stats.StatsCounter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.BiFunction;
-import java.util.function.Consumer;
 import java.util.function.ToLongBiFunction;
-import java.util.stream.IntStream;
 
 import static org.ioc.context.model.cache.expiring.model.Element.State.DELETED;
 import static org.ioc.context.model.cache.expiring.model.Element.State.EXISTING;
@@ -49,31 +53,51 @@ import static org.ioc.context.model.cache.expiring.model.RemovalNotify.RemovalRe
  * accept reduced write performance in exchange for easy-to-understand code. Cache statistics for hits, misses and
  * evictions are exposed.
  * <p>
- * The design of the cache is relatively simple. The cache is segmented into 256 segments which are backed by HashMaps.
- * Each segment is protected by a re-entrant read/write lock. The read/write locks permit multiple concurrent readers
- * without contention, and the segments gives us write throughput without impacting readers (so readers are blocked only
- * if they are reading a segment that a writer is writing to).
+ * Elements are mapped directly in {@link ConcurrentHashMap}, so reads take no lock and allocate nothing. Loads in
+ * progress are kept apart in a second, rarely populated map of futures, which concurrent loaders of same key share.
+ * <p>
+ * Order of elements is kept by selectable {@link EvictionPolicy} (LRU or W-TinyLFU) under single eviction lock.
+ * Reads do not take this lock: they are recorded into striped lock-free {@link ReadBuffer} and applied to
+ * the policy in batches, by writers or by a reader that finds its buffer full and the lock free.
+ * <p>
+ * Every entry has single expiration time, calculated from fixed expire-after-write/access durations or
+ * by custom {@link Expiry}. Entries are scheduled in {@link TimerWheel}, so expired ones are reclaimed in
+ * amortized O(1) time on each maintenance, {@link #cleanUp()} allows to run it without traffic on cache.
+ * <p>
+ * Loads are single-flight: absent key is mapped to a future of its element while it loads, so concurrent
+ * callers share the first load. Asynchronous and bulk loads register same futures without waiting for them.
+ * Loaded element is mapped only if key was not written meanwhile.
+ * With refresh-after-write, an entry older than the refresh interval is still served while it is reloaded
+ * in background by {@link #getExecutor()}.
+ * <p>
+ * Values may be moved to {@link OffHeapStore}, heap keeps only keys and addresses of serialized values then.
+ * Value of evicted element is released at once, so its readers get null and treat element as absent.
  *
  * @author GenCloud
  * @date 10/2018
  */
 @SuppressWarnings("unchecked")
 public class ExpiringFacade<K, V> implements ICache<K, V> {
-	private static final int NUMBER_OF_SEGMENTS = 256;
-	private final Bucket<K, V>[] buckets = new Bucket[NUMBER_OF_SEGMENTS];
+	private static final long MAXIMUM_EXPIRY = Long.MAX_VALUE >> 1;
+	private final ConcurrentHashMap<K, Element<K, V>> data = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<K, CompletableFuture<Element<K, V>>> loading = new ConcurrentHashMap<>();
 	private long expireAfterAccessNanos = -1, expireAfterWriteNanos = -1;
 	private long weight = 0, maximumWeight = -1;
 	private boolean entriesExpireAfterAccess, entriesExpireAfterWrite;
-	private int count = 0;
+	private volatile int count = 0;
 	private ToLongBiFunction<K, V> weigher = (k, v) -> 1;
-	private RemovalFact<K, V> removalFact = notification -> {
-	};
-	private Element<K, V> head, tail;
-	private LimitLock lruLock = new LimitLock(new ReentrantLock());
-
-	public ExpiringFacade() {
-		Arrays.setAll(buckets, i -> new Bucket<>());
-	}
+	private RemovalFact<K, V> removalFact;
+	private PolicyType policyType = PolicyType.LRU;
+	private EvictionPolicy<K, V> policy = policyType.create(maximumWeight);
+	private final ReadBuffer<Element<K, V>> readBuffer = new ReadBuffer<>();
+	private final LimitLock evictionLock = new LimitLock(new ReentrantLock());
+	private final TimerWheel<K, V> timerWheel = new TimerWheel<>(this::expireEntry, System.nanoTime());
+	private Expiry<K, V> expiry;
+	private StatsCounter statsCounter = StatsCounter.disabled();
+	private long refreshAfterWriteNanos = -1;
+	private Executor executor = ForkJoinPool.commonPool();
+	private final Map<K, Element<K, V>> refreshing = new ConcurrentHashMap<>();
+	private OffHeapStore<V> offHeap;
 
 	public void setExpireAfterAccessNanos(long expireAfterAccessNanos) {
 		this.expireAfterAccessNanos = expireAfterAccessNanos;
@@ -85,8 +109,18 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 		entriesExpireAfterWrite = true;
 	}
 
+	public void setExpiry(Expiry<K, V> expiry) {
+		this.expiry = expiry;
+	}
+
 	public void setMaximumWeight(long maximumWeight) {
 		this.maximumWeight = maximumWeight;
+		policy = policyType.create(maximumWeight);
+	}
+
+	public void setPolicyType(PolicyType policyType) {
+		this.policyType = policyType;
+		policy = policyType.create(maximumWeight);
 	}
 
 	public void setWeigher(ToLongBiFunction<K, V> weigher) {
@@ -97,6 +131,29 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 		this.removalFact = removalFact;
 	}
 
+	public void setStatsCounter(StatsCounter statsCounter) {
+		this.statsCounter = statsCounter;
+	}
+
+	public void setRefreshAfterWriteNanos(long refreshAfterWriteNanos) {
+		this.refreshAfterWriteNanos = refreshAfterWriteNanos;
+	}
+
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Moves values to off-heap tier, elements are weighted by serialized size of values then.
+	 */
+	public void setOffHeap(OffHeapStore<V> offHeap) {
+		this.offHeap = offHeap;
+	}
+
+	public OffHeapStore<V> getOffHeap() {
+		return offHeap;
+	}
+
 	/**
 	 * Add pair <K, V> to cache.
 	 * <p>
@@ -109,22 +166,8 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	@Override
 	public V put(K key, V value) {
 		final long now = now();
-		final Bucket<K, V> bucket = getBucket(key);
-		final Pair<Element<K, V>, Element<K, V>> pair = bucket.put(key, value, now);
-		boolean replaced = false;
-		try (LimitLock ignored = lruLock.acquire()) {
-			if (pair.getValue() != null && pair.getValue().getState() == EXISTING) {
-				if (unlink(pair.getValue())) {
-					replaced = true;
-				}
-			}
-			promote(pair.getKey(), now);
-		}
-
-		if (replaced) {
-			removalFact.onRemoval(new RemovalNotify<>(pair.getValue().getKey(), pair.getKey().getValue(), REPLACED));
-		}
-
+		final Element<K, V> element = newElement(key, value, now);
+		write(element, data.put(key, element), now);
 		return value;
 	}
 
@@ -144,72 +187,175 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	 */
 	@Override
 	public V computeIfAbsent(K key, Loader<K, V> loader) throws ExecutionException {
-		final long now = now();
-		V value = get(key, now, e -> {
-			try (LimitLock ignored = lruLock.acquire()) {
-				evictEntry(e);
+		for (; ; ) {
+			final long now = now();
+			final Element<K, V> element = read(key, now, true);
+			final V present = element != null ? element.getValue() : null;
+			if (present != null) {
+				statsCounter.recordHit(key);
+				refreshIfNeeded(element, now, loader);
+				return present;
 			}
-		});
 
-		if (value == null) {
-			final Bucket<K, V> bucket = getBucket(key);
-			CompletableFuture<Element<K, V>> future;
-			final CompletableFuture<Element<K, V>> completableFuture = new CompletableFuture<>();
-
-			try (LimitLock ignored = bucket.getWriteLock().acquire()) {
-				future = bucket.putInMapIfAbsent(key, completableFuture);
-			}
-
-			final BiFunction<? super Element<K, V>, Throwable, ? extends V> handler = (ok, ex) -> {
-				if (ok != null) {
-					try (LimitLock ignored = lruLock.acquire()) {
-						promote(ok, now);
-					}
-					return ok.getValue();
-				} else {
-					try (LimitLock ignored = bucket.getWriteLock().acquire()) {
-						final CompletableFuture<Element<K, V>> fromMap = bucket.getValueFromMap(key);
-						if (fromMap != null && fromMap.isCompletedExceptionally()) {
-							bucket.removeFromMap(key);
-						}
-					}
-					return null;
-				}
-			};
+			statsCounter.recordMiss(key);
 
-			CompletableFuture<V> completableValue;
-			if (future == null) {
-				future = completableFuture;
-				completableValue = future.handle(handler);
-				V loaded;
-				try {
-					loaded = loader.load(key);
-				} catch (Exception e) {
-					future.completeExceptionally(e);
-					throw new ExecutionException(e);
-				}
-				if (loaded == null) {
-					final NullPointerException npe = new NullPointerException("Loader returned a null value");
-					future.completeExceptionally(npe);
-					throw new ExecutionException(npe);
-				} else {
-					future.complete(new Element<>(key, loaded, now));
-				}
-			} else {
-				completableValue = future.handle(handler);
+			final CompletableFuture<Element<K, V>> created = new CompletableFuture<>();
+			final CompletableFuture<Element<K, V>> future = register(key, created);
+			if (future == created) {
+				load(key, loader, created);
 			}
 
 			try {
-				value = completableValue.get();
-				if (future.isCompletedExceptionally()) {
-					future.get();
-					throw new IllegalStateException("Future was completed exceptionally but no exception was thrown");
+				final V value = valueOf(future).get();
+				if (value != null) {
+					return value;
 				}
 			} catch (InterruptedException e) {
 				throw new IllegalStateException(e);
 			}
 		}
-		return value;
+	}
+
+	/**
+	 * Asynchronous variant of {@link #computeIfAbsent(Object, Loader)}: caller never waits for a load, absent value
+	 * is loaded by {@link #getExecutor()} and load already running for the key is shared.
+	 *
+	 * @param key    the key whose associated value is to be returned or computed for if non-existent
+	 * @param loader the function to compute a value given a key
+	 * @return future of the current (existing or computed) non-null value associated with the specified key
+	 */
+	@Override
+	public CompletableFuture<V> computeIfAbsentAsync(K key, Loader<K, V> loader) {
+		final long now = now();
+		final Element<K, V> element = read(key, now, true);
+		final V present = element != null ? element.getValue() : null;
+		if (present != null) {
+			statsCounter.recordHit(key);
+			refreshIfNeeded(element, now, loader);
+			return CompletableFuture.completedFuture(present);
+		}
+
+		statsCounter.recordMiss(key);
+
+		final CompletableFuture<Element<K, V>> created = new CompletableFuture<>();
+		final CompletableFuture<Element<K, V>> future = register(key, created);
+		if (future == created) {
+			try {
+				executor.execute(() -> load(key, loader, created));
+			} catch (RejectedExecutionException e) {
+				loading.remove(key, created);
+				created.completeExceptionally(e);
+			}
+		}
+
+		final CompletableFuture<V> value = valueOf(future);
+		return offHeap == null ? value : value.thenCompose(v -> v != null
+				? CompletableFuture.completedFuture(v)
+				: computeIfAbsentAsync(key, loader));
+	}
+
+	/**
+	 * Returns values of given keys. All absent keys, except ones already loading by other callers, are loaded
+	 * with single invocation of bulk loader; concurrent callers of these keys wait for this bulk load.
+	 *
+	 * @param keys   keys whose associated values are to be returned
+	 * @param loader the function to compute values of absent keys
+	 * @return map of keys to existing or loaded values, in iteration order of given keys
+	 * @throws ExecutionException thrown if loader or load of other caller shared by this call throws an exception
+	 */
+	@Override
+	public Map<K, V> getAll(Iterable<? extends K> keys, BulkLoader<K, V> loader) throws ExecutionException {
+		final long now = now();
+		final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+		final Map<K, CompletableFuture<Element<K, V>>> owned = new LinkedHashMap<>();
+		for (K key : keys) {
+			if (futures.containsKey(key)) {
+				continue;
+			}
+
+			final Element<K, V> element = read(key, now, true);
+			final V present = element != null ? element.getValue() : null;
+			if (present != null) {
+				statsCounter.recordHit(key);
+				refreshIfNeeded(element, now, single(loader));
+				futures.put(key, CompletableFuture.completedFuture(present));
+				continue;
+			}
+
+			statsCounter.recordMiss(key);
+
+			final CompletableFuture<Element<K, V>> created = new CompletableFuture<>();
+			final CompletableFuture<Element<K, V>> future = register(key, created);
+			if (future == created) {
+				owned.put(key, created);
+			}
+			futures.put(key, valueOf(future));
+		}
+
+		if (!owned.isEmpty()) {
+			loadAll(owned, loader);
+		}
+
+		final Map<K, V> result = new LinkedHashMap<>();
+		for (Map.Entry<K, CompletableFuture<V>> entry : futures.entrySet()) {
+			final CompletableFuture<Element<K, V>> load = owned.get(entry.getKey());
+			if (load != null && load.isCompletedExceptionally()) {
+				continue;
+			}
+
+			try {
+				final V value = entry.getValue().get();
+				result.put(entry.getKey(), value != null ? value : computeIfAbsent(entry.getKey(), single(loader)));
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return result;
+	}
+
+	private static <K, V> Loader<K, V> single(BulkLoader<K, V> loader) {
+		return key -> loader.loadAll(Collections.singleton(key)).get(key);
+	}
+
+	/**
+	 * Add all pairs of given map to cache, applying them to eviction policy at once.
+	 *
+	 * @param map pairs to be stored
+	 */
+	@Override
+	@SuppressWarnings("try")
+	public void putAll(Map<? extends K, ? extends V> map) {
+		final long now = now();
+		final List<Element<K, V>> written = new ArrayList<>(map.size() * 2);
+		map.forEach((key, value) -> {
+			final Element<K, V> element = newElement(key, value, now);
+			final Element<K, V> existing = data.put(key, element);
+			if (expiry != null && existing != null) {
+				element.setVariableTime(expireAfterUpdate(element, existing, now));
+			}
+			written.add(element);
+			written.add(existing);
+		});
+
+		final List<Element<K, V>> replaced = new ArrayList<>();
+		try (LimitLock ignored = evictionLock.acquire()) {
+			drainReadBuffer();
+			for (int i = 0; i < written.size(); i += 2) {
+				final Element<K, V> existing = written.get(i + 1);
+				if (existing != null && unlink(existing)) {
+					replaced.add(existing);
+				}
+				admit(written.get(i));
+			}
+			evict(now);
+		}
+
+		replaced.forEach(e -> retire(e, REPLACED));
+	}
+
+	@Override
+	public Executor getExecutor() {
+		return executor;
 	}
 
 	/**
@@ -220,18 +366,246 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	 */
 	@Override
 	public V get(K key) {
-		return get(key, now(), e -> {
-		});
+		final Element<K, V> element = read(key, now(), false);
+		final V value = element != null ? element.getValue() : null;
+		if (value != null) {
+			statsCounter.recordHit(key);
+		} else {
+			statsCounter.recordMiss(key);
+		}
+		return value;
 	}
 
-	private V get(K key, long now, Consumer<Element<K, V>> onExpiration) {
-		final Bucket<K, V> bucket = getBucket(key);
-		final Element<K, V> element = bucket.get(key, now, e -> isExpired(e, now), onExpiration);
+	/**
+	 * Returns live element of key and records its read.
+	 *
+	 * @param expire evict element at once if it is expired, otherwise it is left to maintenance
+	 * @return element, null if key is absent or expired
+	 */
+	private Element<K, V> read(K key, long now, boolean expire) {
+		final Element<K, V> element = data.get(key);
 		if (element == null) {
 			return null;
-		} else {
+		}
+
+		if (isExpired(element, now)) {
+			if (expire) {
+				expireNow(element);
+			}
+			return null;
+		}
+
+		if (expiresAfterRead()) {
+			element.setVariableTime(expireAfterRead(element, now));
+		}
+		recordRead(element, now);
+		return element;
+	}
+
+	/**
+	 * Admits written element to eviction policy and retires element it replaced in map.
+	 */
+	@SuppressWarnings("try")
+	private void write(Element<K, V> element, Element<K, V> existing, long now) {
+		if (expiry != null && existing != null) {
+			element.setVariableTime(expireAfterUpdate(element, existing, now));
+		}
+
+		boolean replaced;
+		try (LimitLock ignored = evictionLock.acquire()) {
+			drainReadBuffer();
+			replaced = existing != null && unlink(existing);
 			promote(element, now);
-			return element.getValue();
+		}
+
+		if (replaced) {
+			retire(existing, REPLACED);
+		}
+	}
+
+	@SuppressWarnings("try")
+	private void expireNow(Element<K, V> element) {
+		try (LimitLock ignored = evictionLock.acquire()) {
+			evictEntry(element, EXPIRED);
+		}
+	}
+
+	/**
+	 * Maps absent key to given future of its load.
+	 *
+	 * @return given future if it was registered, otherwise future of load started by other caller
+	 */
+	private CompletableFuture<Element<K, V>> register(K key, CompletableFuture<Element<K, V>> future) {
+		final CompletableFuture<Element<K, V>> existing = loading.putIfAbsent(key, future);
+		return existing != null ? existing : future;
+	}
+
+	/**
+	 * Adapts future of loaded element to future of its value, value of off-heap element evicted meanwhile is null.
+	 */
+	private CompletableFuture<V> valueOf(CompletableFuture<Element<K, V>> future) {
+		return future.thenApply(Element::getValue);
+	}
+
+	private void load(K key, Loader<K, V> loader, CompletableFuture<Element<K, V>> future) {
+		final Element<K, V> present = data.get(key);
+		if (present != null && !isExpired(present, now())) {
+			loading.remove(key, future);
+			future.complete(present);
+			return;
+		}
+
+		final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+		final V loaded;
+		try {
+			loaded = loader.load(key);
+		} catch (Throwable e) {
+			recordLoad(false, loadStart);
+			loading.remove(key, future);
+			future.completeExceptionally(e);
+			return;
+		}
+
+		if (loaded == null) {
+			recordLoad(false, loadStart);
+			loading.remove(key, future);
+			future.completeExceptionally(new NullPointerException("Loader returned a null value"));
+		} else {
+			recordLoad(true, loadStart);
+			final long now = now();
+			final Element<K, V> element = install(newElement(key, loaded, now), now);
+			loading.remove(key, future);
+			future.complete(element);
+		}
+	}
+
+	/**
+	 * Maps loaded element, unless key was written during load.
+	 *
+	 * @return element mapped to key
+	 */
+	private Element<K, V> install(Element<K, V> element, long now) {
+		final K key = element.getKey();
+		for (; ; ) {
+			final Element<K, V> existing = data.putIfAbsent(key, element);
+			if (existing == null) {
+				write(element, null, now);
+				return element;
+			}
+
+			if (!isExpired(existing, now)) {
+				element.release();
+				return existing;
+			}
+
+			if (data.replace(key, existing, element)) {
+				write(element, existing, now);
+				return element;
+			}
+		}
+	}
+
+	private void loadAll(Map<K, CompletableFuture<Element<K, V>>> owned, BulkLoader<K, V> loader) throws ExecutionException {
+		final Set<K> keys = new LinkedHashSet<>();
+		owned.forEach((key, future) -> {
+			final Element<K, V> present = data.get(key);
+			if (present != null && !isExpired(present, now())) {
+				loading.remove(key, future);
+				future.complete(present);
+			} else {
+				keys.add(key);
+			}
+		});
+
+		if (keys.isEmpty()) {
+			return;
+		}
+
+		final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+		final Map<K, V> loaded;
+		try {
+			loaded = loader.loadAll(Collections.unmodifiableSet(keys));
+		} catch (Exception e) {
+			recordLoad(false, loadStart);
+			keys.forEach(key -> {
+				loading.remove(key, owned.get(key));
+				owned.get(key).completeExceptionally(e);
+			});
+			throw new ExecutionException(e);
+		}
+
+		recordLoad(true, loadStart);
+
+		final long now = now();
+		for (K key : keys) {
+			final CompletableFuture<Element<K, V>> future = owned.get(key);
+			final V value = loaded != null ? loaded.get(key) : null;
+			if (value != null) {
+				final Element<K, V> element = install(newElement(key, value, now), now);
+				loading.remove(key, future);
+				future.complete(element);
+			} else {
+				loading.remove(key, future);
+				future.completeExceptionally(new NoSuchElementException("Bulk loader did not return value of key " + key));
+			}
+		}
+	}
+
+	/**
+	 * Starts background reload of element written earlier than refresh interval, unless its key is already
+	 * reloading. Element stays readable until reloaded one replaces it.
+	 */
+	private void refreshIfNeeded(Element<K, V> element, long now, Loader<K, V> loader) {
+		if (refreshAfterWriteNanos <= 0 || now - element.getWriteTime() < refreshAfterWriteNanos) {
+			return;
+		}
+
+		final K key = element.getKey();
+		if (refreshing.putIfAbsent(key, element) != null) {
+			return;
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					reload(element, loader);
+				} finally {
+					refreshing.remove(key, element);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			refreshing.remove(key, element);
+		}
+	}
+
+	/**
+	 * Loads new value of element and replaces it, if key is still mapped to this element.
+	 * Failed reload keeps current element.
+	 */
+	private void reload(Element<K, V> existing, Loader<K, V> loader) {
+		final K key = existing.getKey();
+		final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+		final V loaded;
+		try {
+			loaded = loader.load(key);
+		} catch (Exception e) {
+			recordLoad(false, loadStart);
+			return;
+		}
+
+		if (loaded == null) {
+			recordLoad(false, loadStart);
+			return;
+		}
+
+		recordLoad(true, loadStart);
+
+		final long now = now();
+		final Element<K, V> element = newElement(key, loaded, now);
+		if (data.replace(key, existing, element)) {
+			write(element, existing, now);
+		} else {
+			element.release();
 		}
 	}
 
@@ -243,8 +617,7 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	 */
 	@Override
 	public boolean contains(K key) {
-		final Bucket<K, V> bucket = getBucket(key);
-		return bucket.contains(key);
+		return data.containsKey(key);
 	}
 
 	/**
@@ -253,15 +626,16 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	 * @param key key
 	 */
 	@Override
+	@SuppressWarnings("try")
 	public V remove(K key) {
-		final Bucket<K, V> bucket = getBucket(key);
-		final Element<K, V> element = bucket.remove(key);
+		final Element<K, V> element = data.remove(key);
 		if (element != null) {
-			try (LimitLock ignored = lruLock.acquire()) {
+			final V value = element.getValue();
+			try (LimitLock ignored = evictionLock.acquire()) {
 				delete(element, INVALIDATED);
 			}
 
-			return element.getValue();
+			return value;
 		}
 
 		return null;
@@ -271,41 +645,28 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	 * Clears cache.
 	 */
 	@Override
+	@SuppressWarnings("try")
 	public void clear() {
-		Element<K, V> h;
-
-		boolean[] haveSegmentLock = new boolean[NUMBER_OF_SEGMENTS];
-		try {
-			IntStream.range(0, NUMBER_OF_SEGMENTS).forEach(i -> {
-				buckets[i].getSegmentLock().writeLock().lock();
-				haveSegmentLock[i] = true;
-			});
-
-			try (LimitLock ignored = lruLock.acquire()) {
-				h = head;
-				Arrays.stream(buckets).forEach(segment -> segment.setMap(new HashMap<>()));
-				Element<K, V> current = head;
+		final List<Element<K, V>> removed = new ArrayList<>();
+		try (LimitLock ignored = evictionLock.acquire()) {
+			drainReadBuffer();
+			data.clear();
+			for (AccessQueue<K, V> queue : policy.queues()) {
+				Element<K, V> current = queue.head();
 				while (current != null) {
 					current.setState(DELETED);
+					removed.add(current);
 					current = current.getAfter();
 				}
-
-				head = tail = null;
-				count = 0;
-				weight = 0;
 			}
-		} finally {
-			for (int i = NUMBER_OF_SEGMENTS - 1; i >= 0; i--) {
-				if (haveSegmentLock[i]) {
-					buckets[i].getSegmentLock().writeLock().unlock();
-				}
-			}
-		}
 
-		while (h != null) {
-			removalFact.onRemoval(new RemovalNotify<>(h.getKey(), h.getValue(), INVALIDATED));
-			h = h.getAfter();
+			policy.clear();
+			timerWheel.clear();
+			count = 0;
+			weight = 0;
 		}
+
+		removed.forEach(e -> retire(e, INVALIDATED));
 	}
 
 	/**
@@ -319,7 +680,7 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	@Override
 	public Iterator<K> keys() {
 		return new Iterator<K>() {
-			private CacheIterator iterator = new CacheIterator(head);
+			private CacheIterator iterator = new CacheIterator(policy.queues());
 
 			@Override
 			public boolean hasNext() {
@@ -341,7 +702,7 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	@Override
 	public Iterator<V> values() {
 		return new Iterator<V>() {
-			private CacheIterator iterator = new CacheIterator(head);
+			private CacheIterator iterator = new CacheIterator(policy.queues());
 
 			@Override
 			public boolean hasNext() {
@@ -355,56 +716,165 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 		};
 	}
 
+	@Override
+	public StatsCounter getStatsCounter() {
+		return statsCounter;
+	}
+
+	@Override
+	public CacheStats stats() {
+		return statsCounter.snapshot(count, weight);
+	}
+
+	/**
+	 * Performs pending maintenance of cache: applies buffered reads and removes expired entries.
+	 * Invoked periodically by background cleaner, so expired entries do not stay resident until
+	 * next write.
+	 */
+	@SuppressWarnings("try")
+	public void cleanUp() {
+		try (LimitLock ignored = evictionLock.acquire()) {
+			drainReadBuffer();
+			evict(now());
+		}
+	}
+
+	/**
+	 * Removes all entries and frees memory of off-heap tier, cache must not be used afterwards.
+	 */
+	public void close() {
+		clear();
+		if (offHeap != null) {
+			try {
+				offHeap.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Records read of element, policy is updated later in batch.
+	 *
+	 * @param element read element
+	 * @param now     time of read
+	 */
+	private void recordRead(Element<K, V> element, long now) {
+		if (readBuffer.offer(element)) {
+			try (LimitLock lock = evictionLock.tryAcquire()) {
+				if (lock != null) {
+					drainReadBuffer();
+					evict(now);
+				}
+			}
+		}
+	}
+
+	private void recordLoad(boolean success, long loadStart) {
+		if (statsCounter.isEnabled()) {
+			final long loadTime = System.nanoTime() - loadStart;
+			if (success) {
+				statsCounter.recordLoadSuccess(loadTime);
+			} else {
+				statsCounter.recordLoadFailure(loadTime);
+			}
+		}
+	}
+
+	private void drainReadBuffer() {
+		assert evictionLock.isHeldByCurrentThread();
+
+		readBuffer.drainTo(e -> {
+			if (e.getState() == EXISTING) {
+				policy.onAccess(e);
+				if (expiresAfterRead()) {
+					timerWheel.reschedule(e);
+				}
+			}
+		});
+	}
+
+	@SuppressWarnings("try")
 	private void promote(Element<K, V> element, long now) {
-		boolean promoted = true;
-		try (LimitLock ignored = lruLock.acquire()) {
-			switch (element.getState()) {
-				case DELETED:
-					promoted = false;
-					break;
-				case EXISTING:
-					relinkAtHead(element);
-					break;
-				case NEW:
-					linkAtHead(element);
-					break;
-			}
-
-			if (promoted) {
+		try (LimitLock ignored = evictionLock.acquire()) {
+			if (admit(element)) {
 				evict(now);
 			}
 		}
 	}
 
+	/**
+	 * Links new element to eviction policy or records access of existing one.
+	 *
+	 * @return false if element was already deleted
+	 */
+	private boolean admit(Element<K, V> element) {
+		assert evictionLock.isHeldByCurrentThread();
+
+		switch (element.getState()) {
+			case DELETED:
+				return false;
+			case EXISTING:
+				policy.onAccess(element);
+				timerWheel.reschedule(element);
+				return true;
+			default:
+				if (data.get(element.getKey()) != element) {
+					// replaced or removed before it was linked, nobody else unlinks it
+					element.setState(DELETED);
+					retire(element, REPLACED);
+					return false;
+				}
+				link(element);
+				return true;
+		}
+	}
+
 	private void evict(long now) {
-		assert lruLock.isHeldByCurrentThread();
+		assert evictionLock.isHeldByCurrentThread();
+
+		if (isExpiring()) {
+			timerWheel.advance(now);
+		}
 
-		while (tail != null && shouldPrune(tail, now)) {
-			evictEntry(tail);
+		while (exceedsWeight()) {
+			final Element<K, V> victim = policy.victim();
+			if (victim == null) {
+				break;
+			}
+			evictEntry(victim, EVICTED);
 		}
 	}
 
-	private void evictEntry(Element<K, V> element) {
-		assert lruLock.isHeldByCurrentThread();
+	private boolean expireEntry(Element<K, V> element) {
+		evictEntry(element, EXPIRED);
+		return true;
+	}
 
-		final Bucket<K, V> bucket = getBucket(element.getKey());
-		if (bucket != null) {
-			bucket.remove(element.getKey());
-		}
+	private void evictEntry(Element<K, V> element, RemovalNotify.RemovalReason removalReason) {
+		assert evictionLock.isHeldByCurrentThread();
 
-		delete(element, EVICTED);
+		data.remove(element.getKey(), element);
+		delete(element, removalReason);
 	}
 
 	private void delete(Element<K, V> element, RemovalNotify.RemovalReason removalReason) {
-		assert lruLock.isHeldByCurrentThread();
+		assert evictionLock.isHeldByCurrentThread();
 
 		if (unlink(element)) {
-			removalFact.onRemoval(new RemovalNotify<>(element.getKey(), element.getValue(), removalReason));
+			retire(element, removalReason);
 		}
 	}
 
-	private boolean shouldPrune(Element<K, V> element, long now) {
-		return exceedsWeight() || isExpired(element, now);
+	/**
+	 * Notifies about removal of unlinked element and releases its off-heap value.
+	 */
+	private void retire(Element<K, V> element, RemovalNotify.RemovalReason removalReason) {
+		statsCounter.recordRemoval(removalReason, element.getWeight());
+		if (removalFact != null) {
+			removalFact.onRemoval(new RemovalNotify<>(element.getKey(), element.getValue(), removalReason));
+		}
+		element.release();
 	}
 
 	private boolean exceedsWeight() {
@@ -412,90 +882,110 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 	}
 
 	private boolean isExpired(Element<K, V> element, long now) {
-		return (entriesExpireAfterAccess && now - element.getAccessTime() > expireAfterAccessNanos) ||
-				(entriesExpireAfterWrite && now - element.getWriteTime() > expireAfterWriteNanos);
+		return isExpiring() && now - element.getVariableTime() > 0;
 	}
 
-	private boolean unlink(Element<K, V> element) {
-		assert lruLock.isHeldByCurrentThread();
+	private boolean isExpiring() {
+		return entriesExpireAfterAccess || entriesExpireAfterWrite || expiry != null;
+	}
 
-		if (element.getState() == EXISTING) {
-			final Element<K, V> before = element.getBefore();
-			final Element<K, V> after = element.getAfter();
-
-			if (before == null) {
-				assert head == element;
-				head = after;
-				if (head != null) {
-					head.setBefore(null);
-				}
-			} else {
-				before.setAfter(after);
-				element.setBefore(null);
-			}
+	private boolean expiresAfterRead() {
+		return entriesExpireAfterAccess || expiry != null;
+	}
 
-			if (after == null) {
-				assert tail == element;
-				tail = before;
-				if (tail != null) {
-					tail.setAfter(null);
-				}
-			} else {
-				after.setBefore(before);
-				element.setAfter(null);
-			}
+	private Element<K, V> newElement(K key, V value, long now) {
+		final Element<K, V> element = offHeap != null ? offHeap.newElement(key, value, now) : new Element<>(key, value, now);
+		if (isExpiring()) {
+			element.setVariableTime(expireAfterCreate(element, now));
+		}
+		return element;
+	}
 
-			count--;
-			weight -= weigher.applyAsLong(element.getKey(), element.getValue());
-			element.setState(DELETED);
-			return true;
-		} else {
-			return false;
+	private long expireAfterCreate(Element<K, V> element, long now) {
+		if (expiry != null) {
+			return deadline(now, expiry.expireAfterCreate(element.getKey(), element.getValue(), now));
 		}
+		return fixedDeadline(element, now);
 	}
 
-	private void linkAtHead(Element<K, V> element) {
-		assert lruLock.isHeldByCurrentThread();
+	private long expireAfterUpdate(Element<K, V> element, Element<K, V> existing, long now) {
+		final long currentDuration = Math.max(0, existing.getVariableTime() - now);
+		return deadline(now, expiry.expireAfterUpdate(element.getKey(), element.getValue(), now, currentDuration));
+	}
 
-		Element<K, V> h = head;
-		element.setBefore(null);
-		element.setAfter(head);
-		head = element;
-		if (h == null) {
-			tail = element;
-		} else {
-			h.setBefore(element);
+	private long expireAfterRead(Element<K, V> element, long now) {
+		if (expiry != null) {
+			final long currentDuration = Math.max(0, element.getVariableTime() - now);
+			return deadline(now, expiry.expireAfterRead(element.getKey(), element.getValue(), now, currentDuration));
 		}
+		return fixedDeadline(element, now);
+	}
 
-		count++;
-		weight += weigher.applyAsLong(element.getKey(), element.getValue());
-		element.setState(EXISTING);
+	private long fixedDeadline(Element<K, V> element, long accessTime) {
+		final long afterWrite = deadline(element.getWriteTime(), expireAfterWriteNanos);
+		final long afterAccess = deadline(accessTime, expireAfterAccessNanos);
+		if (!entriesExpireAfterAccess) {
+			return afterWrite;
+		} else if (!entriesExpireAfterWrite) {
+			return afterAccess;
+		}
+		return afterWrite - afterAccess < 0 ? afterWrite : afterAccess;
 	}
 
-	private void relinkAtHead(Element<K, V> element) {
-		assert lruLock.isHeldByCurrentThread();
+	private static long deadline(long time, long duration) {
+		return time + Math.min(Math.max(duration, 0), MAXIMUM_EXPIRY);
+	}
 
-		if (head != element) {
-			unlink(element);
-			linkAtHead(element);
+	private boolean unlink(Element<K, V> element) {
+		assert evictionLock.isHeldByCurrentThread();
+
+		if (element.getState() == EXISTING) {
+			policy.onRemove(element);
+			count--;
+			weight -= element.getWeight();
+			timerWheel.deschedule(element);
+			element.setState(DELETED);
+			return true;
+		} else {
+			return false;
 		}
 	}
 
-	private Bucket<K, V> getBucket(K key) {
-		return buckets[key.hashCode() & 0xff];
+	private void link(Element<K, V> element) {
+		assert evictionLock.isHeldByCurrentThread();
+
+		if (offHeap == null) {
+			element.setWeight(weigher.applyAsLong(element.getKey(), element.getValue()));
+		}
+		policy.onAdd(element);
+		count++;
+		weight += element.getWeight();
+		if (isExpiring()) {
+			timerWheel.schedule(element);
+		}
+		element.setState(EXISTING);
 	}
 
 	protected long now() {
-		return entriesExpireAfterAccess || entriesExpireAfterWrite ? System.nanoTime() : 0;
+		return isExpiring() || refreshAfterWriteNanos > 0 ? System.nanoTime() : 0;
 	}
 
 	public class CacheIterator implements Iterator<Element<K, V>> {
+		private final Iterator<AccessQueue<K, V>> queues;
 		private Element<K, V> current;
 		private Element<K, V> next;
 
-		CacheIterator(Element<K, V> head) {
+		CacheIterator(List<AccessQueue<K, V>> queues) {
+			this.queues = queues.iterator();
 			current = null;
-			next = head;
+			advance(null);
+		}
+
+		private void advance(Element<K, V> from) {
+			next = from != null ? from.getAfter() : null;
+			while (next == null && queues.hasNext()) {
+				next = queues.next().head();
+			}
 		}
 
 		@Override
@@ -505,18 +995,22 @@ public class ExpiringFacade<K, V> implements ICache<K, V> {
 
 		@Override
 		public Element<K, V> next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+
 			current = next;
-			next = next.getAfter();
+			advance(current);
 			return current;
 		}
 
 		@Override
+		@SuppressWarnings("try")
 		public void remove() {
 			Element<K, V> element = current;
 			if (element != null) {
-				final Bucket<K, V> bucket = getBucket(element.getKey());
-				bucket.remove(element.getKey());
-				try (LimitLock ignored = lruLock.acquire()) {
+				data.remove(element.getKey(), element);
+				try (LimitLock ignored = evictionLock.acquire()) {
 					current = null;
 					delete(element, INVALIDATED);
 				}
@@ -18,9 +18,23 @@
  */
 package org.ioc.context.model.cache;
 
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.ioc.context.model.cache.expiring.Loader;
+import org.ioc.context.model.cache.stats.StatsCounter;
 
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author GenCloud
@@ -28,24 +42,181 @@ import java.util.Iterator;
  */
 public class GuavaFacade<K, V> implements ICache<K, V> {
 	private final com.google.common.cache.LoadingCache<K, V> cache;
+	private final StatsCounter statsCounter;
+	/**
+	 * Time of last write of each key, tracked only while refresh is enabled, as Guava does not expose it.
+	 */
+	private final Map<K, Long> writeTimes = new ConcurrentHashMap<>();
+	private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+	private Executor executor = ForkJoinPool.commonPool();
+	private long refreshAfterWriteMillis;
 
 	public GuavaFacade(com.google.common.cache.LoadingCache<K, V> cache) {
+		this(cache, StatsCounter.disabled());
+	}
+
+	public GuavaFacade(com.google.common.cache.LoadingCache<K, V> cache, StatsCounter statsCounter) {
 		this.cache = cache;
+		this.statsCounter = statsCounter;
 	}
 
 	public LoadingCache<K, V> getCache() {
 		return cache;
 	}
 
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Entries older than given duration are reloaded in background on next load request of their key,
+	 * while old value is still returned. Duration is measured since last write of key, so owner of
+	 * the cache must report removed keys with {@link #removed(Object)}.
+	 */
+	public void setRefreshAfterWrite(long duration, TimeUnit unit) {
+		refreshAfterWriteMillis = unit.toMillis(duration);
+	}
+
+	/**
+	 * Forgets write time of key evicted, expired or invalidated from the underlying cache.
+	 */
+	public void removed(K key) {
+		writeTimes.remove(key);
+	}
+
 	@Override
 	public V put(K key, V value) {
 		cache.put(key, value);
+		written(key);
 		return value;
 	}
 
 	@Override
 	public V get(K key) {
-		return cache.getIfPresent(key);
+		final V value = cache.getIfPresent(key);
+		if (value != null) {
+			statsCounter.recordHit(key);
+		} else {
+			statsCounter.recordMiss(key);
+		}
+		return value;
+	}
+
+	/**
+	 * Loads absent value through {@link LoadingCache#get(Object, java.util.concurrent.Callable)}, which
+	 * blocks concurrent callers of same key until the first load completes.
+	 */
+	@Override
+	public V computeIfAbsent(K key, Loader<K, V> loader) throws ExecutionException {
+		final V value = get(key);
+		if (value != null) {
+			refreshIfNeeded(key, value, loader);
+			return value;
+		}
+
+		try {
+			return cache.get(key, () -> {
+				final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+				boolean success = false;
+				try {
+					final V loaded = loader.load(key);
+					success = loaded != null;
+					if (success) {
+						written(key);
+					}
+					return loaded;
+				} finally {
+					recordLoad(success, loadStart);
+				}
+			});
+		} catch (UncheckedExecutionException | ExecutionError e) {
+			throw new ExecutionException(e.getCause());
+		} catch (InvalidCacheLoadException e) {
+			throw new ExecutionException(new NullPointerException("Loader returned a null value"));
+		}
+	}
+
+	/**
+	 * Returns present value without switching threads, absent one is loaded on executor.
+	 */
+	@Override
+	public CompletableFuture<V> computeIfAbsentAsync(K key, Loader<K, V> loader) {
+		final V value = cache.getIfPresent(key);
+		if (value != null) {
+			statsCounter.recordHit(key);
+			refreshIfNeeded(key, value, loader);
+			return CompletableFuture.completedFuture(value);
+		}
+		return ICache.super.computeIfAbsentAsync(key, loader);
+	}
+
+	@Override
+	public void putAll(Map<? extends K, ? extends V> map) {
+		cache.putAll(map);
+		map.keySet().forEach(this::written);
+	}
+
+	@Override
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	private void written(K key) {
+		if (refreshAfterWriteMillis > 0) {
+			writeTimes.put(key, System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Starts background reload of value older than refresh interval, unless its key is already reloading.
+	 * Reloaded value replaces old one only if it was not changed meanwhile. Value with unknown write time
+	 * is considered written now.
+	 */
+	private void refreshIfNeeded(K key, V value, Loader<K, V> loader) {
+		if (refreshAfterWriteMillis <= 0) {
+			return;
+		}
+
+		final long now = System.currentTimeMillis();
+		final Long writeTime = writeTimes.putIfAbsent(key, now);
+		if (writeTime == null || now - writeTime < refreshAfterWriteMillis || !refreshing.add(key)) {
+			return;
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+					final V loaded;
+					try {
+						loaded = loader.load(key);
+					} catch (Exception e) {
+						recordLoad(false, loadStart);
+						return;
+					}
+
+					recordLoad(loaded != null, loadStart);
+					if (loaded != null && cache.asMap().replace(key, value, loaded)) {
+						written(key);
+					}
+				} finally {
+					refreshing.remove(key);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			refreshing.remove(key);
+		}
+	}
+
+	private void recordLoad(boolean success, long loadStart) {
+		if (statsCounter.isEnabled()) {
+			final long loadTime = System.nanoTime() - loadStart;
+			if (success) {
+				statsCounter.recordLoadSuccess(loadTime);
+			} else {
+				statsCounter.recordLoadFailure(loadTime);
+			}
+		}
 	}
 
 	@Override
@@ -55,7 +226,7 @@ public class GuavaFacade<K, V> implements ICache<K, V> {
 
 	@Override
 	public V remove(K key) {
-		V element = get(key);
+		V element = cache.getIfPresent(key);
 		if (element != null) {
 			cache.invalidate(key);
 		}
@@ -65,6 +236,7 @@ public class GuavaFacade<K, V> implements ICache<K, V> {
 	@Override
 	public void clear() {
 		cache.invalidateAll();
+		writeTimes.clear();
 	}
 
 	@Override
@@ -81,4 +253,9 @@ public class GuavaFacade<K, V> implements ICache<K, V> {
 	public Iterator<V> values() {
 		return cache.asMap().values().iterator();
 	}
+
+	@Override
+	public StatsCounter getStatsCounter() {
+		return statsCounter;
+	}
 }
\ No newline at end of file
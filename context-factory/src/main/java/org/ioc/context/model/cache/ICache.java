@@ -18,10 +18,17 @@
  */
 package org.ioc.context.model.cache;
 
+import org.ioc.context.model.cache.expiring.BulkLoader;
 import org.ioc.context.model.cache.expiring.Loader;
+import org.ioc.context.model.cache.stats.CacheStats;
+import org.ioc.context.model.cache.stats.StatsCounter;
 
-import java.util.Iterator;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Interface represents a Map structure for cache usage.
@@ -59,6 +66,131 @@ public interface ICache<K, V> {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Asynchronous variant of {@link #computeIfAbsent(Object, Loader)}: present value is returned as completed
+	 * future, absent one is loaded on {@link #getExecutor()} and caller is not blocked by the load.
+	 *
+	 * @param key    the key whose associated value is to be returned or computed for if non-existent
+	 * @param loader the function to compute a value given a key
+	 * @return future of the current (existing or computed) non-null value associated with the specified key
+	 */
+	default CompletableFuture<V> computeIfAbsentAsync(K key, Loader<K, V> loader) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return computeIfAbsent(key, loader);
+			} catch (ExecutionException e) {
+				throw new CompletionException(e.getCause());
+			}
+		}, getExecutor());
+	}
+
+	/**
+	 * Returns values of given keys, loading all absent ones with single invocation of bulk loader.
+	 * Keys not found by loader are absent in returned map.
+	 *
+	 * @param keys   keys whose associated values are to be returned
+	 * @param loader the function to compute values of absent keys
+	 * @return map of keys to existing or loaded values, in iteration order of given keys
+	 * @throws ExecutionException thrown if loader throws an exception
+	 */
+	default Map<K, V> getAll(Iterable<? extends K> keys, BulkLoader<K, V> loader) throws ExecutionException {
+		final Map<K, V> result = new HashMap<>();
+		final Set<K> missing = new LinkedHashSet<>();
+		for (K key : keys) {
+			final V value = get(key);
+			if (value != null) {
+				result.put(key, value);
+			} else {
+				missing.add(key);
+			}
+		}
+
+		if (missing.isEmpty()) {
+			return result;
+		}
+
+		final StatsCounter statsCounter = getStatsCounter();
+		final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+		final Map<K, V> loaded;
+		try {
+			loaded = loader.loadAll(Collections.unmodifiableSet(missing));
+		} catch (Exception e) {
+			if (statsCounter.isEnabled()) {
+				statsCounter.recordLoadFailure(System.nanoTime() - loadStart);
+			}
+			throw new ExecutionException(e);
+		}
+
+		if (statsCounter.isEnabled()) {
+			statsCounter.recordLoadSuccess(System.nanoTime() - loadStart);
+		}
+
+		if (loaded != null) {
+			final Map<K, V> found = new HashMap<>();
+			for (K key : missing) {
+				final V value = loaded.get(key);
+				if (value != null) {
+					found.put(key, value);
+				}
+			}
+			putAll(found);
+			result.putAll(found);
+		}
+
+		final Map<K, V> ordered = new LinkedHashMap<>();
+		for (K key : keys) {
+			final V value = result.get(key);
+			if (value != null) {
+				ordered.put(key, value);
+			}
+		}
+		return ordered;
+	}
+
+	/**
+	 * Copies all pairs of given map to cache.
+	 *
+	 * @param map pairs to be stored
+	 */
+	default void putAll(Map<? extends K, ? extends V> map) {
+		map.forEach(this::put);
+	}
+
+	/**
+	 * Reloads value of given key in background, current value stays readable until it is replaced.
+	 *
+	 * @param key    key to be reloaded
+	 * @param loader the function to compute a new value
+	 * @return future of reloaded value
+	 */
+	default CompletableFuture<V> refresh(K key, Loader<K, V> loader) {
+		return CompletableFuture.supplyAsync(() -> {
+			final StatsCounter statsCounter = getStatsCounter();
+			final long loadStart = statsCounter.isEnabled() ? System.nanoTime() : 0L;
+			final V loaded;
+			try {
+				loaded = loader.load(key);
+			} catch (Exception e) {
+				if (statsCounter.isEnabled()) {
+					statsCounter.recordLoadFailure(System.nanoTime() - loadStart);
+				}
+				throw new CompletionException(e);
+			}
+
+			if (loaded == null) {
+				if (statsCounter.isEnabled()) {
+					statsCounter.recordLoadFailure(System.nanoTime() - loadStart);
+				}
+				throw new CompletionException(new NullPointerException("Loader returned a null value"));
+			}
+
+			if (statsCounter.isEnabled()) {
+				statsCounter.recordLoadSuccess(System.nanoTime() - loadStart);
+			}
+			return put(key, loaded);
+		}, getExecutor());
+	}
+
 	/**
 	 * Returns cached value correlated to given key.
 	 *
@@ -105,4 +237,33 @@ public interface ICache<K, V> {
 	 * @return an Iterator.
 	 */
 	Iterator<V> values();
+
+	/**
+	 * Returns executor of asynchronous loads and refreshes of this cache.
+	 *
+	 * @return executor, common fork-join pool if cache was not bound to thread pool of context
+	 */
+	default Executor getExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Returns counter recording statistics of this cache, so decorators can record
+	 * their loads of values into it.
+	 *
+	 * @return statistics counter, disabled if cache does not record statistics
+	 */
+	default StatsCounter getStatsCounter() {
+		return StatsCounter.disabled();
+	}
+
+	/**
+	 * Returns snapshot of cache statistics. Operations are recorded only if cache was installed
+	 * with enabled statistics, otherwise only size is reported.
+	 *
+	 * @return statistics of cache
+	 */
+	default CacheStats stats() {
+		return getStatsCounter().snapshot(size(), size());
+	}
 }
@@ -0,0 +1,16 @@
+package org.ioc.context.model.cache.expiring;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads values of several keys at once, e.g. with single query to database.
+ * Keys absent in returned map or mapped to null are treated as not found and are not cached.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+@FunctionalInterface
+public interface BulkLoader<K, V> {
+	Map<K, V> loadAll(Set<K> keys) throws Exception;
+}
@@ -19,8 +19,16 @@
 package org.ioc.context.model.cache.expiring;
 
 import org.ioc.context.model.cache.ExpiringFacade;
+import org.ioc.context.model.cache.expiring.offheap.OffHeapStore;
+import org.ioc.context.model.cache.expiring.offheap.SerializingCodec;
+import org.ioc.context.model.cache.expiring.offheap.SlabArena;
+import org.ioc.context.model.cache.expiring.offheap.ValueCodec;
+import org.ioc.context.model.cache.expiring.policy.PolicyType;
+import org.ioc.context.model.cache.stats.StatsCounter;
 import org.ioc.utils.Assertion;
 
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
 import java.util.function.ToLongBiFunction;
 
 /**
@@ -31,8 +39,17 @@ public class ExpiringBuilder<K, V> {
 	private long maximumWeight = -1;
 	private long expireAfterAccessNanos = -1;
 	private long expireAfterWriteNanos = -1;
+	private long refreshAfterWriteNanos = -1;
 	private ToLongBiFunction<K, V> weigher;
 	private RemovalFact<K, V> removalFact;
+	private Expiry<K, V> expiry;
+	private StatsCounter statsCounter;
+	private PolicyType policyType = PolicyType.LRU;
+	private Executor executor;
+	private long offHeapCapacity = -1;
+	private int offHeapSlabSize = 4 << 20;
+	private Path offHeapFile;
+	private ValueCodec<V> valueCodec;
 
 	public ExpiringBuilder<K, V> setExpireAfterAccessNanos(long expireAfterAccessNanos) {
 		Assertion.checkArgument(expireAfterAccessNanos >= 0, "expireAfterAccessNanos <= 0");
@@ -46,6 +63,62 @@ public class ExpiringBuilder<K, V> {
 		return this;
 	}
 
+	/**
+	 * Entries older than given duration are reloaded in background on next load request of their key,
+	 * while old value is still returned.
+	 */
+	public ExpiringBuilder<K, V> setRefreshAfterWriteNanos(long refreshAfterWriteNanos) {
+		Assertion.checkArgument(refreshAfterWriteNanos > 0, "refreshAfterWriteNanos <= 0");
+		this.refreshAfterWriteNanos = refreshAfterWriteNanos;
+		return this;
+	}
+
+	/**
+	 * Executor of asynchronous loads and refreshes, common fork-join pool by default.
+	 */
+	public ExpiringBuilder<K, V> setExecutor(Executor executor) {
+		Assertion.checkNotNull(executor);
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * Stores values serialized outside of heap, in direct buffers of given total size. Entries are weighted
+	 * by count of bytes reserved for their values instead of weigher, maximum weight defaults to capacity.
+	 */
+	public ExpiringBuilder<K, V> setOffHeapCapacity(long offHeapCapacity) {
+		Assertion.checkArgument(offHeapCapacity > 0, "offHeapCapacity <= 0");
+		this.offHeapCapacity = offHeapCapacity;
+		return this;
+	}
+
+	/**
+	 * Size of single off-heap slab, 4MB by default. Values larger than slab stay on heap.
+	 */
+	public ExpiringBuilder<K, V> setOffHeapSlabSize(int offHeapSlabSize) {
+		Assertion.checkArgument(offHeapSlabSize > 0, "offHeapSlabSize <= 0");
+		this.offHeapSlabSize = offHeapSlabSize;
+		return this;
+	}
+
+	/**
+	 * Maps off-heap slabs from given file instead of direct buffers, file is deleted on {@link ExpiringFacade#close()}.
+	 */
+	public ExpiringBuilder<K, V> setOffHeapFile(Path offHeapFile) {
+		Assertion.checkNotNull(offHeapFile);
+		this.offHeapFile = offHeapFile;
+		return this;
+	}
+
+	/**
+	 * Codec of values stored off heap, java serialization by default.
+	 */
+	public ExpiringBuilder<K, V> setValueCodec(ValueCodec<V> valueCodec) {
+		Assertion.checkNotNull(valueCodec);
+		this.valueCodec = valueCodec;
+		return this;
+	}
+
 	public ExpiringBuilder<K, V> setMaximumWeight(long maximumWeight) {
 		Assertion.checkArgument(maximumWeight > 0, "maximumWeight < 0");
 		this.maximumWeight = maximumWeight;
@@ -64,12 +137,42 @@ public class ExpiringBuilder<K, V> {
 		return this;
 	}
 
+	public ExpiringBuilder<K, V> setExpiry(Expiry<K, V> expiry) {
+		Assertion.checkNotNull(expiry);
+		this.expiry = expiry;
+		return this;
+	}
+
+	public ExpiringBuilder<K, V> setStatsCounter(StatsCounter statsCounter) {
+		Assertion.checkNotNull(statsCounter);
+		this.statsCounter = statsCounter;
+		return this;
+	}
+
+	public ExpiringBuilder<K, V> setPolicyType(PolicyType policyType) {
+		Assertion.checkNotNull(policyType);
+		this.policyType = policyType;
+		return this;
+	}
+
 	public ExpiringFacade<K, V> build() {
 		final ExpiringFacade<K, V> cache = new ExpiringFacade<>();
+		cache.setPolicyType(policyType);
 		if (maximumWeight != -1) {
 			cache.setMaximumWeight(maximumWeight);
 		}
 
+		if (offHeapCapacity != -1) {
+			final int slabSize = (int) Math.min(offHeapSlabSize, offHeapCapacity);
+			final SlabArena arena = new SlabArena(offHeapFile, offHeapCapacity, slabSize);
+			cache.setOffHeap(new OffHeapStore<>(arena, valueCodec != null ? valueCodec : new SerializingCodec<>()));
+			if (maximumWeight == -1) {
+				cache.setMaximumWeight(offHeapCapacity);
+			}
+		} else {
+			Assertion.checkArgument(offHeapFile == null, "offHeapFile requires offHeapCapacity");
+		}
+
 		if (expireAfterAccessNanos != -1) {
 			cache.setExpireAfterAccessNanos(expireAfterAccessNanos);
 		}
@@ -78,6 +181,18 @@ public class ExpiringBuilder<K, V> {
 			cache.setExpireAfterWriteNanos(expireAfterWriteNanos);
 		}
 
+		if (refreshAfterWriteNanos != -1) {
+			cache.setRefreshAfterWriteNanos(refreshAfterWriteNanos);
+		}
+
+		if (executor != null) {
+			cache.setExecutor(executor);
+		}
+
+		if (expiry != null) {
+			cache.setExpiry(expiry);
+		}
+
 		if (weigher != null) {
 			cache.setWeigher(weigher);
 		}
@@ -85,6 +200,10 @@ public class ExpiringBuilder<K, V> {
 		if (removalFact != null) {
 			cache.setRemovalFact(removalFact);
 		}
+
+		if (statsCounter != null) {
+			cache.setStatsCounter(statsCounter);
+		}
 		return cache;
 	}
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring;
+
+/**
+ * Calculates when cache entries expire. A single expiration time is retained per entry, so each of the
+ * callbacks returns the new lifetime of entry, measured from given current time.
+ * <p>
+ * All durations are in nanoseconds, returning {@link Long#MAX_VALUE} marks entry as never expiring.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public interface Expiry<K, V> {
+	/**
+	 * Specifies that the entry should be automatically removed from the cache once the duration has
+	 * elapsed after the entry's creation.
+	 *
+	 * @param key         key of entry
+	 * @param value       value of entry
+	 * @param currentTime current time, in nanoseconds
+	 * @return length of time before the entry expires, in nanoseconds
+	 */
+	long expireAfterCreate(K key, V value, long currentTime);
+
+	/**
+	 * Specifies that the entry should be automatically removed from the cache once the duration has
+	 * elapsed after the replacement of its value. By default lifetime is started again as on creation.
+	 *
+	 * @param key             key of entry
+	 * @param value           new value of entry
+	 * @param currentTime     current time, in nanoseconds
+	 * @param currentDuration remaining lifetime of replaced entry, in nanoseconds
+	 * @return length of time before the entry expires, in nanoseconds
+	 */
+	default long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+		return expireAfterCreate(key, value, currentTime);
+	}
+
+	/**
+	 * Specifies that the entry should be automatically removed from the cache once the duration has
+	 * elapsed after its last read. By default reads do not modify lifetime of entry.
+	 *
+	 * @param key             key of entry
+	 * @param value           value of entry
+	 * @param currentTime     current time, in nanoseconds
+	 * @param currentDuration remaining lifetime of entry, in nanoseconds
+	 * @return length of time before the entry expires, in nanoseconds
+	 */
+	default long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+		return currentDuration;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lossy striped buffer of reads. Reading threads record elements into ring buffers without locking, a thread
+ * holding eviction lock of cache drains all buffers in batch. A read is dropped when its ring buffer is full,
+ * reads only reorder elements, so losing some of them is acceptable.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class ReadBuffer<E> {
+	private static final int BUFFER_SIZE = 16;
+	private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+	private static final int MAXIMUM_STRIPES = 64;
+
+	private final Stripe<E>[] stripes;
+	private final int stripeMask;
+
+	@SuppressWarnings("unchecked")
+	public ReadBuffer() {
+		final int processors = Runtime.getRuntime().availableProcessors();
+		final int count = Math.min(MAXIMUM_STRIPES, Integer.highestOneBit(Math.max(1, processors * 2 - 1)) << 1);
+		stripes = (Stripe<E>[]) new Stripe<?>[count];
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new Stripe<>();
+		}
+		stripeMask = count - 1;
+	}
+
+	/**
+	 * Function of recording element.
+	 *
+	 * @param element read element
+	 * @return true if buffer of current thread is full and should be drained
+	 */
+	public boolean offer(E element) {
+		final Stripe<E> stripe = stripes[probe() & stripeMask];
+		final long head = stripe.readCounter;
+		final long tail = stripe.writeCounter.get();
+		final long size = tail - head;
+		if (size >= BUFFER_SIZE) {
+			return true;
+		}
+
+		if (stripe.writeCounter.compareAndSet(tail, tail + 1)) {
+			stripe.buffer.lazySet((int) (tail & BUFFER_MASK), element);
+			return size + 1 >= BUFFER_SIZE;
+		}
+		return false;
+	}
+
+	/**
+	 * Function of draining recorded elements, must be called by single thread at a time.
+	 *
+	 * @param consumer consumer of elements
+	 */
+	public void drainTo(Consumer<E> consumer) {
+		for (Stripe<E> stripe : stripes) {
+			long head = stripe.readCounter;
+			final long tail = stripe.writeCounter.get();
+			while (head != tail) {
+				final int index = (int) (head & BUFFER_MASK);
+				final E element = stripe.buffer.get(index);
+				if (element == null) {
+					break;
+				}
+
+				stripe.buffer.lazySet(index, null);
+				consumer.accept(element);
+				head++;
+			}
+			stripe.readCounter = head;
+		}
+	}
+
+	private static int probe() {
+		int h = (int) Thread.currentThread().getId();
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		return h ^ (h >>> 13);
+	}
+
+	private static final class Stripe<E> {
+		private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+		private final AtomicLong writeCounter = new AtomicLong();
+		private volatile long readCounter;
+	}
+}
@@ -18,6 +18,19 @@ public class LimitLock implements Closeable {
 		return this;
 	}
 
+	/**
+	 * Acquires lock only if it is free at the time of invocation.
+	 *
+	 * @return this lock if acquired, otherwise null
+	 */
+	public LimitLock tryAcquire() {
+		if (lock.tryLock()) {
+			assert addCurrentThread();
+			return this;
+		}
+		return null;
+	}
+
 	@Override
 	public void close() {
 		lock.unlock();
@@ -18,25 +18,36 @@
  */
 package org.ioc.context.model.cache.expiring.model;
 
+import org.ioc.context.model.cache.expiring.policy.AccessQueue;
+
 /**
+ * Entry of expiring cache, linked into queue of eviction policy and into timer wheel.
+ * <p>
+ * Layout is kept compact, as there is one element per cached value: time of last access is not stored
+ * (expiration deadline is recalculated from time of read), weight is int and state is stored as byte.
+ *
  * @author GenCloud
  * @date 10/2018
  */
 public class Element<K, V> {
+	private static final State[] STATES = State.values();
+
 	private final K key;
 	private final V value;
 	private long writeTime;
-	private volatile long accessTime;
+	private volatile long variableTime;
 	private Element<K, V> before;
 	private Element<K, V> after;
-	private State state = State.NEW;
+	private Element<K, V> previousInTimer;
+	private Element<K, V> nextInTimer;
+	private AccessQueue<K, V> queue;
+	private int weight;
+	private byte state;
 
 	public Element(K key, V value, long writeTime) {
 		this.key = key;
 		this.value = value;
-
-		setAccessTime(writeTime);
-		setWriteTime(writeTime);
+		this.writeTime = writeTime;
 	}
 
 	public K getKey() {
@@ -55,12 +66,12 @@ public class Element<K, V> {
 		this.writeTime = writeTime;
 	}
 
-	public long getAccessTime() {
-		return accessTime;
+	public long getVariableTime() {
+		return variableTime;
 	}
 
-	public void setAccessTime(long accessTime) {
-		this.accessTime = accessTime;
+	public void setVariableTime(long variableTime) {
+		this.variableTime = variableTime;
 	}
 
 	public Element<K, V> getBefore() {
@@ -79,12 +90,53 @@ public class Element<K, V> {
 		this.after = after;
 	}
 
+	public Element<K, V> getPreviousInTimer() {
+		return previousInTimer;
+	}
+
+	public void setPreviousInTimer(Element<K, V> previousInTimer) {
+		this.previousInTimer = previousInTimer;
+	}
+
+	public Element<K, V> getNextInTimer() {
+		return nextInTimer;
+	}
+
+	public void setNextInTimer(Element<K, V> nextInTimer) {
+		this.nextInTimer = nextInTimer;
+	}
+
+	public AccessQueue<K, V> getQueue() {
+		return queue;
+	}
+
+	public void setQueue(AccessQueue<K, V> queue) {
+		this.queue = queue;
+	}
+
+	public long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * @param weight weight of element, values above {@link Integer#MAX_VALUE} are saturated
+	 */
+	public void setWeight(long weight) {
+		this.weight = (int) Math.min(Integer.MAX_VALUE, Math.max(0, weight));
+	}
+
+	/**
+	 * Frees resources held by value once element is removed from cache.
+	 */
+	public void release() {
+	}
+
 	public State getState() {
-		return state;
+		return STATES[state];
 	}
 
 	public void setState(State state) {
-		this.state = state;
+		this.state = (byte) state.ordinal();
 	}
 
 	public enum State {
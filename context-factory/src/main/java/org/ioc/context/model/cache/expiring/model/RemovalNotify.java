@@ -24,5 +24,5 @@ public class RemovalNotify<K, V> {
 		return removalReason;
 	}
 
-	public enum RemovalReason {REPLACED, INVALIDATED, EVICTED}
+	public enum RemovalReason {REPLACED, INVALIDATED, EVICTED, EXPIRED}
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.offheap;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Element keeping only address of its serialized value in {@link SlabArena}.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class OffHeapElement<K, V> extends Element<K, V> {
+	private final OffHeapStore<V> store;
+	private final long address;
+	private final int length;
+	private final AtomicBoolean released = new AtomicBoolean();
+
+	OffHeapElement(K key, OffHeapStore<V> store, long address, int length, long writeTime) {
+		super(key, null, writeTime);
+		this.store = store;
+		this.address = address;
+		this.length = length;
+	}
+
+	/**
+	 * Decodes value from arena.
+	 *
+	 * @return value, null if element was released and its chunk may be reused, or arena was closed
+	 */
+	@Override
+	public V getValue() {
+		if (released.get()) {
+			return null;
+		}
+
+		final SlabArena arena = store.getArena();
+		final StampedLock lock = arena.lockOf(address);
+		if (lock == null) {
+			return null;
+		}
+
+		final byte[] bytes = new byte[length];
+		long stamp = lock.tryOptimisticRead();
+		if (released.get() || !arena.copy(address, bytes)) {
+			return null;
+		}
+
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				if (released.get() || !arena.copy(address, bytes)) {
+					return null;
+				}
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return store.getCodec().decode(bytes);
+	}
+
+	/**
+	 * Frees chunk of element once, however many threads release it.
+	 */
+	@Override
+	public void release() {
+		if (released.compareAndSet(false, true)) {
+			store.getArena().free(address);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.offheap;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Off-heap tier of expiring cache: values are serialized by {@link ValueCodec} into {@link SlabArena},
+ * heap keeps elements with address of value only. Weight of element is count of bytes it reserves,
+ * values not fitting into arena stay on heap weighted by their serialized size.
+ *
+ * @param <V> the type of the values
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class OffHeapStore<V> implements Closeable {
+	private final SlabArena arena;
+	private final ValueCodec<V> codec;
+	private final LongAdder onHeap = new LongAdder();
+
+	public OffHeapStore(SlabArena arena, ValueCodec<V> codec) {
+		this.arena = arena;
+		this.codec = codec;
+	}
+
+	public <K> Element<K, V> newElement(K key, V value, long writeTime) {
+		final byte[] bytes = codec.encode(value);
+		final long address = arena.allocate(bytes);
+		if (address < 0) {
+			onHeap.increment();
+			final Element<K, V> element = new Element<>(key, value, writeTime);
+			element.setWeight(bytes.length);
+			return element;
+		}
+
+		final Element<K, V> element = new OffHeapElement<>(key, this, address, bytes.length, writeTime);
+		element.setWeight(arena.chunkSize(address));
+		return element;
+	}
+
+	public SlabArena getArena() {
+		return arena;
+	}
+
+	public ValueCodec<V> getCodec() {
+		return codec;
+	}
+
+	/**
+	 * @return count of values kept on heap, because they were larger than slab or arena was exhausted
+	 */
+	public long getOnHeapCount() {
+		return onHeap.sum();
+	}
+
+	@Override
+	public void close() throws IOException {
+		arena.close();
+	}
+}
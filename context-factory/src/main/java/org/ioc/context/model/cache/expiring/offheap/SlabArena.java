@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.offheap;
+
+import org.ioc.utils.Assertion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Memory outside of heap, direct buffers or memory-mapped file, divided into slabs of equal size.
+ * Every slab is split into chunks of single size class, so freed chunk is reused by next value
+ * of similar size without compaction.
+ * <p>
+ * Chunk is addressed by long: index of slab in high bits, index of chunk in slab in low ones.
+ * Allocations and releases are serialized on arena, readers copy chunks without locking and validate
+ * copy against {@link StampedLock} of slab, whose version is advanced by every release in it.
+ * Once arena is closed, readers find no chunks and further allocations fail.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class SlabArena implements Closeable {
+	private static final int MIN_CHUNK_SIZE = 64;
+	private static final double GROWTH_FACTOR = 1.25;
+
+	private final long capacity;
+	private final int slabSize;
+	private final int[] chunkSizes;
+	private final Slab[] slabs;
+	private final ArrayDeque<Slab>[] partial;
+	private final Path file;
+	private final FileChannel channel;
+	private int slabCount;
+	private volatile long allocated;
+	private volatile boolean closed;
+
+	/**
+	 * Creates arena allocating slabs as direct buffers.
+	 *
+	 * @param capacity maximum count of bytes in all slabs
+	 * @param slabSize count of bytes in one slab, limits size of single value
+	 */
+	public SlabArena(long capacity, int slabSize) {
+		this(null, capacity, slabSize);
+	}
+
+	/**
+	 * Creates arena mapping slabs from given file, file is deleted on {@link #close()}.
+	 *
+	 * @param file     backing file, null - direct buffers
+	 * @param capacity maximum count of bytes in all slabs
+	 * @param slabSize count of bytes in one slab, limits size of single value
+	 */
+	@SuppressWarnings("unchecked")
+	public SlabArena(Path file, long capacity, int slabSize) {
+		Assertion.checkArgument(slabSize >= MIN_CHUNK_SIZE, "slabSize < " + MIN_CHUNK_SIZE);
+		Assertion.checkArgument(capacity >= slabSize, "capacity < slabSize");
+		Assertion.checkArgument(capacity / slabSize <= Integer.MAX_VALUE, "capacity / slabSize > Integer.MAX_VALUE");
+
+		this.capacity = capacity;
+		this.slabSize = slabSize;
+		chunkSizes = sizeClasses(slabSize);
+		slabs = new Slab[(int) (capacity / slabSize)];
+		partial = (ArrayDeque<Slab>[]) new ArrayDeque<?>[chunkSizes.length];
+		Arrays.setAll(partial, i -> new ArrayDeque<>());
+
+		this.file = file;
+		try {
+			channel = file != null ? FileChannel.open(file, CREATE, READ, WRITE) : null;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not open file of off-heap arena " + file, e);
+		}
+	}
+
+	private static int[] sizeClasses(int slabSize) {
+		final List<Integer> sizes = new ArrayList<>();
+		long size = MIN_CHUNK_SIZE;
+		while (size < slabSize) {
+			sizes.add((int) size);
+			size = Math.max(size + 8, (long) (size * GROWTH_FACTOR) + 7 & ~7);
+		}
+		sizes.add(slabSize);
+		return sizes.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Copies bytes to free chunk of smallest fitting size class.
+	 *
+	 * @param bytes content of chunk
+	 * @return address of chunk, -1 if bytes do not fit into slab, arena is exhausted or closed
+	 */
+	public long allocate(byte[] bytes) {
+		int sizeClass = Arrays.binarySearch(chunkSizes, bytes.length);
+		if (sizeClass < 0) {
+			sizeClass = -sizeClass - 1;
+			if (sizeClass == chunkSizes.length) {
+				return -1;
+			}
+		}
+
+		synchronized (this) {
+			if (closed) {
+				return -1;
+			}
+
+			Slab slab = partial[sizeClass].peekFirst();
+			if (slab == null) {
+				if (slabCount == slabs.length) {
+					return -1;
+				}
+
+				slab = newSlab(sizeClass);
+				partial[sizeClass].addFirst(slab);
+			}
+
+			final int chunk = slab.take();
+			if (!slab.hasFree()) {
+				partial[sizeClass].pollFirst();
+			}
+			allocated += slab.chunkSize;
+
+			final ByteBuffer buffer = slab.buffer.duplicate();
+			buffer.position(chunk * slab.chunkSize);
+			buffer.put(bytes);
+			return (long) slab.index << 32 | chunk;
+		}
+	}
+
+	/**
+	 * Returns chunk to its slab. Optimistic reads of slab running meanwhile fail their validation,
+	 * so owner of chunk must mark it released before. Chunks of closed arena are ignored.
+	 *
+	 * @param address address of chunk
+	 */
+	public void free(long address) {
+		final Slab slab = slabOf(address);
+		if (slab == null) {
+			return;
+		}
+		slab.lock.unlockWrite(slab.lock.writeLock());
+
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+
+			if (!slab.hasFree()) {
+				partial[slab.sizeClass].addLast(slab);
+			}
+			slab.release((int) address);
+			allocated -= slab.chunkSize;
+		}
+	}
+
+	/**
+	 * @param address address of chunk
+	 * @return lock validating reads of chunk, null if arena is closed
+	 */
+	public StampedLock lockOf(long address) {
+		final Slab slab = slabOf(address);
+		return slab != null ? slab.lock : null;
+	}
+
+	/**
+	 * Copies content of chunk without locking, result must be validated by {@link #lockOf(long)}.
+	 *
+	 * @param address address of chunk
+	 * @param target  array receiving first target.length bytes of chunk
+	 * @return false if arena is closed and target was not filled
+	 */
+	public boolean copy(long address, byte[] target) {
+		final Slab slab = slabOf(address);
+		if (slab == null) {
+			return false;
+		}
+
+		final ByteBuffer buffer = slab.buffer.duplicate();
+		buffer.position((int) address * slab.chunkSize);
+		buffer.get(target);
+		return true;
+	}
+
+	/**
+	 * @param address address of chunk
+	 * @return count of bytes reserved by chunk, 0 if arena is closed
+	 */
+	public int chunkSize(long address) {
+		final Slab slab = slabOf(address);
+		return slab != null ? slab.chunkSize : 0;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	public long getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return count of bytes reserved by allocated chunks
+	 */
+	public long getAllocated() {
+		return allocated;
+	}
+
+	/**
+	 * Slabs are dropped on close, reader holding address of chunk then finds no slab.
+	 */
+	private Slab slabOf(long address) {
+		return closed ? null : slabs[(int) (address >>> 32)];
+	}
+
+	private Slab newSlab(int sizeClass) {
+		final ByteBuffer buffer;
+		try {
+			buffer = channel != null
+					? channel.map(FileChannel.MapMode.READ_WRITE, (long) slabCount * slabSize, slabSize)
+					: ByteBuffer.allocateDirect(slabSize);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not map slab of off-heap arena " + file, e);
+		}
+
+		final Slab slab = new Slab(slabCount, sizeClass, chunkSizes[sizeClass], buffer);
+		slabs[slabCount++] = slab;
+		return slab;
+	}
+
+	/**
+	 * Drops all slabs, memory is returned to system once buffers are collected. Copies running meanwhile
+	 * still read buffers of their slabs, so they never fail.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		closed = true;
+		Arrays.fill(slabs, null);
+		Arrays.stream(partial).forEach(ArrayDeque::clear);
+		slabCount = 0;
+		allocated = 0;
+		if (channel != null) {
+			channel.close();
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static final class Slab {
+		private final int index;
+		private final int sizeClass;
+		private final int chunkSize;
+		private final int chunkCount;
+		private final ByteBuffer buffer;
+		private final StampedLock lock = new StampedLock();
+		private int[] free = new int[16];
+		private int freeCount;
+		private int used;
+
+		Slab(int index, int sizeClass, int chunkSize, ByteBuffer buffer) {
+			this.index = index;
+			this.sizeClass = sizeClass;
+			this.chunkSize = chunkSize;
+			this.buffer = buffer;
+			chunkCount = buffer.capacity() / chunkSize;
+		}
+
+		boolean hasFree() {
+			return freeCount > 0 || used < chunkCount;
+		}
+
+		int take() {
+			return freeCount > 0 ? free[--freeCount] : used++;
+		}
+
+		void release(int chunk) {
+			if (freeCount == free.length) {
+				free = Arrays.copyOf(free, free.length * 2);
+			}
+			free[freeCount++] = chunk;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.policy;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+
+/**
+ * Intrusive access ordered queue of cache elements: head is the most recently used element, tail is
+ * the least recently used one. Not thread safe, guarded by eviction lock of cache.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class AccessQueue<K, V> {
+	private Element<K, V> head, tail;
+	private long weight;
+	private int size;
+
+	public Element<K, V> head() {
+		return head;
+	}
+
+	public Element<K, V> tail() {
+		return tail;
+	}
+
+	public long getWeight() {
+		return weight;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void linkAtHead(Element<K, V> element) {
+		final Element<K, V> h = head;
+		element.setQueue(this);
+		element.setBefore(null);
+		element.setAfter(h);
+		head = element;
+		if (h == null) {
+			tail = element;
+		} else {
+			h.setBefore(element);
+		}
+
+		weight += element.getWeight();
+		size++;
+	}
+
+	public void unlink(Element<K, V> element) {
+		final Element<K, V> before = element.getBefore();
+		final Element<K, V> after = element.getAfter();
+
+		if (before == null) {
+			head = after;
+		} else {
+			before.setAfter(after);
+			element.setBefore(null);
+		}
+
+		if (after == null) {
+			tail = before;
+		} else {
+			after.setBefore(before);
+			element.setAfter(null);
+		}
+
+		element.setQueue(null);
+		weight -= element.getWeight();
+		size--;
+	}
+
+	public void moveToHead(Element<K, V> element) {
+		if (head != element) {
+			unlink(element);
+			linkAtHead(element);
+		}
+	}
+
+	public void clear() {
+		head = tail = null;
+		weight = 0;
+		size = 0;
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.policy;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+
+import java.util.List;
+
+/**
+ * Eviction policy of expiring cache. Policy orders elements and selects victims, cache keeps
+ * element states, weights and notifications. All functions are called under eviction lock.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public interface EvictionPolicy<K, V> {
+	/**
+	 * @param element new element of cache
+	 */
+	void onAdd(Element<K, V> element);
+
+	/**
+	 * @param element existing element read or replaced in cache
+	 */
+	void onAccess(Element<K, V> element);
+
+	/**
+	 * @param element element removed from cache
+	 */
+	void onRemove(Element<K, V> element);
+
+	/**
+	 * @return element to evict when cache exceeds maximum weight, null if cache is empty
+	 */
+	Element<K, V> victim();
+
+	/**
+	 * @return queues of policy, every queue is ordered by access
+	 */
+	List<AccessQueue<K, V>> queues();
+
+	void clear();
+}
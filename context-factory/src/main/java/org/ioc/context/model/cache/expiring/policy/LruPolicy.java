@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.policy;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Least recently used eviction policy.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class LruPolicy<K, V> implements EvictionPolicy<K, V> {
+	private final AccessQueue<K, V> queue = new AccessQueue<>();
+	private final List<AccessQueue<K, V>> queues = Collections.singletonList(queue);
+
+	@Override
+	public void onAdd(Element<K, V> element) {
+		queue.linkAtHead(element);
+	}
+
+	@Override
+	public void onAccess(Element<K, V> element) {
+		queue.moveToHead(element);
+	}
+
+	@Override
+	public void onRemove(Element<K, V> element) {
+		queue.unlink(element);
+	}
+
+	@Override
+	public Element<K, V> victim() {
+		return queue.tail();
+	}
+
+	@Override
+	public List<AccessQueue<K, V>> queues() {
+		return queues;
+	}
+
+	@Override
+	public void clear() {
+		queue.clear();
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.policy;
+
+/**
+ * Selectable eviction policy of expiring cache.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public enum PolicyType {
+	/**
+	 * Least recently used element is evicted.
+	 */
+	LRU,
+	/**
+	 * Window TinyLFU: new elements are admitted to main space by frequency estimated with count-min sketch.
+	 */
+	TINY_LFU;
+
+	/**
+	 * Function of creating policy for cache.
+	 *
+	 * @param maximumWeight maximum weight of cache, -1 if cache is unbounded
+	 * @return eviction policy, unbounded cache always uses {@link #LRU} ordering
+	 */
+	public <K, V> EvictionPolicy<K, V> create(long maximumWeight) {
+		if (this == TINY_LFU && maximumWeight > 0) {
+			return new TinyLfuPolicy<>(maximumWeight);
+		}
+		return new LruPolicy<>();
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.policy;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Window TinyLFU eviction policy. New elements enter a small LRU window (1% of maximum weight), elements
+ * leaving the window become candidates of segmented main space (probation and protected, 80% of main space).
+ * When cache is full, candidate is admitted only if its estimated frequency is higher than frequency of
+ * victim of probation space.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class TinyLfuPolicy<K, V> implements EvictionPolicy<K, V> {
+	private final AccessQueue<K, V> window = new AccessQueue<>();
+	private final AccessQueue<K, V> probation = new AccessQueue<>();
+	private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+	private final List<AccessQueue<K, V>> queues = Collections.unmodifiableList(Arrays.asList(window, probation, protectedQueue));
+
+	private final FrequencySketch sketch = new FrequencySketch();
+
+	private final long windowMaximum;
+	private final long protectedMaximum;
+
+	public TinyLfuPolicy(long maximumWeight) {
+		windowMaximum = Math.max(1, maximumWeight / 100);
+		protectedMaximum = (maximumWeight - windowMaximum) * 80 / 100;
+		sketch.ensureCapacity(maximumWeight);
+	}
+
+	@Override
+	public void onAdd(Element<K, V> element) {
+		sketch.increment(element.getKey());
+		window.linkAtHead(element);
+
+		while (window.getWeight() > windowMaximum && window.tail() != element) {
+			final Element<K, V> candidate = window.tail();
+			window.unlink(candidate);
+			probation.linkAtHead(candidate);
+		}
+	}
+
+	@Override
+	public void onAccess(Element<K, V> element) {
+		sketch.increment(element.getKey());
+
+		final AccessQueue<K, V> queue = element.getQueue();
+		if (queue == probation) {
+			probation.unlink(element);
+			protectedQueue.linkAtHead(element);
+
+			while (protectedQueue.getWeight() > protectedMaximum && protectedQueue.tail() != element) {
+				final Element<K, V> demoted = protectedQueue.tail();
+				protectedQueue.unlink(demoted);
+				probation.linkAtHead(demoted);
+			}
+		} else if (queue != null) {
+			queue.moveToHead(element);
+		}
+	}
+
+	@Override
+	public void onRemove(Element<K, V> element) {
+		element.getQueue().unlink(element);
+	}
+
+	@Override
+	public Element<K, V> victim() {
+		final Element<K, V> victim = probation.tail();
+		if (victim == null) {
+			return protectedQueue.tail() != null ? protectedQueue.tail() : window.tail();
+		}
+
+		final Element<K, V> candidate = probation.head();
+		if (candidate == victim) {
+			return victim;
+		}
+
+		return sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey()) ? victim : candidate;
+	}
+
+	@Override
+	public List<AccessQueue<K, V>> queues() {
+		return queues;
+	}
+
+	@Override
+	public void clear() {
+		queues.forEach(AccessQueue::clear);
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * This file is derived from TimerWheel of Caffeine (https://github.com/ben-manes/caffeine),
+ * Copyright 2017 Ben Manes. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at licenses/APACHE-LICENSE-2.0.txt
+ * or http://www.apache.org/licenses/LICENSE-2.0. Distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See NOTICE for modifications.
+ */
+package org.ioc.context.model.cache.expiring.timer;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A hierarchical timer wheel to add, remove, and fire expiration events in amortized O(1) time.
+ * <p>
+ * Each wheel is an array of buckets with power-of-two span, bucket is a circular doubly-linked list of
+ * elements headed by sentinel. Elements are placed into the bucket of the coarsest wheel which still
+ * covers their expiration time, when the clock advances past a bucket its elements are either expired
+ * or cascaded into finer wheels. Expiration times are read at firing time, so elements whose lifetime
+ * was prolonged meanwhile are only rescheduled. Not thread-safe, guarded by eviction lock of cache.
+ * <p>
+ * Derived from {@code com.github.benmanes.caffeine.cache.TimerWheel}, see NOTICE.
+ *
+ * @author ben.manes@gmail.com (Ben Manes)
+ * @author GenCloud
+ * @date 11/2018
+ */
+@SuppressWarnings("unchecked")
+public class TimerWheel<K, V> {
+	private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+	private static final long[] SPANS = {
+			ceilingPowerOfTwo(TimeUnit.SECONDS.toNanos(1)), // 1.07s
+			ceilingPowerOfTwo(TimeUnit.MINUTES.toNanos(1)), // 1.14m
+			ceilingPowerOfTwo(TimeUnit.HOURS.toNanos(1)),   // 1.22h
+			ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),    // 1.63d
+			BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)), // 6.5d
+			BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)), // 6.5d
+	};
+	private static final long[] SHIFT = {
+			Long.numberOfTrailingZeros(SPANS[0]),
+			Long.numberOfTrailingZeros(SPANS[1]),
+			Long.numberOfTrailingZeros(SPANS[2]),
+			Long.numberOfTrailingZeros(SPANS[3]),
+			Long.numberOfTrailingZeros(SPANS[4]),
+	};
+
+	private final Element<K, V>[][] wheel;
+	private final Predicate<Element<K, V>> expirer;
+	private long nanos;
+
+	/**
+	 * @param expirer function removing expired element from cache, returns false if element must stay scheduled
+	 * @param nanos   current time, in nanoseconds
+	 */
+	public TimerWheel(Predicate<Element<K, V>> expirer, long nanos) {
+		this.expirer = expirer;
+		this.nanos = nanos;
+
+		wheel = (Element<K, V>[][]) new Element<?, ?>[BUCKETS.length][];
+		for (int i = 0; i < wheel.length; i++) {
+			wheel[i] = (Element<K, V>[]) new Element<?, ?>[BUCKETS[i]];
+			for (int j = 0; j < wheel[i].length; j++) {
+				final Element<K, V> sentinel = new Element<>(null, null, 0);
+				sentinel.setPreviousInTimer(sentinel);
+				sentinel.setNextInTimer(sentinel);
+				wheel[i][j] = sentinel;
+			}
+		}
+	}
+
+	private static long ceilingPowerOfTwo(long x) {
+		return 1L << -Long.numberOfLeadingZeros(x - 1);
+	}
+
+	/**
+	 * Advances the timer and fires expiration of elements whose buckets were passed.
+	 *
+	 * @param currentTimeNanos current time, in nanoseconds
+	 */
+	public void advance(long currentTimeNanos) {
+		long previousTimeNanos = nanos;
+		nanos = currentTimeNanos;
+
+		// if clock wraps, shift both values for a positive comparison
+		if (previousTimeNanos < 0 && currentTimeNanos > 0) {
+			previousTimeNanos += Long.MAX_VALUE;
+			currentTimeNanos += Long.MAX_VALUE;
+		}
+
+		try {
+			for (int i = 0; i < SHIFT.length; i++) {
+				final long previousTicks = previousTimeNanos >>> SHIFT[i];
+				final long currentTicks = currentTimeNanos >>> SHIFT[i];
+				final long delta = currentTicks - previousTicks;
+				if (delta <= 0L) {
+					break;
+				}
+				expire(i, previousTicks, delta);
+			}
+		} catch (RuntimeException | Error e) {
+			nanos = previousTimeNanos;
+			throw e;
+		}
+	}
+
+	private void expire(int index, long previousTicks, long delta) {
+		final Element<K, V>[] buckets = wheel[index];
+		final int mask = buckets.length - 1;
+		final int steps = Math.min(1 + (int) Math.abs(delta), buckets.length);
+		final int start = (int) (previousTicks & mask);
+		final int end = start + steps;
+
+		for (int i = start; i < end; i++) {
+			final Element<K, V> sentinel = buckets[i & mask];
+			final Element<K, V> prev = sentinel.getPreviousInTimer();
+			Element<K, V> element = sentinel.getNextInTimer();
+			sentinel.setPreviousInTimer(sentinel);
+			sentinel.setNextInTimer(sentinel);
+
+			while (element != sentinel) {
+				final Element<K, V> next = element.getNextInTimer();
+				element.setPreviousInTimer(null);
+				element.setNextInTimer(null);
+
+				try {
+					if (element.getVariableTime() - nanos > 0 || !expirer.test(element)) {
+						schedule(element);
+					}
+					element = next;
+				} catch (RuntimeException | Error e) {
+					// restore rest of bucket to not lose its elements
+					element.setPreviousInTimer(sentinel.getPreviousInTimer());
+					element.setNextInTimer(next);
+					sentinel.getPreviousInTimer().setNextInTimer(element);
+					sentinel.setPreviousInTimer(prev);
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Schedules element to expire at its variable time.
+	 *
+	 * @param element element of cache
+	 */
+	public void schedule(Element<K, V> element) {
+		final Element<K, V> sentinel = findBucket(element.getVariableTime());
+		link(sentinel, element);
+	}
+
+	/**
+	 * Moves scheduled element into bucket of its current variable time.
+	 *
+	 * @param element element of cache
+	 */
+	public void reschedule(Element<K, V> element) {
+		if (element.getNextInTimer() != null) {
+			unlink(element);
+			schedule(element);
+		}
+	}
+
+	/**
+	 * Removes element from wheel, if it is scheduled.
+	 *
+	 * @param element element of cache
+	 */
+	public void deschedule(Element<K, V> element) {
+		unlink(element);
+		element.setNextInTimer(null);
+		element.setPreviousInTimer(null);
+	}
+
+	/**
+	 * Removes all elements from wheel.
+	 */
+	public void clear() {
+		for (Element<K, V>[] buckets : wheel) {
+			for (Element<K, V> sentinel : buckets) {
+				Element<K, V> element = sentinel.getNextInTimer();
+				while (element != sentinel) {
+					final Element<K, V> next = element.getNextInTimer();
+					element.setPreviousInTimer(null);
+					element.setNextInTimer(null);
+					element = next;
+				}
+				sentinel.setPreviousInTimer(sentinel);
+				sentinel.setNextInTimer(sentinel);
+			}
+		}
+	}
+
+	private Element<K, V> findBucket(long time) {
+		final long duration = time - nanos;
+		final int length = wheel.length - 1;
+		for (int i = 0; i < length; i++) {
+			if (duration < SPANS[i + 1]) {
+				final long ticks = time >>> SHIFT[i];
+				final int index = (int) (ticks & (wheel[i].length - 1));
+				return wheel[i][index];
+			}
+		}
+		return wheel[length][0];
+	}
+
+	private void link(Element<K, V> sentinel, Element<K, V> element) {
+		element.setPreviousInTimer(sentinel.getPreviousInTimer());
+		element.setNextInTimer(sentinel);
+
+		sentinel.getPreviousInTimer().setNextInTimer(element);
+		sentinel.setPreviousInTimer(element);
+	}
+
+	private void unlink(Element<K, V> element) {
+		final Element<K, V> next = element.getNextInTimer();
+		if (next != null) {
+			final Element<K, V> prev = element.getPreviousInTimer();
+			next.setPreviousInTimer(prev);
+			prev.setNextInTimer(next);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.invocation;
+
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import org.ioc.context.model.cache.ICache;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cache of results of single interface method. Absent results are loaded through
+ * {@link ICache#computeIfAbsent}, so concurrent misses of same key invoke target once.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class CacheRegion implements MethodInterceptor {
+	/**
+	 * Cached representation of null result
+	 */
+	private static final Object NULL = new Object();
+
+	/**
+	 * Failure of load returning null result which is not cached. Load fails, so nothing is stored in cache,
+	 * and only callers waiting for the same load receive it.
+	 */
+	private static final NullResult NULL_RESULT = new NullResult();
+
+	private final Object target;
+	private final ICache<Object, Object> cache;
+	private final boolean cacheNulls;
+
+	/**
+	 * @param target     decorated instance
+	 * @param cache      cache storing results of method
+	 * @param cacheNulls true if null results are cached
+	 */
+	public CacheRegion(Object target, ICache<Object, Object> cache, boolean cacheNulls) {
+		this.target = target;
+		this.cache = cache;
+		this.cacheNulls = cacheNulls;
+	}
+
+	public ICache<Object, Object> getCache() {
+		return cache;
+	}
+
+	@Override
+	public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+		final Object key = InvocationKey.of(args);
+		final Object value;
+		try {
+			value = cache.computeIfAbsent(key, k -> {
+				try {
+					final Object result = methodProxy.invoke(target, args);
+					if (result != null) {
+						return result;
+					}
+
+					if (cacheNulls) {
+						return NULL;
+					}
+					throw NULL_RESULT;
+				} catch (Exception | Error e) {
+					throw e;
+				} catch (Throwable t) {
+					throw new UndeclaredThrowableException(t);
+				}
+			});
+		} catch (ExecutionException e) {
+			if (e.getCause() == NULL_RESULT) {
+				return null;
+			}
+			throw e.getCause() != null ? e.getCause() : e;
+		}
+
+		return value == NULL ? null : value;
+	}
+
+	private static final class NullResult extends RuntimeException {
+		private NullResult() {
+			super("Null result is not cached", null, false, false);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "CacheRegion{" +
+				"cache=" + cache +
+				", cacheNulls=" + cacheNulls +
+				'}';
+	}
+}
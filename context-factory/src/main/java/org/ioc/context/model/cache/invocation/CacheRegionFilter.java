@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.invocation;
+
+import net.sf.cglib.proxy.CallbackFilter;
+import org.ioc.annotations.cache.CacheIgnore;
+import org.ioc.annotations.cache.Cacheables;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns every cached method of {@link Cacheables} interface its own callback, so proxy
+ * calls region of method directly. Ignored, void and {@link Object} methods are dispatched
+ * to decorated instance.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class CacheRegionFilter implements CallbackFilter {
+	public static final int DISPATCH = 0;
+
+	private static final Map<Class<?>, CacheRegionFilter> FILTERS = new ConcurrentHashMap<>();
+
+	private final Class<?> type;
+	private final Map<Method, Integer> indexes = new HashMap<>();
+	private final List<Method> methods = new ArrayList<>();
+
+	private CacheRegionFilter(Class<?> type) {
+		this.type = type;
+		for (Method method : type.getMethods()) {
+			if (method.getReturnType() != void.class && !method.isAnnotationPresent(CacheIgnore.class)) {
+				indexes.put(method, methods.size() + 1);
+				methods.add(method);
+			}
+		}
+	}
+
+	/**
+	 * Return filter of interface, created on first request.
+	 *
+	 * @param type {@link Cacheables} interface
+	 * @return filter
+	 */
+	public static CacheRegionFilter of(Class<?> type) {
+		return FILTERS.computeIfAbsent(type, CacheRegionFilter::new);
+	}
+
+	/**
+	 * @return cached methods, method at index i is served by callback i + 1
+	 */
+	public List<Method> getMethods() {
+		return Collections.unmodifiableList(methods);
+	}
+
+	/**
+	 * @param method cached method
+	 * @return settings of method region, declared on method or on its interface
+	 */
+	public Cacheables getSettings(Method method) {
+		final Cacheables settings = method.getAnnotation(Cacheables.class);
+		return settings != null ? settings : type.getAnnotation(Cacheables.class);
+	}
+
+	/**
+	 * @param method cached method
+	 * @return name of method region, made unique by {@link CacheRegionNames} of factory
+	 */
+	public String getRegionName(Method method) {
+		return type.getSimpleName() + "." + method.getName() + Arrays.stream(method.getParameterTypes())
+				.map(Class::getSimpleName)
+				.collect(Collectors.joining(",", "(", ")"));
+	}
+
+	@Override
+	public int accept(Method method) {
+		return indexes.getOrDefault(method, DISPATCH);
+	}
+}
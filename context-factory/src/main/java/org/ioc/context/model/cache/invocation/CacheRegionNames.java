@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.invocation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Names of regions created by one cache factory, keeps them unique if same interface is decorated several times.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class CacheRegionNames {
+	private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * @param name name of region, see {@link CacheRegionFilter#getRegionName(java.lang.reflect.Method)}
+	 * @return name itself on first request, otherwise name suffixed with count of previous requests
+	 */
+	public String next(String name) {
+		final int index = counters.computeIfAbsent(name, k -> new AtomicInteger()).getAndIncrement();
+		return index == 0 ? name : name + "#" + index;
+	}
+
+	public void clear() {
+		counters.clear();
+	}
+}
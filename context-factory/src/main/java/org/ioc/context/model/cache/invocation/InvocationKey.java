@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.invocation;
+
+import java.util.Arrays;
+
+/**
+ * Key of cached method invocation. Every method has own cache region, so key consists of
+ * arguments only and is specialized by their count: methods without arguments share single
+ * constant key, single non-array argument is used as key itself and only invocations with
+ * several arguments allocate key holding them with precomputed hash.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class InvocationKey {
+	private static final Object EMPTY = new InvocationKey(new Object[0]);
+	private static final Object NULL = new InvocationKey(new Object[]{null});
+
+	private final Object[] args;
+	private final int hash;
+
+	private InvocationKey(Object[] args) {
+		this.args = args;
+		this.hash = Arrays.deepHashCode(args);
+	}
+
+	/**
+	 * @param args arguments of invocation
+	 * @return key of invocation
+	 */
+	public static Object of(Object[] args) {
+		if (args == null || args.length == 0) {
+			return EMPTY;
+		}
+
+		if (args.length == 1) {
+			final Object arg = args[0];
+			if (arg == null) {
+				return NULL;
+			}
+
+			if (!arg.getClass().isArray()) {
+				return arg;
+			}
+		}
+
+		return new InvocationKey(args);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof InvocationKey)) {
+			return false;
+		}
+		final InvocationKey that = (InvocationKey) o;
+		return hash == that.hash && Arrays.deepEquals(args, that.args);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.deepToString(args);
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.stats;
+
+import org.ioc.context.model.cache.expiring.model.RemovalNotify.RemovalReason;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of cache statistics.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class CacheStats {
+	/**
+	 * Count of load time histogram buckets, bucket i counts loads taken less than 2^(i+1) microseconds.
+	 */
+	public static final int HISTOGRAM_BUCKETS = 32;
+
+	private final long hitCount;
+	private final long missCount;
+	private final long loadSuccessCount;
+	private final long loadFailureCount;
+	private final long totalLoadTime;
+	private final long[] loadTimeHistogram;
+	private final Map<RemovalReason, Long> removalCounts;
+	private final long removedWeight;
+	private final long size;
+	private final long weightedSize;
+	private final Map<Object, Long> hotKeys;
+
+	public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+					  long totalLoadTime, long[] loadTimeHistogram, Map<RemovalReason, Long> removalCounts,
+					  long removedWeight, long size, long weightedSize, Map<Object, Long> hotKeys) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadSuccessCount = loadSuccessCount;
+		this.loadFailureCount = loadFailureCount;
+		this.totalLoadTime = totalLoadTime;
+		this.loadTimeHistogram = loadTimeHistogram;
+		this.removalCounts = Collections.unmodifiableMap(removalCounts);
+		this.removedWeight = removedWeight;
+		this.size = size;
+		this.weightedSize = weightedSize;
+		this.hotKeys = hotKeys == null ? Collections.emptyMap() : Collections.unmodifiableMap(hotKeys);
+	}
+
+	/**
+	 * @param size         current count of entries in cache
+	 * @param weightedSize current weight of entries in cache
+	 * @return statistics without recorded operations
+	 */
+	public static CacheStats empty(long size, long weightedSize) {
+		return new CacheStats(0, 0, 0, 0, 0, new long[HISTOGRAM_BUCKETS],
+				new EnumMap<>(RemovalReason.class), 0, size, weightedSize, null);
+	}
+
+	static int histogramBucket(long loadTime) {
+		final long micros = Math.max(1, loadTime / 1000);
+		return Math.min(63 - Long.numberOfLeadingZeros(micros), HISTOGRAM_BUCKETS - 1);
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public long getRequestCount() {
+		return hitCount + missCount;
+	}
+
+	/**
+	 * @return ratio of lookups which returned cached value, 1.0 if there were no lookups
+	 */
+	public double getHitRate() {
+		final long requestCount = getRequestCount();
+		return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+	}
+
+	/**
+	 * @return ratio of lookups which did not return cached value, 0.0 if there were no lookups
+	 */
+	public double getMissRate() {
+		final long requestCount = getRequestCount();
+		return requestCount == 0 ? 0.0 : (double) missCount / requestCount;
+	}
+
+	public long getLoadSuccessCount() {
+		return loadSuccessCount;
+	}
+
+	public long getLoadFailureCount() {
+		return loadFailureCount;
+	}
+
+	public long getLoadCount() {
+		return loadSuccessCount + loadFailureCount;
+	}
+
+	/**
+	 * @return total time spent to load values, in nanoseconds
+	 */
+	public long getTotalLoadTime() {
+		return totalLoadTime;
+	}
+
+	/**
+	 * @return average time spent to load value, in nanoseconds
+	 */
+	public double getAverageLoadPenalty() {
+		final long loadCount = getLoadCount();
+		return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+	}
+
+	/**
+	 * @return counts of loads by power-of-two microsecond buckets
+	 * @see #HISTOGRAM_BUCKETS
+	 */
+	public long[] getLoadTimeHistogram() {
+		return loadTimeHistogram.clone();
+	}
+
+	public Map<RemovalReason, Long> getRemovalCounts() {
+		return removalCounts;
+	}
+
+	public long getRemovalCount(RemovalReason removalReason) {
+		return removalCounts.getOrDefault(removalReason, 0L);
+	}
+
+	/**
+	 * @return count of entries removed by cache itself, due to size or expiration
+	 */
+	public long getEvictionCount() {
+		return getRemovalCount(RemovalReason.EVICTED) + getRemovalCount(RemovalReason.EXPIRED);
+	}
+
+	public long getRemovedWeight() {
+		return removedWeight;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public long getWeightedSize() {
+		return weightedSize;
+	}
+
+	/**
+	 * @return most accessed keys with estimated count of accesses, empty if hot keys are not sampled
+	 */
+	public Map<Object, Long> getHotKeys() {
+		return hotKeys;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats{" +
+				"hitCount=" + hitCount +
+				", missCount=" + missCount +
+				", loadSuccessCount=" + loadSuccessCount +
+				", loadFailureCount=" + loadFailureCount +
+				", totalLoadTime=" + totalLoadTime +
+				", removalCounts=" + removalCounts +
+				", size=" + size +
+				", weightedSize=" + weightedSize +
+				'}';
+	}
+}
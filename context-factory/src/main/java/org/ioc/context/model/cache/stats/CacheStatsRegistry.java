@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.stats;
+
+import org.ioc.context.model.cache.ICache;
+
+import java.util.Map;
+
+/**
+ * Registry of named caches whose statistics are exported. Implementation is selected by property
+ * {@code cache.stats.registry}, so statistics can be forwarded to external monitoring.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public interface CacheStatsRegistry {
+	/**
+	 * Adds cache to registry, cache registered with same name is replaced.
+	 *
+	 * @param name  cache name
+	 * @param cache cache
+	 */
+	void register(String name, ICache<?, ?> cache);
+
+	/**
+	 * Removes cache from registry.
+	 *
+	 * @param name cache name
+	 */
+	void unregister(String name);
+
+	/**
+	 * @return statistics of registered caches by their names
+	 */
+	Map<String, CacheStats> snapshot();
+}
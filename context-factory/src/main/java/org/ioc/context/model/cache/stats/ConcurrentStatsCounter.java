@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.stats;
+
+import org.ioc.context.model.cache.expiring.model.RemovalNotify.RemovalReason;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe {@link StatsCounter} based on {@link LongAdder}, so concurrent recording does not contend
+ * on single counter. Load times are distributed into histogram of power-of-two microsecond buckets,
+ * hot keys are optionally tracked by {@link HotKeySampler}.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class ConcurrentStatsCounter implements StatsCounter {
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder loadSuccessCount = new LongAdder();
+	private final LongAdder loadFailureCount = new LongAdder();
+	private final LongAdder totalLoadTime = new LongAdder();
+	private final LongAdder removedWeight = new LongAdder();
+	private final LongAdder[] loadTimeHistogram = new LongAdder[CacheStats.HISTOGRAM_BUCKETS];
+	private final LongAdder[] removalCounts = new LongAdder[RemovalReason.values().length];
+	private final HotKeySampler hotKeySampler;
+
+	public ConcurrentStatsCounter() {
+		this(0);
+	}
+
+	/**
+	 * @param hotKeys count of most accessed keys to report, 0 - hot keys are not sampled
+	 */
+	public ConcurrentStatsCounter(int hotKeys) {
+		Arrays.setAll(loadTimeHistogram, i -> new LongAdder());
+		Arrays.setAll(removalCounts, i -> new LongAdder());
+		hotKeySampler = hotKeys > 0 ? new HotKeySampler(hotKeys) : null;
+	}
+
+	@Override
+	public void recordHit(Object key) {
+		hitCount.increment();
+		if (hotKeySampler != null) {
+			hotKeySampler.record(key);
+		}
+	}
+
+	@Override
+	public void recordMiss(Object key) {
+		missCount.increment();
+		if (hotKeySampler != null) {
+			hotKeySampler.record(key);
+		}
+	}
+
+	@Override
+	public void recordLoadSuccess(long loadTime) {
+		loadSuccessCount.increment();
+		recordLoadTime(loadTime);
+	}
+
+	@Override
+	public void recordLoadFailure(long loadTime) {
+		loadFailureCount.increment();
+		recordLoadTime(loadTime);
+	}
+
+	private void recordLoadTime(long loadTime) {
+		totalLoadTime.add(loadTime);
+		loadTimeHistogram[CacheStats.histogramBucket(loadTime)].increment();
+	}
+
+	@Override
+	public void recordRemoval(RemovalReason removalReason, long weight) {
+		removalCounts[removalReason.ordinal()].increment();
+		removedWeight.add(weight);
+	}
+
+	@Override
+	public CacheStats snapshot(long size, long weightedSize) {
+		final long[] histogram = new long[loadTimeHistogram.length];
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] = loadTimeHistogram[i].sum();
+		}
+
+		final Map<RemovalReason, Long> removals = new EnumMap<>(RemovalReason.class);
+		for (RemovalReason reason : RemovalReason.values()) {
+			removals.put(reason, removalCounts[reason.ordinal()].sum());
+		}
+
+		return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+				totalLoadTime.sum(), histogram, removals, removedWeight.sum(), size, weightedSize,
+				hotKeySampler != null ? hotKeySampler.top() : null);
+	}
+
+	@Override
+	public String toString() {
+		return "ConcurrentStatsCounter{" +
+				"hitCount=" + hitCount +
+				", missCount=" + missCount +
+				'}';
+	}
+}
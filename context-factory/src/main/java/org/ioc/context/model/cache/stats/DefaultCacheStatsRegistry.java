@@ -16,44 +16,35 @@
  * You should have received a copy of the GNU General Public License
  * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
  */
-package org.ioc.utils;
+package org.ioc.context.model.cache.stats;
 
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Objects;
+import org.ioc.context.model.cache.ICache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Simple class used to store method invocations for the proxied cache.
- *
  * @author GenCloud
- * @date 09/2018
+ * @date 11/2018
  */
-public class MethodInvocation {
-	private final Method method;
-	private final Object[] args;
+public class DefaultCacheStatsRegistry implements CacheStatsRegistry {
+	private final Map<String, ICache<?, ?>> caches = new ConcurrentHashMap<>();
 
-	public MethodInvocation(Method method, Object[] args) {
-		this.method = method;
-		this.args = args;
+	@Override
+	public void register(String name, ICache<?, ?> cache) {
+		caches.put(name, cache);
 	}
 
 	@Override
-	public boolean equals(Object o) {
-		if (this == o) {
-			return true;
-		}
-		if (!(o instanceof MethodInvocation)) {
-			return false;
-		}
-		MethodInvocation that = (MethodInvocation) o;
-		return Objects.equals(method, that.method) &&
-				Arrays.equals(args, that.args);
+	public void unregister(String name) {
+		caches.remove(name);
 	}
 
 	@Override
-	public int hashCode() {
-		int result = Objects.hash(method);
-		result = 31 * result + Arrays.hashCode(args);
-		return result;
+	public Map<String, CacheStats> snapshot() {
+		final Map<String, CacheStats> stats = new LinkedHashMap<>();
+		caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+		return stats;
 	}
 }
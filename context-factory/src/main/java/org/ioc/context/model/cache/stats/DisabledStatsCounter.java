@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.stats;
+
+import org.ioc.context.model.cache.expiring.model.RemovalNotify.RemovalReason;
+
+/**
+ * @author GenCloud
+ * @date 11/2018
+ */
+enum DisabledStatsCounter implements StatsCounter {
+	INSTANCE;
+
+	@Override
+	public boolean isEnabled() {
+		return false;
+	}
+
+	@Override
+	public void recordHit(Object key) {
+	}
+
+	@Override
+	public void recordMiss(Object key) {
+	}
+
+	@Override
+	public void recordLoadSuccess(long loadTime) {
+	}
+
+	@Override
+	public void recordLoadFailure(long loadTime) {
+	}
+
+	@Override
+	public void recordRemoval(RemovalReason removalReason, long weight) {
+	}
+
+	@Override
+	public CacheStats snapshot(long size, long weightedSize) {
+		return CacheStats.empty(size, weightedSize);
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.stats;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Approximate top-K of most accessed keys.
+ * <p>
+ * Only every {@link #SAMPLE_RATE}th access is recorded, sampled accesses are counted by Space-Saving
+ * algorithm in table bounded by few times of K: when table is full, key with the smallest count is
+ * replaced and new key inherits its count. Reported counts are estimates scaled by sample rate.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class HotKeySampler {
+	private static final int SAMPLE_RATE = 16;
+	private static final int CAPACITY_FACTOR = 4;
+
+	private final int topK;
+	private final int capacity;
+	private final Map<Object, long[]> counters;
+
+	public HotKeySampler(int topK) {
+		this.topK = topK;
+		capacity = topK * CAPACITY_FACTOR;
+		counters = new HashMap<>(capacity * 2);
+	}
+
+	/**
+	 * Records access to key.
+	 *
+	 * @param key accessed key
+	 */
+	public void record(Object key) {
+		if (key == null || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+			return;
+		}
+
+		synchronized (this) {
+			final long[] counter = counters.get(key);
+			if (counter != null) {
+				counter[0]++;
+				return;
+			}
+
+			if (counters.size() < capacity) {
+				counters.put(key, new long[]{1});
+				return;
+			}
+
+			Object minimumKey = null;
+			long minimum = Long.MAX_VALUE;
+			for (Map.Entry<Object, long[]> entry : counters.entrySet()) {
+				if (entry.getValue()[0] < minimum) {
+					minimum = entry.getValue()[0];
+					minimumKey = entry.getKey();
+				}
+			}
+
+			counters.remove(minimumKey);
+			counters.put(key, new long[]{minimum + 1});
+		}
+	}
+
+	/**
+	 * @return most accessed keys with estimated count of accesses, ordered by count descending
+	 */
+	public synchronized Map<Object, Long> top() {
+		final List<Map.Entry<Object, long[]>> entries = new ArrayList<>(counters.entrySet());
+		entries.sort((o1, o2) -> Long.compare(o2.getValue()[0], o1.getValue()[0]));
+
+		final Map<Object, Long> top = new LinkedHashMap<>();
+		for (int i = 0; i < entries.size() && i < topK; i++) {
+			top.put(entries.get(i).getKey(), entries.get(i).getValue()[0] * SAMPLE_RATE);
+		}
+		return top;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.stats;
+
+import org.ioc.context.model.cache.expiring.model.RemovalNotify.RemovalReason;
+
+/**
+ * Accumulates statistics of cache operations.
+ * <p>
+ * Implementations are invoked on hot paths of cache and must be thread-safe and cheap,
+ * caches without recording of statistics use {@link #disabled()} which does nothing.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public interface StatsCounter {
+	/**
+	 * @return counter which does not record anything
+	 */
+	static StatsCounter disabled() {
+		return DisabledStatsCounter.INSTANCE;
+	}
+
+	/**
+	 * @return false if counter ignores all records, so callers can skip measurements
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 * Records lookup of key which returned cached value.
+	 *
+	 * @param key requested key
+	 */
+	void recordHit(Object key);
+
+	/**
+	 * Records lookup of key which did not return cached value.
+	 *
+	 * @param key requested key
+	 */
+	void recordMiss(Object key);
+
+	/**
+	 * Records successful load of new value.
+	 *
+	 * @param loadTime time spent to load value, in nanoseconds
+	 */
+	void recordLoadSuccess(long loadTime);
+
+	/**
+	 * Records failed load of new value.
+	 *
+	 * @param loadTime time spent before failure, in nanoseconds
+	 */
+	void recordLoadFailure(long loadTime);
+
+	/**
+	 * Records removal of entry from cache.
+	 *
+	 * @param removalReason reason of removal
+	 * @param weight        weight of removed entry
+	 */
+	void recordRemoval(RemovalReason removalReason, long weight);
+
+	/**
+	 * Returns snapshot of recorded statistics.
+	 *
+	 * @param size         current count of entries in cache
+	 * @param weightedSize current weight of entries in cache
+	 * @return statistics of cache
+	 */
+	CacheStats snapshot(long size, long weightedSize);
+}
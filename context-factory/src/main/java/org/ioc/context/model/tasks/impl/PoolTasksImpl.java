@@ -23,13 +23,26 @@ import org.ioc.context.model.tasks.interfaces.PoolTasks;
 import org.ioc.context.model.tasks.interfaces.ScheduledTaskFuture;
 import org.ioc.context.model.tasks.interfaces.Task;
 import org.ioc.context.model.tasks.interfaces.TaskFuture;
+import org.ioc.context.model.tasks.stats.FixedRateTracker;
+import org.ioc.context.model.tasks.stats.PoolStats;
+import org.ioc.context.model.tasks.stats.PoolStatsCounter;
+import org.ioc.context.model.tasks.stats.TaskStats;
+import org.ioc.context.model.tasks.stats.TaskStatsCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author GenCloud
@@ -45,21 +58,48 @@ public class PoolTasksImpl implements PoolTasks {
 	/**
 	 * Backing executor
 	 */
-	private final ScheduledThreadPoolExecutor executor;
+	private final ExecutorService executor;
+	/**
+	 * Executor firing delayed and repeating tasks, same as {@link #executor} when it is scheduled itself
+	 */
+	private final ScheduledExecutorService scheduler;
 
 	private final DefaultThreadPoolFactory defaultThreadPoolFactory;
 	/**
-	 * List of active and pending futures
+	 * Statistics of pool, recorded only when pool is instrumented
 	 */
-	private final List<TaskFutureImpl<?>> activeFutures = new ArrayList<>();
+	private final PoolStatsCounter counter = new PoolStatsCounter();
+	/**
+	 * Statistics of scheduled tasks executed in pool
+	 */
+	private final Map<String, TaskStatsCounter> taskCounters = new ConcurrentHashMap<>();
+	/**
+	 * True if submitted tasks are wrapped for recording wait and run times
+	 */
+	private final boolean instrumented;
 
 	/**
-	 * @param name     pool name
-	 * @param executor backing {@link ScheduledThreadPoolExecutor}
+	 * @param name         pool name
+	 * @param executor     backing {@link ScheduledExecutorService} executing and scheduling tasks
+	 * @param instrumented true if tasks statistics are recorded
 	 */
-	public PoolTasksImpl(String name, ScheduledThreadPoolExecutor executor, DefaultThreadPoolFactory defaultThreadPoolFactory) {
+	public PoolTasksImpl(String name, ScheduledExecutorService executor, boolean instrumented,
+						 DefaultThreadPoolFactory defaultThreadPoolFactory) {
+		this(name, executor, executor, instrumented, defaultThreadPoolFactory);
+	}
+
+	/**
+	 * @param name         pool name
+	 * @param executor     backing {@link ExecutorService} executing tasks
+	 * @param scheduler    {@link ScheduledExecutorService} handing delayed tasks over to executor
+	 * @param instrumented true if tasks statistics are recorded
+	 */
+	public PoolTasksImpl(String name, ExecutorService executor, ScheduledExecutorService scheduler, boolean instrumented,
+						 DefaultThreadPoolFactory defaultThreadPoolFactory) {
 		this.name = name;
 		this.executor = executor;
+		this.scheduler = scheduler;
+		this.instrumented = instrumented;
 		this.defaultThreadPoolFactory = defaultThreadPoolFactory;
 	}
 
@@ -69,16 +109,27 @@ public class PoolTasksImpl implements PoolTasks {
 	}
 
 	@Override
-	public ScheduledThreadPoolExecutor getExecutor() {
+	public ExecutorService getExecutor() {
 		return executor;
 	}
 
+	@Override
+	public ScheduledExecutorService getScheduler() {
+		return scheduler;
+	}
+
 	@Override
 	public <T> TaskFuture<T> async(Task<T> callable) {
 		if (log.isDebugEnabled()) {
 			log.debug("Task [{}] submit to [{}]", callable, name);
 		}
-		return new TaskFutureImpl<>(executor.submit(callable));
+		final TaskFutureImpl<T> future = new TaskFutureImpl<>(executor, scheduler);
+		try {
+			future.bind(executor.submit(future.wrap(instrument(callable, 0))));
+		} catch (RejectedExecutionException e) {
+			throw rejected(e);
+		}
+		return future;
 	}
 
 	@Override
@@ -86,7 +137,24 @@ public class PoolTasksImpl implements PoolTasks {
 		if (log.isDebugEnabled()) {
 			log.debug("Task [{}] scheduled in [{}] [{}] to [{}]", callable, delay, unit, name);
 		}
-		return new TaskFutureImpl<>(executor.schedule(callable, delay, unit));
+		final TaskFutureImpl<T> future = new TaskFutureImpl<>(executor, scheduler);
+		final Task<T> task = instrument(callable, unit.toNanos(delay));
+		try {
+			if (executor == scheduler) {
+				future.bind(scheduler.schedule(future.wrap(task), delay, unit));
+			} else {
+				future.bind(scheduler.schedule(() -> {
+					try {
+						future.bind(executor.submit(future.wrap(task)));
+					} catch (RejectedExecutionException e) {
+						future.completeExceptionally(rejected(e));
+					}
+				}, delay, unit));
+			}
+		} catch (RejectedExecutionException e) {
+			throw rejected(e);
+		}
+		return future;
 	}
 
 	@Override
@@ -94,22 +162,147 @@ public class PoolTasksImpl implements PoolTasks {
 		if (log.isDebugEnabled()) {
 			log.debug("Task {} scheduled every {} {} to {}, starting in {}", task, repeat, unit, name, delay);
 		}
-		return new ScheduledTaskFutureImpl(executor.scheduleAtFixedRate(task, delay, repeat, unit));
+		final Runnable instrumented = instrument(task, unit.toNanos(delay), unit.toNanos(repeat));
+		final Runnable runnable = executor == scheduler ? instrumented : new HandOver(instrumented);
+		try {
+			return new ScheduledTaskFutureImpl(scheduler.scheduleAtFixedRate(runnable, delay, repeat, unit));
+		} catch (RejectedExecutionException e) {
+			throw rejected(e);
+		}
+	}
+
+	/**
+	 * Wraps task for recording its wait and run times.
+	 *
+	 * @param task  task to be executed
+	 * @param delay nanoseconds before task is due
+	 * @return instrumented task or task itself when pool is not instrumented
+	 */
+	private <T> Task<T> instrument(Task<T> task, long delay) {
+		if (!instrumented) {
+			return task;
+		}
+
+		final long due = System.nanoTime() + delay;
+		counter.recordSubmit();
+		return () -> {
+			final long start = System.nanoTime();
+			counter.recordStart(Math.max(0, start - due));
+			boolean failed = true;
+			try {
+				final T result = task.call();
+				failed = false;
+				return result;
+			} finally {
+				counter.recordFinish(System.nanoTime() - start, failed);
+			}
+		};
+	}
+
+	/**
+	 * Wraps fixed-rate task for recording its lateness and run times.
+	 *
+	 * @param task   task to be executed
+	 * @param delay  nanoseconds before first run
+	 * @param period nanoseconds between runs
+	 * @return instrumented task or task itself when pool is not instrumented
+	 */
+	private Runnable instrument(Runnable task, long delay, long period) {
+		if (!instrumented) {
+			return task;
+		}
+
+		final FixedRateTracker tracker = new FixedRateTracker(period, System.nanoTime() + delay);
+		counter.recordSubmit();
+		return new Runnable() {
+			@Override
+			public void run() {
+				final long start = System.nanoTime();
+				counter.recordStart(tracker.lateness(start));
+				boolean failed = true;
+				try {
+					task.run();
+					failed = false;
+				} finally {
+					counter.recordFinish(System.nanoTime() - start, failed);
+				}
+			}
+
+			@Override
+			public String toString() {
+				return task.toString();
+			}
+		};
+	}
+
+	private RejectedExecutionException rejected(RejectedExecutionException e) {
+		counter.recordRejected();
+		if (log.isDebugEnabled()) {
+			log.debug("Task rejected by [{}]", name, e);
+		}
+		return e;
 	}
 
 	@Override
-	public void dispose() {
-		defaultThreadPoolFactory.dispose(this);
+	public TaskFuture<Void> allOf(TaskFuture<?>... futures) {
+		final TaskFutureImpl<Void> future = new TaskFutureImpl<>(executor, scheduler);
+		final CompletableFuture<?>[] stages = new CompletableFuture<?>[futures.length];
+		for (int i = 0; i < futures.length; i++) {
+			stages[i] = futures[i].toCompletableFuture();
+		}
+
+		CompletableFuture.allOf(stages).whenComplete((object, t) -> {
+			if (t != null) {
+				future.completeExceptionally(t);
+			} else {
+				future.complete(null);
+			}
+		});
+		return future;
 	}
 
 	@Override
-	public void notifyListeners() {
-		for (final TaskFutureImpl<?> future : activeFutures) {
-			if (future.isDone()) {
-				future.notifyListeners();
-				activeFutures.remove(future);
+	public void monitor(String name, TaskStatsCounter counter) {
+		taskCounters.put(name, counter);
+	}
+
+	@Override
+	public PoolStats getStats() {
+		final int poolSize;
+		final int activeThreads;
+		int queueDepth = 0;
+		if (executor instanceof ThreadPoolExecutor) {
+			poolSize = ((ThreadPoolExecutor) executor).getPoolSize();
+			activeThreads = ((ThreadPoolExecutor) executor).getActiveCount();
+			if (executor != scheduler) {
+				queueDepth += ((ThreadPoolExecutor) executor).getQueue().size();
+			}
+		} else if (executor instanceof ForkJoinPool) {
+			final ForkJoinPool pool = (ForkJoinPool) executor;
+			poolSize = pool.getPoolSize();
+			activeThreads = pool.getActiveThreadCount();
+			queueDepth += (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+		} else {
+			activeThreads = (int) counter.getRunningCount();
+			poolSize = activeThreads;
+		}
+
+		if (scheduler instanceof ThreadPoolExecutor) {
+			for (Runnable runnable : ((ThreadPoolExecutor) scheduler).getQueue()) {
+				if (runnable instanceof Delayed && ((Delayed) runnable).getDelay(TimeUnit.NANOSECONDS) <= 0) {
+					queueDepth++;
+				}
 			}
 		}
+
+		final Map<String, TaskStats> tasks = new LinkedHashMap<>();
+		taskCounters.forEach((task, taskCounter) -> tasks.put(task, taskCounter.snapshot()));
+		return counter.snapshot(name, poolSize, activeThreads, queueDepth, tasks);
+	}
+
+	@Override
+	public void dispose() {
+		defaultThreadPoolFactory.dispose(this);
 	}
 
 	@Override
@@ -123,5 +316,46 @@ public class PoolTasksImpl implements PoolTasks {
 				"name='" + name + '\'' +
 				'}';
 	}
-}
 
+	/**
+	 * Repeating task fired by scheduler and executed in executor. Like fixed-rate tasks of
+	 * {@link java.util.concurrent.ScheduledThreadPoolExecutor} it never runs concurrently
+	 * with itself, ticks arriving while previous run is in progress are skipped.
+	 */
+	private class HandOver implements Runnable {
+		private final AtomicBoolean running = new AtomicBoolean();
+		private final Runnable task;
+
+		HandOver(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			if (!running.compareAndSet(false, true)) {
+				if (log.isDebugEnabled()) {
+					log.debug("Task {} in [{}] is still running, tick skipped", task, name);
+				}
+				return;
+			}
+
+			try {
+				executor.execute(() -> {
+					try {
+						task.run();
+					} finally {
+						running.set(false);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				running.set(false);
+				rejected(e);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return task.toString();
+		}
+	}
+}
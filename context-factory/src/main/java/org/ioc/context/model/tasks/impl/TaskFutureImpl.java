@@ -18,66 +18,107 @@
  */
 package org.ioc.context.model.tasks.impl;
 
+import org.ioc.context.model.tasks.interfaces.Task;
 import org.ioc.context.model.tasks.interfaces.TaskFuture;
 import org.ioc.context.model.tasks.interfaces.TaskListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
- * Simple delegated implementation for {@link TaskFuture}.
+ * {@link CompletableFuture} backed implementation for {@link TaskFuture}. Future is
+ * completed by the pool thread which executed the task, listeners are notified directly
+ * from completion.
  *
  * @param <T> the return bag
  * @author GenCloud
  * @date 09/2018
  */
-public class TaskFutureImpl<T> implements TaskFuture<T> {
+public class TaskFutureImpl<T> extends CompletableFuture<T> implements TaskFuture<T> {
+	private static final Logger log = LoggerFactory.getLogger(TaskFutureImpl.class);
+
+	/**
+	 * Executor of owning thread pool, used for dependent tasks
+	 */
+	private final ExecutorService executor;
+
 	/**
-	 * Future that is delegated in this implementation
+	 * Scheduler of owning thread pool, used for timeouts
 	 */
-	private final Future<T> future;
+	private final ScheduledExecutorService scheduler;
 
 	/**
 	 * List of all active listeners
 	 */
-	private List<TaskListener<T>> listeners = new ArrayList<>();
+	private final List<TaskListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Future of submitted task, cancelled together with this future
+	 */
+	private volatile Future<?> future;
 
 	/**
 	 * Creates a new instance.
 	 *
-	 * @param future future
+	 * @param executor  executor of owning pool
+	 * @param scheduler scheduler of owning pool
 	 */
-	TaskFutureImpl(Future<T> future) {
-		this.future = future;
+	TaskFutureImpl(ExecutorService executor, ScheduledExecutorService scheduler) {
+		this.executor = executor;
+		this.scheduler = scheduler;
 	}
 
-	@Override
-	public boolean cancel(boolean mayInterruptIfRunning) {
-		return future.cancel(mayInterruptIfRunning);
-	}
-
-	@Override
-	public boolean isCancelled() {
-		return future.isCancelled();
-	}
+	/**
+	 * Wraps task into runnable which completes this future with task result.
+	 *
+	 * @param task task to be executed
+	 * @return runnable submitted to executor
+	 */
+	Runnable wrap(Task<T> task) {
+		return () -> {
+			if (isDone()) {
+				return;
+			}
 
-	@Override
-	public boolean isDone() {
-		return future.isDone();
+			try {
+				complete(task.call());
+			} catch (Throwable t) {
+				completeExceptionally(t);
+			}
+		};
 	}
 
-	@Override
-	public T get() throws InterruptedException, ExecutionException {
-		return future.get();
+	/**
+	 * Binds this future with submitted task.
+	 *
+	 * @param future future of submitted task
+	 */
+	void bind(Future<?> future) {
+		this.future = future;
+		if (isCancelled()) {
+			future.cancel(false);
+		}
 	}
 
 	@Override
-	public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-		return future.get(timeout, unit);
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		final boolean cancelled = super.cancel(mayInterruptIfRunning);
+		final Future<?> future = this.future;
+		if (cancelled && future != null) {
+			future.cancel(mayInterruptIfRunning);
+		}
+		return cancelled;
 	}
 
 	@Override
@@ -120,6 +161,15 @@ public class TaskFutureImpl<T> implements TaskFuture<T> {
 	@Override
 	public void addListener(TaskListener<T> listener) {
 		listeners.add(listener);
+		whenComplete((object, t) -> {
+			if (listeners.remove(listener)) {
+				try {
+					listener.complete(this, t == null ? object : null);
+				} catch (Exception e) {
+					log.warn("Task listener [{}] failed", listener, e);
+				}
+			}
+		});
 	}
 
 	@Override
@@ -127,18 +177,40 @@ public class TaskFutureImpl<T> implements TaskFuture<T> {
 		listeners.remove(listener);
 	}
 
-	/**
-	 * Notify all listeners that the task has been completed.
-	 */
-	void notifyListeners() {
-		for (TaskListener<T> listener : listeners) {
-			T object = null;
+	@Override
+	public <U> TaskFuture<U> thenAsync(Function<? super T, ? extends U> fn) {
+		final TaskFutureImpl<U> next = new TaskFutureImpl<>(executor, scheduler);
+		whenComplete((object, t) -> {
+			if (t != null) {
+				next.completeExceptionally(t);
+				return;
+			}
+
 			try {
-				object = get(0, TimeUnit.MILLISECONDS);
-			} catch (InterruptedException | ExecutionException | TimeoutException ignored) {
+				next.bind(executor.submit(next.wrap(() -> fn.apply(object))));
+			} catch (RejectedExecutionException e) {
+				next.completeExceptionally(e);
 			}
-			listener.complete(this, object);
+		});
+		return next;
+	}
+
+	@Override
+	public TaskFutureImpl<T> orTimeout(long timeout, TimeUnit unit) {
+		if (!isDone()) {
+			final Future<?> timer = scheduler.schedule(() -> completeExceptionally(new TimeoutException()), timeout, unit);
+			whenComplete((object, t) -> timer.cancel(false));
+		}
+		return this;
+	}
+
+	@Override
+	public TaskFutureImpl<T> completeOnTimeout(T value, long timeout, TimeUnit unit) {
+		if (!isDone()) {
+			final Future<?> timer = scheduler.schedule(() -> complete(value), timeout, unit);
+			whenComplete((object, t) -> timer.cancel(false));
 		}
+		return this;
 	}
 
 	@Override
@@ -18,7 +18,11 @@
  */
 package org.ioc.context.model.tasks.interfaces;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.ioc.context.model.tasks.stats.PoolStats;
+import org.ioc.context.model.tasks.stats.TaskStatsCounter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,7 +34,15 @@ import java.util.concurrent.TimeUnit;
 public interface PoolTasks {
 	String getName();
 
-	ScheduledThreadPoolExecutor getExecutor();
+	/**
+	 * @return executor running tasks of this pool
+	 */
+	ExecutorService getExecutor();
+
+	/**
+	 * @return executor firing delayed and repeating tasks, same as {@link #getExecutor()} in scheduled mode
+	 */
+	ScheduledExecutorService getScheduler();
 
 	/**
 	 * Executes an asynchronous tasks.
@@ -64,9 +76,26 @@ public interface PoolTasks {
 	ScheduledTaskFuture async(long delay, TimeUnit unit, long repeat, Runnable task);
 
 	/**
-	 * Notify all future listeners when task is complete.
+	 * Returns a future that is completed when all given futures are completed. If any of
+	 * them completed exceptionally, the returned future fails with the same cause.
+	 *
+	 * @param futures futures to wait for
+	 * @return {@link TaskFuture} notified once all futures have completed
+	 */
+	TaskFuture<Void> allOf(TaskFuture<?>... futures);
+
+	/**
+	 * Registers statistics of scheduled task executed in this pool, they are reported in {@link #getStats()}.
+	 *
+	 * @param name    task name
+	 * @param counter task statistics
+	 */
+	void monitor(String name, TaskStatsCounter counter);
+
+	/**
+	 * @return snapshot of pool statistics, times are recorded only when statistics are enabled
 	 */
-	void notifyListeners();
+	PoolStats getStats();
 
 	/**
 	 * Disposes this thread pool. AfterInvocation disposing, it will no longer be able to execute tasks.
@@ -18,20 +18,24 @@
  */
 package org.ioc.context.model.tasks.interfaces;
 
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
  * This future instance extends {@link Future} but also adds some additional
- * features, such as waiting for an given task to finish.
+ * features, such as waiting for an given task to finish. Futures are completed
+ * by the pool thread that ran the task, so listeners and dependent stages are
+ * invoked right away instead of being polled for.
  *
  * @param <T> {@link Future} return bag
  * @author GenCloud
  * @date 09/2018
  */
-public interface TaskFuture<T> extends Future<T> {
+public interface TaskFuture<T> extends Future<T>, CompletionStage<T> {
 	/**
 	 * Waits until task is executed.
 	 *
@@ -80,4 +84,34 @@ public interface TaskFuture<T> extends Future<T> {
 	 * @param listener listener to be removed
 	 */
 	void removeListener(TaskListener<T> listener);
+
+	/**
+	 * Runs the given function in the owning thread pool once this task completed
+	 * successfully. Failures and cancellation are propagated to returned future.
+	 *
+	 * @param fn  function applied to result of this task
+	 * @param <U> result bag of function
+	 * @return {@link TaskFuture} notified once function has completed
+	 */
+	<U> TaskFuture<U> thenAsync(Function<? super T, ? extends U> fn);
+
+	/**
+	 * Completes this future exceptionally with {@link TimeoutException} if it was not
+	 * completed before the given timeout. The running task itself is not interrupted.
+	 *
+	 * @param timeout timeout
+	 * @param unit    timeout unit
+	 * @return this future
+	 */
+	TaskFuture<T> orTimeout(long timeout, TimeUnit unit);
+
+	/**
+	 * Completes this future with the given value if it was not completed before the given timeout.
+	 *
+	 * @param value   value used on timeout
+	 * @param timeout timeout
+	 * @param unit    timeout unit
+	 * @return this future
+	 */
+	TaskFuture<T> completeOnTimeout(T value, long timeout, TimeUnit unit);
 }
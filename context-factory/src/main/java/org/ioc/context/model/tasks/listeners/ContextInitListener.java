@@ -31,16 +31,13 @@ import org.ioc.exceptions.IoCException;
  * @author GenCloud
  * @date 09/2018
  */
-@Fact
+@Fact(OnContextIsInitializedFact.class)
 public class ContextInitListener implements IListener, ThreadFactorySensible {
 	private DefaultThreadPoolFactory defaultThreadPoolFactory;
 
 	@Override
 	public boolean dispatch(AbstractFact e) {
-		if (OnContextIsInitializedFact.class.isAssignableFrom(e.getClass())) {
-			defaultThreadPoolFactory.initTasks();
-		}
-
+		defaultThreadPoolFactory.initTasks();
 		return true;
 	}
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.tasks.stats;
+
+/**
+ * Follows schedule of fixed-rate task and measures how late its runs start. Fixed-rate
+ * tasks never run concurrently with themselves, so runs are tracked sequentially.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class FixedRateTracker {
+	private final long period;
+	private volatile long expected;
+	private volatile boolean started;
+
+	/**
+	 * Tracker taking start of first run as beginning of schedule.
+	 *
+	 * @param period interval between runs, in nanoseconds
+	 */
+	public FixedRateTracker(long period) {
+		this.period = period;
+	}
+
+	/**
+	 * @param period   interval between runs, in nanoseconds
+	 * @param firstRun {@link System#nanoTime()} of first scheduled run
+	 */
+	public FixedRateTracker(long period, long firstRun) {
+		this.period = period;
+		this.expected = firstRun;
+		this.started = true;
+	}
+
+	public long getPeriod() {
+		return period;
+	}
+
+	/**
+	 * Measures lateness of run and advances schedule. Ticks missed entirely, i.e. skipped
+	 * by executor, are dropped from schedule so single stall is not reported forever.
+	 *
+	 * @param start {@link System#nanoTime()} of run start
+	 * @return delay of run behind schedule, in nanoseconds
+	 */
+	public long lateness(long start) {
+		if (!started) {
+			started = true;
+			expected = start + period;
+			return 0;
+		}
+
+		final long lateness = start - expected;
+		long next = expected + period;
+		if (lateness >= period) {
+			next += lateness / period * period;
+		}
+		expected = next;
+		return Math.max(0, lateness);
+	}
+
+	/**
+	 * @param lateness delay of run behind schedule, in nanoseconds
+	 * @param runTime  nanoseconds run took
+	 * @return true if run started at least one interval late or took longer than interval
+	 */
+	public boolean isOverrun(long lateness, long runTime) {
+		return lateness >= period || runTime > period;
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.tasks.stats;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of thread pool statistics.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class PoolStats {
+	/**
+	 * Count of time histogram buckets, bucket i counts tasks taken less than 2^(i+1) microseconds.
+	 */
+	public static final int HISTOGRAM_BUCKETS = 32;
+
+	private final String name;
+	private final int poolSize;
+	private final int activeThreads;
+	private final int queueDepth;
+	private final long submittedCount;
+	private final long completedCount;
+	private final long failedCount;
+	private final long rejectedCount;
+	private final long totalWaitTime;
+	private final long totalRunTime;
+	private final long[] waitTimeHistogram;
+	private final long[] runTimeHistogram;
+	private final Map<String, TaskStats> tasks;
+
+	public PoolStats(String name, int poolSize, int activeThreads, int queueDepth, long submittedCount,
+					 long completedCount, long failedCount, long rejectedCount, long totalWaitTime, long totalRunTime,
+					 long[] waitTimeHistogram, long[] runTimeHistogram, Map<String, TaskStats> tasks) {
+		this.name = name;
+		this.poolSize = poolSize;
+		this.activeThreads = activeThreads;
+		this.queueDepth = queueDepth;
+		this.submittedCount = submittedCount;
+		this.completedCount = completedCount;
+		this.failedCount = failedCount;
+		this.rejectedCount = rejectedCount;
+		this.totalWaitTime = totalWaitTime;
+		this.totalRunTime = totalRunTime;
+		this.waitTimeHistogram = waitTimeHistogram;
+		this.runTimeHistogram = runTimeHistogram;
+		this.tasks = tasks == null ? Collections.emptyMap() : Collections.unmodifiableMap(tasks);
+	}
+
+	static int histogramBucket(long time) {
+		final long micros = Math.max(1, time / 1000);
+		return Math.min(63 - Long.numberOfLeadingZeros(micros), HISTOGRAM_BUCKETS - 1);
+	}
+
+	/**
+	 * @param histogram histogram of power-of-two microsecond buckets
+	 * @param quantile  quantile in range [0, 1]
+	 * @return upper bound of bucket containing quantile, in microseconds, 0 if histogram is empty
+	 */
+	private static long quantile(long[] histogram, double quantile) {
+		long total = 0;
+		for (long count : histogram) {
+			total += count;
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		final long rank = (long) Math.ceil(quantile * total);
+		long seen = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			seen += histogram[i];
+			if (seen >= rank) {
+				return 1L << (i + 1);
+			}
+		}
+		return 1L << histogram.length;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public int getActiveThreads() {
+		return activeThreads;
+	}
+
+	/**
+	 * @return count of tasks which are due to run but wait for free thread
+	 */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * @return count of submitted tasks, repeating task is counted once
+	 */
+	public long getSubmittedCount() {
+		return submittedCount;
+	}
+
+	/**
+	 * @return count of task runs completed normally, each run of repeating task is counted
+	 */
+	public long getCompletedCount() {
+		return completedCount;
+	}
+
+	public long getFailedCount() {
+		return failedCount;
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount;
+	}
+
+	/**
+	 * @return total time tasks were due but not running, in nanoseconds
+	 */
+	public long getTotalWaitTime() {
+		return totalWaitTime;
+	}
+
+	/**
+	 * @return total time tasks were running, in nanoseconds
+	 */
+	public long getTotalRunTime() {
+		return totalRunTime;
+	}
+
+	/**
+	 * @return average time task waited for thread, in nanoseconds
+	 */
+	public double getAverageWaitTime() {
+		final long count = completedCount + failedCount;
+		return count == 0 ? 0.0 : (double) totalWaitTime / count;
+	}
+
+	/**
+	 * @return average time task was running, in nanoseconds
+	 */
+	public double getAverageRunTime() {
+		final long count = completedCount + failedCount;
+		return count == 0 ? 0.0 : (double) totalRunTime / count;
+	}
+
+	/**
+	 * @param quantile quantile in range [0, 1]
+	 * @return upper bound of wait time quantile, in microseconds
+	 */
+	public long getWaitTimeQuantile(double quantile) {
+		return quantile(waitTimeHistogram, quantile);
+	}
+
+	/**
+	 * @param quantile quantile in range [0, 1]
+	 * @return upper bound of run time quantile, in microseconds
+	 */
+	public long getRunTimeQuantile(double quantile) {
+		return quantile(runTimeHistogram, quantile);
+	}
+
+	/**
+	 * @return counts of task waits by power-of-two microsecond buckets
+	 * @see #HISTOGRAM_BUCKETS
+	 */
+	public long[] getWaitTimeHistogram() {
+		return waitTimeHistogram.clone();
+	}
+
+	/**
+	 * @return counts of task runs by power-of-two microsecond buckets
+	 * @see #HISTOGRAM_BUCKETS
+	 */
+	public long[] getRunTimeHistogram() {
+		return runTimeHistogram.clone();
+	}
+
+	/**
+	 * @return statistics of scheduled tasks executed in pool by their names
+	 */
+	public Map<String, TaskStats> getTasks() {
+		return tasks;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStats{" +
+				"name='" + name + '\'' +
+				", poolSize=" + poolSize +
+				", activeThreads=" + activeThreads +
+				", queueDepth=" + queueDepth +
+				", submittedCount=" + submittedCount +
+				", completedCount=" + completedCount +
+				", failedCount=" + failedCount +
+				", rejectedCount=" + rejectedCount +
+				", tasks=" + tasks +
+				'}';
+	}
+}
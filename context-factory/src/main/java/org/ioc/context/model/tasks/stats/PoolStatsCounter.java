@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.tasks.stats;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe accumulator of thread pool statistics based on {@link LongAdder}. Wait and run
+ * times are distributed into histograms of power-of-two microsecond buckets.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class PoolStatsCounter {
+	private final LongAdder submittedCount = new LongAdder();
+	private final LongAdder completedCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder runningCount = new LongAdder();
+	private final LongAdder totalWaitTime = new LongAdder();
+	private final LongAdder totalRunTime = new LongAdder();
+	private final LongAdder[] waitTimeHistogram = new LongAdder[PoolStats.HISTOGRAM_BUCKETS];
+	private final LongAdder[] runTimeHistogram = new LongAdder[PoolStats.HISTOGRAM_BUCKETS];
+
+	public PoolStatsCounter() {
+		Arrays.setAll(waitTimeHistogram, i -> new LongAdder());
+		Arrays.setAll(runTimeHistogram, i -> new LongAdder());
+	}
+
+	public void recordSubmit() {
+		submittedCount.increment();
+	}
+
+	public void recordRejected() {
+		rejectedCount.increment();
+	}
+
+	/**
+	 * Records start of task execution.
+	 *
+	 * @param waitTime nanoseconds task was due but not running
+	 */
+	public void recordStart(long waitTime) {
+		runningCount.increment();
+		totalWaitTime.add(waitTime);
+		waitTimeHistogram[PoolStats.histogramBucket(waitTime)].increment();
+	}
+
+	/**
+	 * Records end of task execution.
+	 *
+	 * @param runTime nanoseconds task was running
+	 * @param failed  true if task thrown exception
+	 */
+	public void recordFinish(long runTime, boolean failed) {
+		runningCount.decrement();
+		if (failed) {
+			failedCount.increment();
+		} else {
+			completedCount.increment();
+		}
+		totalRunTime.add(runTime);
+		runTimeHistogram[PoolStats.histogramBucket(runTime)].increment();
+	}
+
+	/**
+	 * @return count of tasks running at the moment
+	 */
+	public long getRunningCount() {
+		return runningCount.sum();
+	}
+
+	/**
+	 * @param name          pool name
+	 * @param poolSize      current count of threads
+	 * @param activeThreads count of threads executing tasks
+	 * @param queueDepth    count of due tasks waiting for thread
+	 * @param tasks         statistics of tasks declared for pool
+	 * @return immutable snapshot of statistics
+	 */
+	public PoolStats snapshot(String name, int poolSize, int activeThreads, int queueDepth, Map<String, TaskStats> tasks) {
+		return new PoolStats(name, poolSize, activeThreads, queueDepth, submittedCount.sum(), completedCount.sum(),
+				failedCount.sum(), rejectedCount.sum(), totalWaitTime.sum(), totalRunTime.sum(),
+				sum(waitTimeHistogram), sum(runTimeHistogram), tasks);
+	}
+
+	private static long[] sum(LongAdder[] histogram) {
+		final long[] result = new long[histogram.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = histogram[i].sum();
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStatsCounter{" +
+				"submittedCount=" + submittedCount +
+				", completedCount=" + completedCount +
+				", failedCount=" + failedCount +
+				'}';
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.tasks.stats;
+
+/**
+ * Immutable snapshot of scheduled task statistics.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class TaskStats {
+	private final long runCount;
+	private final long failureCount;
+	private final long overrunCount;
+	private final long totalRunTime;
+	private final long maxRunTime;
+	private final long lastLateness;
+	private final long maxLateness;
+	private final String lastFailure;
+
+	public TaskStats(long runCount, long failureCount, long overrunCount, long totalRunTime, long maxRunTime,
+					 long lastLateness, long maxLateness, String lastFailure) {
+		this.runCount = runCount;
+		this.failureCount = failureCount;
+		this.overrunCount = overrunCount;
+		this.totalRunTime = totalRunTime;
+		this.maxRunTime = maxRunTime;
+		this.lastLateness = lastLateness;
+		this.maxLateness = maxLateness;
+		this.lastFailure = lastFailure;
+	}
+
+	public long getRunCount() {
+		return runCount;
+	}
+
+	public long getFailureCount() {
+		return failureCount;
+	}
+
+	/**
+	 * @return count of fixed-rate runs which started one interval late or ran longer than interval
+	 */
+	public long getOverrunCount() {
+		return overrunCount;
+	}
+
+	/**
+	 * @return total time task was running, in nanoseconds
+	 */
+	public long getTotalRunTime() {
+		return totalRunTime;
+	}
+
+	/**
+	 * @return average time task was running, in nanoseconds
+	 */
+	public double getAverageRunTime() {
+		return runCount == 0 ? 0.0 : (double) totalRunTime / runCount;
+	}
+
+	/**
+	 * @return longest run of task, in nanoseconds
+	 */
+	public long getMaxRunTime() {
+		return maxRunTime;
+	}
+
+	/**
+	 * @return delay of last run behind its fixed-rate schedule, in nanoseconds
+	 */
+	public long getLastLateness() {
+		return lastLateness;
+	}
+
+	/**
+	 * @return maximal delay of run behind its fixed-rate schedule, in nanoseconds
+	 */
+	public long getMaxLateness() {
+		return maxLateness;
+	}
+
+	/**
+	 * @return description of last failure, null if task never failed
+	 */
+	public String getLastFailure() {
+		return lastFailure;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskStats{" +
+				"runCount=" + runCount +
+				", failureCount=" + failureCount +
+				", overrunCount=" + overrunCount +
+				", maxRunTime=" + maxRunTime +
+				", maxLateness=" + maxLateness +
+				'}';
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.tasks.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe accumulator of scheduled task statistics.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class TaskStatsCounter {
+	private final LongAdder runCount = new LongAdder();
+	private final LongAdder failureCount = new LongAdder();
+	private final LongAdder overrunCount = new LongAdder();
+	private final LongAdder totalRunTime = new LongAdder();
+	private final AtomicLong maxRunTime = new AtomicLong();
+	private final AtomicLong maxLateness = new AtomicLong();
+	private volatile long lastLateness;
+	private volatile String lastFailure;
+
+	/**
+	 * @param lateness delay of run behind its schedule, in nanoseconds
+	 * @param runTime  nanoseconds task was running
+	 * @param failure  exception thrown by task, null if it completed normally
+	 * @param overrun  true if run fell behind fixed-rate schedule
+	 */
+	public void recordRun(long lateness, long runTime, Throwable failure, boolean overrun) {
+		runCount.increment();
+		totalRunTime.add(runTime);
+		maxRunTime.accumulateAndGet(runTime, Math::max);
+		maxLateness.accumulateAndGet(lateness, Math::max);
+		lastLateness = lateness;
+		if (failure != null) {
+			failureCount.increment();
+			lastFailure = failure.toString();
+		}
+
+		if (overrun) {
+			overrunCount.increment();
+		}
+	}
+
+	public TaskStats snapshot() {
+		return new TaskStats(runCount.sum(), failureCount.sum(), overrunCount.sum(), totalRunTime.sum(),
+				maxRunTime.get(), lastLateness, maxLateness.get(), lastFailure);
+	}
+
+	@Override
+	public String toString() {
+		return "TaskStatsCounter{" +
+				"runCount=" + runCount +
+				", failureCount=" + failureCount +
+				", overrunCount=" + overrunCount +
+				'}';
+	}
+}
@@ -95,7 +95,8 @@ public class ThreadConfigureProcessor implements TypeProcessor, ContextSensible,
 		long startingDelay = annotation.startingDelay();
 		final long fixedInterval = annotation.fixedInterval();
 		final TimeUnit timeUnit = annotation.unit();
-		final TaskProperties properties = new TaskProperties(startingDelay, fixedInterval, timeUnit);
+		final TaskProperties properties = new TaskProperties(startingDelay, fixedInterval, timeUnit,
+				annotation.pool(), annotation.poolThreads());
 		final GeneralTask task = new GeneralTask(component, method, properties);
 
 		factory.addTask(task);
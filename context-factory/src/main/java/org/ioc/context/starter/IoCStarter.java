@@ -20,6 +20,7 @@ package org.ioc.context.starter;
 
 import org.ioc.annotations.context.ScanPackage;
 import org.ioc.context.DefaultIoCContext;
+import org.ioc.context.index.ClassCatalog;
 import org.ioc.context.listeners.facts.OnContextIsInitializedFact;
 import org.ioc.context.type.IoCContext;
 import org.ioc.utils.BannerUtils;
@@ -27,6 +28,8 @@ import org.ioc.utils.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 /**
  * Classes that can be used to bootstrap and launch a application from a main method.
  * <p>
@@ -104,6 +107,7 @@ public class IoCStarter {
 			if (scanPackage != null) {
 				final String[] packages = scanPackage.packages();
 				context.init(mainSource, packages);
+				logScan(context.getCatalog());
 			}
 		}
 
@@ -114,6 +118,24 @@ public class IoCStarter {
 		return context;
 	}
 
+	/**
+	 * Report time spent in every phase of classpath scanning.
+	 *
+	 * @param catalog class catalog of initialized context
+	 */
+	private void logScan(ClassCatalog catalog) {
+		final StringBuilder phases = new StringBuilder();
+		catalog.getPhases().forEach((phase, nanos) -> {
+			if (phases.length() > 0) {
+				phases.append(", ");
+			}
+			phases.append(phase).append(" [").append(String.format("%.3f ms", nanos / 1_000_000D)).append("]");
+		});
+
+		log.info("Scanned packages {} - {} classes, {} loaded: {}", Arrays.toString(catalog.getPackages()),
+				catalog.size(), catalog.getLoadedCount(), phases);
+	}
+
 	private class ShutdownHook extends Thread {
 		private final IoCContext context;
 
@@ -1,6 +1,7 @@
 package org.ioc.context.type;
 
 import org.ioc.annotations.context.Mode;
+import org.ioc.aop.selector.PointcutEngine;
 import org.ioc.context.factories.core.PrototypeFactory;
 import org.ioc.context.factories.core.SingletonFactory;
 import org.ioc.context.factories.web.RequestFactory;
@@ -71,4 +72,9 @@ public interface IoCContext {
 	SingletonFactory getSingletonFactory();
 
 	PrototypeFactory getPrototypeFactory();
+
+	/**
+	 * @return pointcut engine of context
+	 */
+	PointcutEngine getPointcutEngine();
 }
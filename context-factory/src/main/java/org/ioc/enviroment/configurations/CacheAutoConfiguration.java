@@ -21,6 +21,11 @@ package org.ioc.enviroment.configurations;
 import org.ioc.annotations.configuration.Property;
 import org.ioc.annotations.configuration.PropertyFunction;
 import org.ioc.context.factories.Factory;
+import org.ioc.context.factories.cache.CacheStatsFactory;
+import org.ioc.context.model.cache.expiring.policy.PolicyType;
+import org.ioc.context.model.cache.stats.CacheStatsRegistry;
+import org.ioc.context.model.cache.stats.ConcurrentStatsCounter;
+import org.ioc.context.model.cache.stats.StatsCounter;
 import org.ioc.utils.ReflectionUtils;
 
 import static org.ioc.context.factories.Factory.defaultCacheFactory;
@@ -34,6 +39,69 @@ public class CacheAutoConfiguration {
 	@Property("factory")
 	private String factoryClass = "org.ioc.context.factories.cache.EhFactory";
 
+	@Property("expiring.policy")
+	private PolicyType expiringPolicy = PolicyType.LRU;
+
+	/**
+	 * Interval in milliseconds of background removal of expired entries, 0 - disabled.
+	 */
+	@Property("expiring.cleanup-interval")
+	private long expiringCleanupInterval = 1000;
+
+	/**
+	 * Recording of hit/miss, load and removal statistics by installed caches.
+	 */
+	@Property("stats.enabled")
+	private boolean statsEnabled = false;
+
+	/**
+	 * Count of most accessed keys sampled by each cache, 0 - disabled.
+	 */
+	@Property("stats.hot-keys")
+	private int statsHotKeys = 0;
+
+	/**
+	 * Interval in milliseconds of publishing statistics as fact, 0 - disabled.
+	 */
+	@Property("stats.publish-interval")
+	private long statsPublishInterval = 0;
+
+	@Property("stats.registry")
+	private String statsRegistryClass = "org.ioc.context.model.cache.stats.DefaultCacheStatsRegistry";
+
+	@Property(ignore = true)
+	private CacheStatsRegistry statsRegistry;
+
+	public PolicyType getExpiringPolicy() {
+		return expiringPolicy;
+	}
+
+	public long getExpiringCleanupInterval() {
+		return expiringCleanupInterval;
+	}
+
+	public boolean isStatsEnabled() {
+		return statsEnabled;
+	}
+
+	public long getStatsPublishInterval() {
+		return statsPublishInterval;
+	}
+
+	/**
+	 * @return counter for new cache, disabled if statistics are not enabled
+	 */
+	public StatsCounter newStatsCounter() {
+		return statsEnabled ? new ConcurrentStatsCounter(statsHotKeys) : StatsCounter.disabled();
+	}
+
+	public synchronized CacheStatsRegistry getStatsRegistry() {
+		if (statsRegistry == null) {
+			statsRegistry = (CacheStatsRegistry) ReflectionUtils.instantiateClass(ReflectionUtils.loadClass(statsRegistryClass));
+		}
+		return statsRegistry;
+	}
+
 	@PropertyFunction
 	@SuppressWarnings("unchecked")
 	public Object cacheFactory() {
@@ -41,4 +109,14 @@ public class CacheAutoConfiguration {
 				: (Class<? extends Factory>) ReflectionUtils.loadClass(factoryClass);
 		return ReflectionUtils.instantiateClass(factory);
 	}
+
+	@PropertyFunction
+	public Object cacheStatsRegistry() {
+		return getStatsRegistry();
+	}
+
+	@PropertyFunction
+	public Object cacheStatsFactory() {
+		return statsEnabled && statsPublishInterval > 0 ? new CacheStatsFactory() : null;
+	}
 }
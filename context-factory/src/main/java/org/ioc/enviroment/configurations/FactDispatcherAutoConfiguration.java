@@ -26,10 +26,19 @@ import org.ioc.context.factories.facts.FactDispatcherFactory;
  * @author GenCloud
  * @date 09/2018
  */
-@Property
+@Property(prefix = "ioc.facts.")
 public class FactDispatcherAutoConfiguration {
+	/**
+	 * Count of shared lanes dispatching facts concurrently, 0 - count of processors.
+	 */
+	private int lanes;
+
+	public int getLanes() {
+		return lanes;
+	}
+
 	@PropertyFunction
 	public FactDispatcherFactory factDispatcherFactory() {
-		return new FactDispatcherFactory();
+		return new FactDispatcherFactory(lanes);
 	}
 }
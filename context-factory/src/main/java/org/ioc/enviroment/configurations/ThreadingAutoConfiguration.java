@@ -21,6 +21,7 @@ package org.ioc.enviroment.configurations;
 import org.ioc.annotations.configuration.Property;
 import org.ioc.annotations.configuration.PropertyFunction;
 import org.ioc.context.factories.Factory;
+import org.ioc.context.factories.threading.PoolStatsFactory;
 import org.ioc.utils.ReflectionUtils;
 
 import java.util.concurrent.TimeUnit;
@@ -44,6 +45,33 @@ public class ThreadingAutoConfiguration {
 
 	private ThreadPoolPriority threadPoolPriority;
 
+	/**
+	 * Executor backing created thread pools, see {@link ExecutorMode}. Case is ignored, e.g. {@code forkjoin}.
+	 */
+	private ExecutorMode executorMode = ExecutorMode.SCHEDULED;
+
+	/**
+	 * Count of threads in named pools declared by tasks, 0 - count of available processors of shared pool.
+	 */
+	private int taskPoolThreads;
+
+	/**
+	 * Record wait and run times of tasks in every pool.
+	 */
+	private boolean statsEnabled = true;
+
+	/**
+	 * Interval of publishing pool statistics as fact in milliseconds, 0 - statistics are not published.
+	 */
+	private long statsPublishInterval;
+
+	/**
+	 * Count of threads initializing independent types of context, 1 - sequential initialization, 0 - count of processors.
+	 * Sequential initialization follows {@link org.ioc.annotations.context.Order} of types, concurrent one initializes
+	 * type once its dependencies are initialized, so order is kept only between dependent types.
+	 */
+	private int initParallelism = 1;
+
 	@Property(ignore = true)
 	private TimeUnit threadTimeoutUnit = TimeUnit.SECONDS;
 
@@ -71,6 +99,26 @@ public class ThreadingAutoConfiguration {
 		return threadPoolPriority;
 	}
 
+	public ExecutorMode getExecutorMode() {
+		return executorMode;
+	}
+
+	public int getTaskPoolThreads() {
+		return taskPoolThreads;
+	}
+
+	public boolean isStatsEnabled() {
+		return statsEnabled;
+	}
+
+	public long getStatsPublishInterval() {
+		return statsPublishInterval;
+	}
+
+	public int getInitParallelism() {
+		return initParallelism;
+	}
+
 	public TimeUnit getThreadTimeoutUnit() {
 		return threadTimeoutUnit;
 	}
@@ -81,6 +129,28 @@ public class ThreadingAutoConfiguration {
 		return ReflectionUtils.instantiateClass(factory);
 	}
 
+	@PropertyFunction
+	public Object poolStatsFactory() {
+		return statsEnabled && statsPublishInterval > 0 ? new PoolStatsFactory() : null;
+	}
+
+	public enum ExecutorMode {
+		/**
+		 * Single {@link java.util.concurrent.ScheduledThreadPoolExecutor} executing and scheduling tasks.
+		 */
+		SCHEDULED,
+		/**
+		 * Work-stealing {@link java.util.concurrent.ForkJoinPool} executing tasks and
+		 * a separate single-threaded timer handing delayed tasks over to it.
+		 */
+		FORKJOIN,
+		/**
+		 * Virtual thread per task, available on JDK 21+. Falls back to {@link ExecutorMode#FORKJOIN}
+		 * on older runtimes.
+		 */
+		VIRTUAL
+	}
+
 	public enum ThreadPoolPriority {
 		/**
 		 * High priority.
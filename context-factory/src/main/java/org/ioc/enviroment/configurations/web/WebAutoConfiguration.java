@@ -63,6 +63,30 @@ public class WebAutoConfiguration {
 	@Property("velocity.resource.loading.path")
 	private String velocityResourceLoadingPath = "./site";
 
+	/**
+	 * Threads running controllers, see {@link DispatchMode}; {@code worker-pool} and {@code WORKER_POOL} are equal.
+	 */
+	@Property("dispatch.mode")
+	private DispatchMode dispatchMode = DispatchMode.EVENTLOOP;
+
+	/**
+	 * Count of threads of worker pool, 0 - value of ioc.threads.taskPoolThreads or count of available processors.
+	 */
+	@Property("dispatch.worker-threads")
+	private int workerThreads;
+
+	/**
+	 * Run every controller on worker threads, not only ones marked as blocking.
+	 */
+	@Property("dispatch.all")
+	private boolean dispatchAll;
+
+	/**
+	 * Time in milliseconds to wait for asynchronous results of controllers, 0 - without timeout.
+	 */
+	@Property("async.timeout")
+	private long asyncTimeout = 30000;
+
 	public int getPort() {
 		return port;
 	}
@@ -107,9 +131,42 @@ public class WebAutoConfiguration {
 		return velocityResourceLoadingPath;
 	}
 
+	public DispatchMode getDispatchMode() {
+		return dispatchMode;
+	}
+
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	public boolean isDispatchAll() {
+		return dispatchAll;
+	}
+
+	public long getAsyncTimeout() {
+		return asyncTimeout;
+	}
+
 	@PropertyFunction
 	public Object webFactory() {
 		final Class<? extends Factory> factory = defaultWebFactory();
 		return instantiateClass(factory);
 	}
+
+	public enum DispatchMode {
+		/**
+		 * Controllers run on event loop of connection.
+		 */
+		EVENTLOOP,
+		/**
+		 * Blocking controllers run on worker pool of thread pool factory,
+		 * responses are written back by event loop of connection.
+		 */
+		WORKER_POOL,
+		/**
+		 * Blocking controllers run on virtual thread per request, available on JDK 21+.
+		 * Falls back to work-stealing pool on older runtimes.
+		 */
+		VIRTUAL_THREADS
+	}
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.enviroment.loader;
+
+import org.ioc.annotations.configuration.Property;
+import org.ioc.enviroment.listeners.IEnvironmentFact;
+import org.ioc.enviroment.typecaster.EnvironmentCaster;
+import org.ioc.enviroment.typecaster.exception.IllegalEnvironmentException;
+import org.ioc.exceptions.IoCException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Binding plan of configuration class: property names, splitters, converters and accessible members are resolved
+ * once per class, so binding of instance only reads source and sets values.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+final class BindingPlan {
+	private static final Logger log = LoggerFactory.getLogger(BindingPlan.class);
+
+	private static final Map<Class<?>, BindingPlan> instancePlans = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, BindingPlan> staticPlans = new ConcurrentHashMap<>();
+
+	private final List<Binder> binders;
+
+	private BindingPlan(List<Binder> binders) {
+		this.binders = Collections.unmodifiableList(binders);
+	}
+
+	/**
+	 * @param object instance of configuration class, or class to bind its static fields
+	 * @return cached plan binding object
+	 */
+	static BindingPlan of(Object object) {
+		if (object instanceof Class) {
+			return staticPlans.computeIfAbsent((Class<?>) object, type -> create(type, true));
+		}
+		return instancePlans.computeIfAbsent(object.getClass(), type -> create(type, false));
+	}
+
+	/**
+	 * Binds values of source to object.
+	 *
+	 * @param object instance or class of static fields
+	 * @param source source of values
+	 */
+	void bind(Object object, EnvironmentSource source) throws Exception {
+		final IEnvironmentFact fact = object instanceof IEnvironmentFact ? (IEnvironmentFact) object : null;
+		final Object target = object instanceof Class ? null : object;
+		for (Binder binder : binders) {
+			binder.bind(target, source, fact);
+		}
+	}
+
+	private static BindingPlan create(Class<?> type, boolean statics) {
+		final Property property = type.getAnnotation(Property.class);
+		final String prefix = property != null ? property.prefix() : null;
+		final boolean classAllowParameters = property != null && property.parametrize();
+
+		final List<Binder> binders = new ArrayList<>();
+		for (Field field : type.getDeclaredFields()) {
+			if (statics && !Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+
+			final Property annotation = field.getAnnotation(Property.class);
+			String name;
+			boolean allowParameters = classAllowParameters;
+			if (annotation != null) {
+				if (annotation.ignore()) {
+					continue;
+				}
+
+				name = annotation.value().isEmpty() ? field.getName() : annotation.value();
+				allowParameters |= annotation.parametrize();
+			} else if (property != null) {
+				name = field.getName();
+			} else {
+				continue;
+			}
+
+			if (prefix != null && !prefix.isEmpty()) {
+				name = prefix.concat(name);
+			}
+
+			field.setAccessible(true);
+			final String splitter = annotation != null ? annotation.splitter() : ";";
+			binders.add(fieldBinder(field, name, allowParameters, splitter));
+		}
+
+		for (Method method : type.getDeclaredMethods()) {
+			if (!method.isAnnotationPresent(Property.class) || statics && !Modifier.isStatic(method.getModifiers())) {
+				continue;
+			}
+
+			final String name = method.getAnnotation(Property.class).value().isEmpty()
+					? method.getName()
+					: method.getAnnotation(Property.class).value();
+			if (method.getParameterTypes().length != 1) {
+				binders.add((target, source, fact) -> {
+					if (!source.contains(name) && fact != null) {
+						fact.missPropertyEvent(name);
+					}
+				});
+				continue;
+			}
+
+			method.setAccessible(true);
+			final Function<String, ?> converter = EnvironmentCaster.converter(method.getParameterTypes()[0]);
+			binders.add((target, source, fact) -> {
+				final String value = source.get(name, false);
+				if (value == null) {
+					if (fact != null) {
+						fact.missPropertyEvent(name);
+					}
+					return;
+				}
+
+				try {
+					method.invoke(target, converter.apply(value));
+				} catch (IllegalEnvironmentException | NumberFormatException e) {
+					castFailed(fact, name, value, e);
+				} catch (InvocationTargetException e) {
+					castFailed(fact, name, value, e.getCause());
+				}
+			});
+		}
+		return new BindingPlan(binders);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Binder fieldBinder(Field field, String name, boolean allowParameters, String splitter) {
+		final Class<?> type = field.getType();
+		final ValueBinder binder;
+		if (type.isArray()) {
+			final Class<?> baseType = type.getComponentType();
+			final Function<String, ?> converter = EnvironmentCaster.converter(baseType);
+			binder = (target, value, fact) -> {
+				final String[] values = value.split(splitter);
+				final Object array = Array.newInstance(baseType, values.length);
+				for (int i = 0; i < values.length; i++) {
+					try {
+						Array.set(array, i, converter.apply(values[i]));
+					} catch (IllegalEnvironmentException | NumberFormatException e) {
+						castFailed(fact, name, values[i], e);
+					}
+				}
+				field.set(target, array);
+			};
+		} else if (type.isAssignableFrom(List.class)) {
+			final Class<?> genericType = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+			final Function<String, ?> converter = EnvironmentCaster.converter(genericType);
+			binder = (target, value, fact) -> {
+				final List<Object> list = (List<Object>) field.get(target);
+				if (list == null) {
+					throw new IoCException("Cannot use null-object for parsing List splitter.");
+				}
+
+				for (String element : value.split(splitter)) {
+					try {
+						list.add(converter.apply(element));
+					} catch (IllegalEnvironmentException | NumberFormatException e) {
+						castFailed(fact, name, element, e);
+					}
+				}
+			};
+		} else if (EnvironmentCaster.isCast(field)) {
+			final Function<String, ?> converter = EnvironmentCaster.converter(type);
+			binder = (target, value, fact) -> {
+				try {
+					field.set(target, converter.apply(value));
+				} catch (IllegalEnvironmentException | NumberFormatException e) {
+					castFailed(fact, name, value, e);
+				}
+			};
+		} else {
+			binder = (target, value, fact) -> {
+				final Constructor<?> constructor = type.getDeclaredConstructor(String.class);
+				constructor.setAccessible(true);
+				field.set(target, constructor.newInstance(value));
+			};
+		}
+
+		return (target, source, fact) -> {
+			final String value = source.get(name, allowParameters);
+			if (value != null) {
+				binder.bind(target, value, fact);
+			} else if (fact != null) {
+				fact.missPropertyEvent(name);
+			}
+		};
+	}
+
+	/**
+	 * Reports value which can not be cast to its property, to fact of configuration if present,
+	 * otherwise to log, so invalid value is never dropped silently.
+	 */
+	private static void castFailed(IEnvironmentFact fact, String name, String value, Throwable cause) {
+		if (fact != null) {
+			fact.typeCastException(name, value);
+		} else {
+			log.warn("Invalid value [{}] of property [{}]: {}", value, name, cause.getMessage());
+		}
+	}
+
+	@FunctionalInterface
+	private interface Binder {
+		void bind(Object target, EnvironmentSource source, IEnvironmentFact fact) throws Exception;
+	}
+
+	@FunctionalInterface
+	private interface ValueBinder {
+		void bind(Object target, String value, IEnvironmentFact fact) throws Exception;
+	}
+}
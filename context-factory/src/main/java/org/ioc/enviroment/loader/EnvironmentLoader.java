@@ -22,238 +22,160 @@ import org.ioc.annotations.configuration.Property;
 import org.ioc.enviroment.listeners.IEnvironmentFact;
 import org.ioc.enviroment.storetypes.IEnvironmentFormatter;
 import org.ioc.enviroment.storetypes.impl.EnvironmentFormatterIni;
-import org.ioc.enviroment.typecaster.EnvironmentCaster;
-import org.ioc.enviroment.typecaster.exception.IllegalEnvironmentException;
-import org.ioc.exceptions.IoCException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.lang.reflect.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Configuration readValues parses given configuration file(s) and fills given object fields.
  * <p>
+ * Every file is parsed once into immutable {@link EnvironmentSource} shared by all classes bound from it, and
+ * every class is bound through its cached {@link BindingPlan}, so loaders may run concurrently. If system
+ * property {@value #SNAPSHOT_PROPERTY} names a file, sources are restored from its binary snapshot while files
+ * are unchanged, and {@link #writeSnapshot()} saves them for next start.
  *
  * @author GenCloud
  * @date 09/2018
  */
 public class EnvironmentLoader {
-	private final static Pattern parametersPattern = Pattern.compile("\\$\\{([^}]*)\\}");
+	public static final String SNAPSHOT_PROPERTY = "ioc.environment.snapshot";
+
+	private static final Logger log = LoggerFactory.getLogger(EnvironmentLoader.class);
+
+	private static final Map<String, EnvironmentSource> sources = new ConcurrentHashMap<>();
+
+	private static volatile Map<String, EnvironmentSource> snapshot;
+	private static volatile boolean modified;
 
 	/**
 	 * Parses property set with using of annotations.
 	 *
 	 * @param object annotated object, that represents Java property storage.
-	 * @param path   Path to configuration file.
-	 * @throws IOException               If configuration file does not exists or due to system IO errors.
+	 * @param source Source of properties.
 	 * @throws IllegalAccessException    If tries access inaccessible entities in annotated object.
 	 * @throws InstantiationException    When failed to create instance of an custom object. Such exception can appered when property field is of custom bag.
 	 * @throws NoSuchMethodException     Appears on adding splitter properties to lists.
 	 * @throws InvocationTargetException Failed invoke some annotated method.
 	 */
-	@SuppressWarnings({"unchecked", "deprecation"})
-	private static Properties parse0(Object object, Properties props, String path) throws Exception {
+	public static void bind(Object object, EnvironmentSource source) throws Exception {
 		final boolean callEvents = object instanceof IEnvironmentFact;
 
 		if (callEvents) {
-			((IEnvironmentFact) object).preParseEnvironment(path);
+			((IEnvironmentFact) object).preParseEnvironment(source.getName());
 		}
 
-		final boolean isClass = (object instanceof Class);
-		boolean classAnnotationPresent;
-		String prefix = null;
-		boolean classAllowParameters = false;
-		if (isClass) {
-			classAnnotationPresent = ((Class) object).isAnnotationPresent(Property.class);
-
-			if (classAnnotationPresent) {
-				prefix = ((Property) ((Class) object).getAnnotation(Property.class)).prefix();
-				classAllowParameters = ((Property) ((Class) object).getAnnotation(Property.class)).parametrize();
-			}
-		} else {
-			classAnnotationPresent = object.getClass().isAnnotationPresent(Property.class);
+		BindingPlan.of(object).bind(object, source);
 
-			if (classAnnotationPresent) {
-				prefix = object.getClass().getAnnotation(Property.class).prefix();
-				classAllowParameters = object.getClass().getAnnotation(Property.class).parametrize();
-			}
+		if (callEvents) {
+			((IEnvironmentFact) object).postParseEnvironment(source.getName());
 		}
+	}
 
-		final Field[] fields = (object instanceof Class) ? ((Class) object).getDeclaredFields() : object.getClass().getDeclaredFields();
-		for (Field field : fields) {
-			String name;
-			boolean allowParameters = classAllowParameters;
-			if (isClass && !Modifier.isStatic(field.getModifiers())) {
-				continue;
-			}
-
-			if (field.isAnnotationPresent(Property.class)) {
-				if (field.getAnnotation(Property.class).ignore()) {
-					continue;
-				}
+	/**
+	 * Returns shared source of configuration file, parsing file only if it was not parsed yet or changed since.
+	 *
+	 * @param file Configuration file.
+	 * @return Immutable source of file.
+	 * @throws IOException If configuration file does not exists or due to system IO errors.
+	 */
+	public static EnvironmentSource source(File file) throws IOException {
+		final String name = file.getPath();
+		final long lastModified = file.lastModified();
+		final long length = file.length();
+
+		final EnvironmentSource cached = sources.get(name);
+		if (isCurrent(cached, lastModified, length)) {
+			return cached;
+		}
 
-				name = field.getAnnotation(Property.class).value();
+		final EnvironmentSource restored = snapshot().get(name);
+		if (isCurrent(restored, lastModified, length)) {
+			sources.put(name, restored);
+			return restored;
+		}
 
-				if (!allowParameters) {
-					allowParameters = field.getAnnotation(Property.class).parametrize();
+		try {
+			return sources.compute(name, (key, current) -> {
+				if (isCurrent(current, lastModified, length)) {
+					return current;
 				}
 
-				if (name.isEmpty()) {
-					name = field.getName();
+				final Properties props = new Properties();
+				try (FileInputStream stream = new FileInputStream(file)) {
+					props.load(stream);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
 				}
-			} else if (classAnnotationPresent) {
-				name = field.getName();
-			} else {
-				continue;
-			}
-
-			if (prefix != null && !prefix.isEmpty()) {
-				name = prefix.concat(name);
-			}
-
-			field.setAccessible(true);
-			if (props.containsKey(name)) {
-				String propValue = props.getProperty(name);
-
-				if (allowParameters) {
-					boolean replacePlaceholders = false;
-					while (true) {
-						Matcher parametersMatcher = parametersPattern.matcher(propValue);
-						boolean exit = true;
-						while (parametersMatcher.find()) {
-							final String parameterPropertyName = parametersMatcher.group(1);
-
-							if (!parameterPropertyName.isEmpty()) {
-								exit = false;
-
-								String parameterPropertyValue = props.containsKey(parameterPropertyName) ? props.getProperty(parameterPropertyName) : "";
-								propValue = propValue.replace(parametersMatcher.group(), parameterPropertyValue);
-							} else if (!replacePlaceholders) {
-								replacePlaceholders = true;
-							}
-						}
-
-						if (exit) {
-							break;
-						}
-					}
 
-					if (replacePlaceholders) {
-						propValue = propValue.replace("${}", "$");
-					}
-				}
+				modified = true;
+				return EnvironmentSource.of(name, lastModified, length, props);
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
 
-				if (field.getType().isArray()) {
-					final Class baseType = field.getType().getComponentType();
-					if (propValue != null) {
-						final String[] values = propValue.split(field.isAnnotationPresent(Property.class) ? field.getAnnotation(Property.class).splitter() : ";");
-
-						final Object array = Array.newInstance(baseType, values.length);
-						field.set(object, array);
-
-						int index = 0;
-						for (String value : values) {
-							try {
-								Array.set(array, index, EnvironmentCaster.cast(baseType, value));
-							} catch (IllegalEnvironmentException | NumberFormatException e) {
-								if (callEvents) {
-									((IEnvironmentFact) object).typeCastException(name, value);
-								}
-							}
-							++index;
-						}
-
-						field.set(object, array);
-					}
-				} else if (field.getType().isAssignableFrom(List.class)) {
-					if (field.get(object) == null) {
-						throw new IoCException("Cannot use null-object for parsing List splitter.");
-					}
+	private static boolean isCurrent(EnvironmentSource source, long lastModified, long length) {
+		return source != null && lastModified != 0 && source.getLastModified() == lastModified && source.getLength() == length;
+	}
 
-					final Class genericType = (Class) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
-					if (propValue != null) {
-						final String[] values = propValue.split(field.isAnnotationPresent(Property.class) ? field.getAnnotation(Property.class).splitter() : ";");
-
-						for (String value : values) {
-							try {
-								((List<Object>) field.get(object)).add(EnvironmentCaster.cast(genericType, value));
-							} catch (IllegalEnvironmentException | NumberFormatException e) {
-								if (callEvents) {
-									((IEnvironmentFact) object).typeCastException(name, value);
-								}
-							}
-						}
-					}
-				} else {
-					if (propValue != null) {
-						if (EnvironmentCaster.isCast(field)) {
-							try {
-								EnvironmentCaster.cast(object, field, propValue);
-							} catch (IllegalEnvironmentException | NumberFormatException e) {
-								if (callEvents) {
-									((IEnvironmentFact) object).typeCastException(name, propValue);
-								}
-							}
-						} else {
-							final Constructor construct = field.getType().getDeclaredConstructor(String.class);
-							construct.setAccessible(true);
-							field.set(object, construct.newInstance(propValue));
-							construct.setAccessible(false);
-						}
-					}
-				}
-			} else {
-				if (object instanceof IEnvironmentFact) {
-					((IEnvironmentFact) object).missPropertyEvent(name);
+	private static Map<String, EnvironmentSource> snapshot() {
+		Map<String, EnvironmentSource> restored = snapshot;
+		if (restored == null) {
+			synchronized (EnvironmentLoader.class) {
+				restored = snapshot;
+				if (restored == null) {
+					restored = readSnapshot();
+					snapshot = restored;
 				}
 			}
-			field.setAccessible(false);
 		}
+		return restored;
+	}
 
-		final Method[] methods = (object instanceof Class) ? ((Class) object).getDeclaredMethods() : object.getClass().getDeclaredMethods();
-		for (Method method : methods) {
-			if (method.isAnnotationPresent(Property.class)) {
-				String propName = method.getAnnotation(Property.class).value();
-
-				if (propName.isEmpty()) {
-					propName = method.getName();
-				}
-
-				if (!props.containsKey(propName)) {
-					if (object instanceof IEnvironmentFact) {
-						((IEnvironmentFact) object).missPropertyEvent(propName);
-					}
-					continue;
-				}
-
-				if (method.getParameterTypes().length == 1) {
-					final String propValue = props.getProperty(propName);
-					method.setAccessible(true);
-					if (propValue != null) {
-						try {
-							method.invoke(object, EnvironmentCaster.cast(method.getParameterTypes()[0], propValue));
-						} catch (IllegalEnvironmentException | NumberFormatException | InvocationTargetException e) {
-							if (callEvents) {
-								((IEnvironmentFact) object).typeCastException(propName, propValue);
-							}
-						}
-					} else {
-						method.invoke(object, method.getParameterTypes()[0] == String.class ? propValue : (EnvironmentCaster.cast(method.getParameterTypes()[0], propValue)));
-					}
+	private static Map<String, EnvironmentSource> readSnapshot() {
+		final String path = System.getProperty(SNAPSHOT_PROPERTY);
+		if (path == null || path.isEmpty()) {
+			return new ConcurrentHashMap<>();
+		}
 
-					method.setAccessible(false);
-				}
+		try {
+			final Map<String, EnvironmentSource> restored = EnvironmentSnapshot.read(new File(path));
+			if (log.isDebugEnabled()) {
+				log.debug("Restored {} configuration sources from snapshot {}", restored.size(), path);
 			}
+			return restored;
+		} catch (IOException e) {
+			log.warn("Can't read configuration snapshot {}, files will be parsed", path, e);
+			return new ConcurrentHashMap<>();
 		}
+	}
 
-		if (callEvents) {
-			((IEnvironmentFact) object).postParseEnvironment(path);
+	/**
+	 * Writes sources of parsed files to snapshot named by system property {@value #SNAPSHOT_PROPERTY},
+	 * if any file was parsed since snapshot was read.
+	 */
+	public static void writeSnapshot() {
+		final String path = System.getProperty(SNAPSHOT_PROPERTY);
+		if (path == null || path.isEmpty() || !modified) {
+			return;
 		}
 
-		return props;
+		try {
+			EnvironmentSnapshot.write(new File(path), sources.values());
+			modified = false;
+			if (log.isDebugEnabled()) {
+				log.debug("Written {} configuration sources to snapshot {}", sources.size(), path);
+			}
+		} catch (IOException e) {
+			log.warn("Can't write configuration snapshot {}", path, e);
+		}
 	}
 
 	/**
@@ -371,13 +293,9 @@ public class EnvironmentLoader {
 	 * @throws IOException               If configuration file does not exists or due to system IO errors.
 	 */
 	public static Properties parse(Object object, File file) throws Exception {
-		Properties props;
-
-		try (FileInputStream stream = new FileInputStream(file)) {
-			props = parse(object, stream, file.getPath());
-		}
-
-		return props;
+		final EnvironmentSource source = source(file);
+		bind(object, source);
+		return source.toProperties();
 	}
 
 	/**
@@ -396,7 +314,8 @@ public class EnvironmentLoader {
 		final Properties props = new Properties();
 		props.load(stream);
 
-		return parse0(object, props, streamName);
+		bind(object, EnvironmentSource.of(streamName, 0, 0, props));
+		return props;
 	}
 
 	/**
@@ -415,7 +334,8 @@ public class EnvironmentLoader {
 		final Properties props = new Properties();
 		props.load(reader);
 
-		return parse0(object, props, streamName);
+		bind(object, EnvironmentSource.of(streamName, 0, 0, props));
+		return props;
 	}
 
 	/**
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.enviroment.loader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary snapshot of resolved configuration files. Snapshot is read at warm restart instead of parsing files,
+ * source of file is used only if its modification time and length did not change.
+ * <p>
+ * Layout: magic, version, count of sources, then per source its name, modification time, length, count of
+ * properties and key, raw value and resolved value of every property (resolved value is omitted if it equals raw).
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+final class EnvironmentSnapshot {
+	private static final int MAGIC = 0x494F4345;
+	private static final int VERSION = 1;
+
+	private EnvironmentSnapshot() {
+	}
+
+	/**
+	 * Reads sources of snapshot.
+	 *
+	 * @param file snapshot file
+	 * @return sources by file name, empty if snapshot does not exist or is of other version
+	 * @throws IOException if snapshot can not be read
+	 */
+	static Map<String, EnvironmentSource> read(File file) throws IOException {
+		final Map<String, EnvironmentSource> sources = new HashMap<>();
+		if (!file.isFile()) {
+			return sources;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return sources;
+			}
+
+			for (int i = in.readInt(); i > 0; i--) {
+				final String name = readString(in);
+				final long lastModified = in.readLong();
+				final long length = in.readLong();
+				final int count = in.readInt();
+				final Map<String, String> raw = new HashMap<>(count * 2);
+				final Map<String, String> resolved = new HashMap<>(count * 2);
+				for (int j = 0; j < count; j++) {
+					final String key = readString(in);
+					final String value = readString(in);
+					raw.put(key, value);
+					resolved.put(key, in.readBoolean() ? readString(in) : value);
+				}
+				sources.put(name, new EnvironmentSource(name, lastModified, length, raw, resolved));
+			}
+		}
+		return sources;
+	}
+
+	/**
+	 * Writes sources to snapshot, replacing previous snapshot atomically.
+	 *
+	 * @param file    snapshot file
+	 * @param sources sources of files
+	 * @throws IOException if snapshot can not be written
+	 */
+	static void write(File file, Collection<EnvironmentSource> sources) throws IOException {
+		final File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Can not create directory " + parent);
+		}
+
+		final File temp = new File(parent, file.getName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(sources.size());
+			for (EnvironmentSource source : sources) {
+				writeString(out, source.getName());
+				out.writeLong(source.getLastModified());
+				out.writeLong(source.getLength());
+				out.writeInt(source.getRaw().size());
+				for (Map.Entry<String, String> entry : source.getRaw().entrySet()) {
+					writeString(out, entry.getKey());
+					writeString(out, entry.getValue());
+
+					final String resolved = source.getResolved().get(entry.getKey());
+					final boolean differs = !entry.getValue().equals(resolved);
+					out.writeBoolean(differs);
+					if (differs) {
+						writeString(out, resolved);
+					}
+				}
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
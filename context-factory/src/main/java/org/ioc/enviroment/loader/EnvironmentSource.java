@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.enviroment.loader;
+
+import java.util.*;
+
+/**
+ * Immutable key map of one configuration file. Placeholders ${key} of every value are resolved once, when source
+ * is created, so classes bound from same file share raw and resolved values.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public final class EnvironmentSource {
+	private final String name;
+	private final long lastModified;
+	private final long length;
+	private final Map<String, String> raw;
+	private final Map<String, String> resolved;
+
+	EnvironmentSource(String name, long lastModified, long length, Map<String, String> raw, Map<String, String> resolved) {
+		this.name = name;
+		this.lastModified = lastModified;
+		this.length = length;
+		this.raw = Collections.unmodifiableMap(raw);
+		this.resolved = Collections.unmodifiableMap(resolved);
+	}
+
+	/**
+	 * Creates source of loaded properties, resolving their placeholders.
+	 *
+	 * @param name         name of file or stream
+	 * @param lastModified modification time of file, 0 - source is not a file
+	 * @param length       length of file
+	 * @param properties   loaded properties
+	 * @return immutable source
+	 */
+	static EnvironmentSource of(String name, long lastModified, long length, Properties properties) {
+		final Map<String, String> raw = new HashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			raw.put(key, properties.getProperty(key));
+		}
+
+		final Map<String, String> resolved = new HashMap<>(raw.size());
+		final Set<String> resolving = new HashSet<>();
+		raw.keySet().forEach(key -> resolve(key, raw, resolved, resolving));
+		return new EnvironmentSource(name, lastModified, length, raw, resolved);
+	}
+
+	/**
+	 * Resolves placeholders of value in single pass, resolving referenced keys first. Placeholder of absent key
+	 * or of key referencing itself is replaced by empty string, empty placeholder ${} - by $.
+	 */
+	private static String resolve(String key, Map<String, String> raw, Map<String, String> resolved, Set<String> resolving) {
+		final String done = resolved.get(key);
+		if (done != null) {
+			return done;
+		}
+
+		final String value = raw.get(key);
+		if (value == null || !resolving.add(key)) {
+			return "";
+		}
+
+		int start = value.indexOf("${");
+		if (start < 0) {
+			resolving.remove(key);
+			resolved.put(key, value);
+			return value;
+		}
+
+		final StringBuilder builder = new StringBuilder(value.length());
+		int from = 0;
+		while (start >= 0) {
+			final int end = value.indexOf('}', start + 2);
+			if (end < 0) {
+				break;
+			}
+
+			builder.append(value, from, start);
+			final String parameter = value.substring(start + 2, end);
+			builder.append(parameter.isEmpty() ? "$" : resolve(parameter, raw, resolved, resolving));
+			from = end + 1;
+			start = value.indexOf("${", from);
+		}
+		builder.append(value, from, value.length());
+
+		final String result = builder.toString();
+		resolving.remove(key);
+		resolved.put(key, result);
+		return result;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	long getLastModified() {
+		return lastModified;
+	}
+
+	long getLength() {
+		return length;
+	}
+
+	Map<String, String> getRaw() {
+		return raw;
+	}
+
+	Map<String, String> getResolved() {
+		return resolved;
+	}
+
+	/**
+	 * @param key property name
+	 * @return true if source has property
+	 */
+	public boolean contains(String key) {
+		return raw.containsKey(key);
+	}
+
+	/**
+	 * @param key         property name
+	 * @param parametrize resolve placeholders of value
+	 * @return value of property, null if source has no property
+	 */
+	public String get(String key, boolean parametrize) {
+		return parametrize ? resolved.get(key) : raw.get(key);
+	}
+
+	/**
+	 * @return copy of raw values
+	 */
+	public Properties toProperties() {
+		final Properties properties = new Properties();
+		properties.putAll(raw);
+		return properties;
+	}
+}
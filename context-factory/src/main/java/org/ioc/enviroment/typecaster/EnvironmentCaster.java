@@ -23,9 +23,15 @@ import org.ioc.enviroment.typecaster.exception.IllegalEnvironmentException;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The Type Caster is small utility that helps put string values into object fields with different types.
@@ -49,6 +55,8 @@ public class EnvironmentCaster {
 			BigInteger.class, BigDecimal.class
 	};
 
+	private final static Map<Class<?>, Function<String, ?>> converters = new ConcurrentHashMap<>();
+
 	/**
 	 * Puts value to field.
 	 *
@@ -67,7 +75,7 @@ public class EnvironmentCaster {
 		field.setAccessible(true);
 
 		if (type.isEnum()) {
-			field.set(object, Enum.valueOf((Class<Enum>) type, value));
+			field.set(object, enumOf(type, value));
 		} else if (type == Integer.class || type == int.class) {
 			field.set(object, Integer.decode(value));
 		} else if (type == Short.class || type == short.class) {
@@ -114,45 +122,84 @@ public class EnvironmentCaster {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T cast(Class<T> type, String value) throws IllegalEnvironmentException {
+		return (T) converter(type).apply(value);
+	}
+
+	/**
+	 * Resolves function casting string values to given bag once, so repeated casts skip bag dispatch.
+	 *
+	 * @param type Cast bag.
+	 * @return Function casting value, throwing {@link IllegalEnvironmentException} if bag is unsupported.
+	 */
+	public static Function<String, ?> converter(Class<?> type) {
+		return converters.computeIfAbsent(type, EnvironmentCaster::createConverter);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<String, ?> createConverter(Class<?> type) {
 		if (!isCast(type)) {
-			throw new IllegalEnvironmentException("Unsupported bag [" + type.getName() + "]");
+			return value -> {
+				throw new IllegalEnvironmentException("Unsupported bag [" + type.getName() + "]");
+			};
 		}
 
 		if (type.isEnum()) {
-			return (T) Enum.valueOf((Class<Enum>) type, value);
+			return value -> enumOf(type, value);
 		} else if (type == Integer.class || type == int.class) {
-			return (T) Integer.decode(value);
+			return Integer::decode;
 		} else if (type == Short.class || type == short.class) {
-			return (T) Short.decode(value);
+			return Short::decode;
 		} else if (type == Float.class || type == float.class) {
-			return (T) (Float) Float.parseFloat(value);
+			return Float::parseFloat;
 		} else if (type == Double.class || type == double.class) {
-			return (T) (Double) Double.parseDouble(value);
+			return Double::parseDouble;
 		} else if (type == Long.class || type == long.class) {
-			return (T) Long.decode(value);
+			return Long::decode;
 		} else if (type == Boolean.class || type == boolean.class) {
-			return (T) (Boolean) Boolean.parseBoolean(value);
+			return Boolean::parseBoolean;
 		} else if (type == String.class) {
-			return (T) value;
+			return Function.identity();
 		} else if (type == Character.class || type == char.class) {
-			return (T) ((Object) value.charAt(0));
+			return value -> value.charAt(0);
 		} else if (type == Byte.class || type == byte.class) {
-			return (T) Byte.decode(value);
+			return Byte::decode;
 		} else if (type == AtomicInteger.class) {
-			return (T) new AtomicInteger(Integer.decode(value));
+			return value -> new AtomicInteger(Integer.decode(value));
 		} else if (type == AtomicBoolean.class) {
-			return (T) new AtomicBoolean(Boolean.parseBoolean(value));
+			return value -> new AtomicBoolean(Boolean.parseBoolean(value));
 		} else if (type == AtomicLong.class) {
-			return (T) new AtomicLong(Long.decode(value));
+			return value -> new AtomicLong(Long.decode(value));
 		} else if (type == BigInteger.class) {
-			return (T) new BigInteger(value);
-		} else if (type == BigDecimal.class) {
-			return (T) new BigDecimal(value);
+			return BigInteger::new;
 		} else {
-			throw new IllegalEnvironmentException("Unsupported bag [" + type.getName() + "]");
+			return BigDecimal::new;
 		}
 	}
 
+	/**
+	 * Resolves constant of enum ignoring case and '-' or '_' separators, so {@code worker-pool},
+	 * {@code workerPool} and {@code WORKER_POOL} name the same constant.
+	 *
+	 * @param type  Enum bag.
+	 * @param value Name of constant.
+	 * @return Constant of enum.
+	 */
+	private static Object enumOf(Class<?> type, String value) {
+		final String key = normalize(value);
+		for (Object constant : type.getEnumConstants()) {
+			if (normalize(((Enum<?>) constant).name()).equals(key)) {
+				return constant;
+			}
+		}
+
+		throw new IllegalEnvironmentException("Unknown value [" + value + "] of [" + type.getName() + "], expected one of "
+				+ Arrays.stream(type.getEnumConstants()).map(c -> ((Enum<?>) c).name()).collect(Collectors.joining(", ", "[", "]")));
+	}
+
+	private static String normalize(String name) {
+		return name.trim().replace("-", "").replace("_", "").toUpperCase(Locale.ROOT);
+	}
+
 	/**
 	 * Checks whether class can be used for casting with TypeCaster.
 	 *
@@ -19,17 +19,28 @@
 package org.ioc.utils;
 
 import org.ioc.context.model.tasks.AbstractTask;
+import org.ioc.context.model.tasks.stats.FixedRateTracker;
+import org.ioc.context.model.tasks.stats.TaskStatsCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author GenCloud
  * @date 09/2018
  */
 public class GeneralTask extends AbstractTask<Void> implements Runnable {
+	private static final Logger log = LoggerFactory.getLogger(GeneralTask.class);
+
 	private final Object o;
 	private final Method method;
 	private final TaskProperties taskProperties;
+	private final TaskStatsCounter statsCounter = new TaskStatsCounter();
+	private volatile FixedRateTracker tracker;
+	private volatile boolean behind;
 
 	public GeneralTask(Object o, Method method, TaskProperties taskProperties) {
 		this.o = o;
@@ -37,6 +48,17 @@ public class GeneralTask extends AbstractTask<Void> implements Runnable {
 		this.taskProperties = taskProperties;
 	}
 
+	/**
+	 * @return name of task, declaring class and method name
+	 */
+	public String getName() {
+		return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+	}
+
+	public TaskStatsCounter getStatsCounter() {
+		return statsCounter;
+	}
+
 	public TaskProperties getTaskProperties() {
 		return taskProperties;
 	}
@@ -51,10 +73,42 @@ public class GeneralTask extends AbstractTask<Void> implements Runnable {
 
 	@Override
 	public Void call() throws Exception {
-		method.setAccessible(true);
-		method.invoke(o);
-		method.setAccessible(false);
-		return null;
+		final long start = System.nanoTime();
+		final FixedRateTracker tracker = getTracker();
+		final long lateness = tracker != null ? tracker.lateness(start) : 0;
+		Throwable failure = null;
+		try {
+			method.setAccessible(true);
+			method.invoke(o);
+			return null;
+		} catch (InvocationTargetException e) {
+			failure = e.getCause();
+			throw e;
+		} catch (Exception e) {
+			failure = e;
+			throw e;
+		} finally {
+			final long runTime = System.nanoTime() - start;
+			final boolean overrun = tracker != null && tracker.isOverrun(lateness, runTime);
+			statsCounter.recordRun(lateness, runTime, failure, overrun);
+			if (failure != null) {
+				log.error("Task [{}] failed", getName(), failure);
+			}
+
+			if (overrun && !behind) {
+				log.warn("Task [{}] is falling behind its {} {} interval: started {} ms late, run took {} ms", getName(),
+						taskProperties.getFixedInterval(), taskProperties.getTimeUnit(),
+						TimeUnit.NANOSECONDS.toMillis(lateness), TimeUnit.NANOSECONDS.toMillis(runTime));
+			}
+			behind = overrun;
+		}
+	}
+
+	private FixedRateTracker getTracker() {
+		if (tracker == null && taskProperties.getFixedInterval() > 0) {
+			tracker = new FixedRateTracker(taskProperties.getTimeUnit().toNanos(taskProperties.getFixedInterval()));
+		}
+		return tracker;
 	}
 
 	@Override
@@ -62,6 +116,7 @@ public class GeneralTask extends AbstractTask<Void> implements Runnable {
 		try {
 			call();
 		} catch (Exception ignored) {
+			// failure is logged and recorded in statistics, task keeps its schedule
 		}
 	}
 }
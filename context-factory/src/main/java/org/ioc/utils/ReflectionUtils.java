@@ -27,24 +27,23 @@ import org.ioc.aop.advice.AfterAdvice;
 import org.ioc.aop.advice.AroundAdivice;
 import org.ioc.aop.advice.BeforeAdvice;
 import org.ioc.aop.advice.ThrowingAdvice;
-import org.ioc.aop.annotation.*;
+import org.ioc.aop.annotation.AfterInvocation;
+import org.ioc.aop.annotation.AroundExecution;
+import org.ioc.aop.annotation.BeforeInvocation;
+import org.ioc.aop.annotation.Throwing;
 import org.ioc.aop.interceptor.Interceptor;
-import org.ioc.aop.selector.StandardSelector;
+import org.ioc.aop.selector.PointcutEngine;
+import org.ioc.aop.selector.PointcutEngine.AdviceDefinition;
+import org.ioc.context.index.ClassCatalog;
 import org.ioc.context.type.IoCContext;
 import org.ioc.exceptions.IoCInstantiateException;
 
-import java.io.File;
-import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.JarURLConnection;
-import java.net.URL;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
 import static java.lang.reflect.Modifier.isTransient;
@@ -58,7 +57,26 @@ import static java.lang.reflect.Modifier.isTransient;
 public class ReflectionUtils {
 	private static final ClassLoader classLoader = ReflectionUtils.class.getClassLoader();
 
-	private final static Map<Method, List<Interceptor>> INTERCEPTORS = new ConcurrentHashMap<>();
+	private final static Map<List<String>, ClassCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+	/**
+	 * Function of returning the class catalog of packages. Packages are scanned once, later
+	 * calls with the same packages are answered from the same catalog.
+	 *
+	 * @param packages scanning packages
+	 * @return catalog of classes
+	 */
+	public static ClassCatalog getCatalog(String... packages) {
+		return CATALOGS.computeIfAbsent(Arrays.asList(packages), key -> ClassCatalog.scan(classLoader, packages));
+	}
+
+	/**
+	 * Function of releasing scanned catalogs, so their classes and loader can be collected once context is destroyed.
+	 * Later lookups scan packages again.
+	 */
+	public static void clearCatalogs() {
+		CATALOGS.clear();
+	}
 
 	/**
 	 * Function of scanning a patch to find the types filtered by bag.
@@ -68,9 +86,7 @@ public class ReflectionUtils {
 	 * @return filtered classes
 	 */
 	public static List<Class<?>> findClassesByInstance(Class<?> instance, String... packages) {
-		return findClassesByPackage(packages).stream()
-				.filter(instance::isAssignableFrom)
-				.collect(Collectors.toList());
+		return getCatalog(packages).findBySupertype(instance);
 	}
 
 	/**
@@ -81,9 +97,7 @@ public class ReflectionUtils {
 	 * @return filtered classes
 	 */
 	public static List<Class<?>> findClassesByAnnotation(Class<? extends Annotation> annotation, String... packages) {
-		return findClassesByPackage(packages).stream()
-				.filter(cls -> cls.isAnnotationPresent(annotation))
-				.collect(Collectors.toList());
+		return getCatalog(packages).findByAnnotation(annotation);
 	}
 
 	/**
@@ -94,29 +108,10 @@ public class ReflectionUtils {
 	 * @return filtered classes
 	 */
 	public static List<Class<?>> findClassesByAnnotation(List<Class<? extends Annotation>> annotations, String... packages) {
-		return findClassesByPackage(packages).stream()
-				.filter(cls -> annotations.stream().anyMatch(cls::isAnnotationPresent))
-				.collect(Collectors.toList());
-	}
-
-	/**
-	 * Function of scanning a patch to find all classes.
-	 *
-	 * @param packages scanning packages
-	 * @return filtered classes
-	 */
-	private static List<Class<?>> findClassesByPackage(String... packages) {
-		final List<Class<?>> list = new LinkedList<>();
-		Arrays.stream(packages).forEach(packageName -> {
-			final URL url = classLoader.getResource(packageName.replace(".", "/"));
-			assert url != null;
-			if (!url.getProtocol().equals("jar")) {
-				list.addAll(loadClassesFromPackage(new File(url.getPath()), packageName));
-			} else {
-				list.addAll(loadClassesFromJarEntry(url));
-			}
-		});
-		return list;
+		final ClassCatalog catalog = getCatalog(packages);
+		final Set<Class<?>> result = new LinkedHashSet<>();
+		annotations.forEach(annotation -> result.addAll(catalog.findByAnnotation(annotation)));
+		return new ArrayList<>(result);
 	}
 
 	public static <T extends Annotation> List<T> searchAnnotations(Class<?> entityClass, Class<T> clazz) {
@@ -220,52 +215,6 @@ public class ReflectionUtils {
 		}
 	}
 
-	/**
-	 * Function of scanning a patch to find all classes in current package.
-	 *
-	 * @param filePath    path to check
-	 * @param packageName name of package in path
-	 * @return found classes
-	 */
-	private static List<Class<?>> loadClassesFromPackage(File filePath, String packageName) {
-		final List<Class<?>> list = new LinkedList<>();
-		Arrays.stream(Objects.requireNonNull(filePath
-				.listFiles((file) -> (file.isFile() && file.getName().endsWith(".class"))
-						|| file.isDirectory())))
-				.forEach(file -> {
-					if (file.isDirectory()) {
-						list.addAll(loadClassesFromPackage(file, packageName + "." + file.getName()));
-					} else {
-						list.add(loadClass(packageName + "." + file.getName().substring(0, file.getName().length() - 6)));
-					}
-				});
-		return list;
-	}
-
-	/**
-	 * Function of scanning and loading classes in jar-library.
-	 *
-	 * @param url url for open jar entries
-	 * @return found classes
-	 */
-	private static List<Class<?>> loadClassesFromJarEntry(URL url) {
-		final List<Class<?>> list = new LinkedList<>();
-		try {
-			final JarURLConnection connection = (JarURLConnection) url.openConnection();
-			final JarFile jarFile = connection.getJarFile();
-			final Enumeration<JarEntry> jarEntries = jarFile.entries();
-			while (jarEntries.hasMoreElements()) {
-				final String entryName = jarEntries.nextElement().getName();
-				if (entryName.endsWith(".class")) {
-					list.add(loadClass(entryName.substring(0, entryName.length() - 6).replace("/", ".")));
-				}
-			}
-		} catch (IOException e) {
-			throw new IoCInstantiateException();
-		}
-		return list;
-	}
-
 	/**
 	 * Function of returning origin class.
 	 *
@@ -357,10 +306,6 @@ public class ReflectionUtils {
 
 	//################################################# AOP #############################################
 
-	private static Method getPointCutMethod(Method[] methods) {
-		return Arrays.stream(methods).filter(mh -> mh.isAnnotationPresent(PointCut.class)).findFirst().orElse(null);
-	}
-
 	/**
 	 * Function of analyzing method and instantiate IoCAspect agent.
 	 *
@@ -369,146 +314,20 @@ public class ReflectionUtils {
 	 * @return aspect agent
 	 */
 	public static List<Interceptor> installAspect(IoCContext context, Method method, List<Class<?>> aspectList) {
-		List<Interceptor> result = INTERCEPTORS.get(method);
-		if (result == null) {
-			result = new ArrayList<>();
-			for (Class<?> aspect : aspectList) {
-				final Method[] methods = aspect.getDeclaredMethods();
-				final Method pointCutMethod = getPointCutMethod(methods);
-				StandardSelector pointcut = null;
-
-				if (pointCutMethod != null) {
-					final PointCut pointCut = pointCutMethod.getAnnotation(PointCut.class);
-					pointcut = new StandardSelector(pointCut.value());
-				}
-
-				for (Method mh : methods) {
-					if (mh.isAnnotationPresent(PointCut.class)) {
-						continue;
-					}
-
-					if (mh.isAnnotationPresent(BeforeInvocation.class)) {
-						final BeforeInvocation beforeInvocation = mh.getAnnotation(BeforeInvocation.class);
-						if (pointcut != null && beforeInvocation.value().startsWith(pointCutMethod.getName())
-								&& pointcut.isValidForAdvisor(method)) {
-							result.add(create(context, aspect, mh, BeforeInvocation.class));
-						} else {
-							final StandardSelector selector = new StandardSelector(beforeInvocation.value());
-							if (selector.isValidForAdvisor(method)) {
-								result.add(create(context, aspect, mh, BeforeInvocation.class));
-							}
-						}
-					} else if (mh.isAnnotationPresent(AfterInvocation.class)) {
-						final AfterInvocation afterInvocation = mh.getAnnotation(AfterInvocation.class);
-						if (pointcut != null && afterInvocation.value().startsWith(pointCutMethod.getName())
-								&& pointcut.isValidForAdvisor(method)) {
-							result.add(create(context, aspect, mh, AfterInvocation.class));
-						} else {
-							final StandardSelector selector = new StandardSelector(afterInvocation.value());
-							if (selector.isValidForAdvisor(method)) {
-								result.add(create(context, aspect, mh, AfterInvocation.class));
-							}
-						}
-					} else if (mh.isAnnotationPresent(AroundExecution.class)) {
-						final AroundExecution aroundExecution = mh.getAnnotation(AroundExecution.class);
-						if (pointcut != null &&
-								aroundExecution.value().startsWith(pointCutMethod.getName()) &&
-								pointcut.isValidForAdvisor(method)) {
-							result.add(create(context, aspect, mh, AroundExecution.class));
-						} else {
-							final StandardSelector selector = new StandardSelector(aroundExecution.value());
-							if (selector.isValidForAdvisor(method)) {
-								result.add(create(context, aspect, mh, AroundExecution.class));
-							}
-						}
-					} else if (mh.isAnnotationPresent(Throwing.class)) {
-						final Throwing throwing = mh.getAnnotation(Throwing.class);
-						if (pointcut != null && throwing.value().startsWith(pointCutMethod.getName())
-								&& pointcut.isValidForAdvisor(method)) {
-							result.add(create(context, aspect, mh, Throwing.class));
-						} else {
-							final StandardSelector selector = new StandardSelector(throwing.value());
-							if (selector.isValidForAdvisor(method)) {
-								result.add(create(context, aspect, mh, Throwing.class));
-							}
-						}
-					}
+		final PointcutEngine engine = context.getPointcutEngine();
+		final List<Interceptor> result = new ArrayList<>();
+		for (Class<?> aspect : aspectList) {
+			for (AdviceDefinition definition : engine.getDefinitions(aspect)) {
+				if (definition.matches(engine, method)) {
+					result.add(create(context, aspect, definition.getMethod(), definition.getAdviceType()));
 				}
 			}
-
-			if (!result.isEmpty()) {
-				INTERCEPTORS.put(method, result);
-			}
 		}
 		return result;
 	}
 
-	public static boolean checkTypeForIntercept(Method method, List<Class<?>> aspectList) {
-		for (Class<?> aspect : aspectList) {
-			final Method[] methods = aspect.getDeclaredMethods();
-			final Method pointCutMethod = getPointCutMethod(methods);
-			StandardSelector pointcut = null;
-
-			if (pointCutMethod != null) {
-				final PointCut pointCut = pointCutMethod.getAnnotation(PointCut.class);
-				pointcut = new StandardSelector(pointCut.value());
-			}
-
-			for (Method mh : methods) {
-				if (mh.isAnnotationPresent(PointCut.class)) {
-					continue;
-				}
-
-				if (mh.isAnnotationPresent(BeforeInvocation.class)) {
-					final BeforeInvocation beforeInvocation = mh.getAnnotation(BeforeInvocation.class);
-					if (pointcut != null && beforeInvocation.value().startsWith(pointCutMethod.getName())
-							&& pointcut.isValidForAdvisor(method)) {
-						return true;
-					} else {
-						final StandardSelector selector = new StandardSelector(beforeInvocation.value());
-						if (selector.isValidForAdvisor(method)) {
-							return true;
-						}
-					}
-				} else if (mh.isAnnotationPresent(AfterInvocation.class)) {
-					final AfterInvocation afterInvocation = mh.getAnnotation(AfterInvocation.class);
-					if (pointcut != null && afterInvocation.value().startsWith(pointCutMethod.getName())
-							&& pointcut.isValidForAdvisor(method)) {
-						return true;
-					} else {
-						final StandardSelector selector = new StandardSelector(afterInvocation.value());
-						if (selector.isValidForAdvisor(method)) {
-							return true;
-						}
-					}
-				} else if (mh.isAnnotationPresent(AroundExecution.class)) {
-					final AroundExecution aroundExecution = mh.getAnnotation(AroundExecution.class);
-					if (pointcut != null &&
-							aroundExecution.value().startsWith(pointCutMethod.getName()) &&
-							pointcut.isValidForAdvisor(method)) {
-						return true;
-					} else {
-						final StandardSelector selector = new StandardSelector(aroundExecution.value());
-						if (selector.isValidForAdvisor(method)) {
-							return true;
-						}
-					}
-				} else if (mh.isAnnotationPresent(Throwing.class)) {
-					final Throwing throwing = mh.getAnnotation(Throwing.class);
-					if (pointcut != null && throwing.value().startsWith(pointCutMethod.getName())
-							&& pointcut.isValidForAdvisor(method)) {
-						return true;
-					} else {
-						final StandardSelector selector = new StandardSelector(throwing.value());
-						if (selector.isValidForAdvisor(method)) {
-							return true;
-						}
-					}
-				}
-			}
-		}
-
-		return false;
+	public static boolean checkTypeForIntercept(IoCContext context, Method method, List<Class<?>> aspectList) {
+		return context.getPointcutEngine().isAdvised(method, aspectList);
 	}
 
 	private static Interceptor create(IoCContext context, Class classType, Method method, Class annontationType) {
@@ -28,11 +28,19 @@ public class TaskProperties {
     private long startingDelay;
     private long fixedInterval;
     private TimeUnit timeUnit;
+    private String pool;
+    private int poolThreads;
 
     public TaskProperties(long startingDelay, long fixedInterval, TimeUnit timeUnit) {
+        this(startingDelay, fixedInterval, timeUnit, "", 0);
+    }
+
+    public TaskProperties(long startingDelay, long fixedInterval, TimeUnit timeUnit, String pool, int poolThreads) {
         this.startingDelay = startingDelay;
         this.fixedInterval = fixedInterval;
         this.timeUnit = timeUnit;
+        this.pool = pool;
+        this.poolThreads = poolThreads;
     }
 
     public long getStartingDelay() {
@@ -58,4 +66,20 @@ public class TaskProperties {
     public void setTimeUnit(TimeUnit timeUnit) {
         this.timeUnit = timeUnit;
     }
+
+    public String getPool() {
+        return pool;
+    }
+
+    public void setPool(String pool) {
+        this.pool = pool;
+    }
+
+    public int getPoolThreads() {
+        return poolThreads;
+    }
+
+    public void setPoolThreads(int poolThreads) {
+        this.poolThreads = poolThreads;
+    }
 }
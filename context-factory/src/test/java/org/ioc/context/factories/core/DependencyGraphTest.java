@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.factories.core;
+
+import org.ioc.annotations.context.IoCDependency;
+import org.ioc.annotations.context.Mode;
+import org.ioc.context.model.TypeMetadata;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class DependencyGraphTest {
+	private final InstanceFactory instanceFactory = new InstanceFactory(null);
+
+	/**
+	 * Consumer takes one of two services by constructor, which cannot be injected, and second one by qualifier.
+	 * First service depends on consumer, but it is never injected, so it does not form a cycle.
+	 */
+	@Test
+	public void edgesLeadOnlyToInjectedCandidates() throws Exception {
+		final TypeMetadata consumer = metadata("consumer", Consumer.class);
+		final TypeMetadata first = metadata("firstService", FirstService.class);
+		final TypeMetadata second = metadata("secondService", SecondService.class);
+
+		final DependencyGraph graph = DependencyGraph.build(Arrays.asList(consumer, first, second), instanceFactory);
+
+		assertEquals(Collections.singletonList(second), graph.getDependencies(consumer));
+		assertEquals(Collections.singletonList(consumer), graph.getDependencies(first));
+		assertEquals(Collections.emptyList(), graph.getDependencies(second));
+		assertEquals(2, graph.getDepth());
+	}
+
+	@Test
+	public void singleCandidateIsDependency() throws Exception {
+		final TypeMetadata consumer = metadata("consumer", Consumer.class);
+		final TypeMetadata second = metadata("secondService", SecondService.class);
+
+		final DependencyGraph graph = DependencyGraph.build(Arrays.asList(consumer, second), instanceFactory);
+
+		assertEquals(Collections.singletonList(second), graph.getDependencies(consumer));
+	}
+
+	private static TypeMetadata metadata(String name, Class<?> type) throws Exception {
+		return new TypeMetadata(name, type.getConstructors()[0], Mode.SINGLETON);
+	}
+
+	public interface Service {
+	}
+
+	public static class Consumer {
+		@IoCDependency("secondService")
+		private Service qualified;
+
+		public Consumer(Service service) {
+		}
+	}
+
+	public static class FirstService implements Service {
+		@IoCDependency
+		private Consumer consumer;
+	}
+
+	public static class SecondService implements Service {
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.offheap;
+
+import org.ioc.context.model.cache.expiring.model.Element;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class OffHeapElementTest {
+	private static final int WORDS = 8;
+
+	@Test
+	public void releasedElementHasNoValue() throws Exception {
+		try (OffHeapStore<Long> store = new OffHeapStore<>(new SlabArena(1024, 1024), new LongCodec())) {
+			final Element<String, Long> element = store.newElement("key", 42L, 0);
+			assertTrue(element instanceof OffHeapElement);
+			assertEquals(Long.valueOf(42L), element.getValue());
+
+			element.release();
+			assertNull(element.getValue());
+			assertEquals(0, store.getArena().getAllocated());
+		}
+	}
+
+	@Test
+	public void closedArenaLeavesElementWithoutValue() throws Exception {
+		final OffHeapStore<Long> store = new OffHeapStore<>(new SlabArena(1024, 1024), new LongCodec());
+		final Element<String, Long> element = store.newElement("key", 42L, 0);
+		store.close();
+
+		assertNull(element.getValue());
+		element.release();
+	}
+
+	/**
+	 * Element released by several threads at once must return its chunk to arena only once.
+	 */
+	@Test
+	public void concurrentReleaseFreesChunkOnce() throws Exception {
+		final SlabArena arena = new SlabArena(1024, 1024);
+		try (OffHeapStore<Long> store = new OffHeapStore<>(arena, new LongCodec())) {
+			for (int i = 0; i < 1000; i++) {
+				final Element<String, Long> element = store.newElement("key", (long) i, 0);
+				final CountDownLatch start = new CountDownLatch(1);
+				final Thread[] releasers = new Thread[2];
+				for (int j = 0; j < releasers.length; j++) {
+					releasers[j] = new Thread(() -> {
+						try {
+							start.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						element.release();
+					});
+					releasers[j].start();
+				}
+
+				start.countDown();
+				for (Thread releaser : releasers) {
+					releaser.join();
+				}
+				assertEquals(0, arena.getAllocated());
+			}
+		}
+	}
+
+	/**
+	 * Single chunk of arena is released and reused for other value while readers copy it, reader
+	 * must observe either value of its element or null, never bytes of value written after release.
+	 */
+	@Test
+	public void readRacingWithFreeNeverSeesReusedChunk() throws Exception {
+		final SlabArena arena = new SlabArena(64, 64);
+		try (OffHeapStore<Long> store = new OffHeapStore<>(arena, new LongCodec())) {
+			final AtomicReference<Written> current = new AtomicReference<>(new Written(store, 0));
+			final AtomicReference<Throwable> failure = new AtomicReference<>();
+			final CountDownLatch running = new CountDownLatch(1);
+			final Thread[] readers = new Thread[3];
+			for (int i = 0; i < readers.length; i++) {
+				readers[i] = new Thread(() -> {
+					try {
+						while (running.getCount() > 0) {
+							final Written written = current.get();
+							final Long value = written.element.getValue();
+							if (value != null && value != written.value) {
+								throw new AssertionError("Element of " + written.value + " returned " + value);
+							}
+						}
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					}
+				});
+				readers[i].start();
+			}
+
+			final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+			for (long value = 1; System.nanoTime() < deadline && failure.get() == null; value++) {
+				current.get().element.release();
+				current.set(new Written(store, value));
+			}
+
+			running.countDown();
+			for (Thread reader : readers) {
+				reader.join();
+			}
+
+			if (failure.get() != null) {
+				throw new AssertionError(failure.get());
+			}
+		}
+	}
+
+	private static final class Written {
+		private final Element<String, Long> element;
+		private final long value;
+
+		Written(OffHeapStore<Long> store, long value) {
+			element = store.newElement("key", value, 0);
+			assertTrue("chunk was not reused", element instanceof OffHeapElement);
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Repeats value in every word of chunk, so torn copy is detected on decode.
+	 */
+	private static final class LongCodec implements ValueCodec<Long> {
+		@Override
+		public byte[] encode(Long value) {
+			final ByteBuffer buffer = ByteBuffer.allocate(WORDS * Long.BYTES);
+			for (int i = 0; i < WORDS; i++) {
+				buffer.putLong(value);
+			}
+			return buffer.array();
+		}
+
+		@Override
+		public Long decode(byte[] bytes) {
+			final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			final long value = buffer.getLong();
+			for (int i = 1; i < WORDS; i++) {
+				if (buffer.getLong() != value) {
+					throw new IllegalStateException("Torn read of " + value);
+				}
+			}
+			return value;
+		}
+	}
+}
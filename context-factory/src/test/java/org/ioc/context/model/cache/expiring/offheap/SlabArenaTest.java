@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.model.cache.expiring.offheap;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class SlabArenaTest {
+	@Test
+	public void allocatedChunkKeepsBytes() throws Exception {
+		try (SlabArena arena = new SlabArena(4096, 1024)) {
+			final byte[] bytes = filled(100, (byte) 7);
+			final long address = arena.allocate(bytes);
+			assertTrue(address >= 0);
+			assertTrue(arena.chunkSize(address) >= bytes.length);
+			assertEquals(arena.chunkSize(address), arena.getAllocated());
+
+			final byte[] copy = new byte[bytes.length];
+			arena.copy(address, copy);
+			assertArrayEquals(bytes, copy);
+		}
+	}
+
+	@Test
+	public void freedChunkIsReused() throws Exception {
+		try (SlabArena arena = new SlabArena(4096, 1024)) {
+			final long first = arena.allocate(filled(100, (byte) 1));
+			final long second = arena.allocate(filled(100, (byte) 2));
+			assertNotEquals(first, second);
+
+			arena.free(first);
+			assertEquals(arena.chunkSize(second), arena.getAllocated());
+
+			final long reused = arena.allocate(filled(90, (byte) 3));
+			assertEquals(first, reused);
+			assertEquals(2L * arena.chunkSize(second), arena.getAllocated());
+
+			final byte[] copy = new byte[90];
+			arena.copy(reused, copy);
+			assertArrayEquals(filled(90, (byte) 3), copy);
+		}
+	}
+
+	@Test
+	public void freeAdvancesVersionOfSlab() throws Exception {
+		try (SlabArena arena = new SlabArena(4096, 1024)) {
+			final long address = arena.allocate(filled(64, (byte) 1));
+			final long stamp = arena.lockOf(address).tryOptimisticRead();
+			arena.free(address);
+			assertFalse(arena.lockOf(address).validate(stamp));
+		}
+	}
+
+	@Test
+	public void rejectsValuesLargerThanSlabAndExhaustion() throws Exception {
+		try (SlabArena arena = new SlabArena(1024, 1024)) {
+			assertEquals(-1, arena.allocate(new byte[1025]));
+			assertTrue(arena.allocate(new byte[1024]) >= 0);
+			assertEquals(-1, arena.allocate(new byte[1024]));
+			assertEquals(-1, arena.allocate(new byte[64]));
+		}
+	}
+
+	@Test
+	public void closeReleasesMappedFile() throws Exception {
+		final Path file = Files.createTempFile("arena", ".slab");
+		final SlabArena arena = new SlabArena(file, 4096, 1024);
+		final long address = arena.allocate(filled(200, (byte) 9));
+
+		final byte[] copy = new byte[200];
+		arena.copy(address, copy);
+		assertArrayEquals(filled(200, (byte) 9), copy);
+
+		arena.close();
+		assertEquals(0, arena.getAllocated());
+		assertFalse(Files.exists(file));
+	}
+
+	@Test
+	public void closedArenaHasNoChunks() throws Exception {
+		final SlabArena arena = new SlabArena(4096, 1024);
+		final long address = arena.allocate(filled(64, (byte) 1));
+		arena.close();
+
+		assertTrue(arena.isClosed());
+		assertNull(arena.lockOf(address));
+		assertFalse(arena.copy(address, new byte[64]));
+		assertEquals(-1, arena.allocate(filled(64, (byte) 2)));
+		arena.free(address);
+		assertEquals(0, arena.getAllocated());
+	}
+
+	private static byte[] filled(int length, byte value) {
+		final byte[] bytes = new byte[length];
+		Arrays.fill(bytes, value);
+		return bytes;
+	}
+}
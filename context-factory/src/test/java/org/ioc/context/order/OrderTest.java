@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.context.order;
+
+import org.ioc.context.DefaultIoCContext;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class OrderTest {
+	/**
+	 * X (order 10) depends on Z (order 1), Y (order 5) is independent: post constructions follow
+	 * order of types, not depth of their dependencies.
+	 */
+	@Test
+	public void postConstructionFollowsOrder() {
+		Trace.clear();
+		final DefaultIoCContext context = new DefaultIoCContext();
+		context.init(OrderTest.class, OrderTest.class.getPackage().getName());
+
+		assertEquals(Arrays.asList("X", "Y", "Z"), Trace.calls());
+		assertNotNull(context.getType(OrderedX.class).getZ());
+	}
+}
@@ -30,7 +30,7 @@ import org.slf4j.LoggerFactory;
  * @author GenCloud
  * @date 09/2018
  */
-@Fact
+@Fact({OnContextIsInitializedFact.class, OnTypeInitFact.class})
 public class TestListener implements IListener {
 	private final Logger log = LoggerFactory.getLogger(TestListener.class);
 
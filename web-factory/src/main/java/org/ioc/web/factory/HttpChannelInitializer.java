@@ -34,6 +34,7 @@ import org.ioc.web.model.view.TemplateResolver;
 import org.ioc.web.security.configuration.SecurityConfigureAdapter;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * @author GenCloud
@@ -46,16 +47,23 @@ public class HttpChannelInitializer extends ChannelInitializer<SocketChannel> {
 	private final MappingContainer mappingContainer;
 	private final List<Object> resolvers;
 	private final TemplateResolver resolver;
+	private final Executor workerExecutor;
+	private final boolean dispatchAll;
+	private final long asyncTimeout;
 
 	public HttpChannelInitializer(SslContext sslContext, SessionManager sessionManager,
 								  SecurityConfigureAdapter securityConfigureAdapter, MappingContainer mappingContainer,
-								  List<Object> resolvers, TemplateResolver resolver) {
+								  List<Object> resolvers, TemplateResolver resolver, Executor workerExecutor,
+								  boolean dispatchAll, long asyncTimeout) {
 		this.sslContext = sslContext;
 		this.sessionManager = sessionManager;
 		this.securityConfigureAdapter = securityConfigureAdapter;
 		this.mappingContainer = mappingContainer;
 		this.resolvers = resolvers;
 		this.resolver = resolver;
+		this.workerExecutor = workerExecutor;
+		this.dispatchAll = dispatchAll;
+		this.asyncTimeout = asyncTimeout;
 	}
 
 	/**
@@ -71,7 +79,8 @@ public class HttpChannelInitializer extends ChannelInitializer<SocketChannel> {
 				new HttpServerExpectContinueHandler(),
 				new HttpObjectAggregator(Integer.MAX_VALUE),
 				new ChunkedWriteHandler(),
-				new DefaultRequestHandler(mappingContainer, resolver, sessionManager, securityConfigureAdapter, resolvers));
+				new DefaultRequestHandler(mappingContainer, resolver, sessionManager, securityConfigureAdapter, resolvers,
+						workerExecutor, dispatchAll, asyncTimeout));
 
 		if (sslContext != null) {
 			pipeline.addLast(sslContext.newHandler(ch.alloc()));
@@ -32,15 +32,21 @@ import io.netty.util.internal.PlatformDependent;
 import org.ioc.annotations.context.Mode;
 import org.ioc.annotations.context.Order;
 import org.ioc.context.factories.Factory;
+import org.ioc.context.factories.threading.DefaultThreadPoolFactory;
+import org.ioc.context.model.tasks.interfaces.PoolTasks;
 import org.ioc.context.model.TypeMetadata;
 import org.ioc.context.sensible.ContextSensible;
 import org.ioc.context.sensible.EnvironmentSensible;
 import org.ioc.context.type.IoCContext;
+import org.ioc.enviroment.configurations.ThreadingAutoConfiguration.ExecutorMode;
 import org.ioc.enviroment.configurations.web.WebAutoConfiguration;
+import org.ioc.enviroment.configurations.web.WebAutoConfiguration.DispatchMode;
 import org.ioc.exceptions.IoCException;
+import org.ioc.web.annotations.Blocking;
 import org.ioc.web.annotations.UrlMapping;
 import org.ioc.web.model.mapping.Mapping;
 import org.ioc.web.model.mapping.MappingContainer;
+import org.ioc.web.model.resolvers.ArgumentPlan;
 import org.ioc.web.model.resolvers.ArgumentResolver;
 import org.ioc.web.model.session.SessionManager;
 import org.ioc.web.model.view.VelocityResolver;
@@ -51,9 +57,13 @@ import org.slf4j.LoggerFactory;
 import javax.net.ssl.SSLException;
 import java.io.File;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static org.ioc.utils.ReflectionUtils.resolveTypeName;
@@ -67,6 +77,8 @@ import static org.ioc.web.util.HttpServerUtil.toHttpMethod;
 public class HttpInitializerFactory implements Factory, ContextSensible, EnvironmentSensible<WebAutoConfiguration> {
 	private static final Logger log = LoggerFactory.getLogger(HttpInitializerFactory.class);
 
+	private static final String WORKER_POOL_NAME = "http-worker";
+
 	private static final boolean isEpollType = !PlatformDependent.isWindows() && Epoll.isAvailable();
 
 	private final MappingContainer mappingContainer = new MappingContainer();
@@ -137,15 +149,65 @@ public class HttpInitializerFactory implements Factory, ContextSensible, Environ
 
 		registerMapping(types);
 
+		final Executor workerExecutor = createWorkerExecutor();
+
 		bootstrap
 				.group(eventLoopGroup)
 				.channel(serverSocketChannel)
-				.childHandler(new HttpChannelInitializer(sslContext, sessionManager, securityConfigureAdapter, mappingContainer, findedResolvers, templateResolver));
+				.childHandler(new HttpChannelInitializer(sslContext, sessionManager, securityConfigureAdapter, mappingContainer,
+						findedResolvers, templateResolver, workerExecutor, webAutoConfiguration.isDispatchAll(),
+						webAutoConfiguration.getAsyncTimeout()));
 
 		log.info("Http server started on port(s): {} (http)", webAutoConfiguration.getPort());
 		bootstrap.bind(webAutoConfiguration.getPort()).sync().channel().closeFuture().sync();
 	}
 
+	/**
+	 * Creates executor running controllers outside of event loops, see {@link DispatchMode}.
+	 *
+	 * @return executor of worker pool or null if controllers run on event loops
+	 */
+	private Executor createWorkerExecutor() {
+		final DispatchMode mode = webAutoConfiguration.getDispatchMode();
+		if (mode == null || mode == DispatchMode.EVENTLOOP) {
+			return null;
+		}
+
+		final Factory factory = context.getType(Factory.defaultThreadFactory());
+		if (!(factory instanceof DefaultThreadPoolFactory)) {
+			log.warn("Thread pool factory is not available, controllers run on event loops");
+			return null;
+		}
+
+		final ExecutorMode executorMode = mode == DispatchMode.VIRTUAL_THREADS ? ExecutorMode.VIRTUAL : ExecutorMode.SCHEDULED;
+		final PoolTasks pool = ((DefaultThreadPoolFactory) factory)
+				.getThreadPool(WORKER_POOL_NAME, webAutoConfiguration.getWorkerThreads(), executorMode);
+
+		if (log.isDebugEnabled()) {
+			log.debug("Controllers dispatched to {} pool [{}]", mode, pool.getName());
+		}
+
+		return command -> pool.async(() -> {
+			command.run();
+			return null;
+		});
+	}
+
+	/**
+	 * @return type of value returned by method, type of completion value for asynchronous methods
+	 */
+	private static Class<?> resultType(Method method) {
+		final Class<?> returnType = method.getReturnType();
+		if (CompletionStage.class.isAssignableFrom(returnType)
+				&& method.getGenericReturnType() instanceof ParameterizedType) {
+			final Type argument = ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+			if (argument instanceof Class) {
+				return (Class<?>) argument;
+			}
+		}
+		return returnType;
+	}
+
 	private String normalizePath(Class<?> controller, Method methodController) {
 		String finalPath = "";
 		final UrlMapping controllerMapping = controller.getAnnotation(UrlMapping.class);
@@ -185,12 +247,16 @@ public class HttpInitializerFactory implements Factory, ContextSensible, Environ
 					mapping.setConsumes(urlMapping.consumes());
 					mapping.setProduces(urlMapping.produces());
 
-					if (String.class.isAssignableFrom(method.getReturnType())) {
+					if (String.class.isAssignableFrom(resultType(method))) {
 						mapping.setIsView();
 					}
 
+					if (method.isAnnotationPresent(Blocking.class) || metadata.getType().isAnnotationPresent(Blocking.class)) {
+						mapping.setIsBlocking();
+					}
+
 					mapping.setMetadata(metadata);
-					mapping.setParameters(new Object[method.getParameterCount()]);
+					mapping.setArgumentPlan(ArgumentPlan.compile(mapping));
 					mappingContainer.addMapping(context, path, method, mapping);
 				}
 			}
@@ -18,18 +18,22 @@
  */
 package org.ioc.web.model.handlers;
 
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.ioc.web.exception.ConsumesException;
 import org.ioc.web.exception.RateLimitException;
 import org.ioc.web.exception.SessionNotFoundException;
 import org.ioc.web.model.ModelAndView;
 import org.ioc.web.model.http.RequestEntry;
 import org.ioc.web.model.http.ResponseEntry;
+import org.ioc.web.model.mapping.Invocation;
 import org.ioc.web.model.mapping.Mapping;
 import org.ioc.web.model.mapping.MappingContainer;
 import org.ioc.web.model.resolvers.ArgumentResolver;
@@ -44,9 +48,12 @@ import org.ioc.web.util.HttpServerUtil;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpResponseStatus.*;
@@ -59,22 +66,36 @@ import static org.ioc.web.util.HttpServerUtil.*;
 @ChannelHandler.Sharable
 @SuppressWarnings("all")
 public class DefaultRequestHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+	private static final AttributeKey<InFlight> IN_FLIGHT = AttributeKey.valueOf(DefaultRequestHandler.class, "inFlight");
+
 	private final MappingContainer mappingContainer;
 	private final TemplateResolver templateResolver;
 	private final SessionManager sessionManager;
 	private final SecurityConfigureAdapter securityConfigureAdapter;
 	private final List<Object> resolvers;
+	private final Executor workerExecutor;
+	private final boolean dispatchAll;
+	private final long asyncTimeout;
 
 	private final WebArgumentResolver webArgumentResolver = new WebArgumentResolver();
 
+	/**
+	 * @param workerExecutor executor of controllers leaving event loop, null - all requests are handled by event loop
+	 * @param dispatchAll    dispatch every request to worker executor, not only ones mapped to blocking methods
+	 * @param asyncTimeout   time in milliseconds to wait for asynchronous results of controllers, 0 - without timeout
+	 */
 	public DefaultRequestHandler(MappingContainer mappingContainer, TemplateResolver templateResolver,
 								 SessionManager sessionManager, SecurityConfigureAdapter securityConfigureAdapter,
-								 List<Object> resolvers) {
+								 List<Object> resolvers, Executor workerExecutor, boolean dispatchAll,
+								 long asyncTimeout) {
 		this.mappingContainer = mappingContainer;
 		this.templateResolver = templateResolver;
 		this.sessionManager = sessionManager;
 		this.securityConfigureAdapter = securityConfigureAdapter;
 		this.resolvers = resolvers;
+		this.workerExecutor = workerExecutor;
+		this.dispatchAll = dispatchAll;
+		this.asyncTimeout = asyncTimeout;
 	}
 
 	@Override
@@ -87,24 +108,134 @@ public class DefaultRequestHandler extends SimpleChannelInboundHandler<FullHttpR
 			return;
 		}
 
+		final InFlight inFlight = inFlight(ctx);
+		if (inFlight.busy) {
+			inFlight.pending.add(httpRequest.retain());
+			return;
+		}
+
+		process(ctx, inFlight, httpRequest);
+	}
+
+	/**
+	 * Routes request once and handles it on event loop or worker executor. While request is handled by worker
+	 * or waits for asynchronous result reading of channel is suspended and pipelined requests already decoded
+	 * are queued, so responses are written in order of requests.
+	 */
+	private void process(ChannelHandlerContext ctx, InFlight inFlight, FullHttpRequest httpRequest) throws Exception {
 		final RequestEntry requestEntry = new RequestEntry(ctx.channel(), httpRequest);
+		final Invocation invocation;
+		try {
+			invocation = mappingContainer.findInvocation(requestEntry);
+		} catch (Exception e) {
+			handleError(ctx, httpRequest, new ResponseEntry(sessionManager, requestEntry), e);
+			return;
+		}
+
+		if (workerExecutor != null && (dispatchAll || invocation != null && invocation.getMapping().isBlocking())) {
+			if (dispatch(ctx, requestEntry, httpRequest, invocation)) {
+				inFlight.busy = true;
+				ctx.channel().config().setAutoRead(false);
+			}
+			return;
+		}
+
+		if (handleRequest(ctx, requestEntry, httpRequest, invocation)) {
+			inFlight.busy = true;
+			ctx.channel().config().setAutoRead(false);
+		}
+	}
+
+	/**
+	 * Handles request on worker executor. Request is retained until handled, writes of worker thread are
+	 * passed to event loop of channel by netty and flushed once request is handled.
+	 *
+	 * @return true if request is handled by worker, false if it was rejected and error is written
+	 */
+	private boolean dispatch(ChannelHandlerContext ctx, RequestEntry requestEntry, FullHttpRequest httpRequest,
+							 Invocation invocation) throws IOException {
+		httpRequest.retain();
+		try {
+			workerExecutor.execute(() -> {
+				boolean async = false;
+				try {
+					async = handleRequest(ctx, requestEntry, httpRequest, invocation);
+				} catch (Throwable t) {
+					exceptionCaught(ctx, t);
+				} finally {
+					httpRequest.release();
+					ctx.flush();
+					if (!async) {
+						resume(ctx);
+					}
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			httpRequest.release();
+			buildDefaultError(ctx, httpRequest, SERVICE_UNAVAILABLE, new ResponseEntry(sessionManager, requestEntry), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Continues on event loop once request handled outside of it or its asynchronous result is completed:
+	 * queued requests are handled in order of arrival, reading of channel is resumed when none of them leaves
+	 * event loop.
+	 */
+	private void resume(ChannelHandlerContext ctx) {
+		ctx.executor().execute(() -> {
+			final InFlight inFlight = inFlight(ctx);
+			inFlight.busy = false;
+
+			FullHttpRequest queued;
+			while (!inFlight.busy && (queued = inFlight.pending.poll()) != null) {
+				try {
+					process(ctx, inFlight, queued);
+				} catch (Throwable t) {
+					exceptionCaught(ctx, t);
+				} finally {
+					queued.release();
+				}
+			}
+
+			ctx.flush();
+			if (!inFlight.busy) {
+				ctx.channel().config().setAutoRead(true);
+			}
+		});
+	}
+
+	private static InFlight inFlight(ChannelHandlerContext ctx) {
+		InFlight inFlight = ctx.channel().attr(IN_FLIGHT).get();
+		if (inFlight == null) {
+			inFlight = new InFlight();
+			ctx.channel().attr(IN_FLIGHT).set(inFlight);
+		}
+		return inFlight;
+	}
+
+	/**
+	 * @return true if response is written once asynchronous result of controller is completed
+	 */
+	private boolean handleRequest(ChannelHandlerContext ctx, RequestEntry requestEntry, FullHttpRequest httpRequest,
+								  Invocation invocation) throws Exception {
 		final HttpSession session = securityConfigureAdapter.getContext().findSession(requestEntry);
 		if (session != null && session.hasExpires()) {
 			String expiredPath = securityConfigureAdapter.getContainer().configureSession().getExpiredPath();
 			expiredPath = expiredPath != null && !expiredPath.isEmpty() ? expiredPath : "/";
 			sessionManager.remove(session.getSessionId());
 			sendRedirect(ctx, requestEntry, expiredPath);
-			return;
+			return false;
 		}
 
 		final ResponseEntry preparedResponseEntry = new ResponseEntry(sessionManager, requestEntry);
 
 		final ModelAndView intercepted = new ModelAndView();
 
-		Mapping mapping;
 		try {
 			final String uri = httpRequest.uri();
-			mapping = mappingContainer.findMapping(requestEntry);
+			final Mapping mapping = invocation != null ? invocation.getMapping() : null;
 
 			if (mapping != null && mapping.getConsumes() != null && !mapping.getConsumes().isEmpty()) {
 				if (Arrays.asList(httpRequest.headers().get("Accept").split(","))
@@ -124,7 +255,7 @@ public class DefaultRequestHandler extends SimpleChannelInboundHandler<FullHttpR
 					buildDefaultError(ctx, httpRequest, BAD_REQUEST, preparedResponseEntry, result.getThrowable());
 				}
 
-				return;
+				return false;
 			}
 
 			if (mapping == null && result.isResource()) {
@@ -133,35 +264,118 @@ public class DefaultRequestHandler extends SimpleChannelInboundHandler<FullHttpR
 					if (!HttpServerUtil.resource(resource, ctx, httpRequest)) {
 						final Exception e = new FileNotFoundException("Cant find resource from path: " + uri);
 						buildDefaultError(ctx, httpRequest, NOT_FOUND, preparedResponseEntry, e);
-						return;
+						return false;
 					}
 				}
 			}
 
-			webArgumentResolver.resolve(securityConfigureAdapter, mapping, requestEntry);
+			webArgumentResolver.resolve(securityConfigureAdapter, invocation, requestEntry);
 
 			for (Object r : resolvers) {
-				((ArgumentResolver) r).resolve(securityConfigureAdapter, mapping, requestEntry);
+				((ArgumentResolver) r).resolve(securityConfigureAdapter, invocation, requestEntry);
 			}
 		} catch (Exception e) {
-			if (e instanceof NullPointerException) {
-				buildDefaultError(ctx, httpRequest, NO_CONTENT, preparedResponseEntry, e);
-			} else if (e instanceof RateLimitException) {
-				buildDefaultError(ctx, httpRequest, TOO_MANY_REQUESTS, preparedResponseEntry, e);
-			} else {
-				buildDefaultError(ctx, httpRequest, INTERNAL_SERVER_ERROR, preparedResponseEntry, e);
-			}
-			return;
+			handleError(ctx, httpRequest, preparedResponseEntry, e);
+			return false;
+		}
+
+		return handleMapping(ctx, invocation, requestEntry, httpRequest, preparedResponseEntry, intercepted);
+	}
+
+	private void handleError(ChannelHandlerContext ctx, FullHttpRequest httpRequest, ResponseEntry responseEntry, Exception e) throws IOException {
+		if (e instanceof NullPointerException) {
+			buildDefaultError(ctx, httpRequest, NO_CONTENT, responseEntry, e);
+		} else if (e instanceof RateLimitException) {
+			buildDefaultError(ctx, httpRequest, TOO_MANY_REQUESTS, responseEntry, e);
+		} else {
+			buildDefaultError(ctx, httpRequest, INTERNAL_SERVER_ERROR, responseEntry, e);
+		}
+	}
+
+	private boolean handleMapping(ChannelHandlerContext ctx, Invocation invocation, RequestEntry requestEntry, FullHttpRequest httpRequest, ResponseEntry responseEntry, ModelAndView intercepted) throws Exception {
+		final Mapping mapping = Objects.requireNonNull(invocation).getMapping();
+		final Object invoked = invocation.invoke();
+
+		if (invoked instanceof CompletionStage) {
+			handleAsync(ctx, mapping, (CompletionStage<?>) invoked, requestEntry, httpRequest, responseEntry, intercepted);
+			return true;
 		}
 
-		handleMapping(ctx, mapping, requestEntry, httpRequest, preparedResponseEntry, intercepted);
+		handleResult(ctx, mapping, invoked, requestEntry, httpRequest, responseEntry, intercepted);
+		return false;
 	}
 
-	private void handleMapping(ChannelHandlerContext ctx, Mapping mapping, RequestEntry requestEntry, FullHttpRequest httpRequest, ResponseEntry responseEntry, ModelAndView intercepted) throws Exception {
-		final Object[] params = Objects.requireNonNull(mapping).getParameters();
-		final Object instance = Objects.requireNonNull(mapping).getInstance();
-		final Object invoked = Objects.requireNonNull(mapping).getMethod().invoke(instance, params);
+	/**
+	 * Writes response once result of controller ({@link java.util.concurrent.CompletableFuture},
+	 * {@link org.ioc.context.model.tasks.interfaces.TaskFuture}) is completed, thread handling request is not blocked.
+	 * Result is cancelled if channel is closed or it is not completed in web.server.async.timeout milliseconds.
+	 * Reading of channel stays suspended until response is written, see {@link #resume(ChannelHandlerContext)}.
+	 */
+	private void handleAsync(ChannelHandlerContext ctx, Mapping mapping, CompletionStage<?> stage, RequestEntry requestEntry,
+							 FullHttpRequest httpRequest, ResponseEntry responseEntry, ModelAndView intercepted) {
+		httpRequest.retain();
+
+		final AtomicBoolean done = new AtomicBoolean();
+		final ChannelFutureListener closeListener = future -> {
+			if (done.compareAndSet(false, true)) {
+				cancel(stage);
+				httpRequest.release();
+			}
+		};
+
+		final ScheduledFuture<?> timeout = asyncTimeout > 0 ? ctx.executor().schedule(() -> {
+			if (done.compareAndSet(false, true)) {
+				ctx.channel().closeFuture().removeListener(closeListener);
+				cancel(stage);
+				final Throwable t = new TimeoutException("Result of " + mapping.getMethod() + " not completed in " + asyncTimeout + "ms");
+				complete(ctx, httpRequest, () -> buildDefaultError(ctx, httpRequest, SERVICE_UNAVAILABLE, responseEntry, t));
+			}
+		}, asyncTimeout, TimeUnit.MILLISECONDS) : null;
+
+		ctx.channel().closeFuture().addListener(closeListener);
+
+		stage.whenComplete((result, throwable) -> {
+			if (!done.compareAndSet(false, true)) {
+				return;
+			}
+
+			if (timeout != null) {
+				timeout.cancel(false);
+			}
 
+			ctx.channel().closeFuture().removeListener(closeListener);
+			complete(ctx, httpRequest, () -> {
+				if (throwable == null) {
+					handleResult(ctx, mapping, result, requestEntry, httpRequest, responseEntry, intercepted);
+				} else {
+					final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+							? throwable.getCause() : throwable;
+					buildDefaultError(ctx, httpRequest, INTERNAL_SERVER_ERROR, responseEntry, cause);
+				}
+			});
+		});
+	}
+
+	private void complete(ChannelHandlerContext ctx, FullHttpRequest httpRequest, AsyncWrite write) {
+		try {
+			write.write();
+		} catch (Throwable t) {
+			exceptionCaught(ctx, t);
+		} finally {
+			httpRequest.release();
+			ctx.flush();
+			resume(ctx);
+		}
+	}
+
+	private static void cancel(CompletionStage<?> stage) {
+		if (stage instanceof Future) {
+			((Future<?>) stage).cancel(true);
+		}
+	}
+
+	private void handleResult(ChannelHandlerContext ctx, Mapping mapping, Object invoked, RequestEntry requestEntry,
+							  FullHttpRequest httpRequest, ResponseEntry responseEntry, ModelAndView intercepted) throws Exception {
 		securityConfigureAdapter.postHandle(requestEntry, responseEntry, intercepted, mapping);
 
 		String produces = mapping.getProduces();
@@ -200,6 +414,11 @@ public class DefaultRequestHandler extends SimpleChannelInboundHandler<FullHttpR
 		ctx.write(httpResponse);
 	}
 
+	@FunctionalInterface
+	private interface AsyncWrite {
+		void write() throws Exception;
+	}
+
 	private void tryMergeModel(ModelAndView intercepted, ModelAndView model) {
 		if (!intercepted.isEmpty()) {
 			model.addAllAttributes(intercepted);
@@ -217,6 +436,13 @@ public class DefaultRequestHandler extends SimpleChannelInboundHandler<FullHttpR
 
 	@Override
 	public void channelInactive(ChannelHandlerContext ctx) {
+		final InFlight inFlight = ctx.channel().attr(IN_FLIGHT).get();
+		if (inFlight != null) {
+			FullHttpRequest queued;
+			while ((queued = inFlight.pending.poll()) != null) {
+				queued.release();
+			}
+		}
 		ctx.close();
 	}
 
@@ -238,4 +464,12 @@ public class DefaultRequestHandler extends SimpleChannelInboundHandler<FullHttpR
 
 		HttpServerUtil.resource(responseEntry.getViewPage(), ctx, request);
 	}
+
+	/**
+	 * Requests of channel, accessed only by its event loop.
+	 */
+	private static final class InFlight {
+		private final ArrayDeque<FullHttpRequest> pending = new ArrayDeque<>();
+		private boolean busy;
+	}
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.web.model.mapping;
+
+import org.ioc.web.model.http.RequestEntry;
+
+/**
+ * Invocation of mapping by one request: controller instance, values of path variables and resolved arguments.
+ * Every request has its own invocation, so requests of same mapping may be handled concurrently.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class Invocation {
+	private final Mapping mapping;
+	private final Object instance;
+	private final RequestEntry requestEntry;
+	private final String[] pathVariables;
+	private final Object[] arguments;
+
+	public Invocation(Mapping mapping, Object instance, RequestEntry requestEntry, String[] pathVariables) {
+		this.mapping = mapping;
+		this.instance = instance;
+		this.requestEntry = requestEntry;
+		this.pathVariables = pathVariables;
+		arguments = new Object[mapping.getMethod().getParameterCount()];
+	}
+
+	public Mapping getMapping() {
+		return mapping;
+	}
+
+	public Object getInstance() {
+		return instance;
+	}
+
+	public RequestEntry getRequestEntry() {
+		return requestEntry;
+	}
+
+	/**
+	 * @return values of path variables in order of {@link Mapping#getPathVariables()}
+	 */
+	public String[] getPathVariables() {
+		return pathVariables;
+	}
+
+	/**
+	 * @param name name of path variable
+	 * @return value of variable, null if mapping has no such variable
+	 */
+	public String getPathVariable(String name) {
+		final String[] names = mapping.getPathVariables();
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) {
+				return pathVariables[i];
+			}
+		}
+		return null;
+	}
+
+	public Object[] getArguments() {
+		return arguments;
+	}
+
+	public void setParameter(Object parameter, int pos) {
+		arguments[pos] = parameter;
+	}
+
+	/**
+	 * Invokes mapped method of controller with resolved arguments.
+	 *
+	 * @return value returned by method
+	 * @throws Exception if method throws
+	 */
+	public Object invoke() throws Exception {
+		return mapping.invoke(instance, arguments);
+	}
+}
@@ -20,15 +20,23 @@ package org.ioc.web.model.mapping;
 
 import io.netty.handler.codec.http.HttpMethod;
 import org.ioc.context.model.TypeMetadata;
+import org.ioc.web.model.resolvers.ArgumentPlan;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
+ * Route of url to controller method. Mapping is immutable once registered and shared by all requests,
+ * arguments of each request are held by its {@link Invocation}.
+ *
  * @author GenCloud
  * @date 10/2018
  */
 public class Mapping {
-	private final Method method;
 	private final HttpMethod httpMethod;
 	private final String path;
 
@@ -36,14 +44,22 @@ public class Mapping {
 
 	private String consumes;
 
-	private Object instance;
+	private final Object instance;
+
+	private Method method;
+
+	private MethodHandle invoker;
 
 	private boolean view = false;
 
-	private Object[] parameters;
+	private boolean blocking = false;
 
 	private TypeMetadata metadata;
 
+	private String[] pathVariables = new String[0];
+
+	private ArgumentPlan argumentPlan;
+
 	public Mapping(Object instance, Method method, HttpMethod httpMethod, String path) {
 		this.instance = instance;
 		this.method = method;
@@ -59,16 +75,15 @@ public class Mapping {
 		return view;
 	}
 
-	public Object[] getParameters() {
-		return parameters;
-	}
-
-	public void setParameters(Object[] parameters) {
-		this.parameters = parameters;
+	public void setIsBlocking() {
+		blocking = true;
 	}
 
-	public void setParameter(Object parameter, int pos) {
-		parameters[pos] = parameter;
+	/**
+	 * @return true if controller method is marked as {@link org.ioc.web.annotations.Blocking}
+	 */
+	public boolean isBlocking() {
+		return blocking;
 	}
 
 	public HttpMethod getHttpMethod() {
@@ -99,23 +114,84 @@ public class Mapping {
 		return instance;
 	}
 
-	public void setInstance(Object instance) {
-		this.instance = instance;
-	}
-
 	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * Invokes mapped method.
+	 *
+	 * @param instance  controller instance
+	 * @param arguments arguments of method
+	 * @return value returned by method
+	 * @throws Exception if method throws
+	 */
+	public Object invoke(Object instance, Object[] arguments) throws Exception {
+		if (invoker == null) {
+			return method.invoke(instance, arguments);
+		}
+
 		try {
-			return metadata.getType().getDeclaredMethod(method.getName(), method.getParameterTypes());
-		} catch (NoSuchMethodException e) {
-			return method;
+			return invoker.invokeExact(instance, arguments);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new InvocationTargetException(t);
 		}
 	}
 
+	/**
+	 * @return names of path variables in order of their segments in path
+	 */
+	public String[] getPathVariables() {
+		return pathVariables;
+	}
+
+	public void setPathVariables(String[] pathVariables) {
+		this.pathVariables = pathVariables;
+	}
+
+	/**
+	 * @return compiled binding of method arguments, null if mapping is not registered yet
+	 */
+	public ArgumentPlan getArgumentPlan() {
+		return argumentPlan;
+	}
+
+	public void setArgumentPlan(ArgumentPlan argumentPlan) {
+		this.argumentPlan = argumentPlan;
+	}
+
 	public TypeMetadata getMetadata() {
 		return metadata;
 	}
 
+	/**
+	 * Sets type of controller and resolves mapped method declared by it once.
+	 */
 	public void setMetadata(TypeMetadata metadata) {
 		this.metadata = metadata;
+
+		try {
+			method = metadata.getType().getDeclaredMethod(method.getName(), method.getParameterTypes());
+		} catch (NoSuchMethodException e) {
+			// method is inherited, keep declaring one
+		}
+
+		method.setAccessible(true);
+		if (Modifier.isStatic(method.getModifiers())) {
+			invoker = null;
+			return;
+		}
+
+		try {
+			invoker = MethodHandles.lookup()
+					.unreflect(method)
+					.asType(MethodType.genericMethodType(method.getParameterCount() + 1))
+					.asSpreader(Object[].class, method.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+		} catch (IllegalAccessException e) {
+			invoker = null;
+		}
 	}
 }
@@ -30,16 +30,19 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
+ * Container of url mappings, routing requests through {@link Router}.
+ *
  * @author GenCloud
  * @date 10/2018
  */
 public class MappingContainer {
 	private final Logger log = LoggerFactory.getLogger(MappingContainer.class);
 
-	private final Map<Pattern, Mapping> mappingMap = new HashMap<>();
+	private final Router router = new Router();
+
+	private final ThreadLocal<RouteMatch> matches = ThreadLocal.withInitial(router::newMatch);
 
 	private IoCContext context;
 
@@ -48,31 +51,25 @@ public class MappingContainer {
 			this.context = context;
 		}
 
-		final Parameter[] parameters = method.getParameters();
-		for (Parameter parameter : parameters) {
+		final Map<String, Class<?>> variableTypes = new HashMap<>();
+		for (Parameter parameter : method.getParameters()) {
 			final PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
 			if (pathVariable != null) {
-				if (parameter.getType() == String.class) {
-					path = path.replace("{" + pathVariable.value() + "}", "[0-9\\d\\D]*");
-				} else if (parameter.getType() == Integer.class
-						|| parameter.getType() == Long.class) {
-					path = path.replace("{" + pathVariable.value() + "}", "[0-9]*");
-				}
+				variableTypes.put(pathVariable.value(), parameter.getType());
 			}
 		}
 
-		final Pattern pattern = Pattern.compile(path);
-
-		final Mapping map = mappingMap.get(pattern);
-		if (map != null) {
-			log.info("Found duplicate method [{}] -> [{}]", map.getMethod(), mapping.getMethod());
-		} else {
-			mappingMap.put(pattern, mapping);
-			log.info("Mapped method [{}], method=[{}], to [{}]", mapping.getPath(), mapping.getHttpMethod(), mapping.getMethod());
-		}
+		router.add(mapping.getHttpMethod(), path, variableTypes, mapping);
+		log.info("Mapped method [{}], method=[{}], to [{}]", mapping.getPath(), mapping.getHttpMethod(), mapping.getMethod());
 	}
 
-	public Mapping findMapping(RequestEntry requestEntry) {
+	/**
+	 * Routes request to its mapping. Returned match is reused by next request routed on same thread.
+	 *
+	 * @param requestEntry request
+	 * @return match of mapping and its path variables, null if request is not mapped
+	 */
+	public RouteMatch match(RequestEntry requestEntry) {
 		final String path = requestEntry.getPath();
 		final HttpMethod method = requestEntry.getHttpMethod();
 
@@ -81,23 +78,35 @@ public class MappingContainer {
 			splitIndex = path.length();
 		}
 
-		if (path.length() != 1) {
-			if (path.charAt(splitIndex - 1) == '/') {
-				splitIndex--;
-			}
+		final RouteMatch match = matches.get();
+		return router.match(method, path, splitIndex, match) ? match : null;
+	}
+
+	public Mapping findMapping(RequestEntry requestEntry) {
+		final RouteMatch match = match(requestEntry);
+		return match != null ? match.getMapping() : null;
+	}
+
+	/**
+	 * Routes request and creates its invocation of mapping.
+	 *
+	 * @param requestEntry request
+	 * @return invocation holding controller instance and values of path variables, null if request is not mapped
+	 */
+	public Invocation findInvocation(RequestEntry requestEntry) {
+		final RouteMatch match = match(requestEntry);
+		if (match == null) {
+			return null;
 		}
 
-		for (Pattern pattern : mappingMap.keySet()) {
-			if (pattern.matcher(path.substring(0, splitIndex)).matches()) {
-				final Mapping mapping = mappingMap.get(pattern);
-				if (mapping.getHttpMethod().equals(method)) {
-					final TypeMetadata metadata = mapping.getMetadata();
-					Object instance = context.getType(metadata.getType());
-					mapping.setInstance(instance);
-					return mapping;
-				}
-			}
+		final Mapping mapping = match.getMapping();
+		final String[] pathVariables = new String[match.getVariableCount()];
+		for (int i = 0; i < pathVariables.length; i++) {
+			pathVariables[i] = match.getVariable(i);
 		}
-		return null;
+
+		final TypeMetadata metadata = mapping.getMetadata();
+		final Object instance = context.getType(metadata.getType());
+		return new Invocation(mapping, instance, requestEntry, pathVariables);
 	}
 }
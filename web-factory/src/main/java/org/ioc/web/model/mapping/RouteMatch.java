@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.web.model.mapping;
+
+/**
+ * Result of {@link Router} matching: found mapping and bounds of its path variables in request path.
+ * Values of variables are cut from path only when requested, so match can be reused by next request.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class RouteMatch {
+	private String path;
+	private Mapping mapping;
+	private int[] bounds;
+
+	RouteMatch(int variables) {
+		bounds = new int[variables * 2];
+	}
+
+	void reset(String path, int variables) {
+		this.path = path;
+		mapping = null;
+		if (bounds.length < variables * 2) {
+			bounds = new int[variables * 2];
+		}
+	}
+
+	void bind(int variable, int from, int to) {
+		bounds[variable * 2] = from;
+		bounds[variable * 2 + 1] = to;
+	}
+
+	void setMapping(Mapping mapping) {
+		this.mapping = mapping;
+	}
+
+	public Mapping getMapping() {
+		return mapping;
+	}
+
+	/**
+	 * @return count of path variables of matched mapping
+	 */
+	public int getVariableCount() {
+		return mapping != null ? mapping.getPathVariables().length : 0;
+	}
+
+	/**
+	 * @param index index of path variable in mapping path
+	 * @return value of variable
+	 */
+	public String getVariable(int index) {
+		return path.substring(bounds[index * 2], bounds[index * 2 + 1]);
+	}
+
+	/**
+	 * @param name name of path variable
+	 * @return value of variable, null if matched mapping has no such variable
+	 */
+	public String getVariable(String name) {
+		final String[] variables = mapping != null ? mapping.getPathVariables() : new String[0];
+		for (int i = 0; i < variables.length; i++) {
+			if (variables[i].equals(name)) {
+				return getVariable(i);
+			}
+		}
+		return null;
+	}
+}
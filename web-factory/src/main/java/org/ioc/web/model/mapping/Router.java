@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.web.model.mapping;
+
+import io.netty.handler.codec.http.HttpMethod;
+import org.ioc.exceptions.IoCException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Segment radix tree of url mappings, one tree per http method.
+ * <p>
+ * Every segment of mapping path is a node: static segment, typed path variable {name} (number if its parameter
+ * is numeric, string otherwise), wildcard * matching any single segment or ** matching rest of path. Static
+ * segments are preferred over numbers, numbers over strings and strings over wildcards, so result does not depend
+ * on order of registration. Matching compares segments in place and records bounds of path variables into
+ * given {@link RouteMatch}, so it allocates nothing.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class Router {
+	private static final String[] NO_LABELS = new String[0];
+	private static final Node[] NO_NODES = new Node[0];
+
+	private final Map<HttpMethod, Node> roots = new HashMap<>();
+
+	private int maxVariables;
+
+	/**
+	 * Adds mapping to tree.
+	 *
+	 * @param httpMethod    http method of mapping
+	 * @param path          path of mapping, segments {name} are path variables
+	 * @param variableTypes types of path variables by names
+	 * @param mapping       mapping
+	 * @throws IoCException if path is invalid or other mapping is already mapped to same route
+	 */
+	public void add(HttpMethod httpMethod, String path, Map<String, Class<?>> variableTypes, Mapping mapping) {
+		Node node = roots.computeIfAbsent(httpMethod, m -> new Node());
+		final String[] segments = Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+		final String[] variables = new String[segments.length];
+		int count = 0;
+
+		for (int i = 0; i < segments.length; i++) {
+			final String segment = segments[i];
+			if (segment.equals("**")) {
+				if (i != segments.length - 1) {
+					throw new IoCException("IoCError - Wildcard ** must be last segment of mapping [" + path + "]");
+				}
+
+				checkConflict(node.tail, mapping, httpMethod, path);
+				node.tail = mapping;
+				mapping.setPathVariables(Arrays.copyOf(variables, count));
+				maxVariables = Math.max(maxVariables, count);
+				return;
+			}
+
+			if (segment.equals("*")) {
+				node = node.any != null ? node.any : (node.any = new Node());
+			} else if (segment.startsWith("{") && segment.endsWith("}")) {
+				final String name = segment.substring(1, segment.length() - 1);
+				variables[count++] = name;
+				if (isNumber(variableTypes.get(name))) {
+					node = node.number != null ? node.number : (node.number = new Node());
+				} else {
+					node = node.string != null ? node.string : (node.string = new Node());
+				}
+			} else if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0 || segment.indexOf('*') >= 0) {
+				throw new IoCException("IoCError - Path variable or wildcard must take whole segment of mapping [" + path + "]");
+			} else {
+				node = node.child(segment);
+			}
+		}
+
+		checkConflict(node.mapping, mapping, httpMethod, path);
+		node.mapping = mapping;
+		mapping.setPathVariables(Arrays.copyOf(variables, count));
+		maxVariables = Math.max(maxVariables, count);
+	}
+
+	private static void checkConflict(Mapping existing, Mapping mapping, HttpMethod httpMethod, String path) {
+		if (existing != null) {
+			throw new IoCException("IoCError - Mapping " + httpMethod + " [" + path + "] of [" + mapping.getMethod()
+					+ "] conflicts with [" + existing.getPath() + "] of [" + existing.getMethod() + "]");
+		}
+	}
+
+	private static boolean isNumber(Class<?> type) {
+		return type == Integer.class || type == int.class
+				|| type == Long.class || type == long.class
+				|| type == Short.class || type == short.class;
+	}
+
+	/**
+	 * @return new match able to hold path variables of every mapping of tree
+	 */
+	public RouteMatch newMatch() {
+		return new RouteMatch(maxVariables);
+	}
+
+	/**
+	 * Finds mapping of path.
+	 *
+	 * @param httpMethod http method of request
+	 * @param path       request path
+	 * @param end        end of path part to match, excluding query
+	 * @param match      match to fill
+	 * @return true if mapping was found, match holds it and its path variables
+	 */
+	public boolean match(HttpMethod httpMethod, String path, int end, RouteMatch match) {
+		final Node root = roots.get(httpMethod);
+		if (root == null) {
+			return false;
+		}
+
+		match.reset(path, maxVariables);
+		final Mapping mapping = match(root, path, 0, end, 0, match);
+		match.setMapping(mapping);
+		return mapping != null;
+	}
+
+	private static Mapping match(Node node, String path, int start, int end, int variable, RouteMatch match) {
+		int from = start;
+		while (from < end && path.charAt(from) == '/') {
+			from++;
+		}
+
+		if (from == end) {
+			return node.mapping != null ? node.mapping : node.tail;
+		}
+
+		int to = path.indexOf('/', from);
+		if (to < 0 || to > end) {
+			to = end;
+		}
+
+		final int length = to - from;
+		final String[] labels = node.labels;
+		for (int i = 0; i < labels.length; i++) {
+			final String label = labels[i];
+			if (label.length() == length && path.regionMatches(from, label, 0, length)) {
+				final Mapping mapping = match(node.statics[i], path, to, end, variable, match);
+				if (mapping != null) {
+					return mapping;
+				}
+				break;
+			}
+		}
+
+		if (node.number != null && isDigits(path, from, to)) {
+			match.bind(variable, from, to);
+			final Mapping mapping = match(node.number, path, to, end, variable + 1, match);
+			if (mapping != null) {
+				return mapping;
+			}
+		}
+
+		if (node.string != null) {
+			match.bind(variable, from, to);
+			final Mapping mapping = match(node.string, path, to, end, variable + 1, match);
+			if (mapping != null) {
+				return mapping;
+			}
+		}
+
+		if (node.any != null) {
+			final Mapping mapping = match(node.any, path, to, end, variable, match);
+			if (mapping != null) {
+				return mapping;
+			}
+		}
+
+		return node.tail;
+	}
+
+	private static boolean isDigits(String path, int from, int to) {
+		int i = from;
+		if (path.charAt(i) == '-' && to - from > 1) {
+			i++;
+		}
+
+		for (; i < to; i++) {
+			final char c = path.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class Node {
+		private String[] labels = NO_LABELS;
+		private Node[] statics = NO_NODES;
+
+		private Node number;
+		private Node string;
+		private Node any;
+
+		private Mapping mapping;
+		private Mapping tail;
+
+		private Node child(String label) {
+			for (int i = 0; i < labels.length; i++) {
+				if (labels[i].equals(label)) {
+					return statics[i];
+				}
+			}
+
+			final Node node = new Node();
+			labels = Arrays.copyOf(labels, labels.length + 1);
+			statics = Arrays.copyOf(statics, statics.length + 1);
+			labels[labels.length - 1] = label;
+			statics[statics.length - 1] = node;
+			return node;
+		}
+	}
+}
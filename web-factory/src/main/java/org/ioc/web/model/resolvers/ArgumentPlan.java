@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2018 IoC Starter (Owner: Maxim Ivanov) authors and/or its affiliates. All rights reserved.
+ *
+ * This file is part of IoC Starter Project.
+ *
+ * IoC Starter Project is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * IoC Starter Project is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with IoC Starter Project.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.ioc.web.model.resolvers;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.multipart.*;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData.HttpDataType;
+import io.netty.util.CharsetUtil;
+import org.ioc.enviroment.typecaster.EnvironmentCaster;
+import org.ioc.web.annotations.*;
+import org.ioc.web.model.ModelAndView;
+import org.ioc.web.model.http.RequestEntry;
+import org.ioc.web.model.mapping.Invocation;
+import org.ioc.web.model.mapping.Mapping;
+import org.ioc.web.security.configuration.SecurityConfigureAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Parameter;
+import java.nio.channels.FileChannel;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.ioc.web.util.HttpServerUtil.GSON;
+
+/**
+ * Compiled argument binding of controller method: one binder per parameter, chosen once from annotations and
+ * type of parameter. Request data needed by binders (query, form, uploaded files, JSON body, credentials) are
+ * decoded at most once per request, only if some binder reads them.
+ *
+ * @author GenCloud
+ * @date 11/2018
+ */
+public class ArgumentPlan {
+	private static final Logger log = LoggerFactory.getLogger(ArgumentPlan.class);
+
+	private static final Map<String, ThreadLocal<SimpleDateFormat>> dateFormats = new ConcurrentHashMap<>();
+
+	private final Binder[] binders;
+
+	private ArgumentPlan(Binder[] binders) {
+		this.binders = binders;
+	}
+
+	/**
+	 * Compiles binders of method parameters.
+	 *
+	 * @param mapping mapping of controller method
+	 * @return argument plan of method
+	 */
+	public static ArgumentPlan compile(Mapping mapping) {
+		final HttpMethod httpMethod = mapping.getHttpMethod();
+		final Parameter[] parameters = mapping.getMethod().getParameters();
+		final Binder[] binders = new Binder[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			binders[i] = binder(parameters[i], httpMethod);
+		}
+		return new ArgumentPlan(binders);
+	}
+
+	/**
+	 * Chooses binder of parameter. Binding sources are ordered by priority: credentials, model, uploaded file,
+	 * JSON body, request parameter, path variable and request itself.
+	 */
+	private static Binder binder(Parameter parameter, HttpMethod httpMethod) {
+		final Class<?> type = parameter.getType();
+		final RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+		final DateFormatter dateFormatter = parameter.getAnnotation(DateFormatter.class);
+		final PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+
+		if (parameter.isAnnotationPresent(Credentials.class)) {
+			return BindContext::getUserDetails;
+		}
+
+		if (ModelAndView.class.isAssignableFrom(type)) {
+			return context -> new ModelAndView();
+		}
+
+		if (requestParam != null && File.class.isAssignableFrom(type)) {
+			final String name = requestParam.value();
+			return context -> context.getFiles().get(name);
+		}
+
+		if (parameter.isAnnotationPresent(Json.class)) {
+			return context -> context.isJson() ? GSON.fromJson(context.getBody(), type) : null;
+		}
+
+		if (requestParam != null) {
+			final String name = requestParam.value();
+			final Function<String, ?> converter = converter(type, dateFormatter);
+			if (httpMethod == HttpMethod.POST) {
+				return context -> convert(converter, context.getAttributes().get(name));
+			}
+			return context -> convert(converter, context.getQueryParameter(name));
+		}
+
+		if (pathVariable != null) {
+			final String name = pathVariable.value();
+			final Function<String, ?> converter = converter(type, dateFormatter);
+			return context -> convert(converter, context.getInvocation().getPathVariable(name));
+		}
+
+		if (RequestEntry.class.isAssignableFrom(type)) {
+			return BindContext::getRequestEntry;
+		}
+
+		return context -> null;
+	}
+
+	private static Object convert(Function<String, ?> converter, String value) {
+		return value != null ? converter.apply(value) : null;
+	}
+
+	private static Function<String, ?> converter(Class<?> type, DateFormatter dateFormatter) {
+		if (type == Date.class) {
+			if (dateFormatter == null) {
+				return value -> null;
+			}
+
+			final ThreadLocal<SimpleDateFormat> format = dateFormats.computeIfAbsent(dateFormatter.value(),
+					pattern -> ThreadLocal.withInitial(() -> new SimpleDateFormat(pattern)));
+			return value -> {
+				try {
+					return format.get().parse(value);
+				} catch (ParseException e) {
+					log.warn("Can't parse date [{}] with pattern [{}]", value, dateFormatter.value());
+					return null;
+				}
+			};
+		}
+
+		if (type.isPrimitive() || type.isEnum() || Number.class.isAssignableFrom(type)
+				|| type == Boolean.class || type == Character.class) {
+			return EnvironmentCaster.converter(type);
+		}
+
+		return Function.identity();
+	}
+
+	/**
+	 * Binds arguments of invocation.
+	 *
+	 * @param sca          security adapter resolving credentials
+	 * @param invocation   invocation of request
+	 * @param requestEntry request
+	 * @throws Exception if argument can not be bound
+	 */
+	public void bind(SecurityConfigureAdapter sca, Invocation invocation, RequestEntry requestEntry) throws Exception {
+		final BindContext context = new BindContext(sca, invocation, requestEntry);
+		try {
+			for (int i = 0; i < binders.length; i++) {
+				invocation.setParameter(binders[i].bind(context), i);
+			}
+		} finally {
+			context.release();
+		}
+	}
+
+	@FunctionalInterface
+	private interface Binder {
+		Object bind(BindContext context) throws Exception;
+	}
+
+	/**
+	 * Request data read by binders, decoded on first access.
+	 */
+	private static final class BindContext {
+		private final SecurityConfigureAdapter sca;
+		private final Invocation invocation;
+		private final RequestEntry requestEntry;
+
+		private Map<String, List<String>> queryParameters;
+		private Map<String, String> attributes;
+		private Map<String, File> files;
+		private HttpPostRequestDecoder decoder;
+		private String body;
+		private Object userDetails;
+		private boolean userDetailsResolved;
+
+		private BindContext(SecurityConfigureAdapter sca, Invocation invocation, RequestEntry requestEntry) {
+			this.sca = sca;
+			this.invocation = invocation;
+			this.requestEntry = requestEntry;
+		}
+
+		private Invocation getInvocation() {
+			return invocation;
+		}
+
+		private RequestEntry getRequestEntry() {
+			return requestEntry;
+		}
+
+		private Object getUserDetails() {
+			if (!userDetailsResolved) {
+				userDetails = sca.getContext().findCredentials(requestEntry);
+				userDetailsResolved = true;
+			}
+			return userDetails;
+		}
+
+		private String getQueryParameter(String name) {
+			if (queryParameters == null) {
+				queryParameters = new QueryStringDecoder(requestEntry.getPath()).parameters();
+			}
+
+			final List<String> values = queryParameters.get(name);
+			return values == null || values.isEmpty() ? null : values.get(0);
+		}
+
+		private boolean isJson() {
+			return Objects.equals(requestEntry.getHttpRequest().headers().get("content-Type"), "application/json");
+		}
+
+		private String getBody() {
+			if (body == null) {
+				body = requestEntry.getHttpRequest().content().toString(CharsetUtil.UTF_8);
+			}
+			return body;
+		}
+
+		private Map<String, String> getAttributes() throws IOException {
+			decode();
+			return attributes;
+		}
+
+		private Map<String, File> getFiles() throws IOException {
+			decode();
+			return files;
+		}
+
+		private boolean isMultipart() {
+			final String contentType = requestEntry.getHttpRequest().headers().get("content-Type");
+			return contentType != null && contentType.startsWith("multipart/form-data");
+		}
+
+		private void decode() throws IOException {
+			if (attributes != null) {
+				return;
+			}
+
+			attributes = new HashMap<>();
+			files = new HashMap<>();
+
+			final FullHttpRequest request = requestEntry.getHttpRequest();
+			if (request.method() != HttpMethod.POST) {
+				return;
+			}
+
+			decoder = isMultipart()
+					? new HttpPostRequestDecoder(new DefaultHttpDataFactory(true), request)
+					: new HttpPostRequestDecoder(request);
+			for (InterfaceHttpData httpData : decoder.getBodyHttpDatas()) {
+				if (httpData.getHttpDataType() == HttpDataType.Attribute) {
+					attributes.putIfAbsent(httpData.getName(), ((Attribute) httpData).getValue());
+				} else if (httpData.getHttpDataType() == HttpDataType.FileUpload) {
+					final FileUpload fileUpload = (FileUpload) httpData;
+					final File file = new File(fileUpload.getFilename());
+
+					try (FileChannel inputChannel = new FileInputStream(fileUpload.getFile()).getChannel();
+						 FileChannel outputChannel = new FileOutputStream(file).getChannel()) {
+						outputChannel.transferFrom(inputChannel, 0, inputChannel.size());
+					}
+
+					files.put(httpData.getName(), file);
+				}
+			}
+		}
+
+		private void release() {
+			if (decoder != null) {
+				decoder.destroy();
+			}
+		}
+	}
+}
@@ -19,13 +19,15 @@
 package org.ioc.web.model.resolvers;
 
 import org.ioc.web.model.http.RequestEntry;
-import org.ioc.web.model.mapping.Mapping;
+import org.ioc.web.model.mapping.Invocation;
 import org.ioc.web.security.configuration.SecurityConfigureAdapter;
 
 /**
+ * Resolver of controller arguments, writing them to invocation of request by {@link Invocation#setParameter}.
+ *
  * @author GenCloud
  * @date 10/2018
  */
 public interface ArgumentResolver {
-	void resolve(SecurityConfigureAdapter sca, Mapping mapping, RequestEntry requestEntry) throws Exception;
+	void resolve(SecurityConfigureAdapter sca, Invocation invocation, RequestEntry requestEntry) throws Exception;
 }
@@ -20,7 +20,7 @@ package org.ioc.web.model.resolvers.locale;
 
 import org.ioc.web.model.http.Cookie;
 import org.ioc.web.model.http.RequestEntry;
-import org.ioc.web.model.mapping.Mapping;
+import org.ioc.web.model.mapping.Invocation;
 import org.ioc.web.model.resolvers.ArgumentResolver;
 import org.ioc.web.model.session.HttpSession;
 import org.ioc.web.security.configuration.SecurityConfigureAdapter;
@@ -40,7 +40,7 @@ public class CookieLocaleResolver implements ArgumentResolver {
 	}
 
 	@Override
-	public void resolve(SecurityConfigureAdapter sca, Mapping mapping, RequestEntry requestEntry) {
+	public void resolve(SecurityConfigureAdapter sca, Invocation invocation, RequestEntry requestEntry) {
 		final Cookie cookie = requestEntry.getCookie(cookieName);
 		final HttpSession session = sca.getContext().findSession(requestEntry);
 		Locale locale;
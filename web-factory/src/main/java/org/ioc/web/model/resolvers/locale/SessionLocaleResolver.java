@@ -19,7 +19,7 @@
 package org.ioc.web.model.resolvers.locale;
 
 import org.ioc.web.model.http.RequestEntry;
-import org.ioc.web.model.mapping.Mapping;
+import org.ioc.web.model.mapping.Invocation;
 import org.ioc.web.model.resolvers.ArgumentResolver;
 import org.ioc.web.model.session.HttpSession;
 import org.ioc.web.security.configuration.SecurityConfigureAdapter;
@@ -39,7 +39,7 @@ public class SessionLocaleResolver implements ArgumentResolver {
 	}
 
 	@Override
-	public void resolve(SecurityConfigureAdapter sca, Mapping mapping, RequestEntry requestEntry) throws Exception {
+	public void resolve(SecurityConfigureAdapter sca, Invocation invocation, RequestEntry requestEntry) throws Exception {
 		final HttpSession session = sca.getContext().findSession(requestEntry);
 		if (session != null) {
 			final Object o = session.getAttribute(localeAttribute);
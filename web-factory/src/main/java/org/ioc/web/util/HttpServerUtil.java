@@ -54,6 +54,11 @@ public class HttpServerUtil {
 	public static final String CONNECTION = "Connection";
 	public static final String SERVER = "Server";
 
+	/**
+	 * Shared JSON codec of request and response bodies.
+	 */
+	public static final Gson GSON = new Gson();
+
 	private static final SimpleDateFormat FMT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss zzz", Locale.getDefault());
 
 	public static String findParameterInRequest(RequestEntry entry, String argument) {
@@ -112,7 +117,7 @@ public class HttpServerUtil {
 		} else {
 			if (from.getBody() != null) {
 				final DefaultFullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
-						from.getResponseStatus(), Unpooled.copiedBuffer(new Gson().toJson(from.getBody()).getBytes()));
+						from.getResponseStatus(), Unpooled.copiedBuffer(GSON.toJson(from.getBody()).getBytes()));
 				length = response.content().readableBytes();
 				fullHttpResponse = response;
 			} else {